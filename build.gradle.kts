@@ -2,6 +2,7 @@ plugins {
     java
     alias(libs.plugins.spring.boot)
     alias(libs.plugins.spring.dependency.management)
+    alias(libs.plugins.jmh)
     id("jacoco")
 }
 
@@ -23,15 +24,48 @@ dependencyManagement {
 
 dependencies {
     implementation(libs.spring.boot.starter.web)
+    // reactive 프로필(spring.main.web-application-type=reactive)에서만 사용한다.
+    implementation(libs.spring.boot.starter.webflux)
+    implementation(libs.spring.boot.starter.actuator)
+    implementation(libs.micrometer.registry.prometheus)
+    // jdbc 저장소(point.repository.*=jdbc)의 기본 데이터베이스. 다른 데이터베이스는 드라이버를 추가하고 point.jdbc.url 을 지정한다.
+    runtimeOnly(libs.h2)
     compileOnly(libs.lombok)
     annotationProcessor(libs.lombok)
     annotationProcessor(libs.spring.boot.configuration.processor)
     testImplementation(libs.spring.boot.starter.test)
+    // 부하 발생기(PointLoadTest)의 지연 시간 분포 기록
+    testImplementation(libs.hdrhistogram)
 }
 
 // about source and compilation
+// virtual thread 프로필은 JDK 21 이상에서 -PjavaVersion=21 로 빌드한다.
+val javaVersion = providers.gradleProperty("javaVersion").getOrElse("17")
 java {
-    sourceCompatibility = JavaVersion.VERSION_17
+    sourceCompatibility = JavaVersion.toVersion(javaVersion)
+}
+
+// JMH 벤치마크 : ./gradlew jmh -PjmhIncludes=PointServiceBenchmark
+jmh {
+    jmhVersion = libs.versions.jmh.get()
+    providers.gradleProperty("jmhIncludes").orNull?.let { includes = listOf(it) }
+    resultFormat = "JSON"
+}
+
+// 스레드 수별 JMH 벤치마크 : ./gradlew jmhSweep -PjmhIncludes=PointServiceBenchmark -PjmhThreads=1,4,16,64 -PjmhParams='mode=lock,actor'
+tasks.register<JavaExec>("jmhSweep") {
+    group = "benchmark"
+    description = "스레드 수를 바꿔 가며 JMH 벤치마크를 실행한다."
+    val jmhJar = tasks.named<Jar>("jmhJar")
+    dependsOn(jmhJar)
+    classpath = files(jmhJar.flatMap { it.archiveFile })
+    mainClass = "io.hhplus.tdd.point.benchmark.ThreadSweep"
+    args(
+        providers.gradleProperty("jmhIncludes").getOrElse(".*"),
+        providers.gradleProperty("jmhThreads").getOrElse("1,2,4,8,16,32,64"),
+        layout.buildDirectory.dir("results/jmh-sweep").get().asFile.path,
+        providers.gradleProperty("jmhParams").getOrElse("")
+    )
 }
 
 with(extensions.getByType(JacocoPluginExtension::class.java)) {
@@ -48,5 +82,33 @@ tasks.getByName("jar") {
 // test tasks
 tasks.test {
     ignoreFailures = true
-    useJUnitPlatform()
+    useJUnitPlatform {
+        excludeTags("benchmark", "load")
+    }
+}
+tasks.register<Test>("loadTest") {
+    description = "Runs load-tagged tests against an embedded server."
+    group = "verification"
+    testClassesDirs = sourceSets.test.get().output.classesDirs
+    classpath = sourceSets.test.get().runtimeClasspath
+    useJUnitPlatform {
+        includeTags("load")
+    }
+    maxHeapSize = "4g"
+    testLogging.showStandardStreams = true
+    systemProperties(System.getProperties().filterKeys { it.toString().startsWith("load.") }
+        .mapKeys { it.key.toString() })
+}
+tasks.register<Test>("benchmark") {
+    description = "Runs benchmark-tagged tests."
+    group = "verification"
+    testClassesDirs = sourceSets.test.get().output.classesDirs
+    classpath = sourceSets.test.get().runtimeClasspath
+    useJUnitPlatform {
+        includeTags("benchmark")
+    }
+    maxHeapSize = "4g"
+    testLogging.showStandardStreams = true
+    systemProperties(System.getProperties().filterKeys { it.toString().startsWith("benchmark.") }
+        .mapKeys { it.key.toString() })
 }
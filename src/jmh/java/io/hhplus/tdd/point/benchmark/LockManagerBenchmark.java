@@ -0,0 +1,73 @@
+package io.hhplus.tdd.point.benchmark;
+
+import io.hhplus.tdd.util.LockManager;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.infra.ThreadParams;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * LockManager 의 잠금/해제 비용과 stripe 개수에 따른 경합
+ * - work 는 잠금을 보유한 동안 소비하는 CPU 작업량(Blackhole.consumeCPU 단위)이다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class LockManagerBenchmark {
+
+    @Param({"16", "1024"})
+    public int stripes;
+
+    @Param({"UNIFORM", "ZIPF", "SINGLE"})
+    public Workload workload;
+
+    @Param({"10000"})
+    public int userCount;
+
+    @Param({"0", "100"})
+    public long work;
+
+    private LockManager lockManager;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        lockManager = new LockManager(stripes, 60_000, new SimpleMeterRegistry());
+    }
+
+    @State(Scope.Thread)
+    public static class Users {
+        private Workload.Sampler sampler;
+
+        @Setup(Level.Trial)
+        public void setUp(LockManagerBenchmark benchmark, ThreadParams threadParams) {
+            sampler = benchmark.workload.sampler(benchmark.userCount, 31L * threadParams.getThreadIndex() + 17);
+        }
+    }
+
+    @Benchmark
+    public void lockUnlock(Users users) {
+        long id = users.sampler.nextUserId();
+        lockManager.lock(id);
+        try {
+            Blackhole.consumeCPU(work);
+        } finally {
+            lockManager.unlock(id);
+        }
+    }
+}
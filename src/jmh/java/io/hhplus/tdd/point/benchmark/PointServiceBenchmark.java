@@ -0,0 +1,147 @@
+package io.hhplus.tdd.point.benchmark;
+
+import io.hhplus.tdd.point.application.PointService;
+import io.hhplus.tdd.point.domain.PointHistorySearch;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.infra.ThreadParams;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * PointService 의 충전/사용/잔액 조회/내역 조회/이체 처리량과 지연 시간
+ * - 저장소(userPoint, pointHistory), 실행 방식(mode), 테이블 throttle 유무, 사용자 분포(workload)를 조합해 측정한다.
+ *   기본값은 실행 방식과 사용자 분포만 조합(9가지)하고, 저장소/throttle 비교는 -p 로 지정한다. (모두 조합하면 216가지)
+ * - 모든 벤치마크는 측정 전에 사용자마다 잔액과 seedHistories 건의 내역을 채운다.
+ *   (사용이 잔액 부족 경로만, 내역 조회가 빈 조회만 측정하지 않도록)
+ * - transferFanIn 은 모든 스레드가 한 사용자(userCount + 1)에게 이체하는 경우(fan-in)를 측정한다.
+ * - hotAccounts 가 true 이면 요청이 몰리는 사용자(1, userCount + 1)의 잔액을 shard 로 나누어 잠금 없이 처리한다.
+ * - 스레드 수별 비교는 ./gradlew jmhSweep -PjmhIncludes=PointServiceBenchmark -PjmhThreads=1,4,16,64 로 실행한다. (ThreadSweep)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class PointServiceBenchmark {
+
+    private static final long SEED_BALANCE = 1_000_000_000L;
+
+    @Param({"table"})
+    public String userPoint;
+
+    @Param({"table"})
+    public String pointHistory;
+
+    @Param({"lock", "group-commit", "actor"})
+    public String mode;
+
+    @Param({"false"})
+    public boolean throttle;
+
+    @Param({"UNIFORM", "ZIPF", "SINGLE"})
+    public Workload workload;
+
+    @Param({"10000"})
+    public int userCount;
+
+    @Param({"10"})
+    public int seedHistories;
+
+    @Param({"false"})
+    public boolean hotAccounts;
+
+    private PointServiceFixture fixture;
+    private PointService pointService;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        fixture = new PointServiceFixture(userPoint, pointHistory, mode, throttle,
+                hotAccounts ? List.of(1L, userCount + 1L) : List.of());
+        pointService = fixture.pointService();
+        seed();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        fixture.close();
+    }
+
+    @State(Scope.Thread)
+    public static class Users {
+        private Workload.Sampler sampler;
+
+        @Setup(Level.Trial)
+        public void setUp(PointServiceBenchmark benchmark, ThreadParams threadParams) {
+            sampler = benchmark.workload.sampler(benchmark.userCount, 31L * threadParams.getThreadIndex() + 17);
+        }
+    }
+
+    @Benchmark
+    public Object charge(Users users) {
+        return pointService.chargePoint(users.sampler.nextUserId(), 10);
+    }
+
+    @Benchmark
+    public void use(Users users, Blackhole blackhole) {
+        try {
+            blackhole.consume(pointService.usePoint(users.sampler.nextUserId(), 1));
+        } catch (IllegalStateException overdraft) {
+            blackhole.consume(overdraft);
+        }
+    }
+
+    @Benchmark
+    public Object get(Users users) {
+        return pointService.getPoint(users.sampler.nextUserId());
+    }
+
+    @Benchmark
+    public Object histories(Users users) {
+        return pointService.getPointHistories(users.sampler.nextUserId(), PointHistorySearch.of(null, 100, null, null));
+    }
+
+    @Benchmark
+    public Object transferFanIn(Users users) {
+        return pointService.transferPoint(users.sampler.nextUserId(), userCount + 1L, 1);
+    }
+
+    /**
+     * 사용/이체가 잔액 부족으로 실패하지 않도록 충분히 충전하고, 내역 조회가 빈 결과만 읽지 않도록 내역을 채운다.
+     * 첫 충전 이후의 내역은 1 포인트 충전으로 채운다.
+     */
+    private void seed() {
+        ExecutorService executor = Executors.newFixedThreadPool(256);
+        try {
+            CompletableFuture.allOf(LongStream.rangeClosed(1, userCount)
+                                              .mapToObj(id -> CompletableFuture.runAsync(() -> {
+                                                  pointService.chargePoint(id, SEED_BALANCE);
+                                                  for (int i = 1; i < seedHistories; i++) {
+                                                      pointService.chargePoint(id, 1);
+                                                  }
+                                              }, executor))
+                                              .toArray(CompletableFuture[]::new))
+                             .join();
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package io.hhplus.tdd.point.benchmark;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.application.ActorPointCommandExecutor;
+import io.hhplus.tdd.point.application.GroupCommitPointCommandExecutor;
+import io.hhplus.tdd.point.application.HotAccountBalances;
+import io.hhplus.tdd.point.application.IdempotencyCache;
+import io.hhplus.tdd.point.application.LockingPointCommandExecutor;
+import io.hhplus.tdd.point.application.PointCommandExecutor;
+import io.hhplus.tdd.point.application.PointService;
+import io.hhplus.tdd.point.application.PointStatisticsService;
+import io.hhplus.tdd.point.application.PointTransferBatcher;
+import io.hhplus.tdd.point.application.UserPointSnapshots;
+import io.hhplus.tdd.point.domain.PointHistoryRepository;
+import io.hhplus.tdd.point.domain.UserPointRepository;
+import io.hhplus.tdd.point.infrastructure.CachedUserPointRepository;
+import io.hhplus.tdd.point.infrastructure.IndexedPointHistoryRepository;
+import io.hhplus.tdd.point.infrastructure.JdbcPointHistoryRepository;
+import io.hhplus.tdd.point.infrastructure.JdbcUserPointRepository;
+import io.hhplus.tdd.point.infrastructure.MappedUserPointRepository;
+import io.hhplus.tdd.point.infrastructure.PointHistoryRepositoryImpl;
+import io.hhplus.tdd.point.infrastructure.SegmentedPointHistoryRepository;
+import io.hhplus.tdd.point.infrastructure.SimulatedPointHistoryRepository;
+import io.hhplus.tdd.point.infrastructure.SimulatedUserPointRepository;
+import io.hhplus.tdd.point.infrastructure.StagedPointHistoryRepository;
+import io.hhplus.tdd.point.infrastructure.StorageLatencyModel;
+import io.hhplus.tdd.point.infrastructure.UserPointRepositoryImpl;
+import io.hhplus.tdd.util.AdmissionControl;
+import io.hhplus.tdd.util.LockManager;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 벤치마크 파라미터(application.yml 의 point.* 설정과 같은 이름)로 Spring 없이 PointService 를 조립한다.
+ */
+public class PointServiceFixture implements AutoCloseable {
+
+    private final List<AutoCloseable> closeables = new ArrayList<>();
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    // jdbc 저장소는 fixture 마다 새 H2 메모리 DB 를 사용한다. (연결이 모두 닫히면 삭제)
+    private final String jdbcUrl = "jdbc:h2:mem:benchmark-" + UUID.randomUUID();
+    private final StorageLatencyModel latencyModel;
+    private final LockManager lockManager;
+    private final PointService pointService;
+
+    public PointServiceFixture(String userPoint, String pointHistory, String mode, boolean throttle, List<Long> hotAccounts)
+            throws IOException {
+        UserPointTable userPointTable = throttle ? new UserPointTable() : new UnthrottledUserPointTable();
+        PointHistoryTable pointHistoryTable = throttle ? new PointHistoryTable() : new UnthrottledPointHistoryTable();
+        // simulated 저장소는 throttle 이면 테이블과 같은 균등 분포 지연을 적용한다.
+        this.latencyModel = throttle
+                ? new StorageLatencyModel("uniform", 200, 300, 1.0, 0, 0, 0)
+                : StorageLatencyModel.none();
+
+        this.lockManager = new LockManager(1024, 60_000, meterRegistry);
+        PointHistoryRepository pointHistoryRepository = pointHistoryRepository(pointHistory, pointHistoryTable);
+        PointCommandExecutor executor = executor(mode);
+        PointStatisticsService pointStatisticsService =
+                new PointStatisticsService(pointHistoryRepository, executor, "Asia/Seoul", 90, 1);
+        closeables.add(pointStatisticsService::close);
+        UserPointRepository userPointRepository = userPointRepository(userPoint, userPointTable);
+        HotAccountBalances hotAccountBalances =
+                new HotAccountBalances(userPointRepository, pointStatisticsService, hotAccounts, 0, 100);
+        // 저장소보다 먼저 닫아 남은 합계를 반영한다.
+        closeables.add(0, hotAccountBalances::close);
+        this.pointService = new PointService(
+                userPointRepository,
+                pointHistoryRepository,
+                executor,
+                new IdempotencyCache(100_000, 600_000, meterRegistry),
+                new UserPointSnapshots(100_000),
+                // 처리량 측정이 목적이므로 처리율 제한은 적용하지 않는다.
+                new AdmissionControl(1, 0, 0, 0, 0, 0, meterRegistry),
+                pointStatisticsService,
+                new PointTransferBatcher(executor, 1024, 64, 60_000),
+                hotAccountBalances,
+                meterRegistry);
+    }
+
+    public PointService pointService() {
+        return pointService;
+    }
+
+    public LockManager lockManager() {
+        return lockManager;
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (AutoCloseable closeable : closeables) {
+            closeable.close();
+        }
+    }
+
+    private UserPointRepository userPointRepository(String type, UserPointTable userPointTable) throws IOException {
+        return switch (type) {
+            case "table" -> new UserPointRepositoryImpl(userPointTable, meterRegistry);
+            case "cache" -> {
+                CachedUserPointRepository repository = new CachedUserPointRepository(userPointTable, 100_000, 100);
+                closeables.add(repository::close);
+                yield repository;
+            }
+            case "mapped" -> {
+                Path path = Files.createTempFile("user-point", ".dat");
+                MappedUserPointRepository repository = new MappedUserPointRepository(path, 1 << 20);
+                closeables.add(repository::close);
+                closeables.add(() -> Files.deleteIfExists(path));
+                yield repository;
+            }
+            case "simulated" -> new SimulatedUserPointRepository(latencyModel, meterRegistry);
+            case "jdbc" -> {
+                JdbcUserPointRepository repository = new JdbcUserPointRepository(jdbcUrl, "sa", "", 16, 256, meterRegistry);
+                closeables.add(repository);
+                yield repository;
+            }
+            default -> throw new IllegalArgumentException("지원하지 않는 user-point 저장소입니다: " + type);
+        };
+    }
+
+    private PointHistoryRepository pointHistoryRepository(String type, PointHistoryTable pointHistoryTable)
+            throws IOException {
+        return switch (type) {
+            case "table" -> new PointHistoryRepositoryImpl(pointHistoryTable, meterRegistry);
+            case "indexed" -> new IndexedPointHistoryRepository(pointHistoryTable);
+            case "staged" -> {
+                Path path = Files.createTempFile("history-staging", ".log");
+                // 반영 대기 한도에 걸려 거절되는 경우 없이 기록 경로만 측정한다.
+                StagedPointHistoryRepository repository =
+                        new StagedPointHistoryRepository(pointHistoryTable, path, false, Integer.MAX_VALUE);
+                closeables.add(repository::close);
+                closeables.add(() -> Files.deleteIfExists(path));
+                yield repository;
+            }
+            case "segmented" -> {
+                Path directory = Files.createTempDirectory("history-log");
+                SegmentedPointHistoryRepository repository = new SegmentedPointHistoryRepository(directory, 1 << 20, 10, 0);
+                closeables.add(repository::close);
+                yield repository;
+            }
+            case "simulated" -> new SimulatedPointHistoryRepository(latencyModel, meterRegistry);
+            case "jdbc" -> {
+                JdbcPointHistoryRepository repository =
+                        new JdbcPointHistoryRepository(jdbcUrl, "sa", "", 16, 256, meterRegistry);
+                closeables.add(repository);
+                yield repository;
+            }
+            default -> throw new IllegalArgumentException("지원하지 않는 point-history 저장소입니다: " + type);
+        };
+    }
+
+    private PointCommandExecutor executor(String mode) {
+        return switch (mode) {
+            case "lock" -> new LockingPointCommandExecutor(lockManager);
+            case "group-commit" -> new GroupCommitPointCommandExecutor(lockManager);
+            case "actor" -> {
+                ActorPointCommandExecutor executor = new ActorPointCommandExecutor(16, 100_000, false);
+                closeables.add(executor::close);
+                yield executor;
+            }
+            default -> throw new IllegalArgumentException("지원하지 않는 실행 방식입니다: " + mode);
+        };
+    }
+}
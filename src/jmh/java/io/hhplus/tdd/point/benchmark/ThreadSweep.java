@@ -0,0 +1,47 @@
+package io.hhplus.tdd.point.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * 스레드 수를 바꿔 가며 같은 벤치마크를 반복 실행한다. (JMH 는 한 번의 실행에 스레드 수를 하나만 지정할 수 있다)
+ * - 인자 : 대상(정규식) 스레드수목록(1,4,16) 결과디렉터리 [파라미터(name=v1,v2;name2=v3)]
+ * - 결과는 스레드 수마다 결과디렉터리/threads-N.json 으로 저장하며, 각 결과의 threads 값으로 구분할 수 있다.
+ * - ./gradlew jmhSweep -PjmhIncludes=PointServiceBenchmark -PjmhThreads=1,4,16,64 -PjmhParams='mode=lock,actor'
+ */
+public final class ThreadSweep {
+
+    private ThreadSweep() {
+    }
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        if (args.length < 3) {
+            throw new IllegalArgumentException("사용법 : ThreadSweep <대상> <스레드수목록> <결과디렉터리> [파라미터]");
+        }
+        int[] threads = Arrays.stream(args[1].split(",")).map(String::trim).mapToInt(Integer::parseInt).toArray();
+        Path results = Files.createDirectories(Path.of(args[2]));
+
+        for (int count : threads) {
+            ChainedOptionsBuilder options = new OptionsBuilder()
+                    .include(args[0])
+                    .threads(count)
+                    .resultFormat(ResultFormatType.JSON)
+                    .result(results.resolve("threads-" + count + ".json").toString());
+            if (args.length > 3 && !args[3].isBlank()) {
+                for (String param : args[3].split(";")) {
+                    String[] nameAndValues = param.split("=", 2);
+                    options.param(nameAndValues[0].trim(), nameAndValues[1].split(","));
+                }
+            }
+            new Runner(options.build()).run();
+        }
+    }
+}
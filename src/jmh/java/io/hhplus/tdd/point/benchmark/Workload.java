@@ -0,0 +1,49 @@
+package io.hhplus.tdd.point.benchmark;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * 벤치마크에서 요청할 사용자 id 분포
+ * - UNIFORM : 모든 사용자가 같은 확률
+ * - ZIPF : 소수의 사용자에게 요청이 몰리는 분포 (hot key)
+ * - SINGLE : 모든 요청이 한 사용자에게 몰리는 경우
+ */
+public enum Workload {
+    UNIFORM, ZIPF, SINGLE;
+
+    private static final double ZIPF_EXPONENT = 1.1;
+
+    public Sampler sampler(int userCount, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        return switch (this) {
+            case UNIFORM -> () -> 1 + random.nextInt(userCount);
+            case SINGLE -> () -> 1;
+            case ZIPF -> {
+                double[] cdf = zipfCdf(userCount);
+                yield () -> {
+                    int index = Arrays.binarySearch(cdf, random.nextDouble());
+                    return 1 + (index >= 0 ? index : Math.min(-(index + 1), userCount - 1));
+                };
+            }
+        };
+    }
+
+    private static double[] zipfCdf(int userCount) {
+        double[] cdf = new double[userCount];
+        double sum = 0;
+        for (int i = 0; i < userCount; i++) {
+            sum += 1 / Math.pow(i + 1, ZIPF_EXPONENT);
+            cdf[i] = sum;
+        }
+        for (int i = 0; i < userCount; i++) {
+            cdf[i] /= sum;
+        }
+        return cdf;
+    }
+
+    @FunctionalInterface
+    public interface Sampler {
+        long nextUserId();
+    }
+}
@@ -1,12 +1,24 @@
 package io.hhplus.tdd;
 
+import io.hhplus.tdd.util.LockTimeoutException;
+import io.hhplus.tdd.util.TooManyRequestsException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
 @RestControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 class ApiControllerAdvice extends ResponseEntityExceptionHandler {
+    /**
+     * 처리율 제한 / 잠금 대기 시간 초과는 잠시 후 재시도하면 처리될 수 있으므로 429 로 응답한다.
+     */
+    @ExceptionHandler(value = {TooManyRequestsException.class, LockTimeoutException.class})
+    public ResponseEntity<ErrorResponse> handleTooManyRequests(RuntimeException e) {
+        return ResponseEntity.status(429).body(new ErrorResponse("429", e.getMessage()));
+    }
+
     @ExceptionHandler(value = Exception.class)
     public ResponseEntity<ErrorResponse> handleException(Exception e) {
         return ResponseEntity.status(500).body(new ErrorResponse("500", "에러가 발생했습니다."));
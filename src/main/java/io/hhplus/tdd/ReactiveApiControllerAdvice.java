@@ -0,0 +1,25 @@
+package io.hhplus.tdd;
+
+import io.hhplus.tdd.util.LockTimeoutException;
+import io.hhplus.tdd.util.TooManyRequestsException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * reactive 프로필용 예외 응답. ApiControllerAdvice 와 같은 응답을 반환한다.
+ */
+@RestControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+class ReactiveApiControllerAdvice {
+    @ExceptionHandler(value = {TooManyRequestsException.class, LockTimeoutException.class})
+    public ResponseEntity<ErrorResponse> handleTooManyRequests(RuntimeException e) {
+        return ResponseEntity.status(429).body(new ErrorResponse("429", e.getMessage()));
+    }
+
+    @ExceptionHandler(value = Exception.class)
+    public ResponseEntity<ErrorResponse> handleException(Exception e) {
+        return ResponseEntity.status(500).body(new ErrorResponse("500", "에러가 발생했습니다."));
+    }
+}
@@ -0,0 +1,19 @@
+package io.hhplus.tdd;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * reactive 프로필에서는 Tomcat 대신 Netty(event loop)를 사용한다.
+ * MVC 용 Tomcat 이 classpath 에 함께 있으면 Tomcat 이 먼저 선택되므로 명시적으로 지정한다.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+class ReactiveWebServerConfig {
+    @Bean
+    NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+}
@@ -0,0 +1,63 @@
+package io.hhplus.tdd.cluster;
+
+import io.hhplus.tdd.point.application.UserPointHandoff;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * 노드 구성 조회/변경. 노드를 추가할 때는 새 노드를 먼저 띄운 뒤 아무 노드에 새 목록을 PUT 한다.
+ * 변경 요청과 /cluster/rebalance/** (노드 간 재배치 단계)는 공유 비밀 헤더가 있어야 한다. (PartitionRoutingFilter)
+ */
+@RestController
+@RequestMapping("/cluster")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "point.cluster.enabled", havingValue = "true")
+public class ClusterController {
+
+    private final ClusterMembership clusterMembership;
+    private final ClusterRebalancer clusterRebalancer;
+
+    @GetMapping("members")
+    public List<String> members() {
+        return clusterMembership.nodes();
+    }
+
+    @PutMapping("members")
+    public List<String> updateMembers(
+            @RequestBody List<String> nodes
+    ) {
+        return clusterRebalancer.rebalance(nodes);
+    }
+
+    @PostMapping("rebalance/prepare")
+    public void prepare(
+            @RequestBody List<String> nodes
+    ) {
+        clusterRebalancer.prepare(nodes);
+    }
+
+    @PostMapping("rebalance/transfer")
+    public int transfer() throws InterruptedException {
+        return clusterRebalancer.transfer();
+    }
+
+    @PostMapping("rebalance/import")
+    public void importUser(
+            @RequestBody UserPointHandoff handoff
+    ) {
+        clusterRebalancer.importUser(handoff);
+    }
+
+    @PostMapping("rebalance/commit")
+    public void commit() {
+        clusterRebalancer.commit();
+    }
+
+    @PostMapping("rebalance/abort")
+    public void abort() {
+        clusterRebalancer.abort();
+    }
+}
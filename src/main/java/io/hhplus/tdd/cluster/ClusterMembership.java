@@ -0,0 +1,191 @@
+package io.hhplus.tdd.cluster;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 분산 모드(point.cluster.enabled)의 노드 구성
+ * - 노드는 외부에서 접근 가능한 기본 주소(예 : http://localhost:8081)로 구분한다.
+ * - 구성이 바뀌면 새 ring 을 만들어 교체하므로, 요청 처리 중에는 잠금 없이 현재 ring 을 읽는다.
+ * - 노드 간 요청(전달, 재배치)은 모든 노드에 같은 값으로 설정한 공유 비밀(point.cluster.secret)과 노드 주소로 확인한다.
+ * - 구성 변경은 prepare → (잔액/내역 이전) → commit 순서로 진행한다. (ClusterRebalancer)
+ *   prepare 부터 commit 까지는 담당이 바뀌는 사용자의 요청을 거절하고, 그 전에 시작된 변경 요청은 epoch 로 끝날 때까지 기다린다.
+ * - 이전할 사용자를 찾기 위해 이 노드에서 변경한 사용자 id 를 보관한다. (저장된 잔액 수에 비례)
+ *   메모리에만 보관하므로 재시작하면 비며, 재배치 시 저장소의 사용자 id 로 보완한다. (ClusterRebalancer)
+ */
+@Component
+@ConditionalOnProperty(name = "point.cluster.enabled", havingValue = "true")
+public class ClusterMembership {
+
+    private static final Logger log = LoggerFactory.getLogger(ClusterMembership.class);
+
+    private final String self;
+    private final byte[] secret;
+    private final int virtualNodes;
+    private final Set<Long> heldUsers = ConcurrentHashMap.newKeySet();
+    private volatile HashRing ring;
+    private volatile HashRing pending;
+    private volatile Epoch epoch = new Epoch();
+
+    public ClusterMembership(
+            @Value("${point.cluster.self}") String self,
+            @Value("${point.cluster.nodes}") List<String> nodes,
+            @Value("${point.cluster.virtual-nodes:128}") int virtualNodes,
+            @Value("${point.cluster.secret:}") String secret
+    ) {
+        if (secret.isBlank()) {
+            throw new IllegalArgumentException("분산 모드에서는 point.cluster.secret 을 설정해야 합니다.");
+        }
+        this.self = self;
+        this.secret = secret.getBytes(StandardCharsets.UTF_8);
+        this.virtualNodes = virtualNodes;
+        if (!nodes.contains(self)) {
+            throw new IllegalArgumentException("노드 목록에 현재 노드(" + self + ")가 없습니다.");
+        }
+        this.ring = new HashRing(nodes, virtualNodes);
+    }
+
+    public String self() {
+        return self;
+    }
+
+    public String secret() {
+        return new String(secret, StandardCharsets.UTF_8);
+    }
+
+    public List<String> nodes() {
+        return ring.nodes();
+    }
+
+    public String ownerOf(long userId) {
+        return ring.ownerOf(userId);
+    }
+
+    public boolean owns(long userId) {
+        return self.equals(ring.ownerOf(userId));
+    }
+
+    /**
+     * 노드 간 요청인지 확인한다. 공유 비밀이 같고, 보낸 노드가 현재 또는 변경 중인 구성에 있어야 한다.
+     */
+    public boolean trusts(String node, String secret) {
+        if (node == null || !hasSecret(secret)) {
+            return false;
+        }
+        HashRing pending = this.pending;
+        return ring.nodes().contains(node) || pending != null && pending.nodes().contains(node);
+    }
+
+    public boolean hasSecret(String secret) {
+        return secret != null && MessageDigest.isEqual(this.secret, secret.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 구성 변경 중 담당이 바뀌는 사용자인지 확인한다.
+     */
+    public boolean moving(long userId) {
+        HashRing pending = this.pending;
+        return pending != null && !pending.ownerOf(userId).equals(ring.ownerOf(userId));
+    }
+
+    /**
+     * 변경 중인 구성의 담당 노드. 변경 중이 아니면 현재 담당 노드를 반환한다.
+     */
+    public String pendingOwnerOf(long userId) {
+        HashRing pending = this.pending;
+        return (pending == null ? ring : pending).ownerOf(userId);
+    }
+
+    /**
+     * 이 노드에서 처리하는 변경 요청의 시작을 알리고, 끝나면 반환된 epoch 의 exit 를 호출한다.
+     * prepare 는 pending 을 먼저 바꾼 뒤 epoch 를 교체하므로, enter 이후에 moving 을 확인하면
+     * 재배치 대상 요청은 거절되거나 prepare 가 반환한 이전 epoch 에 포함된다.
+     */
+    public Epoch enter() {
+        Epoch current = epoch;
+        current.active.incrementAndGet();
+        return current;
+    }
+
+    public void hold(long userId) {
+        heldUsers.add(userId);
+    }
+
+    /**
+     * 이 노드에 잔액/내역이 있는 사용자 (변경 요청을 처리했거나 이전받은 사용자)
+     */
+    public Set<Long> heldUsers() {
+        return heldUsers;
+    }
+
+    /**
+     * 새 구성으로의 변경을 시작한다. 이후 담당이 바뀌는 사용자의 요청은 거절하고,
+     * 반환된 이전 epoch 가 끝나면(awaitQuiescence) 그 전에 시작된 변경 요청이 모두 끝난 것이다.
+     * 제거되는 노드는 새 구성에 현재 노드가 없을 수 있다.
+     */
+    public synchronized Epoch prepare(List<String> nodes) {
+        if (pending != null) {
+            throw new IllegalStateException("이미 구성을 변경하고 있습니다.");
+        }
+        pending = new HashRing(nodes, virtualNodes);
+        Epoch previous = epoch;
+        epoch = new Epoch();
+        log.info("클러스터 구성 변경 시작 : {} -> {}", ring.nodes(), pending.nodes());
+        return previous;
+    }
+
+    /**
+     * 변경 중인 구성으로 ring 을 교체하고, 다른 노드로 옮긴 사용자를 보관 목록에서 제거한다.
+     */
+    public synchronized void commit() {
+        if (pending == null) {
+            return;
+        }
+        log.info("클러스터 구성 변경 완료 : {} -> {}", ring.nodes(), pending.nodes());
+        HashRing committed = pending;
+        ring = committed;
+        pending = null;
+        heldUsers.removeIf(userId -> !self.equals(committed.ownerOf(userId)));
+    }
+
+    public synchronized void abort() {
+        if (pending != null) {
+            log.warn("클러스터 구성 변경 취소 : {} -> {}", ring.nodes(), pending.nodes());
+            pending = null;
+        }
+    }
+
+    public static final class Epoch {
+
+        private final AtomicInteger active = new AtomicInteger();
+
+        public void exit() {
+            active.decrementAndGet();
+        }
+
+        /**
+         * 이 epoch 에 시작된 요청이 모두 끝날 때까지 기다린다. 제한 시간 안에 끝나지 않으면 false 를 반환한다.
+         */
+        public boolean awaitQuiescence(long timeoutMillis) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+            while (active.get() > 0) {
+                if (System.nanoTime() - deadline > 0) {
+                    return false;
+                }
+                Thread.sleep(1);
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package io.hhplus.tdd.cluster;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.point.application.PointService;
+import io.hhplus.tdd.point.application.UserPointHandoff;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * 노드 구성 변경과 담당이 바뀐 사용자의 잔액/내역 이전
+ * - 구성 변경 요청을 받은 노드가 전체 과정을 진행한다. (coordinator)
+ *   1) prepare : 기존/새 구성의 모든 노드가 새 구성을 기록하고, 담당이 바뀌는 사용자의 요청을 거절하기 시작한다.
+ *   2) transfer : 기존 구성의 노드마다 prepare 이전에 시작된 변경 요청이 끝나기를 기다린 뒤,
+ *      보관 중인 사용자 중 담당이 바뀌는 사용자의 잔액/내역을 새 담당 노드로 보낸다. (import)
+ *      보관 목록은 메모리에만 있으므로, 저장소에 잔액이 남아 있는 사용자 중 현재 담당인 사용자도 함께 확인한다. (재시작한 노드)
+ *   3) commit : 모든 노드가 새 구성으로 ring 을 교체하고 요청을 다시 받는다.
+ * - prepare/transfer 가 실패하면 모든 노드에 abort 를 보내 기존 구성을 유지한다. 이미 보낸 사용자는 기존 노드에도 남아 있으므로 잃지 않는다.
+ * - 노드 간 요청에는 공유 비밀을 붙인다. (PartitionRoutingFilter 가 확인)
+ */
+@Component
+@ConditionalOnProperty(name = "point.cluster.enabled", havingValue = "true")
+public class ClusterRebalancer {
+
+    private static final Logger log = LoggerFactory.getLogger(ClusterRebalancer.class);
+
+    private final ClusterMembership clusterMembership;
+    private final PointService pointService;
+    private final ObjectMapper objectMapper;
+    private final HttpClient httpClient;
+    private final Duration timeout;
+    private volatile ClusterMembership.Epoch draining;
+
+    public ClusterRebalancer(
+            ClusterMembership clusterMembership,
+            PointService pointService,
+            ObjectMapper objectMapper,
+            @Value("${point.cluster.rebalance-timeout-ms:600000}") long timeoutMillis
+    ) {
+        this.clusterMembership = clusterMembership;
+        this.pointService = pointService;
+        this.objectMapper = objectMapper;
+        this.timeout = Duration.ofMillis(timeoutMillis);
+        this.httpClient = HttpClient.newBuilder()
+                                    .version(HttpClient.Version.HTTP_1_1)
+                                    .connectTimeout(Duration.ofMillis(Math.min(timeoutMillis, 5000)))
+                                    .build();
+    }
+
+    /**
+     * 전체 노드 목록으로 구성을 변경한다. 모든 노드가 새 구성으로 바뀐 뒤에 반환한다.
+     */
+    public synchronized List<String> rebalance(List<String> nodes) {
+        List<String> current = clusterMembership.nodes();
+        Set<String> all = new TreeSet<>(current);
+        all.addAll(nodes);
+
+        List<String> prepared = new ArrayList<>();
+        try {
+            for (String node : all) {
+                call(node, "prepare", nodes);
+                prepared.add(node);
+            }
+            for (String node : current) {
+                call(node, "transfer", null);
+            }
+        } catch (RuntimeException e) {
+            for (String node : prepared) {
+                try {
+                    call(node, "abort", null);
+                } catch (RuntimeException abortFailure) {
+                    e.addSuppressed(abortFailure);
+                }
+            }
+            throw e;
+        }
+
+        RuntimeException failure = null;
+        for (String node : all) {
+            try {
+                call(node, "commit", null);
+            } catch (RuntimeException e) {
+                // 나머지 노드는 계속 commit 한다. 실패한 노드는 같은 목록으로 다시 요청하면 된다.
+                log.error("노드에 구성 변경을 반영하지 못했습니다 : node={}", node, e);
+                if (failure == null) {
+                    failure = e;
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+        return clusterMembership.nodes();
+    }
+
+    public void prepare(List<String> nodes) {
+        draining = clusterMembership.prepare(nodes);
+    }
+
+    /**
+     * 보관 중인 사용자 중 새 구성에서 담당이 바뀌는 사용자를 새 담당 노드로 보내고, 보낸 사용자 수를 반환한다.
+     * 이미 다른 노드로 보낸 뒤 저장소에 남은 사용자는 현재 담당이 아니므로 다시 보내지 않는다.
+     */
+    public int transfer() throws InterruptedException {
+        ClusterMembership.Epoch epoch = draining;
+        if (epoch == null) {
+            throw new IllegalStateException("구성 변경이 시작되지 않았습니다.");
+        }
+        if (!epoch.awaitQuiescence(timeout.toMillis())) {
+            throw new IllegalStateException("구성 변경 이전에 시작된 요청이 제한 시간 안에 끝나지 않았습니다.");
+        }
+
+        Set<Long> candidates = new LinkedHashSet<>(clusterMembership.heldUsers());
+        for (long userId : pointService.storedUserIds()) {
+            if (clusterMembership.owns(userId)) {
+                candidates.add(userId);
+            }
+        }
+
+        int moved = 0;
+        for (long userId : candidates) {
+            String owner = clusterMembership.pendingOwnerOf(userId);
+            if (owner.equals(clusterMembership.self())) {
+                continue;
+            }
+            call(owner, "import", pointService.exportUser(userId));
+            moved++;
+        }
+        log.info("담당이 바뀐 사용자 이전 완료 : users={}", moved);
+        return moved;
+    }
+
+    public void importUser(UserPointHandoff handoff) {
+        pointService.importUser(handoff);
+        clusterMembership.hold(handoff.userPoint().id());
+    }
+
+    public void commit() {
+        clusterMembership.commit();
+        draining = null;
+    }
+
+    public void abort() {
+        clusterMembership.abort();
+        draining = null;
+    }
+
+    private void call(String node, String action, Object body) {
+        if (node.equals(clusterMembership.self())) {
+            callSelf(action, body);
+            return;
+        }
+
+        HttpRequest request;
+        try {
+            request = HttpRequest.newBuilder(URI.create(node + "/cluster/rebalance/" + action))
+                                 .timeout(timeout)
+                                 .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                                 .header(PartitionRoutingFilter.FORWARDED_HEADER, clusterMembership.self())
+                                 .header(PartitionRoutingFilter.SECRET_HEADER, clusterMembership.secret())
+                                 .POST(body == null
+                                         ? HttpRequest.BodyPublishers.noBody()
+                                         : HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                                 .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("재배치 요청 본문을 만들지 못했습니다.", e);
+        }
+
+        HttpResponse<String> response;
+        try {
+            response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("노드(" + node + ")에 재배치 요청(" + action + ")을 보내지 못했습니다.", e);
+        } catch (IOException e) {
+            throw new IllegalStateException("노드(" + node + ")에 재배치 요청(" + action + ")을 보내지 못했습니다.", e);
+        }
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException("노드(" + node + ")가 재배치 요청(" + action + ")을 거절했습니다 : "
+                    + response.statusCode() + " " + response.body());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void callSelf(String action, Object body) {
+        switch (action) {
+            case "prepare" -> prepare((List<String>) body);
+            case "transfer" -> {
+                try {
+                    transfer();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("구성 변경 중 중단되었습니다.", e);
+                }
+            }
+            case "import" -> importUser((UserPointHandoff) body);
+            case "commit" -> commit();
+            case "abort" -> abort();
+            default -> throw new IllegalArgumentException("알 수 없는 재배치 요청입니다 : " + action);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package io.hhplus.tdd.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 사용자 id 를 노드에 배정하는 consistent hash ring (불변)
+ * - 노드마다 virtualNodes 개의 위치를 ring 에 두고, 사용자 id 의 해시 이후 처음 만나는 위치의 노드가 담당한다.
+ * - 노드가 추가/제거되면 해당 노드의 위치 주변 사용자만 담당이 바뀐다. (약 1/노드 수)
+ * - 모든 노드가 같은 결과를 얻어야 하므로 JVM 에 따라 달라지지 않는 해시(FNV-1a + 64bit mix)를 사용한다.
+ * - 위치는 정렬된 배열에 두고 이진 탐색으로 찾는다. 변경 시에는 새 ring 을 만들어 교체한다.
+ */
+public final class HashRing {
+
+    private final List<String> nodes;
+    private final long[] points;
+    private final String[] owners;
+
+    public HashRing(Collection<String> nodes, int virtualNodes) {
+        if (nodes.isEmpty()) {
+            throw new IllegalArgumentException("노드가 하나 이상 있어야 합니다.");
+        }
+        if (virtualNodes <= 0) {
+            throw new IllegalArgumentException("가상 노드 수는 1 이상이어야 합니다.");
+        }
+        this.nodes = nodes.stream().distinct().sorted().toList();
+
+        long[][] entries = new long[this.nodes.size() * virtualNodes][];
+        int index = 0;
+        for (int node = 0; node < this.nodes.size(); node++) {
+            for (int replica = 0; replica < virtualNodes; replica++) {
+                entries[index++] = new long[]{hash(this.nodes.get(node) + "#" + replica), node};
+            }
+        }
+        // 위치가 같으면 노드 순서로 정해 모든 노드에서 같은 ring 이 되도록 한다.
+        Arrays.sort(entries, (a, b) -> a[0] != b[0] ? Long.compare(a[0], b[0]) : Long.compare(a[1], b[1]));
+
+        this.points = new long[entries.length];
+        this.owners = new String[entries.length];
+        for (int i = 0; i < entries.length; i++) {
+            points[i] = entries[i][0];
+            owners[i] = this.nodes.get((int) entries[i][1]);
+        }
+    }
+
+    public String ownerOf(long userId) {
+        int index = Arrays.binarySearch(points, mix(userId));
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return owners[index == points.length ? 0 : index];
+    }
+
+    public List<String> nodes() {
+        return nodes;
+    }
+
+    private static long hash(String value) {
+        long h = 0xCBF29CE484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b & 0xFF;
+            h *= 0x100000001B3L;
+        }
+        return mix(h);
+    }
+
+    private static long mix(long value) {
+        long h = value;
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
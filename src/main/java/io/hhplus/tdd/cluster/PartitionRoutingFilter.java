@@ -0,0 +1,378 @@
+package io.hhplus.tdd.cluster;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.ErrorResponse;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 다른 노드가 담당하는 사용자의 /point/{id}/** 요청을 담당 노드로 전달한다.
+ * - 담당 노드의 응답(상태 코드, Content-Type, 본문)을 그대로 돌려주며, 본문은 스트리밍으로 복사한다.
+ * - 전달한 요청에는 FORWARDED_HEADER(보낸 노드)와 SECRET_HEADER(공유 비밀)를 붙이고, 이 헤더가 있는 요청은 구성이 달라도 다시 전달하지 않는다. (전달 반복 방지)
+ *   보낸 노드가 구성에 없거나 공유 비밀이 다르면 403 으로 거절한다. /cluster 의 변경 요청도 공유 비밀이 있어야 한다.
+ * - 구성 변경 중 담당이 바뀌는 사용자의 요청은 잔액/내역을 옮길 때까지 503 으로 거절한다. (ClusterRebalancer)
+ * - 일괄 처리(/point/bulk)는 여러 사용자를 포함하므로 전달하지 않고 받은 노드에서 처리한다.
+ * - 집계 백필(/point/statistics/backfill)은 사용자를 담당 노드별로 나누어 각 노드에서 집계하고, 새로 집계한 사용자 수를 합산해 응답한다.
+ *   일부 노드가 실패해도 이미 집계한 사용자는 건너뛰므로 같은 요청을 다시 보내면 된다.
+ * - 포인트 이전은 보내는 사용자와 받는 사용자의 잔액을 한 노드에서 함께 바꾸므로, 두 사용자의 담당 노드가 다르면 409 로 거절한다.
+ */
+@Component
+@ConditionalOnProperty(name = "point.cluster.enabled", havingValue = "true")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class PartitionRoutingFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(PartitionRoutingFilter.class);
+
+    public static final String FORWARDED_HEADER = "X-Point-Forwarded";
+    public static final String SECRET_HEADER = "X-Point-Cluster-Secret";
+    private static final String CLUSTER_PATH = "/cluster/";
+    private static final Pattern USER_PATH = Pattern.compile("^/point/(\\d+)(/.*)?$");
+    private static final String TRANSFER_PATH = "/transfer";
+    private static final String BACKFILL_PATH = "/point/statistics/backfill";
+    private static final List<String> FORWARDED_REQUEST_HEADERS =
+            List.of(HttpHeaders.CONTENT_TYPE, HttpHeaders.ACCEPT, "Idempotency-Key");
+
+    private final ClusterMembership clusterMembership;
+    private final ObjectMapper objectMapper;
+    private final HttpClient httpClient;
+    private final Duration timeout;
+    private final Duration backfillTimeout;
+
+    public PartitionRoutingFilter(
+            ClusterMembership clusterMembership,
+            ObjectMapper objectMapper,
+            @Value("${point.cluster.forward-timeout-ms:5000}") long timeoutMillis,
+            @Value("${point.cluster.backfill-timeout-ms:600000}") long backfillTimeoutMillis
+    ) {
+        this.clusterMembership = clusterMembership;
+        this.objectMapper = objectMapper;
+        this.timeout = Duration.ofMillis(timeoutMillis);
+        this.backfillTimeout = Duration.ofMillis(backfillTimeoutMillis);
+        this.httpClient = HttpClient.newBuilder()
+                                    .version(HttpClient.Version.HTTP_1_1)
+                                    .connectTimeout(timeout)
+                                    .build();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        boolean write = !HttpMethod.GET.matches(request.getMethod());
+        if (path.startsWith(CLUSTER_PATH)) {
+            if (write && !clusterMembership.hasSecret(request.getHeader(SECRET_HEADER))) {
+                error(response, HttpServletResponse.SC_FORBIDDEN, "403", "클러스터 구성은 공유 비밀이 있어야 변경할 수 있습니다.");
+                return;
+            }
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String forwardedBy = request.getHeader(FORWARDED_HEADER);
+        if (forwardedBy != null && !clusterMembership.trusts(forwardedBy, request.getHeader(SECRET_HEADER))) {
+            error(response, HttpServletResponse.SC_FORBIDDEN, "403", "전달된 요청을 확인할 수 없습니다.");
+            return;
+        }
+        if (forwardedBy == null && write && BACKFILL_PATH.equals(path)) {
+            backfill(request, response, filterChain);
+            return;
+        }
+
+        Matcher matcher = USER_PATH.matcher(path);
+        long userId;
+        try {
+            userId = matcher.matches() ? Long.parseLong(matcher.group(1)) : 0;
+        } catch (NumberFormatException e) {
+            userId = 0;
+        }
+        if (userId <= 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String owner = clusterMembership.ownerOf(userId);
+        long receiverId = 0;
+        if (TRANSFER_PATH.equals(matcher.group(2))) {
+            byte[] body = request.getInputStream().readAllBytes();
+            receiverId = receiverId(body);
+            if (receiverId > 0 && !owner.equals(clusterMembership.ownerOf(receiverId))) {
+                error(response, HttpServletResponse.SC_CONFLICT, "409", "다른 노드가 담당하는 사용자에게는 포인트를 이전할 수 없습니다.");
+                return;
+            }
+            request = new CachedBodyRequest(request, body);
+        }
+        // 전달된 요청은 구성이 달라도 다시 전달하지 않는다.
+        if (forwardedBy == null && !owner.equals(clusterMembership.self())) {
+            forward(owner, request, response);
+            return;
+        }
+        handleLocally(request, response, filterChain, write, userId, receiverId);
+    }
+
+    /**
+     * 구성 변경 중 담당이 바뀌는 사용자의 요청은 잔액/내역을 옮길 때까지 503 으로 거절한다.
+     * 변경 요청은 epoch 에 포함시켜, 구성 변경이 요청이 끝난 뒤에 잔액을 옮기도록 한다. (비동기 처리는 완료 시점까지)
+     */
+    private void handleLocally(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain,
+                               boolean write, long userId, long receiverId) throws ServletException, IOException {
+        ClusterMembership.Epoch epoch = write ? clusterMembership.enter() : null;
+        boolean async = false;
+        try {
+            if (clusterMembership.moving(userId) || receiverId > 0 && clusterMembership.moving(receiverId)) {
+                error(response, HttpServletResponse.SC_SERVICE_UNAVAILABLE, "503", "담당 노드를 변경하고 있습니다. 잠시 후 다시 시도해주세요.");
+                return;
+            }
+            if (write) {
+                clusterMembership.hold(userId);
+                if (receiverId > 0) {
+                    clusterMembership.hold(receiverId);
+                }
+            }
+            filterChain.doFilter(request, response);
+            if (epoch != null && request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new EpochExit(epoch));
+                async = true;
+            }
+        } finally {
+            if (epoch != null && !async) {
+                epoch.exit();
+            }
+        }
+    }
+
+    /**
+     * 이전 요청 본문의 toUserId. 본문을 읽을 수 없으면 검증을 controller 에 맡기도록 0 을 반환한다.
+     */
+    private long receiverId(byte[] body) {
+        try {
+            JsonNode root = objectMapper.readTree(body);
+            JsonNode toUserId = root == null ? null : root.get("toUserId");
+            return toUserId != null && toUserId.canConvertToLong() ? toUserId.asLong() : 0;
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * 백필할 사용자를 담당 노드별로 나누어 다른 노드에는 동시에 전달하고, 현재 노드의 사용자는 controller 에서 처리한다.
+     * 본문을 해석할 수 없으면 검증을 controller 에 맡긴다.
+     */
+    private void backfill(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        byte[] body = request.getInputStream().readAllBytes();
+        Map<String, List<Long>> userIdsByOwner = new LinkedHashMap<>();
+        try {
+            for (long userId : objectMapper.readValue(body, long[].class)) {
+                userIdsByOwner.computeIfAbsent(clusterMembership.ownerOf(userId), owner -> new ArrayList<>()).add(userId);
+            }
+        } catch (IOException e) {
+            filterChain.doFilter(new CachedBodyRequest(request, body), response);
+            return;
+        }
+
+        List<Long> localUserIds = userIdsByOwner.remove(clusterMembership.self());
+        Map<String, CompletableFuture<HttpResponse<String>>> remote = new LinkedHashMap<>();
+        for (Map.Entry<String, List<Long>> entry : userIdsByOwner.entrySet()) {
+            HttpRequest forwarded = HttpRequest.newBuilder(URI.create(entry.getKey() + request.getRequestURI()))
+                                               .timeout(backfillTimeout)
+                                               .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                                               .header(FORWARDED_HEADER, clusterMembership.self())
+                                               .header(SECRET_HEADER, clusterMembership.secret())
+                                               .POST(HttpRequest.BodyPublishers.ofByteArray(
+                                                       objectMapper.writeValueAsBytes(entry.getValue())))
+                                               .build();
+            remote.put(entry.getKey(), httpClient.sendAsync(forwarded, HttpResponse.BodyHandlers.ofString()));
+        }
+
+        int backfilled = 0;
+        if (localUserIds != null) {
+            ContentCachingResponseWrapper local = new ContentCachingResponseWrapper(response);
+            filterChain.doFilter(new CachedBodyRequest(request, objectMapper.writeValueAsBytes(localUserIds)), local);
+            if (local.getStatus() / 100 != 2) {
+                local.copyBodyToResponse();
+                return;
+            }
+            backfilled += objectMapper.readValue(local.getContentAsByteArray(), int.class);
+        }
+        for (Map.Entry<String, CompletableFuture<HttpResponse<String>>> entry : remote.entrySet()) {
+            HttpResponse<String> forwarded;
+            try {
+                forwarded = entry.getValue().get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                unavailable(entry.getKey(), response, e);
+                return;
+            } catch (ExecutionException e) {
+                unavailable(entry.getKey(), response, e);
+                return;
+            }
+            if (forwarded.statusCode() / 100 != 2) {
+                response.setStatus(forwarded.statusCode());
+                forwarded.headers().firstValue(HttpHeaders.CONTENT_TYPE).ifPresent(response::setContentType);
+                response.getOutputStream().write(forwarded.body().getBytes(StandardCharsets.UTF_8));
+                return;
+            }
+            backfilled += objectMapper.readValue(forwarded.body(), int.class);
+        }
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), backfilled);
+    }
+
+    private void forward(String owner, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String query = request.getQueryString();
+        URI uri = URI.create(owner + request.getRequestURI() + (query == null ? "" : "?" + query));
+        byte[] body = request.getInputStream().readAllBytes();
+
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri)
+                                                 .timeout(timeout)
+                                                 .header(FORWARDED_HEADER, clusterMembership.self())
+                                                 .header(SECRET_HEADER, clusterMembership.secret())
+                                                 .method(request.getMethod(), body.length == 0
+                                                         ? HttpRequest.BodyPublishers.noBody()
+                                                         : HttpRequest.BodyPublishers.ofByteArray(body));
+        for (String name : FORWARDED_REQUEST_HEADERS) {
+            String value = request.getHeader(name);
+            if (value != null) {
+                builder.header(name, value);
+            }
+        }
+
+        HttpResponse<InputStream> forwarded;
+        try {
+            forwarded = httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofInputStream());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            unavailable(owner, response, e);
+            return;
+        } catch (IOException e) {
+            unavailable(owner, response, e);
+            return;
+        }
+
+        response.setStatus(forwarded.statusCode());
+        forwarded.headers().firstValue(HttpHeaders.CONTENT_TYPE).ifPresent(response::setContentType);
+        try (InputStream in = forwarded.body()) {
+            in.transferTo(response.getOutputStream());
+        }
+    }
+
+    private void unavailable(String owner, HttpServletResponse response, Exception e) throws IOException {
+        log.warn("담당 노드로 요청을 전달하지 못했습니다 : owner={}", owner, e);
+        error(response, HttpServletResponse.SC_SERVICE_UNAVAILABLE, "503", "담당 노드에 연결할 수 없습니다.");
+    }
+
+    private void error(HttpServletResponse response, int status, String code, String message) throws IOException {
+        response.setStatus(status);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ErrorResponse(code, message));
+    }
+
+    private record EpochExit(ClusterMembership.Epoch epoch) implements AsyncListener {
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            epoch.exit();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+
+    /**
+     * 라우팅 판단을 위해 먼저 읽은 본문을 controller 가 다시 읽을 수 있게 한다.
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        private CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package io.hhplus.tdd.point.application;
+
+import io.hhplus.tdd.point.domain.UserPoint;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * 사용자별 명령을 고정된 개수의 단일 스레드 executor 로 나누어 실행한다. (actor 방식)
+ * - 같은 사용자의 명령은 항상 같은 executor 의 큐(mailbox)로 전달되어 도착 순서대로, 잠금 없이 실행된다.
+ * - 요청 스레드는 명령 완료를 기다리지 않고 future 를 반환받는다.
+ * - mailbox 가 가득 차면 RejectedExecutionException 으로 실패한 future 를 반환한다.
+ * - 여러 사용자에 걸친 작업은 관련된 모든 partition 에 작업을 넣고, 모든 partition 이 해당 작업에 도달했을 때
+ *   마지막으로 도달한 partition 에서 실행한다. 나머지 partition 은 실행이 끝날 때까지 다음 명령을 처리하지 않는다.
+ *   이런 작업은 하나의 잠금 안에서 넣으므로 모든 partition 에서 같은 순서로 놓이고, 서로를 기다리는 순환이 생기지 않는다.
+ */
+@Component
+@ConditionalOnProperty(name = "point.execution.mode", havingValue = "actor")
+public class ActorPointCommandExecutor implements PointCommandExecutor {
+
+    private static final Logger log = LoggerFactory.getLogger(ActorPointCommandExecutor.class);
+
+    private final ThreadPoolExecutor[] partitions;
+    private final ReentrantLock exclusiveSubmission = new ReentrantLock();
+
+    public ActorPointCommandExecutor(
+            @Value("${point.actor.partitions:16}") int partitionCount,
+            @Value("${point.actor.mailbox-capacity:10000}") int mailboxCapacity,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads
+    ) {
+        this.partitions = new ThreadPoolExecutor[partitionCount];
+        for (int i = 0; i < partitionCount; i++) {
+            String name = "point-actor-" + i;
+            // virtual thread 사용 시 테이블 대기 중에도 carrier 스레드를 점유하지 않는다.
+            ThreadFactory threadFactory = virtualThreads
+                    ? new VirtualThreadTaskExecutor(name + "-").getVirtualThreadFactory()
+                    : r -> new Thread(r, name);
+            partitions[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(mailboxCapacity), threadFactory);
+        }
+    }
+
+    @Override
+    public CompletableFuture<UserPoint> submit(PointCommand command, PointCommandHandler handler) {
+        CompletableFuture<UserPoint> future = new CompletableFuture<>();
+        try {
+            partitionOf(command.userId()).execute(() -> {
+                try {
+                    handler.handle(command.userId(), List.of(command)).get(0).complete(future);
+                } catch (RuntimeException e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    @Override
+    public CompletableFuture<List<PointCommandResult>> submitAll(
+            long userId, List<PointCommand> commands, PointCommandHandler handler) {
+        try {
+            return CompletableFuture.supplyAsync(() -> handler.handle(userId, commands), partitionOf(userId));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public <T> CompletableFuture<T> executeExclusively(long[] userIds, Supplier<T> task) {
+        int[] involved = Arrays.stream(userIds).mapToInt(this::partitionIndexOf).sorted().distinct().toArray();
+        CompletableFuture<T> future = new CompletableFuture<>();
+        AtomicInteger remaining = new AtomicInteger(involved.length);
+        Runnable member = () -> {
+            if (remaining.decrementAndGet() == 0) {
+                try {
+                    future.complete(task.get());
+                } catch (RuntimeException e) {
+                    future.completeExceptionally(e);
+                }
+            } else {
+                future.handle((result, e) -> null).join();
+            }
+        };
+
+        exclusiveSubmission.lock();
+        try {
+            for (int partition : involved) {
+                partitions[partition].execute(member);
+            }
+        } catch (RuntimeException e) {
+            // 이미 넣은 작업은 실행되지 않고 바로 끝난다.
+            future.completeExceptionally(e);
+        } finally {
+            exclusiveSubmission.unlock();
+        }
+        return future;
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException {
+        for (ThreadPoolExecutor partition : partitions) {
+            partition.shutdown();
+        }
+        for (ThreadPoolExecutor partition : partitions) {
+            if (!partition.awaitTermination(30, TimeUnit.SECONDS)) {
+                log.warn("{} 의 남은 작업을 제한 시간 내에 처리하지 못했습니다.", partition);
+            }
+        }
+    }
+
+    private ThreadPoolExecutor partitionOf(long userId) {
+        return partitions[partitionIndexOf(userId)];
+    }
+
+    private int partitionIndexOf(long userId) {
+        return Math.floorMod(Long.hashCode(userId) * 0x9E3779B9, partitions.length);
+    }
+}
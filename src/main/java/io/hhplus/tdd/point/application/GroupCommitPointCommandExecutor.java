@@ -0,0 +1,130 @@
+package io.hhplus.tdd.point.application;
+
+import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.util.LockManager;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Supplier;
+
+/**
+ * 같은 사용자 잠금을 기다리는 명령들을 한 번에 처리한다. (group commit)
+ * - 명령은 잠금 stripe 별 대기열에 먼저 넣고 잠금을 기다린다.
+ * - 잠금을 먼저 획득한 요청(leader)이 대기열의 명령을 모두 꺼내 사용자별로 도착 순서대로 handler 에 넘긴다.
+ *   같은 stripe 의 사용자는 leader 가 이미 잠금을 보유하고 있으므로 함께 처리할 수 있다.
+ * - 이후 잠금을 획득한 요청은 자신의 명령이 이미 처리되었다면 바로 반환한다.
+ * 대기열이 길수록 한 번의 잔액 조회/저장으로 처리되는 명령이 많아진다.
+ */
+@Component
+@ConditionalOnProperty(name = "point.execution.mode", havingValue = "group-commit")
+public class GroupCommitPointCommandExecutor implements PointCommandExecutor {
+
+    private final LockManager lockManager;
+    private final Queue<Pending>[] queues;
+
+    @SuppressWarnings("unchecked")
+    public GroupCommitPointCommandExecutor(LockManager lockManager) {
+        this.lockManager = lockManager;
+        this.queues = new Queue[lockManager.stripes()];
+        for (int i = 0; i < queues.length; i++) {
+            queues[i] = new ConcurrentLinkedQueue<>();
+        }
+    }
+
+    @Override
+    public CompletableFuture<UserPoint> submit(PointCommand command, PointCommandHandler handler) {
+        Pending pending = new Pending(command, handler);
+        Queue<Pending> queue = queues[lockManager.stripeOf(command.userId())];
+        queue.add(pending);
+
+        try {
+            lockManager.lock(command.userId());
+        } catch (RuntimeException e) {
+            // 대기 중 다른 leader 가 이미 꺼내 갔다면 그 결과를 따른다.
+            if (queue.remove(pending)) {
+                pending.future.completeExceptionally(e);
+            }
+            return pending.future;
+        }
+
+        try {
+            if (!pending.future.isDone()) {
+                commit(queue);
+            }
+        } finally {
+            lockManager.unlock(command.userId());
+        }
+        return pending.future;
+    }
+
+    @Override
+    public CompletableFuture<List<PointCommandResult>> submitAll(
+            long userId, List<PointCommand> commands, PointCommandHandler handler) {
+        lockManager.lock(userId);
+
+        try {
+            // 이미 모아서 처리하는 단위이므로 대기열을 거치지 않는다.
+            return CompletableFuture.completedFuture(handler.handle(userId, commands));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        } finally {
+            lockManager.unlock(userId);
+        }
+    }
+
+    @Override
+    public <T> CompletableFuture<T> executeExclusively(long[] userIds, Supplier<T> task) {
+        lockManager.lockAll(userIds);
+
+        try {
+            return CompletableFuture.completedFuture(task.get());
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        } finally {
+            lockManager.unlockAll(userIds);
+        }
+    }
+
+    private void commit(Queue<Pending> queue) {
+        Map<Long, List<Pending>> pendingByUser = new LinkedHashMap<>();
+        for (Pending pending = queue.poll(); pending != null; pending = queue.poll()) {
+            pendingByUser.computeIfAbsent(pending.command.userId(), key -> new ArrayList<>()).add(pending);
+        }
+
+        for (Map.Entry<Long, List<Pending>> entry : pendingByUser.entrySet()) {
+            List<Pending> group = entry.getValue();
+            try {
+                List<PointCommand> commands = new ArrayList<>(group.size());
+                for (Pending pending : group) {
+                    commands.add(pending.command);
+                }
+
+                List<PointCommandResult> results = group.get(0).handler.handle(entry.getKey(), commands);
+                for (int i = 0; i < group.size(); i++) {
+                    results.get(i).complete(group.get(i).future);
+                }
+            } catch (RuntimeException e) {
+                for (Pending pending : group) {
+                    pending.future.completeExceptionally(e);
+                }
+            }
+        }
+    }
+
+    private record Pending(
+            PointCommand command,
+            PointCommandHandler handler,
+            CompletableFuture<UserPoint> future
+    ) {
+        private Pending(PointCommand command, PointCommandHandler handler) {
+            this(command, handler, new CompletableFuture<>());
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package io.hhplus.tdd.point.application;
+
+import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.point.domain.UserPointRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 요청이 몰리는 사용자(가맹점, 시스템 계정 등)의 잔액을 여러 shard 로 나누어 사용자 잠금 없이 충전/사용한다.
+ * - 충전은 스레드마다 정해진 shard(스레드별 난수로 고정)에 더하므로 스레드 간 경합이 없다.
+ * - 사용은 자기 shard 부터 잔액이 충분한 shard 를 찾아 CAS 로 차감한다.
+ *   하나의 shard 로 부족하면 사용자별 잠금을 잡고 모든 shard 를 비워 합산한 뒤, 차감하고 남은 잔액을 shard 에 고르게 다시 나눈다. (rebalance)
+ *   shard 는 음수가 되지 않으므로 합계도 잔액을 초과해 사용할 수 없다.
+ * - 조회는 shard 합계를 반환한다. rebalance 중에는 잔액이 shard 사이를 옮겨 다니므로 version 이 바뀌지 않은 합계만 사용한다. (seqlock)
+ *   rebalance 가 아닌 충전/사용과는 동시에 읽을 수 있으며, 그 경우 합계는 이미 끝난 충전/사용을 모두 반영한다.
+ * - 저장소에는 주기적으로 합계를 반영한다. (write-behind) 종료 시 남은 변경분을 반영한다.
+ * - 각 shard 는 다른 shard 와 같은 cache line 을 쓰지 않도록 간격을 두고 배치한다.
+ */
+@Component
+public class HotAccountBalances implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(HotAccountBalances.class);
+
+    // shard 하나 당 long 16개(128 byte) : [잔액, 마지막 갱신 시각, padding...]
+    private static final int STRIDE = 16;
+    private static final int UPDATE_MILLIS = 1;
+    private static final ThreadLocal<Integer> HOME_SHARD = ThreadLocal.withInitial(() -> ThreadLocalRandom.current().nextInt());
+
+    private final UserPointRepository userPointRepository;
+    private final int shards;
+    private final Map<Long, Account> accounts = new HashMap<>();
+    private final Thread flusher;
+    private volatile boolean running = true;
+
+    public HotAccountBalances(
+            UserPointRepository userPointRepository,
+            PointStatisticsService pointStatisticsService,
+            @Value("${point.hot-accounts.ids:}") List<Long> ids,
+            @Value("${point.hot-accounts.shards:0}") int shards,
+            @Value("${point.hot-accounts.flush-interval-ms:100}") long flushIntervalMillis
+    ) {
+        this.userPointRepository = userPointRepository;
+        int requested = shards <= 0 ? Runtime.getRuntime().availableProcessors() : shards;
+        this.shards = requested <= 1 ? 1 : Integer.highestOneBit(requested - 1) << 1;
+
+        for (long id : ids) {
+            if (id <= 0) {
+                throw new IllegalArgumentException("유효하지 않은 사용자입니다.");
+            }
+            UserPoint loaded = userPointRepository.selectById(id);
+            Account account = new Account(this.shards);
+            account.spread(loaded.point(), loaded.updateMillis());
+            account.flushed = loaded.point();
+            accounts.put(id, account);
+        }
+        // 충전/사용이 사용자 격리 없이 실행되므로, 집계 생성 도중 기록된 내역이 빠지지 않도록 요청을 받기 전에 집계를 만든다.
+        pointStatisticsService.backfill(ids);
+
+        this.flusher = new Thread(() -> flushPeriodically(flushIntervalMillis), "point-hot-account-flusher");
+        this.flusher.setDaemon(true);
+        if (!accounts.isEmpty()) {
+            this.flusher.start();
+            log.info("핫 계정 잔액 분할 사용 : users={}, shards={}", accounts.keySet(), this.shards);
+        }
+    }
+
+    public boolean contains(long id) {
+        return accounts.containsKey(id);
+    }
+
+    public int shards() {
+        return shards;
+    }
+
+    public UserPoint get(long id) {
+        Account account = account(id);
+        while (true) {
+            long version = account.version.get();
+            if ((version & 1) == 0) {
+                long point = 0;
+                long updateMillis = 0;
+                for (int shard = 0; shard < shards; shard++) {
+                    point += account.cells.get(shard * STRIDE);
+                    updateMillis = Math.max(updateMillis, account.cells.get(shard * STRIDE + UPDATE_MILLIS));
+                }
+                if (account.version.get() == version) {
+                    return new UserPoint(id, point, updateMillis);
+                }
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    public void charge(long id, long amount) {
+        Account account = account(id);
+        int index = homeShard() * STRIDE;
+        account.cells.getAndAdd(index, amount);
+        account.cells.set(index + UPDATE_MILLIS, System.currentTimeMillis());
+    }
+
+    /**
+     * 잔액이 부족하면 아무것도 차감하지 않고 false 를 반환한다.
+     */
+    public boolean use(long id, long amount) {
+        Account account = account(id);
+        int home = homeShard();
+        for (int i = 0; i < shards; i++) {
+            int index = ((home + i) & (shards - 1)) * STRIDE;
+            long point = account.cells.get(index);
+            while (point >= amount) {
+                long witness = account.cells.compareAndExchange(index, point, point - amount);
+                if (witness == point) {
+                    account.cells.set(index + UPDATE_MILLIS, System.currentTimeMillis());
+                    return true;
+                }
+                point = witness;
+            }
+        }
+        return account.rebalance(amount);
+    }
+
+    /**
+     * 변경된 합계를 저장소에 반영한다. flush 스레드에서만 호출하므로 같은 사용자의 저장이 겹치지 않는다.
+     */
+    void flush() {
+        for (Map.Entry<Long, Account> entry : accounts.entrySet()) {
+            Account account = entry.getValue();
+            UserPoint userPoint = get(entry.getKey());
+            if (userPoint.point() != account.flushed) {
+                userPointRepository.insertOrUpdate(entry.getKey(), userPoint.point());
+                account.flushed = userPoint.point();
+            }
+        }
+    }
+
+    @PreDestroy
+    @Override
+    public void close() throws InterruptedException {
+        running = false;
+        if (flusher.isAlive()) {
+            flusher.interrupt();
+            flusher.join(TimeUnit.SECONDS.toMillis(10));
+        }
+        flush();
+    }
+
+    private void flushPeriodically(long flushIntervalMillis) {
+        while (running) {
+            try {
+                TimeUnit.MILLISECONDS.sleep(flushIntervalMillis);
+            } catch (InterruptedException e) {
+                return;
+            }
+            try {
+                flush();
+            } catch (RuntimeException e) {
+                log.warn("핫 계정 잔액 반영에 실패했습니다. 다음 주기에 다시 시도합니다.", e);
+            }
+        }
+    }
+
+    private Account account(long id) {
+        Account account = accounts.get(id);
+        if (account == null) {
+            throw new IllegalArgumentException("핫 계정이 아닙니다 : " + id);
+        }
+        return account;
+    }
+
+    private int homeShard() {
+        return HOME_SHARD.get() & (shards - 1);
+    }
+
+    private final class Account {
+        private final AtomicLongArray cells;
+        // rebalance 중이면 홀수
+        private final AtomicLong version = new AtomicLong();
+        private final ReentrantLock rebalanceLock = new ReentrantLock();
+        // flush 스레드에서만 사용한다.
+        private long flushed;
+
+        private Account(int shards) {
+            this.cells = new AtomicLongArray(shards * STRIDE);
+        }
+
+        /**
+         * 모든 shard 를 비워 합산한 잔액에서 차감하고, 남은 잔액을 shard 에 고르게 나눈다.
+         * 비우는 도중 이미 비운 shard 에 더해진 충전은 이번 합산 이후에 적용된 것으로 본다.
+         */
+        private boolean rebalance(long amount) {
+            rebalanceLock.lock();
+
+            try {
+                version.incrementAndGet();
+                long total = 0;
+                long updateMillis = 0;
+                for (int shard = 0; shard < shards; shard++) {
+                    total += cells.getAndSet(shard * STRIDE, 0);
+                    updateMillis = Math.max(updateMillis, cells.get(shard * STRIDE + UPDATE_MILLIS));
+                }
+
+                boolean enough = total >= amount;
+                if (enough) {
+                    total -= amount;
+                    updateMillis = System.currentTimeMillis();
+                }
+                spread(total, updateMillis);
+                version.incrementAndGet();
+                return enough;
+            } finally {
+                rebalanceLock.unlock();
+            }
+        }
+
+        private void spread(long total, long updateMillis) {
+            long share = total / shards;
+            long remainder = total % shards;
+            for (int shard = 0; shard < shards; shard++) {
+                cells.getAndAdd(shard * STRIDE, shard < remainder ? share + 1 : share);
+            }
+            cells.set(UPDATE_MILLIS, updateMillis);
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package io.hhplus.tdd.point.application;
+
+import io.hhplus.tdd.point.domain.TransactionType;
+import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.util.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 충전/사용 요청의 멱등 키(Idempotency-Key)별 결과 저장소
+ * - 같은 사용자/요청 유형/키로 다시 요청하면 명령을 실행하지 않고 처음 요청의 결과(future)를 그대로 반환한다.
+ *   처음 요청이 처리 중이라면 같은 future 를 기다린다.
+ * - 같은 키로 금액이 다른 요청은 저장된 결과를 반환하지 않고 거절한다. (hit 가 아닌 conflict 로 집계)
+ * - 실패한 요청은 저장하지 않으므로 같은 키로 다시 시도할 수 있다.
+ * - 모든 항목의 유효 시간이 같으므로 추가 순서가 곧 만료 순서이다. 추가할 때 만료된 항목을 앞에서부터 제거한다.
+ * - 만료되지 않은 항목은 최대 개수를 넘어도 제거하지 않고 새 키를 TooManyRequestsException 으로 거절한다.
+ *   (유효 시간 안의 재요청이 결과를 잃고 명령을 다시 실행하지 않도록 한다)
+ * - 만료 순서 중간에서 무효화된 항목(실패, 만료 후 재요청)은 큐에 남으므로, 그 수가 저장된 항목 수를 넘으면 큐에서 한 번에 걸러낸다.
+ *   (큐 길이는 저장된 항목 수의 약 2배를 넘지 않는다)
+ */
+@Component
+public class IdempotencyCache {
+
+    public static final int MAX_KEY_LENGTH = 255;
+
+    // 항목 하나의 대략적인 크기 (map node, key, entry, future, 만료 순서 node) + key 문자열 길이
+    private static final long ENTRY_BYTES = 200;
+    // 저장된 항목이 적을 때 무효화마다 큐를 거르지 않도록 하는 최소 기준
+    private static final int MIN_UNLINK_THRESHOLD = 64;
+
+    private final int maxSize;
+    private final long ttlNanos;
+    private final ConcurrentMap<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final Queue<Entry> expirationOrder = new ConcurrentLinkedQueue<>();
+    private final AtomicLong estimatedBytes = new AtomicLong();
+    private final AtomicInteger invalidated = new AtomicInteger();
+    private final AtomicBoolean unlinking = new AtomicBoolean();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter conflicts;
+    private final Counter rejections;
+
+    public IdempotencyCache(
+            @Value("${point.idempotency.max-size:100000}") int maxSize,
+            @Value("${point.idempotency.ttl-ms:600000}") long ttlMillis,
+            MeterRegistry meterRegistry
+    ) {
+        this.maxSize = maxSize;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        this.hits = Counter.builder("point.idempotency.requests")
+                           .description("멱등 키 요청 수 (hit : 저장된 결과 반환)")
+                           .tag("result", "hit")
+                           .register(meterRegistry);
+        this.misses = Counter.builder("point.idempotency.requests")
+                             .description("멱등 키 요청 수 (hit : 저장된 결과 반환)")
+                             .tag("result", "miss")
+                             .register(meterRegistry);
+        this.conflicts = Counter.builder("point.idempotency.requests")
+                                .description("멱등 키 요청 수 (hit : 저장된 결과 반환)")
+                                .tag("result", "conflict")
+                                .register(meterRegistry);
+        this.rejections = Counter.builder("point.idempotency.requests")
+                                 .description("멱등 키 요청 수 (hit : 저장된 결과 반환)")
+                                 .tag("result", "rejected")
+                                 .register(meterRegistry);
+        Gauge.builder("point.idempotency.size", entries, ConcurrentMap::size)
+             .description("저장된 멱등 키 수")
+             .register(meterRegistry);
+        Gauge.builder("point.idempotency.bytes", estimatedBytes, AtomicLong::get)
+             .description("멱등 키 저장소의 추정 메모리 사용량")
+             .baseUnit("bytes")
+             .register(meterRegistry);
+    }
+
+    /**
+     * 처음 보는 키면 command 를 실행하고 결과를 저장한다.
+     * 같은 키로 금액이 다른 요청이 오면 IllegalArgumentException 으로 실패한다.
+     * 처음 보는 키인데 만료되지 않은 항목이 최대 개수만큼 있으면 실행하지 않고 TooManyRequestsException 을 던진다.
+     */
+    public CompletableFuture<UserPoint> execute(
+            long userId, TransactionType type, long amount, String key, Supplier<CompletableFuture<UserPoint>> command) {
+        if (key.isEmpty() || key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("멱등 키는 1 ~ " + MAX_KEY_LENGTH + "자여야 합니다.");
+        }
+
+        long now = System.nanoTime();
+        Key cacheKey = new Key(userId, type, key);
+        Entry entry = new Entry(cacheKey, amount, now + ttlNanos);
+        evict(now);
+        while (true) {
+            Entry existing = entries.putIfAbsent(cacheKey, entry);
+            if (existing == null) {
+                break;
+            }
+            if (!existing.isExpired(now)) {
+                if (existing.amount != amount) {
+                    conflicts.increment();
+                    return CompletableFuture.failedFuture(
+                            new IllegalArgumentException("같은 멱등 키로 다른 금액을 요청할 수 없습니다."));
+                }
+                hits.increment();
+                return existing.future;
+            }
+            invalidate(existing);
+        }
+
+        if (entries.size() > maxSize) {
+            // 동시에 추가된 키와 함께 최대 개수를 넘었다면 이 키를 되돌린다. (만료 순서 큐에 넣기 전이므로 map 에서만 제거)
+            entries.remove(cacheKey, entry);
+            rejections.increment();
+            throw new TooManyRequestsException("처리 중인 멱등 키가 많습니다. 잠시 후 다시 시도해주세요.");
+        }
+        misses.increment();
+        estimatedBytes.addAndGet(entry.bytes());
+        expirationOrder.add(entry);
+
+        CompletableFuture<UserPoint> result;
+        try {
+            result = command.get();
+        } catch (RuntimeException e) {
+            invalidate(entry);
+            throw e;
+        }
+        result.whenComplete((userPoint, e) -> {
+            if (e != null) {
+                invalidate(entry);
+                entry.future.completeExceptionally(e);
+            } else {
+                entry.future.complete(userPoint);
+            }
+        });
+        return entry.future;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * 만료 순서 큐의 길이 (무효화되었지만 아직 걸러내지 않은 항목 포함)
+     */
+    int queuedSize() {
+        return expirationOrder.size();
+    }
+
+    /**
+     * 만료되었거나 무효화된 항목을 만료 순서 큐의 앞에서부터 제거한다.
+     */
+    private void evict(long now) {
+        for (Entry oldest = expirationOrder.peek();
+             oldest != null && (oldest.isExpired(now) || oldest.removed);
+             oldest = expirationOrder.peek()) {
+            if (expirationOrder.remove(oldest)) {
+                remove(oldest);
+            }
+        }
+    }
+
+    /**
+     * 만료 순서와 관계없이 항목을 제거한다. 큐에 남은 항목은 쌓인 수가 기준을 넘으면 한 번에 걸러낸다.
+     */
+    private void invalidate(Entry entry) {
+        if (!remove(entry)) {
+            return;
+        }
+        if (invalidated.incrementAndGet() > Math.max(entries.size(), MIN_UNLINK_THRESHOLD)
+                && unlinking.compareAndSet(false, true)) {
+            try {
+                invalidated.set(0);
+                expirationOrder.removeIf(queued -> queued.removed);
+            } finally {
+                unlinking.set(false);
+            }
+        }
+    }
+
+    private boolean remove(Entry entry) {
+        if (entries.remove(entry.key, entry)) {
+            entry.removed = true;
+            estimatedBytes.addAndGet(-entry.bytes());
+            return true;
+        }
+        return false;
+    }
+
+    private record Key(long userId, TransactionType type, String key) {
+    }
+
+    private static final class Entry {
+        private final Key key;
+        private final long amount;
+        private final long expiresAtNanos;
+        private final CompletableFuture<UserPoint> future = new CompletableFuture<>();
+        private volatile boolean removed;
+
+        private Entry(Key key, long amount, long expiresAtNanos) {
+            this.key = key;
+            this.amount = amount;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+
+        private boolean isExpired(long now) {
+            return now - expiresAtNanos > 0;
+        }
+
+        private long bytes() {
+            return ENTRY_BYTES + 2L * key.key().length();
+        }
+    }
+}
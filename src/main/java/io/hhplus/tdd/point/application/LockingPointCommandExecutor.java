@@ -0,0 +1,64 @@
+package io.hhplus.tdd.point.application;
+
+import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.util.LockManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * 호출 스레드에서 사용자 잠금을 획득한 뒤 명령을 실행한다. 반환되는 future 는 항상 완료된 상태이다.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "point.execution.mode", havingValue = "lock", matchIfMissing = true)
+public class LockingPointCommandExecutor implements PointCommandExecutor {
+
+    private final LockManager lockManager;
+
+    @Override
+    public CompletableFuture<UserPoint> submit(PointCommand command, PointCommandHandler handler) {
+        CompletableFuture<UserPoint> future = new CompletableFuture<>();
+        lockManager.lock(command.userId());
+
+        try {
+            handler.handle(command.userId(), List.of(command)).get(0).complete(future);
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+        } finally {
+            lockManager.unlock(command.userId());
+        }
+        return future;
+    }
+
+    @Override
+    public CompletableFuture<List<PointCommandResult>> submitAll(
+            long userId, List<PointCommand> commands, PointCommandHandler handler) {
+        lockManager.lock(userId);
+
+        try {
+            return CompletableFuture.completedFuture(handler.handle(userId, commands));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        } finally {
+            lockManager.unlock(userId);
+        }
+    }
+
+    @Override
+    public <T> CompletableFuture<T> executeExclusively(long[] userIds, Supplier<T> task) {
+        lockManager.lockAll(userIds);
+
+        try {
+            return CompletableFuture.completedFuture(task.get());
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        } finally {
+            lockManager.unlockAll(userIds);
+        }
+    }
+}
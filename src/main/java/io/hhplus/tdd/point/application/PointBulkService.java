@@ -0,0 +1,141 @@
+package io.hhplus.tdd.point.application;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 일괄 정산용 충전/사용 처리
+ * - 명령을 사용자별로 묶어 사용자마다 한 번의 잔액 조회/저장으로 처리한다.
+ * - 사용자 간에는 병렬로, 같은 사용자 안에서는 입력 순서대로 처리한다.
+ * - 명령마다 결과(성공 시 처리 직후 잔액, 실패 시 사유)를 전달한다.
+ * - 요청 본문처럼 순서대로 읽는 명령은 chunk-size 개씩 읽어 처리하므로, 전체 명령을 메모리에 올리지 않는다.
+ *   chunk 는 순서대로 처리하므로 같은 사용자의 명령은 입력 순서를 유지한다.
+ */
+@Service
+public class PointBulkService {
+
+    private final PointService pointService;
+    private final PointCommandExecutor pointCommandExecutor;
+    private final int chunkSize;
+    private final ExecutorService bulkExecutor;
+    private final ExecutorService requestExecutor = Executors.newCachedThreadPool(r -> new Thread(r, "point-bulk-request"));
+
+    public PointBulkService(
+            PointService pointService,
+            PointCommandExecutor pointCommandExecutor,
+            @Value("${point.bulk.parallelism:256}") int parallelism,
+            @Value("${point.bulk.chunk-size:10000}") int chunkSize
+    ) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("point.bulk.chunk-size 는 0 보다 커야 합니다.");
+        }
+        this.pointService = pointService;
+        this.pointCommandExecutor = pointCommandExecutor;
+        this.chunkSize = chunkSize;
+        this.bulkExecutor = Executors.newFixedThreadPool(parallelism, r -> new Thread(r, "point-bulk"));
+    }
+
+    /**
+     * 명령을 chunk 단위로 읽어 처리하고, 모두 처리하면 완료되는 future 를 반환한다. index 는 전체 명령에서의 순서이다.
+     * 명령을 읽다 실패하면(예 : 본문 형식 오류) 그 전까지 읽은 명령을 처리한 뒤 해당 예외로 완료한다.
+     */
+    public CompletableFuture<Void> applyAsync(Iterator<PointCommand> commands, PointBulkListener listener) {
+        return CompletableFuture.runAsync(() -> applyAll(commands, listener), requestExecutor);
+    }
+
+    private void applyAll(Iterator<PointCommand> commands, PointBulkListener listener) {
+        int offset = 0;
+        while (true) {
+            List<PointCommand> chunk = new ArrayList<>(Math.min(chunkSize, 1024));
+            RuntimeException failure = null;
+            try {
+                while (chunk.size() < chunkSize && commands.hasNext()) {
+                    chunk.add(commands.next());
+                }
+            } catch (RuntimeException e) {
+                failure = e;
+            }
+
+            int base = offset;
+            apply(chunk, (index, command, result) -> listener.onResult(base + index, command, result));
+            offset += chunk.size();
+            if (failure != null) {
+                throw failure;
+            }
+            if (chunk.size() < chunkSize) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * 모든 명령을 처리할 때까지 기다린다. listener 는 여러 스레드에서 호출될 수 있다.
+     */
+    public void apply(List<PointCommand> commands, PointBulkListener listener) {
+        Map<Long, List<Integer>> indexesByUser = new LinkedHashMap<>();
+        for (int index = 0; index < commands.size(); index++) {
+            PointCommand command = commands.get(index);
+            try {
+                pointService.validateCommand(command);
+            } catch (IllegalArgumentException e) {
+                listener.onResult(index, command, PointCommandResult.failure(e));
+                continue;
+            }
+            indexesByUser.computeIfAbsent(command.userId(), key -> new ArrayList<>()).add(index);
+        }
+
+        List<CompletableFuture<Void>> futures = new ArrayList<>(indexesByUser.size());
+        for (Map.Entry<Long, List<Integer>> entry : indexesByUser.entrySet()) {
+            futures.add(CompletableFuture.runAsync(
+                    () -> applyUser(entry.getKey(), entry.getValue(), commands, listener), bulkExecutor));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+    }
+
+    @PreDestroy
+    public void close() {
+        requestExecutor.shutdown();
+        bulkExecutor.shutdown();
+    }
+
+    private void applyUser(long userId, List<Integer> indexes, List<PointCommand> commands, PointBulkListener listener) {
+        List<PointCommand> userCommands = new ArrayList<>(indexes.size());
+        for (int index : indexes) {
+            userCommands.add(commands.get(index));
+        }
+
+        List<PointCommandResult> results;
+        try {
+            results = pointCommandExecutor.submitAll(userId, userCommands, pointService::applyCommands).join();
+        } catch (RuntimeException e) {
+            RuntimeException cause = e instanceof CompletionException && e.getCause() instanceof RuntimeException runtime
+                    ? runtime
+                    : e;
+            for (int index : indexes) {
+                listener.onResult(index, commands.get(index), PointCommandResult.failure(cause));
+            }
+            return;
+        }
+
+        for (int i = 0; i < indexes.size(); i++) {
+            int index = indexes.get(i);
+            listener.onResult(index, commands.get(index), results.get(i));
+        }
+    }
+
+    @FunctionalInterface
+    public interface PointBulkListener {
+        void onResult(int index, PointCommand command, PointCommandResult result);
+    }
+}
@@ -0,0 +1,13 @@
+package io.hhplus.tdd.point.application;
+
+import io.hhplus.tdd.point.domain.TransactionType;
+
+/**
+ * 사용자 포인트 변경 명령 (충전/사용)
+ */
+public record PointCommand(
+        long userId,
+        TransactionType type,
+        long amount
+) {
+}
@@ -0,0 +1,29 @@
+package io.hhplus.tdd.point.application;
+
+import io.hhplus.tdd.point.domain.UserPoint;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * 사용자별 포인트 변경 명령을 순서대로, 서로 격리하여 실행한다.
+ * - lock : 호출 스레드에서 사용자 잠금을 잡고 실행 (LockingPointCommandExecutor)
+ * - actor : 사용자별로 지정된 단일 스레드에서 잠금 없이 실행 (ActorPointCommandExecutor)
+ * - group-commit : 잠금을 기다리는 명령들을 먼저 획득한 요청이 모아서 실행 (GroupCommitPointCommandExecutor)
+ */
+public interface PointCommandExecutor {
+
+    CompletableFuture<UserPoint> submit(PointCommand command, PointCommandHandler handler);
+
+    /**
+     * 한 사용자의 명령들을 한 번에 실행한다. (일괄 정산 등)
+     */
+    CompletableFuture<List<PointCommandResult>> submitAll(long userId, List<PointCommand> commands, PointCommandHandler handler);
+
+    /**
+     * 여러 사용자에 걸친 작업(이체 등)을 모든 사용자의 명령과 격리된 상태로 실행한다.
+     * 사용자 순서와 무관하게 교착 상태 없이 실행되어야 한다.
+     */
+    <T> CompletableFuture<T> executeExclusively(long[] userIds, Supplier<T> task);
+}
@@ -0,0 +1,13 @@
+package io.hhplus.tdd.point.application;
+
+import java.util.List;
+
+/**
+ * 한 사용자의 명령들을 도착 순서대로 적용하고, 명령마다 결과를 같은 순서로 반환한다.
+ * 호출하는 쪽에서 해당 사용자에 대한 격리(잠금 또는 단일 스레드)를 보장해야 한다.
+ */
+@FunctionalInterface
+public interface PointCommandHandler {
+
+    List<PointCommandResult> handle(long userId, List<PointCommand> commands);
+}
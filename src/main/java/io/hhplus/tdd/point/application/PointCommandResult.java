@@ -0,0 +1,29 @@
+package io.hhplus.tdd.point.application;
+
+import io.hhplus.tdd.point.domain.UserPoint;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 명령 하나의 처리 결과. 성공 시 처리 직후의 UserPoint, 실패 시 예외를 가진다.
+ */
+public record PointCommandResult(
+        UserPoint userPoint,
+        RuntimeException failure
+) {
+    public static PointCommandResult success(UserPoint userPoint) {
+        return new PointCommandResult(userPoint, null);
+    }
+
+    public static PointCommandResult failure(RuntimeException failure) {
+        return new PointCommandResult(null, failure);
+    }
+
+    public void complete(CompletableFuture<UserPoint> future) {
+        if (failure != null) {
+            future.completeExceptionally(failure);
+        } else {
+            future.complete(userPoint);
+        }
+    }
+}
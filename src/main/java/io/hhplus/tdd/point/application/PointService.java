@@ -1,68 +1,567 @@
 package io.hhplus.tdd.point.application;
 
 import io.hhplus.tdd.point.domain.*;
-import io.hhplus.tdd.util.LockManager;
-import lombok.RequiredArgsConstructor;
+import io.hhplus.tdd.util.AdmissionControl;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 @Service
-@RequiredArgsConstructor
 public class PointService {
 
     private final UserPointRepository userPointRepository;
     private final PointHistoryRepository pointHistoryRepository;
-    private final LockManager lockManager;
+    private final PointCommandExecutor pointCommandExecutor;
+    private final IdempotencyCache idempotencyCache;
+    private final UserPointSnapshots userPointSnapshots;
+    private final AdmissionControl admissionControl;
+    private final PointStatisticsService pointStatisticsService;
+    private final PointTransferBatcher pointTransferBatcher;
+    private final HotAccountBalances hotAccountBalances;
 
+    // 처리 시간 지표 (point.operation). 충전/사용은 잠금 대기를 포함해 명령이 완료될 때까지 측정한다.
+    private final Timer chargeTimer;
+    private final Timer useTimer;
+    private final Timer getTimer;
+    private final Timer historiesTimer;
+    private final Timer transferTimer;
+    private final Counter overdraftCounter;
+
+    public PointService(
+            UserPointRepository userPointRepository,
+            PointHistoryRepository pointHistoryRepository,
+            PointCommandExecutor pointCommandExecutor,
+            IdempotencyCache idempotencyCache,
+            UserPointSnapshots userPointSnapshots,
+            AdmissionControl admissionControl,
+            PointStatisticsService pointStatisticsService,
+            PointTransferBatcher pointTransferBatcher,
+            HotAccountBalances hotAccountBalances,
+            MeterRegistry meterRegistry
+    ) {
+        this.userPointRepository = userPointRepository;
+        this.pointHistoryRepository = pointHistoryRepository;
+        this.pointCommandExecutor = pointCommandExecutor;
+        this.idempotencyCache = idempotencyCache;
+        this.userPointSnapshots = userPointSnapshots;
+        this.admissionControl = admissionControl;
+        this.pointStatisticsService = pointStatisticsService;
+        this.pointTransferBatcher = pointTransferBatcher;
+        this.hotAccountBalances = hotAccountBalances;
+        this.chargeTimer = operationTimer(meterRegistry, "charge");
+        this.useTimer = operationTimer(meterRegistry, "use");
+        this.getTimer = operationTimer(meterRegistry, "get");
+        this.historiesTimer = operationTimer(meterRegistry, "histories");
+        this.transferTimer = operationTimer(meterRegistry, "transfer");
+        this.overdraftCounter = Counter.builder("point.overdraft.rejections")
+                                       .description("잔액 초과로 거절된 사용/이체 명령 수")
+                                       .register(meterRegistry);
+    }
+
+    /**
+     * 저장이 끝난 마지막 잔액을 잠금 없이 조회한다. 아직 공개된 값이 없을 때만 저장소를 조회한다.
+     * 핫 계정은 shard 잔액의 합계를 반환한다.
+     */
     public UserPoint getPoint(long id) {
         validateUser(id);
 
-        return userPointRepository.selectById(id);
+        long start = System.nanoTime();
+        try {
+            if (hotAccountBalances.contains(id)) {
+                return hotAccountBalances.get(id);
+            }
+            UserPointSnapshots.Snapshot snapshot = userPointSnapshots.get(id);
+            if (snapshot != null) {
+                return snapshot.userPoint();
+            }
+            long stamp = userPointSnapshots.stamp();
+            return userPointSnapshots.fill(userPointRepository.selectById(id), stamp).userPoint();
+        } finally {
+            getTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
     }
 
     public List<PointHistory> getPointHistories(long id) {
         validateUser(id);
 
-        return pointHistoryRepository.selectAllByUserId(id);
+        long start = System.nanoTime();
+        try {
+            return pointHistoryRepository.selectAllByUserId(id);
+        } finally {
+            historiesTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
     }
 
-    public UserPoint chargePoint(long id, long amount) {
-        lockManager.lock(id);
+    public List<PointHistory> getPointHistories(long id, PointHistorySearch search) {
+        validateUser(id);
 
+        long start = System.nanoTime();
         try {
-            validateUser(id);
-            validateAmount(amount);
+            return pointHistoryRepository.selectByUserId(id, search);
+        } finally {
+            historiesTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
 
-            UserPoint userPoint = userPointRepository.selectById(id);
+    /**
+     * 조회 조건에 맞는 내역을 limit 건씩 나눈 페이지로 차례로 반환한다. (스트리밍 조회)
+     * 저장소에 따라 처음에 전체 내역을 한 번 읽거나, 다음 페이지를 요청할 때 cursor 이후만 조회한다.
+     */
+    public Iterator<List<PointHistory>> getPointHistoryPages(long id, PointHistorySearch search) {
+        validateUser(id);
+        return pointHistoryRepository.selectPagesByUserId(id, search);
+    }
+
+    public UserPoint chargePoint(long id, long amount) {
+        return await(chargePointAsync(id, amount));
+    }
 
-            pointHistoryRepository.insert(id, amount, TransactionType.CHARGE, System.currentTimeMillis());
+    public CompletableFuture<UserPoint> chargePointAsync(long id, long amount) {
+        validateUser(id);
+        validateAmount(amount);
 
-            return userPointRepository.insertOrUpdate(id, userPoint.point() + amount);
+        long start = System.nanoTime();
+        return timed(admitted(id, () -> submit(
+                new PointCommand(id, TransactionType.CHARGE, amount))), chargeTimer, start);
+    }
 
-        } finally {
-            lockManager.unlock(id);
+    /**
+     * 멱등 키가 있으면 같은 키의 재요청에 처음 요청의 결과를 반환한다. (잠금/테이블을 사용하지 않음)
+     */
+    public CompletableFuture<UserPoint> chargePointAsync(long id, long amount, String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return chargePointAsync(id, amount);
         }
+        validateUser(id);
+        validateAmount(amount);
+
+        return idempotencyCache.execute(id, TransactionType.CHARGE, amount, idempotencyKey,
+                () -> chargePointAsync(id, amount));
     }
 
     public UserPoint usePoint(long id, long amount) {
-        lockManager.lock(id);
+        return await(usePointAsync(id, amount));
+    }
+
+    public CompletableFuture<UserPoint> usePointAsync(long id, long amount) {
+        validateUser(id);
+        validateAmount(amount);
+
+        long start = System.nanoTime();
+        return timed(admitted(id, () -> submit(
+                new PointCommand(id, TransactionType.USE, amount))), useTimer, start);
+    }
+
+    public CompletableFuture<UserPoint> usePointAsync(long id, long amount, String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return usePointAsync(id, amount);
+        }
+        validateUser(id);
+        validateAmount(amount);
+
+        return idempotencyCache.execute(id, TransactionType.USE, amount, idempotencyKey,
+                () -> usePointAsync(id, amount));
+    }
+
+    public UserPoint transferPoint(long fromId, long toId, long amount) {
+        return await(transferPointAsync(fromId, toId, amount));
+    }
+
+    /**
+     * 보낸 사용자의 출금과 받은 사용자의 입금을 두 사용자 모두 격리된 상태에서 함께 처리하고, 보낸 사용자의 이체 직후 잔액을 반환한다.
+     * 처리율 제한은 보낸 사용자에게만 적용하므로 많은 사용자가 한 사용자에게 이체해도 받는 사용자의 한도에 걸리지 않는다.
+     */
+    public CompletableFuture<UserPoint> transferPointAsync(long fromId, long toId, long amount) {
+        validateUser(fromId);
+        validateUser(toId);
+        if (fromId == toId) {
+            throw new IllegalArgumentException("자기 자신에게 이체할 수 없습니다.");
+        }
+        validateAmount(amount);
+
+        long start = System.nanoTime();
+        return timed(admitted(fromId, () -> pointTransferBatcher.submit(
+                new PointTransfer(fromId, toId, amount), this::applyTransfers)), transferTimer, start);
+    }
+
+    /**
+     * 한 사용자의 명령들을 한 번의 잔액 조회와 한 번의 저장으로 처리한다.
+     * 명령은 도착 순서대로 적용하며, 잔액을 초과하거나 내역을 기록하지 못한 명령만 개별적으로 실패시킨다.
+     * 잔액 저장에 실패하면 적용한 명령을 모두 실패시키고, 기록한 내역은 반대 방향 내역(충전 ↔ 사용)으로 상쇄한다.
+     * 호출하는 쪽(PointCommandExecutor)에서 해당 사용자의 격리를 보장한다.
+     */
+    List<PointCommandResult> applyCommands(long id, List<PointCommand> commands) {
+        if (hotAccountBalances.contains(id)) {
+            return applyHotCommands(id, commands);
+        }
+
+        UserPoint userPoint = userPointRepository.selectById(id);
+        long balance = userPoint.point();
+
+        long[] balances = new long[commands.size()];
+        RuntimeException[] failures = new RuntimeException[commands.size()];
+        List<PointHistory> recorded = new ArrayList<>(commands.size());
+        int lastApplied = -1;
+
+        for (int i = 0; i < commands.size(); i++) {
+            PointCommand command = commands.get(i);
+            if (command.type() == TransactionType.USE && balance < command.amount()) {
+                failures[i] = new PointOverdraftException("잔액을 초과하여 사용할 수 없습니다.");
+                overdraftCounter.increment();
+                continue;
+            }
+
+            PointHistory pointHistory;
+            try {
+                pointHistory = pointHistoryRepository.insert(id, command.amount(), command.type(), System.currentTimeMillis());
+            } catch (RuntimeException e) {
+                // 내역을 기록하지 못한 명령만 실패시키고, 앞서 기록한 명령의 잔액은 그대로 저장한다. (예 : 반영 대기 한도 초과)
+                failures[i] = e;
+                continue;
+            }
+            pointStatisticsService.record(pointHistory);
+            recorded.add(pointHistory);
 
+            balance += command.type() == TransactionType.CHARGE ? command.amount() : -command.amount();
+            balances[i] = balance;
+            lastApplied = i;
+        }
+
+        UserPoint committed;
         try {
-            validateUser(id);
-            validateAmount(amount);
+            committed = lastApplied < 0 ? userPoint : userPointRepository.insertOrUpdate(id, balance);
+        } catch (RuntimeException e) {
+            reverse(recorded, e).forEach(pointStatisticsService::record);
+            List<PointCommandResult> results = new ArrayList<>(commands.size());
+            for (int i = 0; i < commands.size(); i++) {
+                results.add(PointCommandResult.failure(failures[i] != null ? failures[i] : e));
+            }
+            return results;
+        }
+        if (lastApplied >= 0) {
+            // 응답(future 완료)보다 먼저 공개해야, 응답을 받은 뒤의 조회가 항상 이 값을 읽는다.
+            userPointSnapshots.publish(committed);
+        }
+
+        List<PointCommandResult> results = new ArrayList<>(commands.size());
+        for (int i = 0; i < commands.size(); i++) {
+            if (failures[i] != null) {
+                results.add(PointCommandResult.failure(failures[i]));
+            } else if (i == lastApplied) {
+                results.add(PointCommandResult.success(committed));
+            } else {
+                results.add(PointCommandResult.success(new UserPoint(id, balances[i], committed.updateMillis())));
+            }
+        }
+        return results;
+    }
 
-            UserPoint userPoint = userPointRepository.selectById(id);
-            if (userPoint.point() < amount) {
-                throw new IllegalStateException("잔액을 초과하여 사용할 수 없습니다.");
+    /**
+     * 핫 계정의 명령을 shard 잔액에 적용한다. 같은 사용자의 다른 명령과 동시에 실행될 수 있으며,
+     * 잔액을 초과하는 사용 명령만 개별적으로 실패시킨다. 결과 잔액은 명령 적용 직후의 shard 합계이다.
+     * 충전은 내역을 기록한 뒤에 반영하고, 사용은 잔액을 먼저 차감(확보)한 뒤 내역 기록에 실패하면 되돌린다.
+     */
+    private List<PointCommandResult> applyHotCommands(long id, List<PointCommand> commands) {
+        List<PointCommandResult> results = new ArrayList<>(commands.size());
+        for (PointCommand command : commands) {
+            boolean use = command.type() == TransactionType.USE;
+            if (use && !hotAccountBalances.use(id, command.amount())) {
+                overdraftCounter.increment();
+                results.add(PointCommandResult.failure(new PointOverdraftException("잔액을 초과하여 사용할 수 없습니다.")));
+                continue;
             }
 
-            pointHistoryRepository.insert(id, amount, TransactionType.USE, System.currentTimeMillis());
+            PointHistory pointHistory;
+            try {
+                pointHistory = pointHistoryRepository.insert(id, command.amount(), command.type(), System.currentTimeMillis());
+            } catch (RuntimeException e) {
+                if (use) {
+                    hotAccountBalances.charge(id, command.amount());
+                }
+                results.add(PointCommandResult.failure(e));
+                continue;
+            }
+            if (!use) {
+                hotAccountBalances.charge(id, command.amount());
+            }
+            pointStatisticsService.record(pointHistory);
+            results.add(PointCommandResult.success(hotAccountBalances.get(id)));
+        }
+        return results;
+    }
 
-            return userPointRepository.insertOrUpdate(id, userPoint.point() - amount);
+    /**
+     * 이체들을 도착 순서대로 적용한다. 관련된 사용자마다 잔액을 한 번 조회하고, 잔액을 초과하는 이체만 개별적으로 실패시킨다.
+     * 적용한 이체의 출금/입금 내역은 한 번의 내역 기록(insertAll)으로, 변경된 잔액은 한 번의 잔액 저장(insertOrUpdateAll)으로 저장한다.
+     * 저장에 실패하면 적용한 이체를 모두 실패시키고 되돌린다. (잔액 저장 실패 시 기록한 내역은 반대 방향 내역으로 상쇄)
+     * 핫 계정은 저장소 대신 shard 잔액에서 차감/입금하며, 입금은 저장이 끝난 뒤에 반영한다.
+     * 호출하는 쪽(PointTransferBatcher)에서 관련된 모든 사용자의 격리를 보장한다.
+     */
+    List<PointCommandResult> applyTransfers(List<PointTransfer> transfers) {
+        Map<Long, Long> balances = new LinkedHashMap<>();
+        for (PointTransfer transfer : transfers) {
+            for (long id : new long[]{transfer.fromUserId(), transfer.toUserId()}) {
+                if (!hotAccountBalances.contains(id)) {
+                    balances.computeIfAbsent(id, key -> userPointRepository.selectById(key).point());
+                }
+            }
+        }
 
-        } finally {
-            lockManager.unlock(id);
+        long[] senderBalances = new long[transfers.size()];
+        RuntimeException[] failures = new RuntimeException[transfers.size()];
+        List<PointTransfer> applied = new ArrayList<>();
+        List<PointHistory> histories = new ArrayList<>();
+        Map<Long, Long> changed = new LinkedHashMap<>();
+
+        for (int i = 0; i < transfers.size(); i++) {
+            PointTransfer transfer = transfers.get(i);
+            boolean hotSender = hotAccountBalances.contains(transfer.fromUserId());
+            boolean debited = hotSender
+                    ? hotAccountBalances.use(transfer.fromUserId(), transfer.amount())
+                    : balances.get(transfer.fromUserId()) >= transfer.amount();
+            if (!debited) {
+                failures[i] = new PointOverdraftException("잔액을 초과하여 이체할 수 없습니다.");
+                overdraftCounter.increment();
+                continue;
+            }
+            applied.add(transfer);
+
+            long updateMillis = System.currentTimeMillis();
+            histories.add(new PointHistory(0, transfer.fromUserId(), transfer.amount(), TransactionType.TRANSFER_OUT, updateMillis));
+            histories.add(new PointHistory(0, transfer.toUserId(), transfer.amount(), TransactionType.TRANSFER_IN, updateMillis));
+
+            if (!hotAccountBalances.contains(transfer.toUserId())) {
+                changed.put(transfer.toUserId(), balances.merge(transfer.toUserId(), transfer.amount(), Long::sum));
+            }
+            if (!hotSender) {
+                senderBalances[i] = balances.get(transfer.fromUserId()) - transfer.amount();
+                balances.put(transfer.fromUserId(), senderBalances[i]);
+                changed.put(transfer.fromUserId(), senderBalances[i]);
+            }
+        }
+
+        Map<Long, UserPoint> committed;
+        try {
+            committed = applied.isEmpty() ? Map.of() : saveTransfers(histories, changed);
+        } catch (RuntimeException e) {
+            for (PointTransfer transfer : applied) {
+                if (hotAccountBalances.contains(transfer.fromUserId())) {
+                    hotAccountBalances.charge(transfer.fromUserId(), transfer.amount());
+                }
+            }
+            List<PointCommandResult> results = new ArrayList<>(transfers.size());
+            for (int i = 0; i < transfers.size(); i++) {
+                results.add(PointCommandResult.failure(failures[i] != null ? failures[i] : e));
+            }
+            return results;
+        }
+
+        for (PointTransfer transfer : applied) {
+            if (hotAccountBalances.contains(transfer.toUserId())) {
+                hotAccountBalances.charge(transfer.toUserId(), transfer.amount());
+            }
+        }
+        // 응답(future 완료)보다 먼저 공개해야, 응답을 받은 뒤의 조회가 항상 이 값을 읽는다.
+        committed.values().forEach(userPointSnapshots::publish);
+
+        List<PointCommandResult> results = new ArrayList<>(transfers.size());
+        for (int i = 0; i < transfers.size(); i++) {
+            long fromId = transfers.get(i).fromUserId();
+            if (failures[i] != null) {
+                results.add(PointCommandResult.failure(failures[i]));
+            } else if (hotAccountBalances.contains(fromId)) {
+                results.add(PointCommandResult.success(hotAccountBalances.get(fromId)));
+            } else {
+                results.add(PointCommandResult.success(
+                        new UserPoint(fromId, senderBalances[i], committed.get(fromId).updateMillis())));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * 이체 내역과 잔액을 저장한다. 각 저장은 전부 반영되거나 전혀 반영되지 않으므로,
+     * 잔액 저장에 실패했을 때 이미 기록한 내역만 반대 방향 내역(출금 ↔ 입금)으로 상쇄하면 된다.
+     * 기록한 내역과 상쇄 내역은 모두 저장소에 남으므로 applyCommands 와 같이 둘 다 집계에 반영한다. (백필 결과와 일치)
+     */
+    private Map<Long, UserPoint> saveTransfers(List<PointHistory> histories, Map<Long, Long> balances) {
+        List<PointHistory> recorded = pointHistoryRepository.insertAll(histories);
+        recorded.forEach(pointStatisticsService::record);
+        try {
+            return balances.isEmpty() ? Map.of() : userPointRepository.insertOrUpdateAll(balances);
+        } catch (RuntimeException e) {
+            reverse(recorded, e).forEach(pointStatisticsService::record);
+            throw e;
+        }
+    }
+
+    /**
+     * 잔액을 저장하지 못한 내역을 반대 방향 내역(충전 ↔ 사용, 출금 ↔ 입금)으로 상쇄하고, 기록한 상쇄 내역을 반환한다.
+     * 상쇄 내역도 기록하지 못하면 잔액 저장 실패(failure)에 덧붙이고 빈 목록을 반환한다.
+     */
+    private List<PointHistory> reverse(List<PointHistory> recorded, RuntimeException failure) {
+        if (recorded.isEmpty()) {
+            return List.of();
+        }
+        List<PointHistory> reversals = new ArrayList<>(recorded.size());
+        for (PointHistory pointHistory : recorded) {
+            TransactionType reversed = switch (pointHistory.type()) {
+                case CHARGE -> TransactionType.USE;
+                case USE -> TransactionType.CHARGE;
+                case TRANSFER_OUT -> TransactionType.TRANSFER_IN;
+                case TRANSFER_IN -> TransactionType.TRANSFER_OUT;
+            };
+            reversals.add(new PointHistory(0, pointHistory.userId(), pointHistory.amount(), reversed, System.currentTimeMillis()));
+        }
+        try {
+            return pointHistoryRepository.insertAll(reversals);
+        } catch (RuntimeException reversalFailure) {
+            failure.addSuppressed(reversalFailure);
+            return List.of();
+        }
+    }
+
+    /**
+     * 분산 모드 재배치 : 저장소에 잔액이 남아 있는 사용자 id 를 읽는다. (재시작한 노드의 이전 대상 탐색)
+     */
+    public List<Long> storedUserIds() {
+        return userPointRepository.selectAllIds();
+    }
+
+    /**
+     * 분산 모드 재배치 : 사용자의 잔액과 전체 내역을 해당 사용자의 다른 명령과 격리된 상태로 읽는다.
+     */
+    public UserPointHandoff exportUser(long id) {
+        validateUser(id);
+        return await(pointCommandExecutor.executeExclusively(new long[]{id}, () -> new UserPointHandoff(
+                hotAccountBalances.contains(id) ? hotAccountBalances.get(id) : userPointRepository.selectById(id),
+                pointHistoryRepository.selectAllByUserId(id))));
+    }
+
+    /**
+     * 분산 모드 재배치 : 이전 담당 노드에서 읽은 잔액과 내역을 저장한다.
+     * 이 노드가 예전에 담당했던 사용자라면 남아 있는 내역이 받은 내역의 앞부분과 같아야 하며, 이후의 내역만 기록한다.
+     */
+    public UserPoint importUser(UserPointHandoff handoff) {
+        long id = handoff.userPoint().id();
+        validateUser(id);
+        return await(pointCommandExecutor.executeExclusively(new long[]{id}, () -> restore(id, handoff)));
+    }
+
+    private UserPoint restore(long id, UserPointHandoff handoff) {
+        List<PointHistory> local = pointHistoryRepository.selectAllByUserId(id);
+        List<PointHistory> incoming = handoff.histories();
+        for (int i = 0; i < local.size(); i++) {
+            if (i >= incoming.size() || !sameEntry(local.get(i), incoming.get(i))) {
+                throw new IllegalStateException("이전받을 사용자의 내역이 현재 노드에 남아 있는 내역과 다릅니다.");
+            }
+        }
+        pointHistoryRepository.insertAll(incoming.subList(local.size(), incoming.size()))
+                              .forEach(pointStatisticsService::record);
+
+        long point = handoff.userPoint().point();
+        if (hotAccountBalances.contains(id)) {
+            long delta = point - hotAccountBalances.get(id).point();
+            if (delta > 0) {
+                hotAccountBalances.charge(id, delta);
+            } else if (delta < 0 && !hotAccountBalances.use(id, -delta)) {
+                throw new IllegalStateException("핫 계정 잔액을 이전받은 값으로 맞추지 못했습니다.");
+            }
+            return hotAccountBalances.get(id);
+        }
+        UserPoint restored = userPointRepository.insertOrUpdate(id, point);
+        userPointSnapshots.publish(restored);
+        return restored;
+    }
+
+    private static boolean sameEntry(PointHistory a, PointHistory b) {
+        return a.amount() == b.amount() && a.type() == b.type() && a.updateMillis() == b.updateMillis();
+    }
+
+    void validateCommand(PointCommand command) {
+        // 이체는 두 사용자를 함께 격리해야 하므로 사용자별 명령으로 처리하지 않는다.
+        if (command.type() != TransactionType.CHARGE && command.type() != TransactionType.USE) {
+            throw new IllegalArgumentException("유효하지 않은 요청 유형입니다.");
+        }
+        validateUser(command.userId());
+        validateAmount(command.amount());
+    }
+
+    /**
+     * 핫 계정은 shard 잔액을 잠금 없이 갱신하므로 PointCommandExecutor 를 거치지 않고 요청 스레드에서 바로 처리한다.
+     */
+    private CompletableFuture<UserPoint> submit(PointCommand command) {
+        if (hotAccountBalances.contains(command.userId())) {
+            CompletableFuture<UserPoint> future = new CompletableFuture<>();
+            applyHotCommands(command.userId(), List.of(command)).get(0).complete(future);
+            return future;
+        }
+        return pointCommandExecutor.submit(command, this::applyCommands);
+    }
+
+    /**
+     * 처리율 한도 안의 요청만 잠금 대기열에 넣고, 명령이 완료되면 동시 처리 수를 돌려준다.
+     * 한도를 넘으면 잠금을 기다리지 않고 TooManyRequestsException 을 던진다.
+     * 핫 계정은 요청이 몰리는 것이 정상이고 잠금을 기다리지 않으므로 전체 한도만 적용한다.
+     */
+    private CompletableFuture<UserPoint> admitted(long id, Supplier<CompletableFuture<UserPoint>> command) {
+        if (hotAccountBalances.contains(id)) {
+            admissionControl.acquireGlobal();
+            return command.get();
+        }
+        admissionControl.acquire(id);
+        CompletableFuture<UserPoint> future;
+        try {
+            future = command.get();
+        } catch (RuntimeException e) {
+            admissionControl.release(id);
+            throw e;
+        }
+        if (future.isDone()) {
+            admissionControl.release(id);
+            return future;
+        }
+        return future.whenComplete((userPoint, e) -> admissionControl.release(id));
+    }
+
+    /**
+     * 이미 완료된 future(잠금 실행 방식)는 바로 기록하고, 비동기로 완료되는 경우에만 완료 시점에 기록한다.
+     */
+    private static <T> CompletableFuture<T> timed(CompletableFuture<T> future, Timer timer, long start) {
+        if (future.isDone()) {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return future;
+        }
+        return future.whenComplete((result, e) -> timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+    }
+
+    private static Timer operationTimer(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder("point.operation")
+                    .description("포인트 요청 처리 시간")
+                    .tag("operation", operation)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+    }
+
+    private <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
         }
     }
 
@@ -0,0 +1,164 @@
+package io.hhplus.tdd.point.application;
+
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.PointHistoryRepository;
+import io.hhplus.tdd.point.domain.PointStatistics;
+import io.hhplus.tdd.point.domain.TransactionType;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 사용자별 포인트 내역 집계(rollup)를 충전/사용 시점에 갱신하여, 조회 시 내역을 다시 읽지 않고 집계 단위 수만큼만 계산한다.
+ * - 집계는 처음 조회(또는 백필)할 때 해당 사용자의 기존 내역으로 만들고, 이후에는 기록되는 내역을 더한다.
+ *   집계가 없는 사용자의 내역은 기록하지 않으므로 조회하지 않는 사용자는 메모리를 사용하지 않는다.
+ * - 집계 생성은 PointCommandExecutor 로 해당 사용자의 명령과 격리하여 실행하므로, 생성 중 기록된 내역이 빠지거나 중복되지 않는다.
+ * - 일별 집계는 가장 최근 날짜 기준 dailyRetentionDays 일만 보관한다.
+ */
+@Service
+public class PointStatisticsService {
+
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    private final PointHistoryRepository pointHistoryRepository;
+    private final PointCommandExecutor pointCommandExecutor;
+    private final ZoneId zone;
+    private final int dailyRetentionDays;
+    private final ExecutorService backfillExecutor;
+    private final ConcurrentMap<Long, Rollup> rollups = new ConcurrentHashMap<>();
+
+    public PointStatisticsService(
+            PointHistoryRepository pointHistoryRepository,
+            PointCommandExecutor pointCommandExecutor,
+            @Value("${point.statistics.zone:Asia/Seoul}") String zone,
+            @Value("${point.statistics.daily-retention-days:90}") int dailyRetentionDays,
+            @Value("${point.statistics.backfill-parallelism:16}") int backfillParallelism
+    ) {
+        this.pointHistoryRepository = pointHistoryRepository;
+        this.pointCommandExecutor = pointCommandExecutor;
+        this.zone = ZoneId.of(zone);
+        this.dailyRetentionDays = dailyRetentionDays;
+        this.backfillExecutor = Executors.newFixedThreadPool(backfillParallelism, r -> new Thread(r, "point-statistics-backfill"));
+    }
+
+    public PointStatistics getStatistics(long id) {
+        if (id <= 0) {
+            throw new IllegalArgumentException("유효하지 않은 사용자입니다.");
+        }
+        Rollup rollup = rollups.get(id);
+        if (rollup == null) {
+            rollup = initialize(id).join();
+        }
+        return rollup.statistics(id);
+    }
+
+    /**
+     * 주어진 사용자들의 집계를 병렬로 만든다. 이미 집계가 있는 사용자는 건너뛰며, 새로 만든 사용자 수를 반환한다.
+     */
+    public int backfill(Collection<Long> userIds) {
+        List<CompletableFuture<Boolean>> futures = new ArrayList<>(userIds.size());
+        for (long userId : userIds) {
+            if (userId <= 0 || rollups.containsKey(userId)) {
+                continue;
+            }
+            futures.add(CompletableFuture.supplyAsync(() -> initialize(userId), backfillExecutor)
+                                         .thenCompose(future -> future)
+                                         .thenApply(rollup -> true));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        return futures.size();
+    }
+
+    /**
+     * 기록된 내역을 집계에 더한다. PointService 에서 해당 사용자의 격리가 보장된 상태로 호출한다.
+     */
+    void record(PointHistory pointHistory) {
+        Rollup rollup = rollups.get(pointHistory.userId());
+        if (rollup != null) {
+            rollup.add(pointHistory);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        backfillExecutor.shutdown();
+    }
+
+    private CompletableFuture<Rollup> initialize(long userId) {
+        return pointCommandExecutor.submitAll(userId, List.of(), (id, commands) -> {
+            // 내역 조회는 오래 걸릴 수 있으므로 map 의 compute 밖에서 만든다. 사용자 격리 중이라 그 사이 기록되는 내역은 없다.
+            if (!rollups.containsKey(id)) {
+                Rollup rollup = new Rollup();
+                for (PointHistory pointHistory : pointHistoryRepository.selectAllByUserId(id)) {
+                    rollup.add(pointHistory);
+                }
+                rollups.putIfAbsent(id, rollup);
+            }
+            return List.of();
+        }).thenApply(results -> rollups.get(userId));
+    }
+
+    /**
+     * 한 사용자의 집계. 기록(격리된 명령 실행)과 조회(요청 스레드)가 동시에 일어날 수 있어 객체 단위로 동기화한다.
+     * 합계는 종류마다 [건수, 금액] 순서로 저장한다.
+     */
+    private final class Rollup {
+        private final long[] totals = new long[TYPES.length * 2];
+        private final NavigableMap<LocalDate, long[]> daily = new TreeMap<>();
+        private final NavigableMap<YearMonth, long[]> monthly = new TreeMap<>();
+
+        synchronized void add(PointHistory pointHistory) {
+            LocalDate date = Instant.ofEpochMilli(pointHistory.updateMillis()).atZone(zone).toLocalDate();
+            int index = pointHistory.type().ordinal() * 2;
+
+            accumulate(totals, index, pointHistory.amount());
+            accumulate(daily.computeIfAbsent(date, key -> new long[TYPES.length * 2]), index, pointHistory.amount());
+            accumulate(monthly.computeIfAbsent(YearMonth.from(date), key -> new long[TYPES.length * 2]),
+                    index, pointHistory.amount());
+            daily.headMap(daily.lastKey().minusDays(dailyRetentionDays), false).clear();
+        }
+
+        synchronized PointStatistics statistics(long userId) {
+            List<PointStatistics.Bucket> dailyBuckets = new ArrayList<>(daily.size());
+            for (Map.Entry<LocalDate, long[]> entry : daily.entrySet()) {
+                dailyBuckets.add(new PointStatistics.Bucket(entry.getKey().toString(), totals(entry.getValue())));
+            }
+            List<PointStatistics.Bucket> monthlyBuckets = new ArrayList<>(monthly.size());
+            for (Map.Entry<YearMonth, long[]> entry : monthly.entrySet()) {
+                monthlyBuckets.add(new PointStatistics.Bucket(entry.getKey().toString(), totals(entry.getValue())));
+            }
+            return new PointStatistics(userId, totals(totals), dailyBuckets, monthlyBuckets);
+        }
+
+        private static void accumulate(long[] values, int index, long amount) {
+            values[index]++;
+            values[index + 1] += amount;
+        }
+
+        private static Map<TransactionType, PointStatistics.Total> totals(long[] values) {
+            Map<TransactionType, PointStatistics.Total> totals = new EnumMap<>(TransactionType.class);
+            for (TransactionType type : TYPES) {
+                int index = type.ordinal() * 2;
+                totals.put(type, new PointStatistics.Total(values[index], values[index + 1]));
+            }
+            return totals;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package io.hhplus.tdd.point.application;
+
+/**
+ * 사용자 간 포인트 이체 명령
+ */
+public record PointTransfer(
+        long fromUserId,
+        long toUserId,
+        long amount
+) {
+}
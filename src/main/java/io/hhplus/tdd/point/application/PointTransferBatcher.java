@@ -0,0 +1,136 @@
+package io.hhplus.tdd.point.application;
+
+import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.util.LockTimeoutException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 같은 사용자에게 보내는 이체를 모아 한 번에 처리한다. (fan-in)
+ * - 이체는 받는 사용자 slot 의 대기열에 먼저 넣고 slot 의 leader 잠금을 기다린다.
+ * - leader 가 된 요청은 대기열의 이체를 최대 maxBatch 개 꺼내, 관련된 모든 사용자를 PointCommandExecutor 로 한 번에 격리한 뒤 handler 에 넘긴다.
+ *   받는 사용자의 잔액은 묶음마다 한 번만 조회/저장하므로, 많은 사용자가 한 사용자에게 동시에 이체해도 받는 사용자의 잠금 대기열이 길어지지 않는다.
+ * - leader 잠금은 사용자 잠금보다 먼저 획득하고 사용자 잠금을 보유한 채로는 획득하지 않으므로 교착 상태가 생기지 않는다.
+ * - 이후 leader 잠금을 획득한 요청은 자신의 이체가 이미 처리되었다면 바로 반환한다.
+ */
+@Component
+public class PointTransferBatcher {
+
+    private final PointCommandExecutor pointCommandExecutor;
+    private final Queue<Pending>[] queues;
+    private final ReentrantLock[] leaders;
+    private final int mask;
+    private final int maxBatch;
+    private final long timeoutNanos;
+
+    @SuppressWarnings("unchecked")
+    public PointTransferBatcher(
+            PointCommandExecutor pointCommandExecutor,
+            @Value("${point.transfer.slots:1024}") int slots,
+            @Value("${point.transfer.max-batch:64}") int maxBatch,
+            @Value("${point.lock.timeout-ms:3000}") long timeoutMillis
+    ) {
+        int size = slots <= 1 ? 1 : Integer.highestOneBit(slots - 1) << 1;
+        this.pointCommandExecutor = pointCommandExecutor;
+        this.queues = new Queue[size];
+        this.leaders = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            queues[i] = new ConcurrentLinkedQueue<>();
+            leaders[i] = new ReentrantLock();
+        }
+        this.mask = size - 1;
+        this.maxBatch = maxBatch;
+        this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+    }
+
+    public CompletableFuture<UserPoint> submit(PointTransfer transfer, PointTransferHandler handler) {
+        Pending pending = new Pending(transfer, handler);
+        int slot = slotOf(transfer.toUserId());
+        Queue<Pending> queue = queues[slot];
+        queue.add(pending);
+
+        boolean acquired;
+        try {
+            acquired = leaders[slot].tryLock(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            // 대기 중 다른 leader 가 이미 꺼내 갔다면 그 결과를 따른다.
+            if (queue.remove(pending)) {
+                pending.future.completeExceptionally(
+                        new LockTimeoutException("요청이 많아 처리하지 못했습니다. 잠시 후 다시 시도해주세요."));
+            }
+            return pending.future;
+        }
+
+        try {
+            while (!pending.future.isDone()) {
+                commit(queue);
+            }
+        } finally {
+            leaders[slot].unlock();
+        }
+        return pending.future;
+    }
+
+    private void commit(Queue<Pending> queue) {
+        List<Pending> batch = new ArrayList<>();
+        for (Pending pending; batch.size() < maxBatch && (pending = queue.poll()) != null; ) {
+            batch.add(pending);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        List<PointTransfer> transfers = new ArrayList<>(batch.size());
+        long[] userIds = new long[batch.size() * 2];
+        for (int i = 0; i < batch.size(); i++) {
+            PointTransfer transfer = batch.get(i).transfer;
+            transfers.add(transfer);
+            userIds[i * 2] = transfer.fromUserId();
+            userIds[i * 2 + 1] = transfer.toUserId();
+        }
+
+        try {
+            List<PointCommandResult> results = pointCommandExecutor
+                    .executeExclusively(userIds, () -> batch.get(0).handler.handle(transfers))
+                    .join();
+            for (int i = 0; i < batch.size(); i++) {
+                results.get(i).complete(batch.get(i).future);
+            }
+        } catch (RuntimeException e) {
+            RuntimeException cause = e instanceof CompletionException && e.getCause() instanceof RuntimeException runtime
+                    ? runtime
+                    : e;
+            for (Pending pending : batch) {
+                pending.future.completeExceptionally(cause);
+            }
+        }
+    }
+
+    private int slotOf(long userId) {
+        int h = Long.hashCode(userId) * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    private record Pending(
+            PointTransfer transfer,
+            PointTransferHandler handler,
+            CompletableFuture<UserPoint> future
+    ) {
+        private Pending(PointTransfer transfer, PointTransferHandler handler) {
+            this(transfer, handler, new CompletableFuture<>());
+        }
+    }
+}
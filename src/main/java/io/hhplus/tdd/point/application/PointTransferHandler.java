@@ -0,0 +1,13 @@
+package io.hhplus.tdd.point.application;
+
+import java.util.List;
+
+/**
+ * 이체들을 도착 순서대로 적용하고, 이체마다 결과(보낸 사용자의 이체 직후 잔액)를 같은 순서로 반환한다.
+ * 호출하는 쪽에서 관련된 모든 사용자에 대한 격리를 보장해야 한다.
+ */
+@FunctionalInterface
+public interface PointTransferHandler {
+
+    List<PointCommandResult> handle(List<PointTransfer> transfers);
+}
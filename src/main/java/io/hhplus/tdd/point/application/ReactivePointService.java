@@ -0,0 +1,110 @@
+package io.hhplus.tdd.point.application;
+
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.PointHistorySearch;
+import io.hhplus.tdd.point.domain.PointStatistics;
+import io.hhplus.tdd.point.domain.UserPoint;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+
+/**
+ * PointService 를 reactive 타입으로 감싼 서비스 (reactive 프로필)
+ * - 테이블 throttle 등 블로킹 구간은 크기가 제한된 boundedElastic scheduler 에서 실행하고, 요청(event loop) 스레드는 막지 않는다.
+ * - 이미 공개된 잔액 조회는 블로킹이 없으므로 scheduler 를 거치지 않고 바로 반환한다.
+ * - 내역 스트리밍은 구독자가 요청한 만큼만 다음 페이지를 조회한다. (backpressure)
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactivePointService {
+
+    private final PointService pointService;
+    private final PointStatisticsService pointStatisticsService;
+    private final UserPointSnapshots userPointSnapshots;
+    private final Scheduler blockingScheduler;
+
+    public ReactivePointService(
+            PointService pointService,
+            PointStatisticsService pointStatisticsService,
+            UserPointSnapshots userPointSnapshots,
+            @Value("${point.reactive.blocking-threads:1000}") int blockingThreads,
+            @Value("${point.reactive.blocking-queue:100000}") int blockingQueue
+    ) {
+        this.pointService = pointService;
+        this.pointStatisticsService = pointStatisticsService;
+        this.userPointSnapshots = userPointSnapshots;
+        this.blockingScheduler = Schedulers.newBoundedElastic(blockingThreads, blockingQueue, "point-blocking");
+    }
+
+    public Mono<UserPoint> getPoint(long id) {
+        UserPointSnapshots.Snapshot snapshot = id > 0 ? userPointSnapshots.get(id) : null;
+        if (snapshot != null) {
+            return Mono.just(snapshot.userPoint());
+        }
+        return Mono.fromCallable(() -> pointService.getPoint(id))
+                   .subscribeOn(blockingScheduler);
+    }
+
+    public Mono<List<PointHistory>> getPointHistories(long id) {
+        return Mono.fromCallable(() -> pointService.getPointHistories(id))
+                   .subscribeOn(blockingScheduler);
+    }
+
+    /**
+     * search.limit() 단위로 페이지를 조회하며, 다음 페이지는 앞 페이지를 모두 내보낸 뒤 요청이 있을 때 조회한다.
+     * 페이지를 나누는 방식은 저장소를 따른다. (PointHistoryRepository.selectPagesByUserId)
+     */
+    public Flux<PointHistory> streamPointHistories(long id, PointHistorySearch search) {
+        return Mono.fromCallable(() -> pointService.getPointHistoryPages(id, search))
+                   .subscribeOn(blockingScheduler)
+                   .flatMapMany(pages -> Flux.fromIterable(() -> pages).subscribeOn(blockingScheduler))
+                   .concatMapIterable(page -> page, 1);
+    }
+
+    public Mono<List<PointHistory>> getPointHistories(long id, PointHistorySearch search) {
+        return page(id, search);
+    }
+
+    /**
+     * 집계가 없는 사용자는 처음 조회할 때 내역을 읽어 집계하므로 blocking scheduler 에서 실행한다.
+     */
+    public Mono<PointStatistics> getStatistics(long id) {
+        return Mono.fromCallable(() -> pointStatisticsService.getStatistics(id))
+                   .subscribeOn(blockingScheduler);
+    }
+
+    /**
+     * 잠금 실행 방식은 호출 스레드에서 잠금을 기다리므로 명령 제출까지 blocking scheduler 에서 실행한다.
+     */
+    public Mono<UserPoint> chargePoint(long id, long amount, String idempotencyKey) {
+        return Mono.defer(() -> Mono.fromFuture(pointService.chargePointAsync(id, amount, idempotencyKey)))
+                   .subscribeOn(blockingScheduler);
+    }
+
+    public Mono<UserPoint> usePoint(long id, long amount, String idempotencyKey) {
+        return Mono.defer(() -> Mono.fromFuture(pointService.usePointAsync(id, amount, idempotencyKey)))
+                   .subscribeOn(blockingScheduler);
+    }
+
+    public Mono<UserPoint> transferPoint(long fromId, long toId, long amount) {
+        return Mono.defer(() -> Mono.fromFuture(pointService.transferPointAsync(fromId, toId, amount)))
+                   .subscribeOn(blockingScheduler);
+    }
+
+    @PreDestroy
+    public void close() {
+        blockingScheduler.dispose();
+    }
+
+    private Mono<List<PointHistory>> page(long id, PointHistorySearch search) {
+        return Mono.fromCallable(() -> pointService.getPointHistories(id, search))
+                   .subscribeOn(blockingScheduler);
+    }
+}
@@ -0,0 +1,15 @@
+package io.hhplus.tdd.point.application;
+
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.UserPoint;
+
+import java.util.List;
+
+/**
+ * 분산 모드 재배치 시 새 담당 노드로 옮기는 사용자의 잔액과 전체 내역 (id 순)
+ */
+public record UserPointHandoff(
+        UserPoint userPoint,
+        List<PointHistory> histories
+) {
+}
@@ -0,0 +1,171 @@
+package io.hhplus.tdd.point.application;
+
+import io.hhplus.tdd.point.domain.UserPoint;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 사용자별 마지막으로 저장이 끝난 잔액 (조회 전용)
+ * - 쓰는 쪽(PointService)이 저장을 마친 직후, 요청에 응답하기 전에 release 로 공개하고 조회는 acquire 로 읽는다.
+ *   잠금이나 테이블 조회 없이, 응답이 끝난 모든 쓰기를 반영한 값을 읽는다.
+ * - version 은 쓰기마다 1 씩 증가한다. 처음 조회 시 저장소에서 읽은 값은 version 0 으로, 아직 공개된 값이 없을 때만 채운다.
+ *   (조회 도중 쓰기가 끝났다면 쓰기 값을 덮어쓰지 않는다)
+ * - 사용자마다 slot 을 한 번만 만들고 이후에는 slot 안의 값만 교체하므로 map 변경이 없다.
+ * - slot 개수가 최대 개수를 넘으면 최근에 조회/공개되지 않은 slot 부터 제거한다. (CLOCK)
+ *   제거된 사용자는 다음 조회에서 저장소의 값을 다시 채우고, version 은 다시 시작한다.
+ *   제거 도중 또는 이후에 시작 전 읽은 값을 채우면 제거된 쓰기 값보다 오래된 값일 수 있으므로,
+ *   조회 전 받은 stamp 로 그 사이 제거가 있었는지 확인하고 있었다면 채운 값을 남기지 않는다.
+ */
+@Component
+public class UserPointSnapshots {
+
+    private static final VarHandle SNAPSHOT;
+
+    static {
+        try {
+            SNAPSHOT = MethodHandles.lookup().findVarHandle(Slot.class, "snapshot", Snapshot.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final int maxSize;
+    private final ConcurrentMap<Long, Slot> slots = new ConcurrentHashMap<>();
+    // 제거 중에는 홀수, 제거가 끝나면 짝수 (seqlock)
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+
+    public UserPointSnapshots(@Value("${point.snapshots.max-size:${point.cache.max-size:100000}}") int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("point.snapshots.max-size 는 0 보다 커야 합니다.");
+        }
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * 공개된 값이 없으면 null 을 반환한다.
+     */
+    public Snapshot get(long id) {
+        Slot slot = slots.get(id);
+        if (slot == null) {
+            return null;
+        }
+        slot.reference();
+        return (Snapshot) SNAPSHOT.getAcquire(slot);
+    }
+
+    /**
+     * 저장이 끝난 잔액을 공개한다. 같은 사용자의 쓰기는 PointCommandExecutor 가 직렬화하므로 version 경합이 없다.
+     */
+    public void publish(UserPoint userPoint) {
+        Slot slot = slot(userPoint.id());
+        Snapshot previous = (Snapshot) SNAPSHOT.getAcquire(slot);
+        long version = previous == null ? 1 : previous.version() + 1;
+        SNAPSHOT.setRelease(slot, new Snapshot(userPoint, version));
+    }
+
+    /**
+     * 저장소를 조회하기 전에 받아 fill 에 넘긴다.
+     */
+    public long stamp() {
+        return evictions.get();
+    }
+
+    /**
+     * 저장소에서 읽은 값을 채운다. 이미 공개된 값이 있으면 그 값을 반환한다.
+     * stamp 이후 제거가 있었다면 읽은 값을 그대로 반환하고 남기지 않는다.
+     */
+    public Snapshot fill(UserPoint loaded, long stamp) {
+        Snapshot snapshot = new Snapshot(loaded, 0);
+        if ((stamp & 1) != 0 || evictions.get() != stamp) {
+            return snapshot;
+        }
+        Slot slot = slot(loaded.id());
+        Snapshot witness = (Snapshot) SNAPSHOT.compareAndExchange(slot, null, snapshot);
+        if (witness != null) {
+            return witness;
+        }
+        if (evictions.get() != stamp) {
+            // 제거와 겹쳤다면 채운 값이 제거된 쓰기보다 오래되었을 수 있다. 제거해도 다음 조회가 저장소에서 다시 읽는다.
+            slots.remove(loaded.id(), slot);
+        }
+        return snapshot;
+    }
+
+    public int size() {
+        return slots.size();
+    }
+
+    private Slot slot(long id) {
+        Slot slot = slots.get(id);
+        if (slot != null) {
+            slot.reference();
+            return slot;
+        }
+        slot = slots.computeIfAbsent(id, key -> new Slot());
+        if (slots.size() > maxSize) {
+            evict();
+        }
+        return slot;
+    }
+
+    /**
+     * 최대 개수 이하가 될 때까지 slot 을 한 바퀴씩 돌며, 참조 표시가 있으면 지우고 없으면 제거한다.
+     * 한 번에 한 스레드만 제거하고, 나머지는 기다리지 않고 돌아간다.
+     */
+    private void evict() {
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        evictions.incrementAndGet();
+        try {
+            Iterator<Map.Entry<Long, Slot>> iterator = slots.entrySet().iterator();
+            int overflow = slots.size() - maxSize;
+            while (overflow > 0) {
+                if (!iterator.hasNext()) {
+                    iterator = slots.entrySet().iterator();
+                    if (!iterator.hasNext()) {
+                        break;
+                    }
+                }
+                Slot slot = iterator.next().getValue();
+                if (slot.referenced) {
+                    slot.referenced = false;
+                } else {
+                    iterator.remove();
+                    overflow--;
+                }
+            }
+        } finally {
+            evictions.incrementAndGet();
+            evicting.set(false);
+        }
+    }
+
+    public record Snapshot(UserPoint userPoint, long version) {
+    }
+
+    private static final class Slot {
+        // SNAPSHOT(VarHandle)로만 접근한다.
+        @SuppressWarnings("unused")
+        private Snapshot snapshot;
+        // CLOCK 참조 표시. 정확할 필요가 없으므로 plain 접근으로 둔다.
+        private boolean referenced = true;
+
+        // 조회가 많은 slot 에 매번 쓰지 않도록 표시가 없을 때만 쓴다.
+        private void reference() {
+            if (!referenced) {
+                referenced = true;
+            }
+        }
+    }
+}
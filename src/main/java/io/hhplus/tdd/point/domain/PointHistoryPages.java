@@ -0,0 +1,68 @@
+package io.hhplus.tdd.point.domain;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+/**
+ * 내역 스트리밍 조회의 페이지 순회 (PointHistoryRepository.selectPagesByUserId)
+ * - split : 이미 읽은 내역을 limit 건씩 나눈다. 사용자별 인덱스가 없는 저장소가 전체 내역을 한 번만 읽을 때 사용한다.
+ * - seek : 앞 페이지의 마지막 id 를 cursor 로 다음 페이지를 조회한다. 사용자별 인덱스가 있는 저장소가 사용한다.
+ *   다음 페이지는 hasNext 를 호출할 때 조회하며, limit 보다 적은 페이지가 나오면 끝난다.
+ */
+public final class PointHistoryPages {
+
+    private PointHistoryPages() {
+    }
+
+    public static Iterator<List<PointHistory>> split(List<PointHistory> histories, int limit) {
+        return new Iterator<>() {
+            private int from;
+
+            @Override
+            public boolean hasNext() {
+                return from < histories.size();
+            }
+
+            @Override
+            public List<PointHistory> next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                int to = Math.min(from + limit, histories.size());
+                List<PointHistory> page = histories.subList(from, to);
+                from = to;
+                return page;
+            }
+        };
+    }
+
+    public static Iterator<List<PointHistory>> seek(PointHistorySearch search, Function<PointHistorySearch, List<PointHistory>> reader) {
+        return new Iterator<>() {
+            // 더 조회할 페이지가 없으면 null
+            private PointHistorySearch next = search;
+            private List<PointHistory> page;
+
+            @Override
+            public boolean hasNext() {
+                if (page == null && next != null) {
+                    List<PointHistory> read = reader.apply(next);
+                    next = read.size() < next.limit() ? null : next.next(read.get(read.size() - 1).id());
+                    page = read.isEmpty() ? null : read;
+                }
+                return page != null;
+            }
+
+            @Override
+            public List<PointHistory> next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                List<PointHistory> current = page;
+                page = null;
+                return current;
+            }
+        };
+    }
+}
@@ -1,9 +1,56 @@
 package io.hhplus.tdd.point.domain;
 
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 
 public interface PointHistoryRepository {
     List<PointHistory> selectAllByUserId(long userId);
 
     PointHistory insert(long userId, long amount, TransactionType type, long updateMillis);
+
+    /**
+     * 여러 내역을 한 번에 기록하고, 발급된 id 를 포함한 내역을 같은 순서로 반환한다. (전달한 내역의 id 는 무시)
+     * 기본 구현은 한 건씩 기록하므로, 기록에 실패할 수 있는 구현체는 전부 기록하거나 하나도 기록하지 않도록 재정의한다.
+     */
+    default List<PointHistory> insertAll(List<PointHistory> histories) {
+        List<PointHistory> inserted = new ArrayList<>(histories.size());
+        for (PointHistory pointHistory : histories) {
+            inserted.add(insert(pointHistory.userId(), pointHistory.amount(), pointHistory.type(), pointHistory.updateMillis()));
+        }
+        return inserted;
+    }
+
+    /**
+     * 조회 조건에 맞는 내역을 id 순으로 최대 limit 건 조회한다.
+     * 기본 구현은 호출마다 전체 내역을 읽어 필터링하므로, 이어서 여러 페이지를 조회할 때는 selectPagesByUserId 를 사용한다.
+     * 사용자별 인덱스가 있는 구현체는 재정의한다.
+     */
+    default List<PointHistory> selectByUserId(long userId, PointHistorySearch search) {
+        List<PointHistory> histories = new ArrayList<>();
+        for (PointHistory pointHistory : selectAllByUserId(userId)) {
+            if (histories.size() == search.limit()) {
+                break;
+            }
+            if (search.matches(pointHistory)) {
+                histories.add(pointHistory);
+            }
+        }
+        return histories;
+    }
+
+    /**
+     * 조회 조건에 맞는 내역을 id 순으로 limit 건씩 나눈 페이지를 차례로 반환한다. (스트리밍 조회)
+     * 기본 구현은 전체 내역을 처음 한 번만 읽어 나누므로, 페이지마다 전체 내역을 다시 읽지 않는다.
+     * 사용자별 인덱스가 있는 구현체는 페이지마다 cursor 이후만 조회하도록(PointHistoryPages.seek) 재정의한다.
+     */
+    default Iterator<List<PointHistory>> selectPagesByUserId(long userId, PointHistorySearch search) {
+        List<PointHistory> histories = new ArrayList<>();
+        for (PointHistory pointHistory : selectAllByUserId(userId)) {
+            if (search.matches(pointHistory)) {
+                histories.add(pointHistory);
+            }
+        }
+        return PointHistoryPages.split(histories, search.limit());
+    }
 }
@@ -0,0 +1,48 @@
+package io.hhplus.tdd.point.domain;
+
+/**
+ * 포인트 내역 조회 조건
+ * - afterId : 해당 id 이후의 내역부터 조회 (cursor, 0 이면 처음부터)
+ * - limit : 최대 조회 건수
+ * - from ~ to : updateMillis 범위 (양 끝 포함)
+ */
+public record PointHistorySearch(
+        long afterId,
+        int limit,
+        long from,
+        long to
+) {
+    public static final int DEFAULT_LIMIT = 100;
+    public static final int MAX_LIMIT = 1000;
+
+    public PointHistorySearch {
+        if (afterId < 0) {
+            throw new IllegalArgumentException("유효하지 않은 조회 위치입니다.");
+        }
+        if (limit <= 0 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("조회 건수는 1 ~ " + MAX_LIMIT + " 사이여야 합니다.");
+        }
+        if (from > to) {
+            throw new IllegalArgumentException("조회 기간이 올바르지 않습니다.");
+        }
+    }
+
+    public static PointHistorySearch of(Long afterId, Integer limit, Long from, Long to) {
+        return new PointHistorySearch(
+                afterId == null ? 0 : afterId,
+                limit == null ? DEFAULT_LIMIT : limit,
+                from == null ? Long.MIN_VALUE : from,
+                to == null ? Long.MAX_VALUE : to
+        );
+    }
+
+    public PointHistorySearch next(long lastId) {
+        return new PointHistorySearch(lastId, limit, from, to);
+    }
+
+    public boolean matches(PointHistory pointHistory) {
+        return pointHistory.id() > afterId
+                && pointHistory.updateMillis() >= from
+                && pointHistory.updateMillis() <= to;
+    }
+}
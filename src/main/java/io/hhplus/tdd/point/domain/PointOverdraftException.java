@@ -0,0 +1,12 @@
+package io.hhplus.tdd.point.domain;
+
+/**
+ * 잔액을 초과하여 사용/이체하려는 경우
+ * 요청 자체가 거절된 것이므로 메시지를 그대로 응답해도 된다. (저장소 오류 등 다른 IllegalStateException 과 구분)
+ */
+public class PointOverdraftException extends IllegalStateException {
+
+    public PointOverdraftException(String message) {
+        super(message);
+    }
+}
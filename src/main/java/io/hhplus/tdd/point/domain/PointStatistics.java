@@ -0,0 +1,28 @@
+package io.hhplus.tdd.point.domain;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 사용자의 포인트 내역 집계
+ * - totals : 트랜잭션 종류별 건수/금액 합계
+ * - daily / monthly : 일별(yyyy-MM-dd) / 월별(yyyy-MM) 종류별 합계 (기간 순)
+ */
+public record PointStatistics(
+        long userId,
+        Map<TransactionType, Total> totals,
+        List<Bucket> daily,
+        List<Bucket> monthly
+) {
+    public record Total(
+            long count,
+            long amount
+    ) {
+    }
+
+    public record Bucket(
+            String period,
+            Map<TransactionType, Total> totals
+    ) {
+    }
+}
@@ -5,7 +5,10 @@ package io.hhplus.tdd.point.domain;
  * 포인트 트랜잭션 종류
  * - CHARGE : 충전
  * - USE : 사용
+ * - TRANSFER_OUT : 이체 출금 (보낸 사용자)
+ * - TRANSFER_IN : 이체 입금 (받은 사용자)
+ * 로그 파일에 순서(ordinal)로 저장하는 저장소가 있으므로 새 종류는 끝에 추가한다.
  */
 public enum TransactionType {
-    CHARGE, USE
-}
\ No newline at end of file
+    CHARGE, USE, TRANSFER_OUT, TRANSFER_IN
+}
@@ -1,7 +1,29 @@
 package io.hhplus.tdd.point.domain;
 
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 public interface UserPointRepository {
     UserPoint selectById(long id);
 
     UserPoint insertOrUpdate(long id, long amount);
-}
\ No newline at end of file
+
+    /**
+     * 여러 사용자의 잔액(key : 사용자 id)을 한 번에 저장하고, 저장된 잔액을 사용자 id 별로 반환한다.
+     * 기본 구현은 한 건씩 저장하므로, 저장에 실패할 수 있는 구현체는 전부 저장하거나 하나도 저장하지 않도록 재정의한다.
+     */
+    default Map<Long, UserPoint> insertOrUpdateAll(Map<Long, Long> amounts) {
+        Map<Long, UserPoint> saved = new LinkedHashMap<>();
+        amounts.forEach((id, amount) -> saved.put(id, insertOrUpdate(id, amount)));
+        return saved;
+    }
+
+    /**
+     * 잔액이 저장된 사용자 id 를 모두 반환한다. (분산 모드에서 재시작한 노드의 재배치 대상 탐색)
+     * 기본 구현은 빈 목록이며, 재시작 후에도 잔액이 남는 구현체만 재정의한다.
+     */
+    default List<Long> selectAllIds() {
+        return List.of();
+    }
+}
@@ -0,0 +1,233 @@
+package io.hhplus.tdd.point.infrastructure;
+
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.point.domain.UserPointRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 메모리 캐시를 원본으로 사용하고 UserPointTable 에는 비동기로 반영(write-behind)하는 저장소
+ * - 조회/수정은 캐시에서 처리하고, 변경분은 dirty 맵에 사용자별 최신값만 남겨 주기적으로 flush 한다. (중복 갱신 병합)
+ * - 여러 사용자를 함께 저장(insertOrUpdateAll)하면 flush 가 변경분을 복사하는 동안에는 기록하지 않으므로,
+ *   한 번에 저장한 잔액은 모두 같은 flush 에서 테이블에 반영된다. (이체의 출금/입금 잔액이 나뉘어 반영되지 않음)
+ * - 최대 개수를 넘으면 flush 가 끝난 사용자 중 최근에 조회/갱신되지 않은 사용자부터 캐시에서 제거한다. (CLOCK)
+ * - 테이블에서 읽어 캐시를 채우는 동안에는 해당 사용자의 load stripe 를 잠그고, 제거는 stripe 를 잠글 수 있을 때만 한다.
+ *   (느린 조회 도중 갱신 → flush → 제거가 끝난 뒤 조회 전 값을 채워, 반영된 갱신을 되돌리는 일이 없다)
+ * - 종료 시 남아있는 변경분을 모두 flush 한다.
+ */
+@Repository
+@ConditionalOnProperty(name = "point.repository.user-point", havingValue = "cache")
+public class CachedUserPointRepository implements UserPointRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(CachedUserPointRepository.class);
+    private static final int LOAD_STRIPES = 64;
+
+    private final UserPointTable userPointTable;
+    private final int maxSize;
+    private final ConcurrentMap<Long, Entry> cache = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, UserPoint> dirty = new ConcurrentHashMap<>();
+    // 기록은 read lock 으로 동시에, flush 의 변경분 복사는 write lock 으로 기록과 배타적으로 실행한다.
+    private final ReentrantReadWriteLock flushLock = new ReentrantReadWriteLock();
+    private final ReentrantLock[] loadLocks = new ReentrantLock[LOAD_STRIPES];
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "user-point-flusher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public CachedUserPointRepository(
+            UserPointTable userPointTable,
+            @Value("${point.cache.max-size:100000}") int maxSize,
+            @Value("${point.cache.flush-interval-ms:100}") long flushIntervalMillis
+    ) {
+        this.userPointTable = userPointTable;
+        this.maxSize = maxSize;
+        for (int i = 0; i < LOAD_STRIPES; i++) {
+            loadLocks[i] = new ReentrantLock();
+        }
+        flusher.scheduleWithFixedDelay(this::flushAndEvict, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public UserPoint selectById(long id) {
+        Entry entry = cache.get(id);
+        if (entry != null) {
+            entry.reference();
+            return entry.userPoint;
+        }
+
+        ReentrantLock loadLock = loadLock(id);
+        loadLock.lock();
+        try {
+            // 기다리는 동안 다른 요청이 먼저 채웠을 수 있다.
+            entry = cache.get(id);
+            if (entry != null) {
+                entry.reference();
+                return entry.userPoint;
+            }
+
+            // 캐시에서 제거되었더라도 아직 flush 되지 않은 값이 있다면 테이블보다 우선한다.
+            UserPoint pending = dirty.get(id);
+            UserPoint loaded = pending != null ? pending : userPointTable.selectById(id);
+
+            // 로딩 중에 다른 요청이 먼저 갱신했다면 해당 값을 유지한다.
+            // stripe 를 잠그고 있는 동안에는 제거되지 않으므로, 로딩 중의 갱신은 반드시 캐시에 남아 있다.
+            Entry existing = cache.putIfAbsent(id, new Entry(loaded));
+            return existing != null ? existing.userPoint : loaded;
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    @Override
+    public UserPoint insertOrUpdate(long id, long amount) {
+        flushLock.readLock().lock();
+        try {
+            return put(id, amount, System.currentTimeMillis());
+        } finally {
+            flushLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Map<Long, UserPoint> insertOrUpdateAll(Map<Long, Long> amounts) {
+        long updateMillis = System.currentTimeMillis();
+        Map<Long, UserPoint> saved = new LinkedHashMap<>();
+        flushLock.readLock().lock();
+        try {
+            amounts.forEach((id, amount) -> saved.put(id, put(id, amount, updateMillis)));
+        } finally {
+            flushLock.readLock().unlock();
+        }
+        return saved;
+    }
+
+    private UserPoint put(long id, long amount, long updateMillis) {
+        UserPoint userPoint = new UserPoint(id, amount, updateMillis);
+        dirty.put(id, userPoint);
+        cache.put(id, new Entry(userPoint));
+        return userPoint;
+    }
+
+    /**
+     * 아직 테이블에 반영되지 않은 사용자 수
+     */
+    public int pendingCount() {
+        return dirty.size();
+    }
+
+    /**
+     * 변경분을 테이블에 반영한다.
+     * flush 도중 다시 갱신된 사용자는 dirty 에 남겨 다음 flush 에서 최신값으로 반영한다.
+     */
+    public void flush() {
+        List<UserPoint> pending;
+        flushLock.writeLock().lock();
+        try {
+            pending = new ArrayList<>(dirty.values());
+        } finally {
+            flushLock.writeLock().unlock();
+        }
+        for (UserPoint userPoint : pending) {
+            userPointTable.insertOrUpdate(userPoint.id(), userPoint.point());
+            dirty.remove(userPoint.id(), userPoint);
+        }
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException {
+        flusher.shutdown();
+        if (!flusher.awaitTermination(10, TimeUnit.SECONDS)) {
+            log.warn("user-point flusher 가 제한 시간 내에 종료되지 않았습니다.");
+        }
+        flush();
+    }
+
+    private void flushAndEvict() {
+        try {
+            flush();
+            evict();
+        } catch (RuntimeException e) {
+            log.error("user-point flush 에 실패했습니다.", e);
+        }
+    }
+
+    /**
+     * 최대 개수 이하가 될 때까지 캐시를 돌며, 참조 표시가 있으면 지우고 없으면 제거한다.
+     * 반영되지 않았거나 로딩 중인 사용자는 건너뛰며, 두 바퀴를 돌아도 모자라면 다음 flush 에서 이어서 제거한다.
+     * flusher 스레드에서만 실행된다.
+     */
+    void evict() {
+        int overflow = cache.size() - maxSize;
+        int remaining = 2 * cache.size();
+        Iterator<Map.Entry<Long, Entry>> iterator = cache.entrySet().iterator();
+        while (overflow > 0 && remaining-- > 0) {
+            if (!iterator.hasNext()) {
+                iterator = cache.entrySet().iterator();
+                if (!iterator.hasNext()) {
+                    break;
+                }
+            }
+            Map.Entry<Long, Entry> candidate = iterator.next();
+            Entry entry = candidate.getValue();
+            if (entry.referenced) {
+                entry.referenced = false;
+            } else if (remove(candidate.getKey(), entry)) {
+                overflow--;
+            }
+        }
+    }
+
+    private boolean remove(long id, Entry entry) {
+        ReentrantLock loadLock = loadLock(id);
+        if (!loadLock.tryLock()) {
+            return false;
+        }
+        try {
+            // 반영되지 않은 사용자는 제거하지 않는다. 확인 이후 갱신된 경우 remove 가 실패한다.
+            return !dirty.containsKey(id) && cache.remove(id, entry);
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    private ReentrantLock loadLock(long id) {
+        int h = Long.hashCode(id) * 0x9E3779B9;
+        return loadLocks[(h ^ (h >>> 16)) & (LOAD_STRIPES - 1)];
+    }
+
+    private static final class Entry {
+        private final UserPoint userPoint;
+        // CLOCK 참조 표시. 정확할 필요가 없으므로 plain 접근으로 둔다.
+        private boolean referenced = true;
+
+        private Entry(UserPoint userPoint) {
+            this.userPoint = userPoint;
+        }
+
+        // 조회가 많은 사용자에 매번 쓰지 않도록 표시가 없을 때만 쓴다.
+        private void reference() {
+            if (!referenced) {
+                referenced = true;
+            }
+        }
+    }
+}
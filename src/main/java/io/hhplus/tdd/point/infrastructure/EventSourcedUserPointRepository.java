@@ -0,0 +1,221 @@
+package io.hhplus.tdd.point.infrastructure;
+
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.point.domain.UserPointRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 포인트 내역 로그를 원본으로 하고 잔액은 내역을 누적(fold)해서 구하는 저장소 (event sourcing)
+ * - 내역이 로그에 기록되는 시점에 잔액을 함께 갱신하므로, 내역 기록과 잔액 저장 사이에 중단되어도 둘이 어긋나지 않는다.
+ * - insertOrUpdate 는 이미 누적된 잔액을 반환하며, 요청한 잔액과 다르면 경고만 남긴다.
+ * - 주기적으로 사용자별 (잔액, 마지막 내역 id) snapshot 을 저장하고, 재시작 시 snapshot 이후의 로그만 다시 누적한다.
+ *   로그 구간을 CPU 개수만큼 나누어 병렬로 누적한 뒤 합친다. (잔액은 합계이므로 순서와 무관하다)
+ * - segment 로그(point.repository.point-history=segmented)와 함께 사용한다.
+ *   보관 segment 수를 제한한다면 snapshot 주기가 삭제 주기보다 짧아야 한다.
+ */
+@Repository
+@ConditionalOnProperty(name = "point.repository.user-point", havingValue = "event-sourced")
+public class EventSourcedUserPointRepository implements UserPointRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(EventSourcedUserPointRepository.class);
+
+    private static final long MAGIC = 0x5550_534E_4150_0001L;
+
+    private final PointHistoryLog historyLog;
+    private final Path snapshotPath;
+    private final ConcurrentMap<Long, State> states = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService snapshotter = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "user-point-snapshotter");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public EventSourcedUserPointRepository(
+            SegmentedPointHistoryRepository pointHistoryRepository,
+            @Value("${point.event-sourcing.snapshot-path:data/user-point.snapshot}") Path snapshotPath,
+            @Value("${point.event-sourcing.snapshot-interval-ms:60000}") long snapshotIntervalMillis
+    ) throws IOException {
+        this.historyLog = pointHistoryRepository.historyLog();
+        this.snapshotPath = snapshotPath;
+
+        rebuild();
+        // 재구성 이후에 기록되는 내역만 누적한다. (요청 처리 전에 생성되므로 그 사이 기록된 내역은 없다)
+        historyLog.onAppend(this::apply);
+        snapshotter.scheduleWithFixedDelay(this::snapshotQuietly,
+                snapshotIntervalMillis, snapshotIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public UserPoint selectById(long id) {
+        State state = states.get(id);
+        return state == null ? UserPoint.empty(id) : new UserPoint(id, state.point, state.updateMillis);
+    }
+
+    @Override
+    public UserPoint insertOrUpdate(long id, long amount) {
+        State state = states.get(id);
+        UserPoint userPoint = state == null ? UserPoint.empty(id) : new UserPoint(id, state.point, state.updateMillis);
+        if (userPoint.point() != amount) {
+            log.warn("내역으로 누적한 잔액과 저장 요청한 잔액이 다릅니다 : id={}, folded={}, requested={}",
+                    id, userPoint.point(), amount);
+        }
+        return userPoint;
+    }
+
+    @Override
+    public List<Long> selectAllIds() {
+        return List.copyOf(states.keySet());
+    }
+
+    /**
+     * 현재 잔액을 snapshot 파일에 저장한다. 임시 파일에 모두 기록한 뒤 교체한다.
+     */
+    public void snapshot() throws IOException {
+        // 사용자별 상태를 순회하기 전에 로그 위치를 먼저 읽어야, 순회 중 기록된 내역이 재구성 시 누락되지 않는다.
+        long watermark = historyLog.lastId();
+        Path temp = snapshotPath.resolveSibling(snapshotPath.getFileName() + ".tmp");
+        if (snapshotPath.getParent() != null) {
+            Files.createDirectories(snapshotPath.getParent());
+        }
+
+        List<Map.Entry<Long, State>> entries = new ArrayList<>(states.entrySet());
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16))) {
+            out.writeLong(MAGIC);
+            out.writeLong(watermark);
+            out.writeInt(entries.size());
+            for (Map.Entry<Long, State> entry : entries) {
+                out.writeLong(entry.getKey());
+                out.writeLong(entry.getValue().point);
+                out.writeLong(entry.getValue().lastId);
+                out.writeLong(entry.getValue().updateMillis);
+            }
+        }
+        Files.move(temp, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException, IOException {
+        snapshotter.shutdown();
+        if (!snapshotter.awaitTermination(10, TimeUnit.SECONDS)) {
+            log.warn("user-point snapshotter 가 제한 시간 내에 종료되지 않았습니다.");
+        }
+        snapshot();
+    }
+
+    private void apply(PointHistory pointHistory) {
+        states.merge(pointHistory.userId(), State.of(pointHistory), State::plus);
+    }
+
+    private void rebuild() throws IOException {
+        long start = System.nanoTime();
+        Map<Long, State> snapshot = new HashMap<>();
+        long watermark = loadSnapshot(snapshot);
+        states.putAll(snapshot);
+
+        long from = watermark + 1;
+        long to = historyLog.lastId() + 1;
+        if (from < historyLog.firstId()) {
+            log.warn("snapshot 이후의 내역 일부가 이미 삭제되어 잔액이 정확하지 않을 수 있습니다 : snapshot={}, firstId={}",
+                    watermark, historyLog.firstId());
+        }
+
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        long chunk = Math.max(1, (to - from + parallelism - 1) / parallelism);
+        List<CompletableFuture<Map<Long, State>>> folds = new ArrayList<>(parallelism);
+        for (long chunkFrom = from; chunkFrom < to; chunkFrom += chunk) {
+            long chunkTo = Math.min(to, chunkFrom + chunk);
+            long rangeFrom = chunkFrom;
+            folds.add(CompletableFuture.supplyAsync(() -> fold(rangeFrom, chunkTo, snapshot)));
+        }
+        for (CompletableFuture<Map<Long, State>> fold : folds) {
+            fold.join().forEach((userId, state) -> states.merge(userId, state, State::plus));
+        }
+
+        log.info("잔액 재구성 완료 : users={}, snapshotUsers={}, replayed={}, parallelism={}, elapsed={}ms",
+                states.size(), snapshot.size(), Math.max(0, to - from), folds.size(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private Map<Long, State> fold(long from, long to, Map<Long, State> snapshot) {
+        Map<Long, State> folded = new HashMap<>();
+        historyLog.scan(from, to, pointHistory -> {
+            // snapshot 을 저장하는 동안 기록된 내역은 이미 snapshot 에 포함되었을 수 있다.
+            State saved = snapshot.get(pointHistory.userId());
+            if (saved == null || pointHistory.id() > saved.lastId) {
+                folded.merge(pointHistory.userId(), State.of(pointHistory), State::plus);
+            }
+        });
+        return folded;
+    }
+
+    private long loadSnapshot(Map<Long, State> snapshot) throws IOException {
+        if (!Files.exists(snapshotPath)) {
+            return 0;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshotPath), 1 << 16))) {
+            if (in.readLong() != MAGIC) {
+                throw new IOException("잔액 snapshot 파일 형식이 올바르지 않습니다 : " + snapshotPath);
+            }
+            long watermark = in.readLong();
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                long userId = in.readLong();
+                snapshot.put(userId, new State(in.readLong(), in.readLong(), in.readLong()));
+            }
+            return watermark;
+        }
+    }
+
+    private void snapshotQuietly() {
+        try {
+            snapshot();
+        } catch (IOException | UncheckedIOException e) {
+            log.error("잔액 snapshot 저장에 실패했습니다.", e);
+        }
+    }
+
+    /**
+     * 한 사용자의 누적 상태. 합칠 때는 잔액을 더하고, 마지막 내역은 id 가 큰 쪽을 따른다.
+     */
+    private record State(long point, long lastId, long updateMillis) {
+
+        private static State of(PointHistory pointHistory) {
+            long amount = switch (pointHistory.type()) {
+                case CHARGE, TRANSFER_IN -> pointHistory.amount();
+                case USE, TRANSFER_OUT -> -pointHistory.amount();
+            };
+            return new State(amount, pointHistory.id(), pointHistory.updateMillis());
+        }
+
+        private State plus(State other) {
+            State last = lastId >= other.lastId ? this : other;
+            return new State(point + other.point, last.lastId, last.updateMillis);
+        }
+    }
+}
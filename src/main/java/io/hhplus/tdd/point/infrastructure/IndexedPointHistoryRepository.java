@@ -0,0 +1,49 @@
+package io.hhplus.tdd.point.infrastructure;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.PointHistoryPages;
+import io.hhplus.tdd.point.domain.PointHistoryRepository;
+import io.hhplus.tdd.point.domain.PointHistorySearch;
+import io.hhplus.tdd.point.domain.TransactionType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * PointHistoryTable 에 기록한 내역을 사용자별 인덱스에도 추가하고, 조회는 인덱스에서 처리하는 저장소
+ * 전체 내역을 순회하는 PointHistoryTable.selectAllByUserId 를 사용하지 않으므로 전체 내역 수와 무관하게 조회된다.
+ */
+@Repository
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "point.repository.point-history", havingValue = "indexed")
+public class IndexedPointHistoryRepository implements PointHistoryRepository {
+
+    private final PointHistoryTable pointHistoryTable;
+    private final PointHistoryIndex pointHistoryIndex = new PointHistoryIndex();
+
+    @Override
+    public List<PointHistory> selectAllByUserId(long userId) {
+        return pointHistoryIndex.selectAllByUserId(userId);
+    }
+
+    @Override
+    public List<PointHistory> selectByUserId(long userId, PointHistorySearch search) {
+        return pointHistoryIndex.selectByUserId(userId, search);
+    }
+
+    @Override
+    public Iterator<List<PointHistory>> selectPagesByUserId(long userId, PointHistorySearch search) {
+        return PointHistoryPages.seek(search, next -> selectByUserId(userId, next));
+    }
+
+    @Override
+    public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+        PointHistory pointHistory = pointHistoryTable.insert(userId, amount, type, updateMillis);
+        pointHistoryIndex.add(pointHistory);
+        return pointHistory;
+    }
+}
@@ -0,0 +1,150 @@
+package io.hhplus.tdd.point.infrastructure;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 동시에 들어온 쓰기를 하나의 batch/commit 으로 묶어 기록 (group commit)
+ * - 요청은 대기열에 넣은 뒤 잠금을 기다린다. 잠금을 얻은 스레드(leader)가 대기열을 최대 maxBatch 건씩 꺼내
+ *   addBatch → executeBatch → commit 한 번으로 기록하고, 자기 요청이 끝날 때까지 반복한다.
+ * - leader 가 기록하는 동안 들어온 요청은 다음 batch 에 묶이므로, 동시 요청이 많을수록 commit 횟수가 줄어든다.
+ * - batch 가 실패하면 rollback 하고 batch 에 포함된 모든 요청이 실패한다.
+ *   commit 이 실패했거나 rollback 하지 못하면 연결 상태를 알 수 없으므로 연결을 버리고,
+ *   다음 batch 는 새 연결에서 handler 상태를 다시 읽은 뒤(reload) 기록한다. (commit 이 실제로 반영되었을 수 있다)
+ * - 여러 건을 함께 요청(writeAll)하면 항상 같은 batch 에 넣으므로, 요청한 건은 모두 기록되거나 모두 기록되지 않는다.
+ */
+final class JdbcBatchWriter<T, R> {
+
+    private final JdbcConnections connections;
+    private final BatchHandler<T, R> handler;
+    private final int maxBatch;
+    private final Queue<Pending<T, R>> queue = new ConcurrentLinkedQueue<>();
+    private final ReentrantLock leaderLock = new ReentrantLock();
+    private boolean reconnected;
+
+    JdbcBatchWriter(JdbcConnections connections, int maxBatch, BatchHandler<T, R> handler) {
+        if (maxBatch <= 0) {
+            throw new IllegalArgumentException("최대 batch 크기는 0보다 커야 합니다.");
+        }
+        this.connections = connections;
+        this.maxBatch = maxBatch;
+        this.handler = handler;
+    }
+
+    R write(T item) {
+        return writeAll(List.of(item)).get(0);
+    }
+
+    List<R> writeAll(List<T> items) {
+        Pending<T, R> pending = new Pending<>(items);
+        queue.add(pending);
+        leaderLock.lock();
+        try {
+            // 앞선 leader 가 이미 기록했다면 바로 반환한다.
+            while (!pending.done) {
+                flush();
+            }
+        } finally {
+            leaderLock.unlock();
+        }
+        if (pending.failure != null) {
+            throw new IllegalStateException("데이터베이스 기록에 실패했습니다.", pending.failure);
+        }
+        return pending.results;
+    }
+
+    /**
+     * 대기열에서 최대 maxBatch 건을 꺼내 기록한다. 여러 건을 함께 요청한 경우는 나누지 않으므로 maxBatch 를 넘을 수 있다.
+     */
+    private void flush() {
+        List<Pending<T, R>> batch = new ArrayList<>();
+        List<T> items = new ArrayList<>();
+        Pending<T, R> next;
+        while ((items.isEmpty() || items.size() + peekSize() <= maxBatch) && (next = queue.poll()) != null) {
+            batch.add(next);
+            items.addAll(next.items);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        Connection connection = null;
+        boolean committing = false;
+        try {
+            connection = connections.writer();
+            if (reconnected) {
+                handler.reload(connection);
+                reconnected = false;
+            }
+            List<R> results = handler.write(connection, items);
+            committing = true;
+            connection.commit();
+            int offset = 0;
+            for (Pending<T, R> pending : batch) {
+                pending.results = results.subList(offset, offset + pending.items.size());
+                offset += pending.items.size();
+            }
+        } catch (SQLException | RuntimeException e) {
+            if (connection == null || committing || !rollback(connection, e)) {
+                connections.discardWriter();
+                reconnected = true;
+            }
+            handler.rollback();
+            for (Pending<T, R> pending : batch) {
+                pending.failure = e;
+            }
+        }
+        for (Pending<T, R> pending : batch) {
+            pending.done = true;
+        }
+    }
+
+    private int peekSize() {
+        Pending<T, R> head = queue.peek();
+        return head == null ? 0 : head.items.size();
+    }
+
+    private boolean rollback(Connection connection, Exception cause) {
+        try {
+            connection.rollback();
+            return true;
+        } catch (SQLException e) {
+            cause.addSuppressed(e);
+            return false;
+        }
+    }
+
+    /**
+     * leader 스레드에서만 호출되므로 구현체는 별도 동기화 없이 상태(다음 id 등)를 가질 수 있다.
+     */
+    interface BatchHandler<T, R> {
+        List<R> write(Connection connection, List<T> items) throws SQLException;
+
+        default void rollback() {
+        }
+
+        /**
+         * 연결을 다시 맺은 뒤 첫 batch 전에 호출된다. commit 결과를 알 수 없었으므로 상태를 데이터베이스에서 다시 읽는다.
+         */
+        default void reload(Connection connection) throws SQLException {
+        }
+    }
+
+    /**
+     * done/results/failure 는 leader 가 잠금을 쥔 채로 쓰고, 요청 스레드는 잠금을 얻은 뒤에 읽는다.
+     */
+    private static final class Pending<T, R> {
+        private final List<T> items;
+        private boolean done;
+        private List<R> results;
+        private Exception failure;
+
+        private Pending(List<T> items) {
+            this.items = items;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package io.hhplus.tdd.point.infrastructure;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * JDBC 저장소(point.repository.*=jdbc)가 사용하는 연결
+ * - 조회 : 고정 크기 연결 풀(autocommit). 풀이 비면 반납될 때까지 기다린다.
+ * - 쓰기 : 일괄 기록(JdbcBatchWriter) 전용 연결 하나(autocommit 해제). 한 번에 한 스레드만 사용한다.
+ *   commit 결과를 알 수 없거나 rollback 하지 못한 연결은 버리고(discardWriter) 다음 사용 시 새로 연결한다.
+ */
+final class JdbcConnections implements AutoCloseable {
+
+    private final BlockingQueue<Connection> readers;
+    private final List<Connection> opened = new ArrayList<>();
+    private final String url;
+    private final String username;
+    private final String password;
+    private volatile Connection writer;
+
+    JdbcConnections(String url, String username, String password, int poolSize) {
+        if (poolSize <= 0) {
+            throw new IllegalArgumentException("연결 풀 크기는 0보다 커야 합니다.");
+        }
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.readers = new ArrayBlockingQueue<>(poolSize);
+        try {
+            for (int i = 0; i < poolSize; i++) {
+                Connection reader = DriverManager.getConnection(url, username, password);
+                opened.add(reader);
+                readers.add(reader);
+            }
+            writer();
+        } catch (SQLException e) {
+            close();
+            throw new IllegalStateException("데이터베이스에 연결할 수 없습니다.", e);
+        }
+    }
+
+    /**
+     * 쓰기 연결로 DDL 을 실행하고 커밋한다. (생성 시 스키마 준비용)
+     */
+    void execute(String... statements) {
+        try (Statement statement = writer().createStatement()) {
+            for (String sql : statements) {
+                statement.execute(sql);
+            }
+            writer().commit();
+        } catch (SQLException e) {
+            throw new IllegalStateException("스키마를 준비할 수 없습니다.", e);
+        }
+    }
+
+    <T> T read(SqlFunction<T> function) {
+        Connection connection;
+        try {
+            connection = readers.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("연결을 기다리는 중 중단되었습니다.", e);
+        }
+        try {
+            return function.apply(connection);
+        } catch (SQLException e) {
+            throw new IllegalStateException("데이터베이스 조회에 실패했습니다.", e);
+        } finally {
+            readers.add(connection);
+        }
+    }
+
+    /**
+     * 쓰기 연결. 버린 연결이 있으면 새로 연결한다.
+     */
+    Connection writer() throws SQLException {
+        Connection connection = writer;
+        if (connection == null) {
+            connection = DriverManager.getConnection(url, username, password);
+            connection.setAutoCommit(false);
+            writer = connection;
+        }
+        return connection;
+    }
+
+    /**
+     * 쓰기 연결을 닫고 버린다. 닫으면 commit 되지 않은 변경은 데이터베이스가 rollback 한다.
+     */
+    void discardWriter() {
+        Connection connection = writer;
+        writer = null;
+        closeQuietly(connection);
+    }
+
+    @Override
+    public void close() {
+        opened.forEach(JdbcConnections::closeQuietly);
+        discardWriter();
+    }
+
+    private static void closeQuietly(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException ignored) {
+            // 버리거나 종료하는 연결의 닫기 실패는 무시한다.
+        }
+    }
+
+    @FunctionalInterface
+    interface SqlFunction<T> {
+        T apply(Connection connection) throws SQLException;
+    }
+}
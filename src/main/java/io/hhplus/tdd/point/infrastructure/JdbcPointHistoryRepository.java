@@ -0,0 +1,211 @@
+package io.hhplus.tdd.point.infrastructure;
+
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.PointHistoryPages;
+import io.hhplus.tdd.point.domain.PointHistoryRepository;
+import io.hhplus.tdd.point.domain.PointHistorySearch;
+import io.hhplus.tdd.point.domain.TransactionType;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JDBC(기본 : 내장 H2 메모리 DB) point_history 테이블에 저장하는 저장소
+ * - 기록은 동시에 들어온 요청을 INSERT batch 하나로 묶어 기록한다. (JdbcBatchWriter)
+ * - id 는 batch 를 기록하는 leader 가 commit 순서대로 발급하므로, 같은 사용자의 내역은 id 순서가 기록 순서와 같다.
+ * - 조회는 (user_id, id) 인덱스로 사용자 내역만 읽고, 조회 조건은 SQL 로 처리한다.
+ */
+@Repository
+@ConditionalOnProperty(name = "point.repository.point-history", havingValue = "jdbc")
+public class JdbcPointHistoryRepository implements PointHistoryRepository, AutoCloseable {
+
+    private static final String SELECT_ALL = """
+            SELECT id, amount, transaction_type, update_millis FROM point_history
+            WHERE user_id = ? ORDER BY id""";
+    private static final String SELECT = """
+            SELECT id, amount, transaction_type, update_millis FROM point_history
+            WHERE user_id = ? AND id > ? AND update_millis BETWEEN ? AND ?
+            ORDER BY id FETCH FIRST ? ROWS ONLY""";
+    private static final String INSERT = """
+            INSERT INTO point_history (id, user_id, amount, transaction_type, update_millis)
+            VALUES (?, ?, ?, ?, ?)""";
+
+    private final JdbcConnections connections;
+    private final JdbcBatchWriter<PointHistory, PointHistory> batchWriter;
+    private final Timer selectTimer;
+    private final Timer insertTimer;
+
+    public JdbcPointHistoryRepository(
+            @Value("${point.jdbc.url:jdbc:h2:mem:point;DB_CLOSE_DELAY=-1}") String url,
+            @Value("${point.jdbc.username:sa}") String username,
+            @Value("${point.jdbc.password:}") String password,
+            @Value("${point.jdbc.pool-size:16}") int poolSize,
+            @Value("${point.jdbc.max-batch:256}") int maxBatch,
+            MeterRegistry meterRegistry
+    ) {
+        this.connections = new JdbcConnections(url, username, password, poolSize);
+        this.connections.execute("""
+                CREATE TABLE IF NOT EXISTS point_history (
+                    id BIGINT PRIMARY KEY,
+                    user_id BIGINT NOT NULL,
+                    amount BIGINT NOT NULL,
+                    transaction_type VARCHAR(16) NOT NULL,
+                    update_millis BIGINT NOT NULL
+                )""",
+                "CREATE INDEX IF NOT EXISTS point_history_user_id ON point_history (user_id, id)");
+        this.batchWriter = new JdbcBatchWriter<>(connections, maxBatch, new InsertHandler(lastId()));
+        this.selectTimer = RepositoryMetrics.timer(meterRegistry, "point_history", "select");
+        this.insertTimer = RepositoryMetrics.timer(meterRegistry, "point_history", "insert");
+    }
+
+    private long lastId() {
+        return connections.read(JdbcPointHistoryRepository::lastId);
+    }
+
+    private static long lastId(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT COALESCE(MAX(id), 0) FROM point_history")) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    @Override
+    public List<PointHistory> selectAllByUserId(long userId) {
+        long start = System.nanoTime();
+        try {
+            return connections.read(connection -> {
+                try (PreparedStatement statement = connection.prepareStatement(SELECT_ALL)) {
+                    statement.setLong(1, userId);
+                    return toList(userId, statement);
+                }
+            });
+        } finally {
+            selectTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public List<PointHistory> selectByUserId(long userId, PointHistorySearch search) {
+        long start = System.nanoTime();
+        try {
+            return connections.read(connection -> {
+                try (PreparedStatement statement = connection.prepareStatement(SELECT)) {
+                    statement.setLong(1, userId);
+                    statement.setLong(2, search.afterId());
+                    statement.setLong(3, search.from());
+                    statement.setLong(4, search.to());
+                    statement.setInt(5, search.limit());
+                    return toList(userId, statement);
+                }
+            });
+        } finally {
+            selectTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public Iterator<List<PointHistory>> selectPagesByUserId(long userId, PointHistorySearch search) {
+        return PointHistoryPages.seek(search, next -> selectByUserId(userId, next));
+    }
+
+    private List<PointHistory> toList(long userId, PreparedStatement statement) throws SQLException {
+        List<PointHistory> histories = new ArrayList<>();
+        try (ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                histories.add(new PointHistory(
+                        resultSet.getLong(1),
+                        userId,
+                        resultSet.getLong(2),
+                        TransactionType.valueOf(resultSet.getString(3)),
+                        resultSet.getLong(4)));
+            }
+        }
+        return histories;
+    }
+
+    @Override
+    public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+        long start = System.nanoTime();
+        try {
+            // id 는 leader 가 기록 직전에 발급한다.
+            return batchWriter.write(new PointHistory(0, userId, amount, type, updateMillis));
+        } finally {
+            insertTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * 여러 내역을 같은 INSERT batch 로 기록하므로, 모두 commit 되거나 모두 rollback 된다.
+     */
+    @Override
+    public List<PointHistory> insertAll(List<PointHistory> histories) {
+        long start = System.nanoTime();
+        try {
+            return batchWriter.writeAll(histories);
+        } finally {
+            insertTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    @PreDestroy
+    public void close() {
+        connections.close();
+    }
+
+    private static final class InsertHandler implements JdbcBatchWriter.BatchHandler<PointHistory, PointHistory> {
+
+        private long lastId;
+        private long batchStartId;
+
+        private InsertHandler(long lastId) {
+            this.lastId = lastId;
+        }
+
+        @Override
+        public List<PointHistory> write(Connection connection, List<PointHistory> items) throws SQLException {
+            batchStartId = lastId;
+            List<PointHistory> histories = new ArrayList<>(items.size());
+            try (PreparedStatement statement = connection.prepareStatement(INSERT)) {
+                for (PointHistory item : items) {
+                    PointHistory pointHistory = new PointHistory(
+                            ++lastId, item.userId(), item.amount(), item.type(), item.updateMillis());
+                    statement.setLong(1, pointHistory.id());
+                    statement.setLong(2, pointHistory.userId());
+                    statement.setLong(3, pointHistory.amount());
+                    statement.setString(4, pointHistory.type().name());
+                    statement.setLong(5, pointHistory.updateMillis());
+                    statement.addBatch();
+                    histories.add(pointHistory);
+                }
+                statement.executeBatch();
+            }
+            return histories;
+        }
+
+        @Override
+        public void rollback() {
+            // 기록하지 못한 batch 의 id 는 다시 발급한다.
+            lastId = batchStartId;
+        }
+
+        @Override
+        public void reload(Connection connection) throws SQLException {
+            lastId = JdbcPointHistoryRepository.lastId(connection);
+        }
+    }
+}
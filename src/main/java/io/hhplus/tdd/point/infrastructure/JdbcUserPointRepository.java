@@ -0,0 +1,136 @@
+package io.hhplus.tdd.point.infrastructure;
+
+import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.point.domain.UserPointRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JDBC(기본 : 내장 H2 메모리 DB) user_point 테이블에 저장하는 저장소
+ * - 조회는 연결 풀에서, 저장은 동시에 들어온 요청을 MERGE batch 하나로 묶어 기록한다. (JdbcBatchWriter)
+ */
+@Repository
+@ConditionalOnProperty(name = "point.repository.user-point", havingValue = "jdbc")
+public class JdbcUserPointRepository implements UserPointRepository, AutoCloseable {
+
+    private static final String SELECT = "SELECT point, update_millis FROM user_point WHERE id = ?";
+    private static final String SELECT_IDS = "SELECT id FROM user_point";
+    private static final String MERGE = "MERGE INTO user_point (id, point, update_millis) KEY (id) VALUES (?, ?, ?)";
+
+    private final JdbcConnections connections;
+    private final JdbcBatchWriter<UserPoint, UserPoint> batchWriter;
+    private final Timer selectTimer;
+    private final Timer insertOrUpdateTimer;
+
+    public JdbcUserPointRepository(
+            @Value("${point.jdbc.url:jdbc:h2:mem:point;DB_CLOSE_DELAY=-1}") String url,
+            @Value("${point.jdbc.username:sa}") String username,
+            @Value("${point.jdbc.password:}") String password,
+            @Value("${point.jdbc.pool-size:16}") int poolSize,
+            @Value("${point.jdbc.max-batch:256}") int maxBatch,
+            MeterRegistry meterRegistry
+    ) {
+        this.connections = new JdbcConnections(url, username, password, poolSize);
+        this.connections.execute("""
+                CREATE TABLE IF NOT EXISTS user_point (
+                    id BIGINT PRIMARY KEY,
+                    point BIGINT NOT NULL,
+                    update_millis BIGINT NOT NULL
+                )""");
+        this.batchWriter = new JdbcBatchWriter<>(connections, maxBatch, (connection, userPoints) -> {
+            try (PreparedStatement statement = connection.prepareStatement(MERGE)) {
+                for (UserPoint userPoint : userPoints) {
+                    statement.setLong(1, userPoint.id());
+                    statement.setLong(2, userPoint.point());
+                    statement.setLong(3, userPoint.updateMillis());
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+            return userPoints;
+        });
+        this.selectTimer = RepositoryMetrics.timer(meterRegistry, "user_point", "select");
+        this.insertOrUpdateTimer = RepositoryMetrics.timer(meterRegistry, "user_point", "insert_or_update");
+    }
+
+    @Override
+    public UserPoint selectById(long id) {
+        long start = System.nanoTime();
+        try {
+            return connections.read(connection -> {
+                try (PreparedStatement statement = connection.prepareStatement(SELECT)) {
+                    statement.setLong(1, id);
+                    try (ResultSet resultSet = statement.executeQuery()) {
+                        return resultSet.next()
+                                ? new UserPoint(id, resultSet.getLong(1), resultSet.getLong(2))
+                                : UserPoint.empty(id);
+                    }
+                }
+            });
+        } finally {
+            selectTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public UserPoint insertOrUpdate(long id, long amount) {
+        long start = System.nanoTime();
+        try {
+            return batchWriter.write(new UserPoint(id, amount, System.currentTimeMillis()));
+        } finally {
+            insertOrUpdateTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * 여러 사용자의 잔액을 같은 MERGE batch 로 기록하므로, 모두 commit 되거나 모두 rollback 된다.
+     */
+    @Override
+    public Map<Long, UserPoint> insertOrUpdateAll(Map<Long, Long> amounts) {
+        long start = System.nanoTime();
+        try {
+            long updateMillis = System.currentTimeMillis();
+            List<UserPoint> userPoints = new ArrayList<>(amounts.size());
+            amounts.forEach((id, amount) -> userPoints.add(new UserPoint(id, amount, updateMillis)));
+            Map<Long, UserPoint> saved = new LinkedHashMap<>();
+            for (UserPoint userPoint : batchWriter.writeAll(userPoints)) {
+                saved.put(userPoint.id(), userPoint);
+            }
+            return saved;
+        } finally {
+            insertOrUpdateTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public List<Long> selectAllIds() {
+        return connections.read(connection -> {
+            List<Long> ids = new ArrayList<>();
+            try (PreparedStatement statement = connection.prepareStatement(SELECT_IDS);
+                 ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    ids.add(resultSet.getLong(1));
+                }
+            }
+            return ids;
+        });
+    }
+
+    @Override
+    @PreDestroy
+    public void close() {
+        connections.close();
+    }
+}
@@ -0,0 +1,263 @@
+package io.hhplus.tdd.point.infrastructure;
+
+import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.point.domain.UserPointRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 메모리 매핑 파일의 고정 크기 slot 에 잔액을 저장하는 저장소 (off-heap)
+ * - slot(32 byte) : id / version / point / updateMillis
+ * - id 해시로 시작 위치를 정하고 빈 slot(id = 0)을 만날 때까지 선형 탐색한다. (open addressing, 삭제 없음)
+ * - 빈 slot 은 id 를 CAS 로 선점하고, 잔액은 version 을 홀수로 올린 동안만 기록한다. (seqlock)
+ *   조회는 잠금 없이 version 이 짝수이고 읽는 동안 바뀌지 않은 값만 반환하므로 한 사용자의 갱신이 원자적으로 보인다.
+ * - 재시작 시 파일을 다시 매핑만 하므로 데이터 양과 무관하게 바로 조회할 수 있다.
+ *   정상 종료 표시가 없을 때만(기록 도중 중단) 전체 slot 을 확인해 홀수로 남은 version 을 복구한다.
+ * - 한 번에 매핑할 수 있는 크기(2GB) 제한 때문에 slot 을 segment 단위로 나누어 매핑한다.
+ * - 여러 사용자를 함께 저장(insertOrUpdateAll)하면 모든 slot 을 먼저 확보한 뒤 기록하므로, 공간이 부족하면 아무 잔액도 바뀌지 않는다.
+ *   (확보만 한 slot 은 잔액 0 으로 조회되어 저장되지 않은 사용자와 같다)
+ */
+@Repository
+@ConditionalOnProperty(name = "point.repository.user-point", havingValue = "mapped")
+public class MappedUserPointRepository implements UserPointRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(MappedUserPointRepository.class);
+
+    private static final long MAGIC = 0x5553_4552_504F_494EL; // "USERPOIN"
+    private static final int HEADER_SIZE = 64;
+    private static final int HEADER_CAPACITY = 8;
+    private static final int HEADER_CLEAN = 16;
+    private static final int SLOT_SHIFT = 5;
+    private static final int SEGMENT_SHIFT = 25;
+    private static final long SEGMENT_SLOTS = 1L << SEGMENT_SHIFT;
+
+    private static final int ID = 0;
+    private static final int VERSION = 8;
+    private static final int POINT = 16;
+    private static final int UPDATE_MILLIS = 24;
+
+    private static final VarHandle LONG = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+    private final FileChannel channel;
+    private final MappedByteBuffer header;
+    private final MappedByteBuffer[] segments;
+    private final long capacity;
+    private final long mask;
+
+    public MappedUserPointRepository(
+            @Value("${point.mapped.path:data/user-point.dat}") Path path,
+            @Value("${point.mapped.capacity:1048576}") long capacity
+    ) throws IOException {
+        long start = System.nanoTime();
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        this.channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+
+        boolean existing = (long) LONG.get(header, 0) == MAGIC;
+        boolean clean = (long) LONG.get(header, HEADER_CLEAN) == 1;
+        if (existing) {
+            // 이미 만들어진 파일은 기록된 용량을 그대로 사용한다.
+            this.capacity = (long) LONG.get(header, HEADER_CAPACITY);
+        } else {
+            this.capacity = capacity <= 1 ? 1 : Long.highestOneBit(capacity - 1) << 1;
+            LONG.set(header, HEADER_CAPACITY, this.capacity);
+            LONG.setRelease(header, 0, MAGIC);
+        }
+        this.mask = this.capacity - 1;
+
+        int segmentCount = (int) ((this.capacity + SEGMENT_SLOTS - 1) >>> SEGMENT_SHIFT);
+        this.segments = new MappedByteBuffer[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            long slots = Math.min(SEGMENT_SLOTS, this.capacity - ((long) i << SEGMENT_SHIFT));
+            long position = HEADER_SIZE + ((long) i << (SEGMENT_SHIFT + SLOT_SHIFT));
+            segments[i] = channel.map(FileChannel.MapMode.READ_WRITE, position, slots << SLOT_SHIFT);
+        }
+        if (existing && !clean) {
+            repair();
+        }
+        LONG.setRelease(header, HEADER_CLEAN, 0L);
+        header.force();
+        log.info("user point 파일 매핑 완료 : path={}, capacity={}, elapsed={}ms",
+                path, this.capacity, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @Override
+    public UserPoint selectById(long id) {
+        long slot = find(id, false);
+        if (slot < 0) {
+            return UserPoint.empty(id);
+        }
+
+        MappedByteBuffer segment = segments[(int) (slot >>> SEGMENT_SHIFT)];
+        int offset = offset(slot);
+        while (true) {
+            long version = (long) LONG.getAcquire(segment, offset + VERSION);
+            if ((version & 1) == 0) {
+                long point = (long) LONG.get(segment, offset + POINT);
+                long updateMillis = (long) LONG.get(segment, offset + UPDATE_MILLIS);
+                VarHandle.loadLoadFence();
+                if ((long) LONG.getAcquire(segment, offset + VERSION) == version) {
+                    return new UserPoint(id, point, updateMillis);
+                }
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    @Override
+    public UserPoint insertOrUpdate(long id, long amount) {
+        return write(find(id, true), id, amount);
+    }
+
+    @Override
+    public Map<Long, UserPoint> insertOrUpdateAll(Map<Long, Long> amounts) {
+        long[] slots = new long[amounts.size()];
+        int index = 0;
+        for (long id : amounts.keySet()) {
+            slots[index++] = find(id, true);
+        }
+
+        Map<Long, UserPoint> saved = new LinkedHashMap<>();
+        index = 0;
+        for (Map.Entry<Long, Long> amount : amounts.entrySet()) {
+            saved.put(amount.getKey(), write(slots[index++], amount.getKey(), amount.getValue()));
+        }
+        return saved;
+    }
+
+    private UserPoint write(long slot, long id, long amount) {
+        MappedByteBuffer segment = segments[(int) (slot >>> SEGMENT_SHIFT)];
+        int offset = offset(slot);
+        long updateMillis = System.currentTimeMillis();
+
+        long version;
+        do {
+            version = (long) LONG.getAcquire(segment, offset + VERSION);
+            if ((version & 1) != 0) {
+                Thread.onSpinWait();
+            }
+        } while ((version & 1) != 0 || !LONG.compareAndSet(segment, offset + VERSION, version, version + 1));
+
+        LONG.set(segment, offset + POINT, amount);
+        LONG.set(segment, offset + UPDATE_MILLIS, updateMillis);
+        LONG.setRelease(segment, offset + VERSION, version + 2);
+        return new UserPoint(id, amount, updateMillis);
+    }
+
+    /**
+     * 전체 slot 을 확인해 잔액을 한 번 이상 기록한 사용자 id 를 반환한다. (확보만 한 slot 은 제외)
+     */
+    @Override
+    public List<Long> selectAllIds() {
+        List<Long> ids = new ArrayList<>();
+        for (long slot = 0; slot < capacity; slot++) {
+            MappedByteBuffer segment = segments[(int) (slot >>> SEGMENT_SHIFT)];
+            int offset = offset(slot);
+            long id = (long) LONG.getAcquire(segment, offset + ID);
+            if (id != 0 && (long) LONG.getAcquire(segment, offset + VERSION) != 0) {
+                ids.add(id);
+            }
+        }
+        return ids;
+    }
+
+    public long capacity() {
+        return capacity;
+    }
+
+    /**
+     * 매핑된 내용을 디스크에 반영한다. 종료 시 호출되며, 그 전에는 운영체제가 시점을 정한다.
+     */
+    @PreDestroy
+    public void close() throws IOException {
+        for (MappedByteBuffer segment : segments) {
+            segment.force();
+        }
+        LONG.setRelease(header, HEADER_CLEAN, 1L);
+        header.force();
+        channel.close();
+    }
+
+    /**
+     * id 의 slot 번호를 찾는다. 없으면 claim 이 true 일 때만 빈 slot 을 선점하고, 아니면 -1 을 반환한다.
+     */
+    private long find(long id, boolean claim) {
+        if (id <= 0) {
+            throw new IllegalArgumentException("유효하지 않은 사용자입니다.");
+        }
+
+        long slot = hash(id) & mask;
+        for (long probe = 0; probe < capacity; probe++, slot = (slot + 1) & mask) {
+            MappedByteBuffer segment = segments[(int) (slot >>> SEGMENT_SHIFT)];
+            int offset = offset(slot);
+            long current = (long) LONG.getAcquire(segment, offset + ID);
+            if (current == id) {
+                return slot;
+            }
+            if (current != 0) {
+                continue;
+            }
+            if (!claim) {
+                return -1;
+            }
+            if (LONG.compareAndSet(segment, offset + ID, 0L, id)) {
+                return slot;
+            }
+            // 다른 스레드가 먼저 선점했다면 같은 사용자일 수 있으므로 다시 확인한다.
+            if ((long) LONG.getAcquire(segment, offset + ID) == id) {
+                return slot;
+            }
+        }
+        if (!claim) {
+            return -1;
+        }
+        throw new IllegalStateException("user point 저장 공간이 부족합니다. point.mapped.capacity 를 늘려주세요.");
+    }
+
+    /**
+     * 기록 도중 중단되어 홀수로 남은 version 을 짝수로 되돌린다. 해당 slot 의 잔액은 중단 전후 값 중 하나일 수 있다.
+     */
+    private void repair() {
+        long repaired = 0;
+        for (long slot = 0; slot < capacity; slot++) {
+            MappedByteBuffer segment = segments[(int) (slot >>> SEGMENT_SHIFT)];
+            int offset = offset(slot);
+            long version = (long) LONG.get(segment, offset + VERSION);
+            if ((version & 1) != 0) {
+                LONG.set(segment, offset + VERSION, version + 1);
+                repaired++;
+            }
+        }
+        log.warn("정상 종료되지 않은 user point 파일을 복구했습니다 : repairedSlots={}", repaired);
+    }
+
+    private static int offset(long slot) {
+        return (int) ((slot & (SEGMENT_SLOTS - 1)) << SLOT_SHIFT);
+    }
+
+    private static long hash(long id) {
+        long h = id * 0x9E3779B97F4A7C15L;
+        return h ^ (h >>> 32);
+    }
+}
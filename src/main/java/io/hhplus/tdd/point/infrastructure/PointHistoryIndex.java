@@ -0,0 +1,154 @@
+package io.hhplus.tdd.point.infrastructure;
+
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.PointHistorySearch;
+import io.hhplus.tdd.point.domain.TransactionType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 사용자별 포인트 내역 인덱스
+ * - 사용자마다 id / amount / type / updateMillis 를 병렬 배열로 추가만 하며, 배열은 항상 id 오름차순이다.
+ * - 같은 사용자의 내역이 동시에 기록되면(핫 계정) id 발급 순서와 추가 순서가 다를 수 있으므로, 늦게 도착한 id 는 정렬 위치에 넣는다.
+ * - 조회는 해당 사용자의 내역 수(k)에만 비례한다. (O(k))
+ */
+public class PointHistoryIndex {
+
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    private final ConcurrentMap<Long, Columns> columnsByUser = new ConcurrentHashMap<>();
+
+    public void add(PointHistory pointHistory) {
+        columnsByUser.computeIfAbsent(pointHistory.userId(), key -> new Columns())
+                     .add(pointHistory);
+    }
+
+    public List<PointHistory> selectAllByUserId(long userId) {
+        Columns columns = columnsByUser.get(userId);
+        return columns == null ? List.of() : columns.toList(userId);
+    }
+
+    public List<PointHistory> selectByUserId(long userId, PointHistorySearch search) {
+        Columns columns = columnsByUser.get(userId);
+        return columns == null ? List.of() : columns.toList(userId, search);
+    }
+
+    public int size(long userId) {
+        Columns columns = columnsByUser.get(userId);
+        return columns == null ? 0 : columns.view.size();
+    }
+
+    /**
+     * 한 사용자의 내역 열 저장소
+     * 쓰기는 synchronized 로 직렬화하고, 읽기는 volatile 인 view(배열과 크기의 쌍)를 한 번만 읽어 잠금 없이 처리한다.
+     * 배열과 크기를 함께 교체하므로, 자리를 비운 복사본으로 바뀌는 중에도 읽는 쪽은 항상 짝이 맞는 배열/크기를 본다.
+     */
+    private static final class Columns {
+        private static final int INITIAL_CAPACITY = 8;
+
+        private volatile View view = new View(new Data(INITIAL_CAPACITY), 0);
+
+        private synchronized void add(PointHistory pointHistory) {
+            View published = view;
+            Data current = published.data();
+            int count = published.size();
+            int index = count == 0 || current.ids[count - 1] < pointHistory.id()
+                    ? count
+                    : current.indexAfter(pointHistory.id(), count);
+            if (index < count) {
+                // 이미 공개된 위치는 바꿀 수 없으므로, 자리를 비운 복사본에 넣은 뒤 교체한다.
+                current = current.copyWithGap(index, count);
+            } else if (count == current.ids.length) {
+                current = current.grow();
+            }
+            current.ids[index] = pointHistory.id();
+            current.amounts[index] = pointHistory.amount();
+            current.types[index] = (byte) pointHistory.type().ordinal();
+            current.updateMillis[index] = pointHistory.updateMillis();
+            // 공개된 크기 이후의 칸이나 새 복사본에만 썼으므로, 교체 전까지 읽는 쪽에는 보이지 않는다.
+            view = new View(current, count + 1);
+        }
+
+        private List<PointHistory> toList(long userId) {
+            View published = view;
+            Data current = published.data();
+            int count = published.size();
+            List<PointHistory> histories = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                histories.add(new PointHistory(
+                        current.ids[i], userId, current.amounts[i], TYPES[current.types[i]], current.updateMillis[i]));
+            }
+            return histories;
+        }
+
+        private List<PointHistory> toList(long userId, PointHistorySearch search) {
+            View published = view;
+            Data current = published.data();
+            int count = published.size();
+            List<PointHistory> histories = new ArrayList<>(Math.min(count, search.limit()));
+            // id 는 추가 순서대로 증가하므로 cursor 이후 위치를 이진 탐색으로 찾는다.
+            for (int i = current.indexAfter(search.afterId(), count); i < count && histories.size() < search.limit(); i++) {
+                long updateMillis = current.updateMillis[i];
+                if (updateMillis < search.from() || updateMillis > search.to()) {
+                    continue;
+                }
+                histories.add(new PointHistory(
+                        current.ids[i], userId, current.amounts[i], TYPES[current.types[i]], updateMillis));
+            }
+            return histories;
+        }
+    }
+
+    private record View(Data data, int size) {
+    }
+
+    private static final class Data {
+        private final long[] ids;
+        private final long[] amounts;
+        private final byte[] types;
+        private final long[] updateMillis;
+
+        private Data(int capacity) {
+            this(new long[capacity], new long[capacity], new byte[capacity], new long[capacity]);
+        }
+
+        private Data(long[] ids, long[] amounts, byte[] types, long[] updateMillis) {
+            this.ids = ids;
+            this.amounts = amounts;
+            this.types = types;
+            this.updateMillis = updateMillis;
+        }
+
+        private int indexAfter(long afterId, int count) {
+            int index = Arrays.binarySearch(ids, 0, count, afterId);
+            return index >= 0 ? index + 1 : -(index + 1);
+        }
+
+        /**
+         * index 위치를 비우고 count 개를 복사한다. (index 이후는 한 칸씩 뒤로)
+         */
+        private Data copyWithGap(int index, int count) {
+            Data copy = new Data(count == ids.length ? ids.length << 1 : ids.length);
+            for (int[] range : new int[][]{{0, 0, index}, {index, index + 1, count - index}}) {
+                System.arraycopy(ids, range[0], copy.ids, range[1], range[2]);
+                System.arraycopy(amounts, range[0], copy.amounts, range[1], range[2]);
+                System.arraycopy(types, range[0], copy.types, range[1], range[2]);
+                System.arraycopy(updateMillis, range[0], copy.updateMillis, range[1], range[2]);
+            }
+            return copy;
+        }
+
+        private Data grow() {
+            int capacity = ids.length << 1;
+            return new Data(
+                    Arrays.copyOf(ids, capacity),
+                    Arrays.copyOf(amounts, capacity),
+                    Arrays.copyOf(types, capacity),
+                    Arrays.copyOf(updateMillis, capacity));
+        }
+    }
+}
@@ -0,0 +1,377 @@
+package io.hhplus.tdd.point.infrastructure;
+
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.TransactionType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * 포인트 내역을 고정 크기 레코드로 기록하는 추가 전용(append-only) 로그
+ * - 레코드(40 byte) : id / userId / amount / updateMillis / type / crc
+ * - id 는 1 부터 순차 증가하며, 레코드 위치는 id 로 계산한다. (segment = (id - 1) / segmentRecords)
+ * - segment 파일은 미리 정해진 크기로 매핑하고, 가득 차면 다음 segment 를 만든다.
+ * - 조회는 매핑된 segment 에서 바로 읽는다. (중간 버퍼로의 복사 없음)
+ * - fsyncIntervalMillis 가 0 이면 기록마다, 아니면 해당 주기마다 모아서 디스크에 반영한다.
+ * - 여러 건을 함께 기록(appendAll)하면 필요한 segment 를 먼저 모두 만든 뒤 기록하고, 디스크 반영에 실패하면 기록한 레코드를 지우므로
+ *   모두 기록되거나 하나도 기록되지 않는다.
+ * - retentionSegments 를 넘는 오래된 segment 는 삭제한다. (0 이면 모두 보관)
+ * - 재시작 시 마지막 segment 만 확인해 crc 가 맞는 레코드까지를 유효한 끝으로 복구한다.
+ *   이전 segment 는 다음 segment 를 만들 때 디스크에 반영하므로 모두 유효하다.
+ */
+class PointHistoryLog implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(PointHistoryLog.class);
+
+    static final int RECORD_SIZE = 40;
+    private static final int CRC_OFFSET = 36;
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    private final Path directory;
+    private final int segmentRecords;
+    private final long fsyncIntervalMillis;
+    private final int retentionSegments;
+    private final ConcurrentNavigableMap<Long, MappedByteBuffer> segments = new ConcurrentSkipListMap<>();
+
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final ByteBuffer recordBuffer = ByteBuffer.allocate(RECORD_SIZE);
+    private final CRC32C crc = new CRC32C();
+    private final Thread maintainer;
+    private final List<LongConsumer> retentionListeners = new CopyOnWriteArrayList<>();
+    private final List<Consumer<PointHistory>> appendListeners = new CopyOnWriteArrayList<>();
+
+    private volatile long nextId;
+    private volatile long firstId;
+    private volatile boolean dirty;
+    private volatile boolean running = true;
+
+    PointHistoryLog(Path directory, int segmentRecords, long fsyncIntervalMillis, int retentionSegments)
+            throws IOException {
+        if (segmentRecords <= 0 || segmentRecords > Integer.MAX_VALUE / RECORD_SIZE) {
+            throw new IllegalArgumentException("segment 당 레코드 수는 1 ~ " + Integer.MAX_VALUE / RECORD_SIZE + " 사이여야 합니다.");
+        }
+        this.directory = directory;
+        this.segmentRecords = segmentRecords;
+        this.fsyncIntervalMillis = fsyncIntervalMillis;
+        this.retentionSegments = retentionSegments;
+
+        Files.createDirectories(directory);
+        recover();
+
+        this.maintainer = new Thread(this::maintain, "point-history-log");
+        this.maintainer.setDaemon(true);
+        this.maintainer.start();
+    }
+
+    PointHistory append(long userId, long amount, TransactionType type, long updateMillis) {
+        return appendAll(List.of(new PointHistory(0, userId, amount, type, updateMillis))).get(0);
+    }
+
+    /**
+     * 여러 내역을 이어지는 id 로 기록한다. (전달한 내역의 id 는 무시)
+     */
+    List<PointHistory> appendAll(List<PointHistory> histories) {
+        if (histories.isEmpty()) {
+            return List.of();
+        }
+        appendLock.lock();
+
+        try {
+            long fromId = nextId;
+            long toId = fromId + histories.size() - 1;
+            List<Long> created = new ArrayList<>();
+            List<PointHistory> appended = new ArrayList<>(histories.size());
+            try {
+                // segment 를 만들다 실패해도 레코드가 일부만 기록되지 않도록 먼저 모두 만든다.
+                for (long segment = segmentOf(fromId); segment <= segmentOf(toId); segment++) {
+                    if (!segments.containsKey(segment)) {
+                        roll(segment);
+                        created.add(segment);
+                    }
+                }
+                for (PointHistory pointHistory : histories) {
+                    appended.add(write(fromId + appended.size(), pointHistory));
+                }
+                if (fsyncIntervalMillis == 0) {
+                    force(fromId, toId);
+                }
+            } catch (RuntimeException e) {
+                // nextId 를 올리지 않았으므로 읽히지는 않지만, 재시작 시 유효한 레코드나 빈 segment 로 복구되지 않게 되돌린다.
+                erase(fromId, fromId + appended.size() - 1);
+                discard(created, e);
+                throw e;
+            }
+            if (fsyncIntervalMillis != 0) {
+                dirty = true;
+            }
+
+            nextId = toId + 1;
+            for (PointHistory pointHistory : appended) {
+                for (Consumer<PointHistory> listener : appendListeners) {
+                    listener.accept(pointHistory);
+                }
+            }
+            return appended;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    private PointHistory write(long id, PointHistory pointHistory) {
+        recordBuffer.clear();
+        recordBuffer.putLong(id)
+                    .putLong(pointHistory.userId())
+                    .putLong(pointHistory.amount())
+                    .putLong(pointHistory.updateMillis())
+                    .putInt(pointHistory.type().ordinal());
+        crc.reset();
+        crc.update(recordBuffer.array(), 0, CRC_OFFSET);
+        recordBuffer.putInt((int) crc.getValue());
+
+        segments.get(segmentOf(id)).put(offsetOf(id), recordBuffer.array(), 0, RECORD_SIZE);
+        return new PointHistory(id, pointHistory.userId(), pointHistory.amount(), pointHistory.type(),
+                pointHistory.updateMillis());
+    }
+
+    private void force(long fromId, long toId) {
+        for (long id = fromId; id <= toId; ) {
+            long segment = segmentOf(id);
+            long last = Math.min(toId, (segment + 1) * segmentRecords);
+            segments.get(segment).force(offsetOf(id), (int) (last - id + 1) * RECORD_SIZE);
+            id = last + 1;
+        }
+    }
+
+    private void discard(List<Long> created, RuntimeException cause) {
+        for (long segment : created) {
+            segments.remove(segment);
+            try {
+                Files.deleteIfExists(pathOf(segment));
+            } catch (IOException e) {
+                cause.addSuppressed(e);
+            }
+        }
+    }
+
+    private void erase(long fromId, long toId) {
+        byte[] empty = new byte[RECORD_SIZE];
+        for (long id = fromId; id <= toId; id++) {
+            segments.get(segmentOf(id)).put(offsetOf(id), empty);
+        }
+    }
+
+    /**
+     * 보관 기간이 지나 삭제되었거나 아직 기록되지 않은 id 면 null 을 반환한다.
+     */
+    PointHistory read(long id) {
+        if (id < firstId || id >= nextId) {
+            return null;
+        }
+        MappedByteBuffer buffer = segments.get(segmentOf(id));
+        if (buffer == null) {
+            return null;
+        }
+
+        int offset = offsetOf(id);
+        return new PointHistory(
+                buffer.getLong(offset),
+                buffer.getLong(offset + 8),
+                buffer.getLong(offset + 16),
+                TYPES[buffer.getInt(offset + 32)],
+                buffer.getLong(offset + 24));
+    }
+
+    /**
+     * fromId 부터 현재까지 기록된 내역을 순서대로 전달한다.
+     */
+    void scan(long fromId, Consumer<PointHistory> consumer) {
+        scan(fromId, nextId, consumer);
+    }
+
+    /**
+     * fromId 이상 toId 미만의 내역을 순서대로 전달한다. 구간을 나누어 여러 스레드에서 동시에 호출할 수 있다.
+     */
+    void scan(long fromId, long toId, Consumer<PointHistory> consumer) {
+        long end = Math.min(toId, nextId);
+        for (long id = Math.max(fromId, firstId); id < end; id++) {
+            PointHistory pointHistory = read(id);
+            if (pointHistory != null) {
+                consumer.accept(pointHistory);
+            }
+        }
+    }
+
+    /**
+     * 기록된 내역을 기록 순서대로 전달받는다. 기록 잠금을 보유한 상태로 호출되므로 가벼운 작업만 수행해야 한다.
+     */
+    void onAppend(Consumer<PointHistory> listener) {
+        appendListeners.add(listener);
+    }
+
+    /**
+     * 오래된 segment 를 삭제한 뒤 남아 있는 첫 id 를 전달받는다. 로그의 백그라운드 스레드에서 호출된다.
+     */
+    void onRetention(LongConsumer listener) {
+        retentionListeners.add(listener);
+    }
+
+    long firstId() {
+        return firstId;
+    }
+
+    long lastId() {
+        return nextId - 1;
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        running = false;
+        maintainer.interrupt();
+        maintainer.join(TimeUnit.SECONDS.toMillis(10));
+        appendLock.lock();
+        try {
+            for (MappedByteBuffer buffer : segments.values()) {
+                buffer.force();
+            }
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    private MappedByteBuffer roll(long segment) {
+        // 이전 segment 는 다시 기록되지 않으므로 디스크 반영을 마친 뒤 다음 segment 를 만든다.
+        Map.Entry<Long, MappedByteBuffer> last = segments.lastEntry();
+        if (last != null) {
+            last.getValue().force();
+        }
+        try {
+            MappedByteBuffer buffer = map(pathOf(segment));
+            segments.put(segment, buffer);
+            return buffer;
+        } catch (IOException e) {
+            throw new UncheckedIOException("포인트 내역 segment 를 만들지 못했습니다.", e);
+        }
+    }
+
+    private void maintain() {
+        while (running) {
+            try {
+                TimeUnit.MILLISECONDS.sleep(fsyncIntervalMillis == 0 ? 1000 : fsyncIntervalMillis);
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (dirty) {
+                dirty = false;
+                Map.Entry<Long, MappedByteBuffer> active = segments.lastEntry();
+                if (active != null) {
+                    active.getValue().force();
+                }
+            }
+            if (retentionSegments > 0 && segments.size() > retentionSegments) {
+                retain();
+            }
+        }
+    }
+
+    private void retain() {
+        while (segments.size() > retentionSegments) {
+            Map.Entry<Long, MappedByteBuffer> oldest = segments.firstEntry();
+            // 조회 중인 스레드가 삭제된 segment 를 읽지 않도록 firstId 를 먼저 올린다.
+            firstId = (oldest.getKey() + 1) * segmentRecords + 1;
+            segments.remove(oldest.getKey());
+            try {
+                Files.deleteIfExists(pathOf(oldest.getKey()));
+            } catch (IOException e) {
+                log.warn("포인트 내역 segment 삭제에 실패했습니다 : segment={}", oldest.getKey(), e);
+            }
+        }
+        for (LongConsumer listener : retentionListeners) {
+            listener.accept(firstId);
+        }
+    }
+
+    private void recover() throws IOException {
+        List<Long> numbers;
+        try (Stream<Path> files = Files.list(directory)) {
+            numbers = files.map(path -> path.getFileName().toString())
+                           .filter(name -> name.endsWith(".seg"))
+                           .map(name -> Long.parseLong(name.substring(0, name.length() - 4)))
+                           .sorted()
+                           .toList();
+        }
+        if (numbers.isEmpty()) {
+            firstId = 1;
+            nextId = 1;
+            return;
+        }
+
+        for (long number : numbers) {
+            segments.put(number, map(pathOf(number)));
+        }
+        long lastSegment = numbers.get(numbers.size() - 1);
+        MappedByteBuffer last = segments.get(lastSegment);
+
+        long id = lastSegment * segmentRecords + 1;
+        long end = (lastSegment + 1) * segmentRecords + 1;
+        while (id < end && valid(last, id)) {
+            id++;
+        }
+        // 기록 도중 중단된 레코드 이후의 내용은 다시 기록되기 전까지 읽히지 않도록 지운다.
+        for (long torn = id; torn < end && last.getLong(offsetOf(torn)) != 0; torn++) {
+            last.put(offsetOf(torn), new byte[RECORD_SIZE]);
+        }
+
+        firstId = numbers.get(0) * segmentRecords + 1;
+        nextId = id;
+        log.info("포인트 내역 로그 복구 완료 : segments={}, firstId={}, lastId={}", numbers.size(), firstId, id - 1);
+    }
+
+    private boolean valid(MappedByteBuffer buffer, long id) {
+        int offset = offsetOf(id);
+        if (buffer.getLong(offset) != id) {
+            return false;
+        }
+        CRC32C recovered = new CRC32C();
+        recovered.update(buffer.slice(offset, CRC_OFFSET));
+        return (int) recovered.getValue() == buffer.getInt(offset + CRC_OFFSET);
+    }
+
+    private MappedByteBuffer map(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) segmentRecords * RECORD_SIZE);
+        }
+    }
+
+    private Path pathOf(long segment) {
+        return directory.resolve(String.format("%020d.seg", segment));
+    }
+
+    private long segmentOf(long id) {
+        return (id - 1) / segmentRecords;
+    }
+
+    private int offsetOf(long id) {
+        return (int) ((id - 1) % segmentRecords) * RECORD_SIZE;
+    }
+}
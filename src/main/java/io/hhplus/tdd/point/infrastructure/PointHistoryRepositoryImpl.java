@@ -4,24 +4,45 @@ import io.hhplus.tdd.database.PointHistoryTable;
 import io.hhplus.tdd.point.domain.TransactionType;
 import io.hhplus.tdd.point.domain.PointHistory;
 import io.hhplus.tdd.point.domain.PointHistoryRepository;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 @Repository
-@RequiredArgsConstructor
+@ConditionalOnProperty(name = "point.repository.point-history", havingValue = "table", matchIfMissing = true)
 public class PointHistoryRepositoryImpl implements PointHistoryRepository {
 
     private final PointHistoryTable pointHistoryTable;
+    private final Timer selectTimer;
+    private final Timer insertTimer;
+
+    public PointHistoryRepositoryImpl(PointHistoryTable pointHistoryTable, MeterRegistry meterRegistry) {
+        this.pointHistoryTable = pointHistoryTable;
+        this.selectTimer = RepositoryMetrics.timer(meterRegistry, "point_history", "select");
+        this.insertTimer = RepositoryMetrics.timer(meterRegistry, "point_history", "insert");
+    }
 
     @Override
     public List<PointHistory> selectAllByUserId(long userId) {
-        return pointHistoryTable.selectAllByUserId(userId);
+        long start = System.nanoTime();
+        try {
+            return pointHistoryTable.selectAllByUserId(userId);
+        } finally {
+            selectTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
     }
 
     @Override
     public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
-        return pointHistoryTable.insert(userId, amount, type, updateMillis);
+        long start = System.nanoTime();
+        try {
+            return pointHistoryTable.insert(userId, amount, type, updateMillis);
+        } finally {
+            insertTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
     }
 }
@@ -0,0 +1,23 @@
+package io.hhplus.tdd.point.infrastructure;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * 테이블 호출 시간 지표 (point.repository)
+ * - table, operation 태그로 구분하며 Timer 는 생성 시점에 한 번만 등록해 호출마다 조회/할당하지 않는다.
+ */
+final class RepositoryMetrics {
+
+    private RepositoryMetrics() {
+    }
+
+    static Timer timer(MeterRegistry meterRegistry, String table, String operation) {
+        return Timer.builder("point.repository")
+                    .description("테이블 호출 시간")
+                    .tag("table", table)
+                    .tag("operation", operation)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+    }
+}
@@ -0,0 +1,172 @@
+package io.hhplus.tdd.point.infrastructure;
+
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.PointHistoryPages;
+import io.hhplus.tdd.point.domain.PointHistoryRepository;
+import io.hhplus.tdd.point.domain.PointHistorySearch;
+import io.hhplus.tdd.point.domain.TransactionType;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 포인트 내역을 segment 파일 로그(PointHistoryLog)에 기록하는 저장소
+ * - 사용자별로 내역 id 만 메모리에 인덱싱하고, 내용은 매핑된 segment 에서 바로 읽는다.
+ * - 인덱싱은 로그의 기록 잠금 안(onAppend)에서 하므로, 같은 사용자의 내역이 동시에 기록되어도 id 순서대로 쌓인다.
+ * - 재시작 시 보관 중인 로그를 순회해 인덱스를 다시 만든다.
+ * - 보관 기간이 지나 삭제된 segment 의 id 는 인덱스에서도 제거한다.
+ */
+@Repository
+@ConditionalOnProperty(name = "point.repository.point-history", havingValue = "segmented")
+public class SegmentedPointHistoryRepository implements PointHistoryRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(SegmentedPointHistoryRepository.class);
+
+    private final PointHistoryLog historyLog;
+    private final ConcurrentMap<Long, Ids> idsByUser = new ConcurrentHashMap<>();
+
+    public SegmentedPointHistoryRepository(
+            @Value("${point.history-log.directory:data/history-log}") Path directory,
+            @Value("${point.history-log.segment-records:1048576}") int segmentRecords,
+            @Value("${point.history-log.fsync-interval-ms:10}") long fsyncIntervalMillis,
+            @Value("${point.history-log.retention-segments:0}") int retentionSegments
+    ) throws IOException {
+        long start = System.nanoTime();
+        this.historyLog = new PointHistoryLog(directory, segmentRecords, fsyncIntervalMillis, retentionSegments);
+        historyLog.scan(1, pointHistory -> index(pointHistory.userId(), pointHistory.id()));
+        historyLog.onAppend(pointHistory -> index(pointHistory.userId(), pointHistory.id()));
+        historyLog.onRetention(this::prune);
+        log.info("포인트 내역 인덱스 복구 완료 : users={}, elapsed={}ms",
+                idsByUser.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @Override
+    public List<PointHistory> selectAllByUserId(long userId) {
+        return selectByUserId(userId, 0, Integer.MAX_VALUE, Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    @Override
+    public List<PointHistory> selectByUserId(long userId, PointHistorySearch search) {
+        return selectByUserId(userId, search.afterId(), search.limit(), search.from(), search.to());
+    }
+
+    @Override
+    public Iterator<List<PointHistory>> selectPagesByUserId(long userId, PointHistorySearch search) {
+        return PointHistoryPages.seek(search, next -> selectByUserId(userId, next));
+    }
+
+    @Override
+    public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+        return historyLog.append(userId, amount, type, updateMillis);
+    }
+
+    /**
+     * 로그에 한 번에 기록하므로 모두 기록되거나 하나도 기록되지 않는다. (PointHistoryLog.appendAll)
+     */
+    @Override
+    public List<PointHistory> insertAll(List<PointHistory> histories) {
+        return historyLog.appendAll(histories);
+    }
+
+    PointHistoryLog historyLog() {
+        return historyLog;
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException {
+        historyLog.close();
+    }
+
+    private List<PointHistory> selectByUserId(long userId, long afterId, int limit, long from, long to) {
+        Ids ids = idsByUser.get(userId);
+        if (ids == null) {
+            return List.of();
+        }
+
+        Ids.Snapshot snapshot = ids.snapshot;
+        long after = Math.max(afterId, historyLog.firstId() - 1);
+        int index = Arrays.binarySearch(snapshot.values(), 0, snapshot.size(), after);
+        List<PointHistory> histories = new ArrayList<>(Math.min(snapshot.size(), Math.min(limit, 1024)));
+        for (int i = index >= 0 ? index + 1 : -(index + 1); i < snapshot.size() && histories.size() < limit; i++) {
+            PointHistory pointHistory = historyLog.read(snapshot.values()[i]);
+            if (pointHistory != null && pointHistory.updateMillis() >= from && pointHistory.updateMillis() <= to) {
+                histories.add(pointHistory);
+            }
+        }
+        return histories;
+    }
+
+    private void index(long userId, long id) {
+        Ids ids;
+        while (!(ids = idsByUser.computeIfAbsent(userId, key -> new Ids())).add(id)) {
+            // 정리 중 제거된 목록이면 새 목록에 다시 추가한다. 다른 스레드가 이미 만든 새 목록은 제거하지 않는다.
+            idsByUser.remove(userId, ids);
+        }
+    }
+
+    private void prune(long firstId) {
+        idsByUser.forEach((userId, ids) -> {
+            if (ids.prune(firstId)) {
+                idsByUser.remove(userId, ids);
+            }
+        });
+    }
+
+    /**
+     * 한 사용자의 내역 id 목록 (오름차순)
+     * 쓰기는 synchronized 로 직렬화하고, 읽기는 volatile 인 snapshot 하나만 읽어 잠금 없이 처리한다.
+     * snapshot 의 배열은 size 이후에만 추가되므로 이미 공개된 범위는 바뀌지 않는다.
+     */
+    private static final class Ids {
+        private volatile Snapshot snapshot = new Snapshot(new long[4], 0);
+        private boolean retired;
+
+        private synchronized boolean add(long id) {
+            if (retired) {
+                return false;
+            }
+            Snapshot current = snapshot;
+            long[] values = current.values();
+            if (current.size() == values.length) {
+                values = Arrays.copyOf(values, values.length << 1);
+            }
+            values[current.size()] = id;
+            snapshot = new Snapshot(values, current.size() + 1);
+            return true;
+        }
+
+        /**
+         * firstId 보다 작은 id 를 제거한다. 남은 id 가 없으면 더 이상 사용하지 않도록 표시하고 true 를 반환한다.
+         */
+        private synchronized boolean prune(long firstId) {
+            Snapshot current = snapshot;
+            int index = Arrays.binarySearch(current.values(), 0, current.size(), firstId);
+            int from = index >= 0 ? index : -(index + 1);
+            if (from == 0) {
+                return false;
+            }
+            if (from == current.size()) {
+                retired = true;
+                return true;
+            }
+            int size = current.size() - from;
+            snapshot = new Snapshot(Arrays.copyOfRange(current.values(), from, from + Math.max(size, 4)), size);
+            return false;
+        }
+
+        private record Snapshot(long[] values, int size) {
+        }
+    }
+}
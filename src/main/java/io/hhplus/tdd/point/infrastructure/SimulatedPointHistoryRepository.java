@@ -0,0 +1,111 @@
+package io.hhplus.tdd.point.infrastructure;
+
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.PointHistoryPages;
+import io.hhplus.tdd.point.domain.PointHistoryRepository;
+import io.hhplus.tdd.point.domain.PointHistorySearch;
+import io.hhplus.tdd.point.domain.TransactionType;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 사용자별 인덱스(PointHistoryIndex)에 저장하고, 호출마다 설정한 지연 시간/장애 모델(StorageLatencyModel)을 적용하는 저장소
+ * - id 발급과 인덱스 추가를 한 잠금 안에서 처리하므로, 같은 사용자의 내역이 동시에 기록되어도 id 순서대로 쌓인다.
+ *   지연은 잠금 밖에서 적용한다.
+ */
+@Repository
+@ConditionalOnProperty(name = "point.repository.point-history", havingValue = "simulated")
+public class SimulatedPointHistoryRepository implements PointHistoryRepository {
+
+    private final StorageLatencyModel latencyModel;
+    private final PointHistoryIndex pointHistoryIndex = new PointHistoryIndex();
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final Timer selectTimer;
+    private final Timer insertTimer;
+    private long cursor = 1;
+
+    public SimulatedPointHistoryRepository(StorageLatencyModel latencyModel, MeterRegistry meterRegistry) {
+        this.latencyModel = latencyModel;
+        this.selectTimer = RepositoryMetrics.timer(meterRegistry, "point_history", "select");
+        this.insertTimer = RepositoryMetrics.timer(meterRegistry, "point_history", "insert");
+    }
+
+    @Override
+    public List<PointHistory> selectAllByUserId(long userId) {
+        long start = System.nanoTime();
+        try {
+            latencyModel.read();
+            return pointHistoryIndex.selectAllByUserId(userId);
+        } finally {
+            selectTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public List<PointHistory> selectByUserId(long userId, PointHistorySearch search) {
+        long start = System.nanoTime();
+        try {
+            latencyModel.read();
+            return pointHistoryIndex.selectByUserId(userId, search);
+        } finally {
+            selectTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public Iterator<List<PointHistory>> selectPagesByUserId(long userId, PointHistorySearch search) {
+        return PointHistoryPages.seek(search, next -> selectByUserId(userId, next));
+    }
+
+    @Override
+    public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+        long start = System.nanoTime();
+        try {
+            latencyModel.write();
+            appendLock.lock();
+            try {
+                PointHistory pointHistory = new PointHistory(cursor++, userId, amount, type, updateMillis);
+                pointHistoryIndex.add(pointHistory);
+                return pointHistory;
+            } finally {
+                appendLock.unlock();
+            }
+        } finally {
+            insertTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * 여러 내역을 한 번의 쓰기로 기록한다. 장애가 나면 하나도 기록하지 않는다.
+     */
+    @Override
+    public List<PointHistory> insertAll(List<PointHistory> histories) {
+        long start = System.nanoTime();
+        try {
+            latencyModel.write();
+            List<PointHistory> inserted = new ArrayList<>(histories.size());
+            appendLock.lock();
+            try {
+                for (PointHistory history : histories) {
+                    PointHistory pointHistory = new PointHistory(
+                            cursor++, history.userId(), history.amount(), history.type(), history.updateMillis());
+                    pointHistoryIndex.add(pointHistory);
+                    inserted.add(pointHistory);
+                }
+                return inserted;
+            } finally {
+                appendLock.unlock();
+            }
+        } finally {
+            insertTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package io.hhplus.tdd.point.infrastructure;
+
+import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.point.domain.UserPointRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 메모리에 저장하고, 호출마다 설정한 지연 시간/장애 모델(StorageLatencyModel)을 적용하는 저장소
+ * 실제 저장소(고정 왕복 시간, 긴 꼬리, 주기적인 멈춤)나 지연 없는 환경에서 캐시/일괄 처리/잠금 방식을 비교할 때 사용한다.
+ */
+@Repository
+@ConditionalOnProperty(name = "point.repository.user-point", havingValue = "simulated")
+public class SimulatedUserPointRepository implements UserPointRepository {
+
+    private final StorageLatencyModel latencyModel;
+    private final ConcurrentMap<Long, UserPoint> table = new ConcurrentHashMap<>();
+    private final Timer selectTimer;
+    private final Timer insertOrUpdateTimer;
+
+    public SimulatedUserPointRepository(StorageLatencyModel latencyModel, MeterRegistry meterRegistry) {
+        this.latencyModel = latencyModel;
+        this.selectTimer = RepositoryMetrics.timer(meterRegistry, "user_point", "select");
+        this.insertOrUpdateTimer = RepositoryMetrics.timer(meterRegistry, "user_point", "insert_or_update");
+    }
+
+    @Override
+    public UserPoint selectById(long id) {
+        long start = System.nanoTime();
+        try {
+            latencyModel.read();
+            UserPoint userPoint = table.get(id);
+            return userPoint == null ? UserPoint.empty(id) : userPoint;
+        } finally {
+            selectTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public UserPoint insertOrUpdate(long id, long amount) {
+        long start = System.nanoTime();
+        try {
+            latencyModel.write();
+            UserPoint userPoint = new UserPoint(id, amount, System.currentTimeMillis());
+            table.put(id, userPoint);
+            return userPoint;
+        } finally {
+            insertOrUpdateTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * 여러 사용자의 잔액을 한 번의 쓰기로 저장한다. 장애가 나면 하나도 저장하지 않는다.
+     */
+    @Override
+    public Map<Long, UserPoint> insertOrUpdateAll(Map<Long, Long> amounts) {
+        long start = System.nanoTime();
+        try {
+            latencyModel.write();
+            long updateMillis = System.currentTimeMillis();
+            Map<Long, UserPoint> saved = new LinkedHashMap<>();
+            amounts.forEach((id, amount) -> saved.put(id, new UserPoint(id, amount, updateMillis)));
+            table.putAll(saved);
+            return saved;
+        } finally {
+            insertOrUpdateTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public List<Long> selectAllIds() {
+        return List.copyOf(table.keySet());
+    }
+}
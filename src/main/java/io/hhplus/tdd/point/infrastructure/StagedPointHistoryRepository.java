@@ -0,0 +1,337 @@
+package io.hhplus.tdd.point.infrastructure;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.PointHistoryRepository;
+import io.hhplus.tdd.point.domain.TransactionType;
+import io.hhplus.tdd.util.TooManyRequestsException;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 포인트 내역을 로컬 스테이징 로그에 먼저 기록하고 바로 반환하는 저장소
+ * - 백그라운드 drainer 가 기록 순서대로 PointHistoryTable 에 반영한다.
+ * - 내역 id 는 테이블의 cursor 와 같은 규칙(1 부터 순차 증가)으로 미리 부여한다. (이 저장소만 테이블에 쓰는 것을 전제)
+ * - 조회 시 아직 반영되지 않은 내역을 합쳐서 반환한다. (read-your-writes)
+ * - 반영 대기 중인 내역이 max-pending 에 도달하면 새 기록을 TooManyRequestsException 으로 거절한다. (backpressure)
+ * - 여러 내역을 함께 기록(insertAll)하면 한도를 전체 건수로 확인하고 한 번에 로그에 기록하므로, 모두 기록되거나 하나도 기록되지 않는다.
+ * - 재시작 시 checkpoint 이후의 로그를 다시 반영한다. checkpoint 는 임시 파일에 기록한 뒤 교체하므로 중간에 끊겨도 이전 값이 남는다.
+ * - checkpoint 는 내역마다 기록하지 않고, 대기열을 모두 비웠을 때 또는 일정 건수/시간마다 기록한다.
+ *   (비정상 종료 시 마지막 checkpoint 이후 반영한 내역은 재시작 후 다시 반영될 수 있다)
+ */
+@Repository
+@ConditionalOnProperty(name = "point.repository.point-history", havingValue = "staged")
+public class StagedPointHistoryRepository implements PointHistoryRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(StagedPointHistoryRepository.class);
+
+    private static final int RECORD_SIZE = Long.BYTES * 4 + Integer.BYTES;
+    private static final TransactionType[] TYPES = TransactionType.values();
+    private static final int CHECKPOINT_RECORDS = 1024;
+    private static final long CHECKPOINT_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final PointHistoryTable pointHistoryTable;
+    private final Path logPath;
+    private final Path checkpointPath;
+    private final boolean fsync;
+    private final int maxPending;
+    private final FileChannel logChannel;
+    // 파일 I/O 를 감싸므로 virtual thread 를 carrier 에 고정(pinning)시키는 synchronized 대신 사용한다.
+    private final ReentrantLock appendLock = new ReentrantLock();
+
+    private final BlockingQueue<PointHistory> drainQueue = new LinkedBlockingQueue<>();
+    private final ConcurrentMap<Long, Queue<PointHistory>> pendingByUser = new ConcurrentHashMap<>();
+    private final Thread drainer;
+    private long nextId = 1;
+    private volatile boolean running = true;
+
+    public StagedPointHistoryRepository(
+            PointHistoryTable pointHistoryTable,
+            @Value("${point.history-staging.path:data/history-staging.log}") Path logPath,
+            @Value("${point.history-staging.fsync:true}") boolean fsync,
+            @Value("${point.history-staging.max-pending:100000}") int maxPending
+    ) throws IOException {
+        if (maxPending <= 0) {
+            throw new IllegalArgumentException("최대 반영 대기 수는 0보다 커야 합니다.");
+        }
+        this.pointHistoryTable = pointHistoryTable;
+        this.logPath = logPath;
+        this.checkpointPath = logPath.resolveSibling(logPath.getFileName() + ".checkpoint");
+        this.fsync = fsync;
+        this.maxPending = maxPending;
+
+        if (logPath.getParent() != null) {
+            Files.createDirectories(logPath.getParent());
+        }
+        List<PointHistory> recovered = recover();
+        this.logChannel = FileChannel.open(logPath,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        Files.deleteIfExists(checkpointPath);
+
+        // 반영되지 못한 내역은 새 로그에 다시 기록한다. 테이블 id 는 재시작 후 1 부터 다시 부여된다.
+        // 이미 받은 내역이므로 최대 반영 대기 수와 관계없이 모두 기록한다.
+        stage(recovered);
+        if (!recovered.isEmpty()) {
+            log.info("스테이징 로그에서 포인트 내역 {}건을 복구했습니다.", recovered.size());
+        }
+
+        this.drainer = new Thread(this::drain, "point-history-drainer");
+        this.drainer.setDaemon(true);
+        this.drainer.start();
+    }
+
+    @Override
+    public List<PointHistory> selectAllByUserId(long userId) {
+        // 반영 대기 목록을 먼저 복사한 뒤 테이블을 조회해야 그 사이 반영된 내역이 누락되지 않는다.
+        Queue<PointHistory> pending = pendingByUser.get(userId);
+        List<PointHistory> staged = pending == null ? List.of() : new ArrayList<>(pending);
+
+        List<PointHistory> drained = selectDrained(userId);
+        if (staged.isEmpty()) {
+            return drained;
+        }
+
+        long lastDrainedId = drained.isEmpty() ? 0 : drained.get(drained.size() - 1).id();
+        List<PointHistory> merged = new ArrayList<>(drained.size() + staged.size());
+        merged.addAll(drained);
+        for (PointHistory pointHistory : staged) {
+            if (pointHistory.id() > lastDrainedId) {
+                merged.add(pointHistory);
+            }
+        }
+        return merged;
+    }
+
+    @Override
+    public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+        return insertAll(List.of(new PointHistory(0, userId, amount, type, updateMillis))).get(0);
+    }
+
+    /**
+     * 한도 확인과 로그 기록을 같은 잠금 안에서 한 번에 하므로, 모두 기록되거나 하나도 기록되지 않는다.
+     */
+    @Override
+    public List<PointHistory> insertAll(List<PointHistory> histories) {
+        appendLock.lock();
+        try {
+            if (drainQueue.size() + histories.size() > maxPending) {
+                throw new TooManyRequestsException("포인트 내역 반영이 밀려 있습니다. 잠시 후 다시 시도해주세요.");
+            }
+            return stage(histories);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    private List<PointHistory> stage(List<PointHistory> histories) {
+        appendLock.lock();
+
+        try {
+            List<PointHistory> staged = new ArrayList<>(histories.size());
+            for (PointHistory pointHistory : histories) {
+                staged.add(new PointHistory(nextId + staged.size(), pointHistory.userId(), pointHistory.amount(),
+                        pointHistory.type(), pointHistory.updateMillis()));
+            }
+            append(staged);
+            nextId += staged.size();
+
+            for (PointHistory pointHistory : staged) {
+                pendingByUser.compute(pointHistory.userId(), (key, pending) -> {
+                    Queue<PointHistory> queue = pending != null ? pending : new ConcurrentLinkedQueue<>();
+                    queue.add(pointHistory);
+                    return queue;
+                });
+                drainQueue.add(pointHistory);
+            }
+            return staged;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * 테이블에 반영되지 않은 내역 수
+     */
+    public int pendingCount() {
+        return drainQueue.size();
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException, IOException {
+        running = false;
+        drainer.join(TimeUnit.SECONDS.toMillis(30));
+        if (drainer.isAlive()) {
+            log.warn("포인트 내역 drainer 가 제한 시간 내에 종료되지 않았습니다. 남은 내역은 재시작 시 반영됩니다.");
+        }
+        appendLock.lock();
+        try {
+            logChannel.close();
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    private void drain() {
+        int uncheckpointed = 0;
+        long lastCheckpointNanos = System.nanoTime();
+        while (running || !drainQueue.isEmpty()) {
+            PointHistory pointHistory;
+            try {
+                pointHistory = drainQueue.poll(100, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (pointHistory == null) {
+                continue;
+            }
+
+            PointHistory inserted = pointHistoryTable.insert(
+                    pointHistory.userId(), pointHistory.amount(), pointHistory.type(), pointHistory.updateMillis());
+            if (inserted.id() != pointHistory.id()) {
+                log.warn("포인트 내역 id 가 일치하지 않습니다. staged={}, table={}", pointHistory.id(), inserted.id());
+            }
+
+            pendingByUser.computeIfPresent(pointHistory.userId(), (key, pending) -> {
+                pending.poll();
+                return pending.isEmpty() ? null : pending;
+            });
+
+            // 대기열이 비면(한 묶음을 모두 반영하면) checkpoint 하고, 계속 쌓이는 동안에는 건수/시간 간격으로 한다.
+            uncheckpointed++;
+            long now = System.nanoTime();
+            if (drainQueue.isEmpty() || uncheckpointed >= CHECKPOINT_RECORDS
+                    || now - lastCheckpointNanos >= CHECKPOINT_INTERVAL_NANOS) {
+                checkpoint(pointHistory.id());
+                uncheckpointed = 0;
+                lastCheckpointNanos = now;
+            }
+        }
+    }
+
+    /**
+     * 내역들을 한 번의 기록(fsync)으로 로그에 추가한다. 실패하면 기록한 부분을 잘라내, 재시작 시 다시 반영되지 않게 한다.
+     */
+    private void append(List<PointHistory> histories) {
+        ByteBuffer recordBuffer = ByteBuffer.allocate(RECORD_SIZE * histories.size());
+        for (PointHistory pointHistory : histories) {
+            recordBuffer.putLong(pointHistory.id())
+                        .putLong(pointHistory.userId())
+                        .putLong(pointHistory.amount())
+                        .putInt(pointHistory.type().ordinal())
+                        .putLong(pointHistory.updateMillis());
+        }
+        recordBuffer.flip();
+
+        long position = -1;
+        try {
+            position = logChannel.position();
+            while (recordBuffer.hasRemaining()) {
+                logChannel.write(recordBuffer);
+            }
+            if (fsync) {
+                logChannel.force(false);
+            }
+        } catch (IOException e) {
+            if (position >= 0) {
+                try {
+                    logChannel.truncate(position);
+                } catch (IOException truncateFailure) {
+                    e.addSuppressed(truncateFailure);
+                }
+            }
+            throw new UncheckedIOException("포인트 내역을 스테이징 로그에 기록하지 못했습니다.", e);
+        }
+    }
+
+    private void checkpoint(long drainedId) {
+        appendLock.lock();
+        try {
+            // 모두 반영되었다면 로그를 비워 크기가 계속 늘어나지 않도록 한다.
+            if (drainQueue.isEmpty() && logChannel.isOpen()) {
+                logChannel.truncate(0);
+                Files.deleteIfExists(checkpointPath);
+                return;
+            }
+            writeCheckpoint(drainedId);
+        } catch (IOException e) {
+            log.warn("스테이징 로그 checkpoint 기록에 실패했습니다.", e);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * 임시 파일에 기록(fsync 설정 시 force)한 뒤 원자적으로 교체해, 기록 도중 중단되어도 checkpoint 가 깨지지 않게 한다.
+     */
+    private void writeCheckpoint(long drainedId) throws IOException {
+        Path temp = checkpointPath.resolveSibling(checkpointPath.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(Long.toString(drainedId).getBytes(StandardCharsets.US_ASCII));
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            if (fsync) {
+                channel.force(true);
+            }
+        }
+        Files.move(temp, checkpointPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private List<PointHistory> recover() throws IOException {
+        if (!Files.exists(logPath)) {
+            return List.of();
+        }
+        long drainedId = Files.exists(checkpointPath) ? Long.parseLong(Files.readString(checkpointPath).trim()) : 0;
+
+        List<PointHistory> recovered = new ArrayList<>();
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(logPath));
+        while (buffer.remaining() >= RECORD_SIZE) {
+            long id = buffer.getLong();
+            long userId = buffer.getLong();
+            long amount = buffer.getLong();
+            int type = buffer.getInt();
+            long updateMillis = buffer.getLong();
+            if (id > drainedId) {
+                recovered.add(new PointHistory(id, userId, amount, TYPES[type], updateMillis));
+            }
+        }
+        return recovered;
+    }
+
+    private List<PointHistory> selectDrained(long userId) {
+        // drainer 가 테이블에 추가하는 도중 조회하면 ConcurrentModificationException 이 발생할 수 있어 다시 조회한다.
+        while (true) {
+            try {
+                return pointHistoryTable.selectAllByUserId(userId);
+            } catch (ConcurrentModificationException ignored) {
+            }
+        }
+    }
+}
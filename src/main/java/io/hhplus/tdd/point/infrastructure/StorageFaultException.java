@@ -0,0 +1,11 @@
+package io.hhplus.tdd.point.infrastructure;
+
+/**
+ * 저장소 장애 모델(StorageLatencyModel)로 실패시킨 호출
+ */
+public class StorageFaultException extends RuntimeException {
+
+    public StorageFaultException(String message) {
+        super(message);
+    }
+}
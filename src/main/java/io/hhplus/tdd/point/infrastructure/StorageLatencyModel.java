@@ -0,0 +1,95 @@
+package io.hhplus.tdd.point.infrastructure;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 메모리 저장소(point.repository.*=simulated) 호출마다 적용하는 지연 시간/장애 모델
+ * - none : 지연 없음 (CPU 비용만 측정할 때)
+ * - fixed : 항상 read/write-latency-ms 만큼 (고정 왕복 시간)
+ * - uniform : 0 ~ read/write-latency-ms 사이 균등 분포 (기존 UserPointTable/PointHistoryTable 과 같은 방식)
+ * - lognormal : 중앙값이 read/write-latency-ms 이고 sigma 가 클수록 꼬리가 긴 분포
+ * - stall-period-ms 마다 stall-ms 동안은 모든 호출이 멈춤 구간이 끝날 때까지 기다린다. (GC, compaction, failover 등)
+ * - failure-rate 비율의 호출은 지연 후 StorageFaultException 으로 실패한다.
+ */
+@Component
+public class StorageLatencyModel {
+
+    private final Distribution distribution;
+    private final long readNanos;
+    private final long writeNanos;
+    private final double sigma;
+    private final long stallPeriodNanos;
+    private final long stallNanos;
+    private final double failureRate;
+    private final long origin = System.nanoTime();
+
+    public StorageLatencyModel(
+            @Value("${point.simulated.latency:uniform}") String distribution,
+            @Value("${point.simulated.read-latency-ms:200}") double readMillis,
+            @Value("${point.simulated.write-latency-ms:300}") double writeMillis,
+            @Value("${point.simulated.sigma:1.0}") double sigma,
+            @Value("${point.simulated.stall-period-ms:0}") long stallPeriodMillis,
+            @Value("${point.simulated.stall-ms:0}") long stallMillis,
+            @Value("${point.simulated.failure-rate:0}") double failureRate
+    ) {
+        if (stallPeriodMillis > 0 && (stallMillis < 0 || stallMillis >= stallPeriodMillis)) {
+            throw new IllegalArgumentException("멈춤 시간은 0 이상, 멈춤 주기보다 짧아야 합니다.");
+        }
+        if (failureRate < 0 || failureRate > 1) {
+            throw new IllegalArgumentException("실패 비율은 0 ~ 1 사이여야 합니다.");
+        }
+        this.distribution = Distribution.valueOf(distribution.toUpperCase());
+        this.readNanos = (long) (readMillis * 1_000_000);
+        this.writeNanos = (long) (writeMillis * 1_000_000);
+        this.sigma = sigma;
+        this.stallPeriodNanos = TimeUnit.MILLISECONDS.toNanos(stallPeriodMillis);
+        this.stallNanos = TimeUnit.MILLISECONDS.toNanos(stallMillis);
+        this.failureRate = failureRate;
+    }
+
+    public static StorageLatencyModel none() {
+        return new StorageLatencyModel("none", 0, 0, 0, 0, 0, 0);
+    }
+
+    public void read() {
+        apply(readNanos);
+    }
+
+    public void write() {
+        apply(writeNanos);
+    }
+
+    private void apply(long scaleNanos) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long delay = switch (distribution) {
+            case NONE -> 0;
+            case FIXED -> scaleNanos;
+            case UNIFORM -> (long) (random.nextDouble() * scaleNanos);
+            case LOGNORMAL -> (long) (scaleNanos * Math.exp(sigma * random.nextGaussian()));
+        };
+        if (stallPeriodNanos > 0) {
+            long phase = (System.nanoTime() - origin) % stallPeriodNanos;
+            if (phase < stallNanos) {
+                delay += stallNanos - phase;
+            }
+        }
+        if (delay > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (failureRate > 0 && random.nextDouble() < failureRate) {
+            throw new StorageFaultException("저장소 호출에 실패했습니다. (모의 장애)");
+        }
+    }
+
+    private enum Distribution {
+        NONE, FIXED, UNIFORM, LOGNORMAL
+    }
+}
@@ -3,22 +3,44 @@ package io.hhplus.tdd.point.infrastructure;
 import io.hhplus.tdd.database.UserPointTable;
 import io.hhplus.tdd.point.domain.UserPoint;
 import io.hhplus.tdd.point.domain.UserPointRepository;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Repository;
 
+import java.util.concurrent.TimeUnit;
+
 @Repository
-@RequiredArgsConstructor
+@ConditionalOnProperty(name = "point.repository.user-point", havingValue = "table", matchIfMissing = true)
 public class UserPointRepositoryImpl implements UserPointRepository {
 
     private final UserPointTable userPointTable;
+    private final Timer selectTimer;
+    private final Timer insertOrUpdateTimer;
+
+    public UserPointRepositoryImpl(UserPointTable userPointTable, MeterRegistry meterRegistry) {
+        this.userPointTable = userPointTable;
+        this.selectTimer = RepositoryMetrics.timer(meterRegistry, "user_point", "select");
+        this.insertOrUpdateTimer = RepositoryMetrics.timer(meterRegistry, "user_point", "insert_or_update");
+    }
 
     @Override
     public UserPoint selectById(long id) {
-        return userPointTable.selectById(id);
+        long start = System.nanoTime();
+        try {
+            return userPointTable.selectById(id);
+        } finally {
+            selectTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
     }
 
     @Override
     public UserPoint insertOrUpdate(long id, long amount) {
-        return userPointTable.insertOrUpdate(id, amount);
+        long start = System.nanoTime();
+        try {
+            return userPointTable.insertOrUpdate(id, amount);
+        } finally {
+            insertOrUpdateTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
     }
 }
@@ -0,0 +1,110 @@
+package io.hhplus.tdd.point.presentation;
+
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.TransactionType;
+import io.hhplus.tdd.point.domain.UserPoint;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * 내부 서비스용 바이너리 프로토콜 (PointBinaryServer)
+ * - 모든 값은 big-endian 이며, frame 은 [int 본문 길이][본문] 이다.
+ * - 요청 본문 : [long requestId][byte opcode][인자]
+ *   - GET_POINT : long id
+ *   - HISTORIES : long id, long afterId, int limit, long from, long to
+ *     (limit 은 1 ~ PointHistorySearch.MAX_LIMIT, 벗어나면 REJECTED. 전체 내역은 마지막 id 를 afterId 로 이어서 조회한다.)
+ *   - CHARGE, USE : long id, long amount
+ *   - TRANSFER : long fromId, long toId, long amount
+ * - 응답 본문 : [long requestId][byte status][결과]
+ *   - OK : UserPoint 는 long id, long point, long updateMillis
+ *          내역은 int 건수 + 건마다 long id, long userId, long amount, byte type(TransactionType 순서), long updateMillis
+ *   - 그 외 : short 길이 + UTF-8 메시지
+ * - 한 연결에서 응답을 기다리지 않고 여러 요청을 보낼 수 있고(pipelining), 응답은 처리가 끝난 순서대로 보낸다.
+ *   요청과 응답은 requestId 로 짝짓는다. (multiplexing)
+ */
+public final class PointBinaryProtocol {
+
+    public static final byte GET_POINT = 1;
+    public static final byte HISTORIES = 2;
+    public static final byte CHARGE = 3;
+    public static final byte USE = 4;
+    public static final byte TRANSFER = 5;
+
+    public static final byte OK = 0;
+    /** 처리율 제한 / 잠금 대기 시간 초과 / 처리 대기열 초과. 잠시 후 재시도하면 처리될 수 있다. */
+    public static final byte TOO_MANY_REQUESTS = 1;
+    /** 잘못된 요청 또는 잔액 초과 */
+    public static final byte REJECTED = 2;
+    public static final byte ERROR = 3;
+
+    /** 길이(int)를 제외한 요청 본문의 최대 크기 (HISTORIES) */
+    public static final int MAX_REQUEST_LENGTH = 8 + 1 + 8 + 8 + 4 + 8 + 8;
+    public static final int HEADER_LENGTH = 4 + 8 + 1;
+    public static final int USER_POINT_FRAME_LENGTH = HEADER_LENGTH + 8 + 8 + 8;
+    public static final int HISTORY_RECORD_LENGTH = 8 + 8 + 8 + 1 + 8;
+
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    private PointBinaryProtocol() {
+    }
+
+    public static int historiesFrameLength(int count) {
+        return HEADER_LENGTH + 4 + count * HISTORY_RECORD_LENGTH;
+    }
+
+    public static void writeUserPoint(ByteBuffer out, long requestId, UserPoint userPoint) {
+        out.putInt(USER_POINT_FRAME_LENGTH - 4)
+           .putLong(requestId)
+           .put(OK)
+           .putLong(userPoint.id())
+           .putLong(userPoint.point())
+           .putLong(userPoint.updateMillis());
+    }
+
+    public static void writeHistories(ByteBuffer out, long requestId, List<PointHistory> histories) {
+        out.putInt(historiesFrameLength(histories.size()) - 4)
+           .putLong(requestId)
+           .put(OK)
+           .putInt(histories.size());
+        for (PointHistory pointHistory : histories) {
+            out.putLong(pointHistory.id())
+               .putLong(pointHistory.userId())
+               .putLong(pointHistory.amount())
+               .put((byte) pointHistory.type().ordinal())
+               .putLong(pointHistory.updateMillis());
+        }
+    }
+
+    public static byte[] encodeMessage(String message) {
+        byte[] bytes = (message == null ? "" : message).getBytes(StandardCharsets.UTF_8);
+        return bytes.length > Short.MAX_VALUE ? new byte[0] : bytes;
+    }
+
+    public static int errorFrameLength(byte[] message) {
+        return HEADER_LENGTH + 2 + message.length;
+    }
+
+    public static void writeError(ByteBuffer out, long requestId, byte status, byte[] message) {
+        out.putInt(errorFrameLength(message) - 4)
+           .putLong(requestId)
+           .put(status)
+           .putShort((short) message.length)
+           .put(message);
+    }
+
+    public static UserPoint readUserPoint(ByteBuffer in) {
+        return new UserPoint(in.getLong(), in.getLong(), in.getLong());
+    }
+
+    public static PointHistory readHistory(ByteBuffer in) {
+        return new PointHistory(in.getLong(), in.getLong(), in.getLong(), TYPES[in.get()], in.getLong());
+    }
+
+    public static String readMessage(ByteBuffer in) {
+        byte[] bytes = new byte[in.getShort()];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,398 @@
+package io.hhplus.tdd.point.presentation;
+
+import io.hhplus.tdd.point.application.PointService;
+import io.hhplus.tdd.point.application.UserPointSnapshots;
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.PointHistorySearch;
+import io.hhplus.tdd.point.domain.PointOverdraftException;
+import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.util.LockTimeoutException;
+import io.hhplus.tdd.util.TooManyRequestsException;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * HTTP API 와 함께 별도 포트에서 PointService 를 제공하는 바이너리 프로토콜(PointBinaryProtocol) 서버
+ * - selector 스레드 하나가 연결 수락과 읽기를 처리하고, 요청은 지속 연결에서 응답을 기다리지 않고 이어서 받는다.
+ * - 이미 공개된 잔액 조회는 selector 스레드에서 바로 응답하고, 그 외 요청은 크기가 제한된 worker 에서 실행한다.
+ *   충전/사용/이체는 worker 에서 비동기 처리를 시작만 하고, 완료되는 스레드에서 응답한다.
+ * - 응답은 JSON/DTO 없이 연결의 출력 버퍼에 고정 길이 레코드로 바로 기록한다.
+ * - 분산 모드(point.cluster.enabled)의 담당 노드 전달(PartitionRoutingFilter)은 HTTP 에만 있으므로, 분산 모드에서는 시작하지 않는다.
+ */
+@Component
+@ConditionalOnProperty(name = "point.binary.enabled", havingValue = "true")
+public class PointBinaryServer implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(PointBinaryServer.class);
+
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+    private static final int INITIAL_WRITE_BUFFER_SIZE = 64 * 1024;
+    /** 클라이언트가 응답을 읽지 않아 쌓인 출력이 이 크기를 넘으면 연결을 닫는다. */
+    private static final int MAX_PENDING_WRITE = 16 * 1024 * 1024;
+
+    private final PointService pointService;
+    private final UserPointSnapshots userPointSnapshots;
+    private final ThreadPoolExecutor workers;
+    private final Selector selector;
+    private final ServerSocketChannel serverChannel;
+    private final Thread selectorThread;
+    private volatile boolean running = true;
+
+    public PointBinaryServer(
+            PointService pointService,
+            UserPointSnapshots userPointSnapshots,
+            @Value("${point.binary.port:9090}") int port,
+            @Value("${point.binary.worker-threads:64}") int workerThreads,
+            @Value("${point.binary.worker-queue:100000}") int workerQueue,
+            @Value("${point.cluster.enabled:false}") boolean clusterEnabled
+    ) throws IOException {
+        if (clusterEnabled) {
+            throw new IllegalStateException("분산 모드에서는 바이너리 프로토콜 서버를 사용할 수 없습니다. (담당 노드 전달 미지원)");
+        }
+        this.pointService = pointService;
+        this.userPointSnapshots = userPointSnapshots;
+        AtomicInteger workerCount = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(workerThreads, workerThreads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(workerQueue), r -> {
+                    Thread thread = new Thread(r, "point-binary-worker-" + workerCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.selector = Selector.open();
+        this.serverChannel = ServerSocketChannel.open();
+        this.serverChannel.bind(new InetSocketAddress(port));
+        this.serverChannel.configureBlocking(false);
+        this.serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        this.selectorThread = new Thread(this::run, "point-binary-selector");
+        this.selectorThread.setDaemon(true);
+        this.selectorThread.start();
+        log.info("바이너리 프로토콜 서버 시작 : port={}", port());
+    }
+
+    public int port() {
+        return serverChannel.socket().getLocalPort();
+    }
+
+    @Override
+    @PreDestroy
+    public void close() throws IOException, InterruptedException {
+        running = false;
+        selector.wakeup();
+        selectorThread.join();
+        workers.shutdownNow();
+        for (SelectionKey key : selector.keys()) {
+            key.channel().close();
+        }
+        selector.close();
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                selector.select();
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    handle(key);
+                }
+            } catch (IOException | RuntimeException e) {
+                log.error("바이너리 프로토콜 서버 오류", e);
+            }
+        }
+    }
+
+    private void handle(SelectionKey key) throws IOException {
+        if (!key.isValid()) {
+            return;
+        }
+        if (key.isAcceptable()) {
+            SocketChannel channel = serverChannel.accept();
+            if (channel != null) {
+                channel.configureBlocking(false);
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                SelectionKey channelKey = channel.register(selector, SelectionKey.OP_READ);
+                channelKey.attach(new Connection(channel, channelKey));
+            }
+            return;
+        }
+        Connection connection = (Connection) key.attachment();
+        if (key.isReadable()) {
+            read(connection);
+        }
+        if (key.isValid() && key.isWritable()) {
+            connection.flushPending();
+        }
+    }
+
+    private void read(Connection connection) {
+        ByteBuffer in = connection.in;
+        try {
+            if (connection.channel.read(in) < 0) {
+                connection.close();
+                return;
+            }
+        } catch (IOException e) {
+            connection.close();
+            return;
+        }
+        in.flip();
+        while (in.remaining() >= 4) {
+            int start = in.position();
+            int length = in.getInt(start);
+            if (length < 9 || length > PointBinaryProtocol.MAX_REQUEST_LENGTH) {
+                log.warn("잘못된 요청 frame 으로 연결을 닫습니다 : length={}", length);
+                connection.close();
+                return;
+            }
+            if (in.remaining() < 4 + length) {
+                break;
+            }
+            // 본문이 opcode 에 비해 짧아도 다음 frame 을 읽지 않도록 frame 끝까지만 읽는다.
+            int limit = in.limit();
+            in.position(start + 4).limit(start + 4 + length);
+            try {
+                dispatch(connection, in);
+            } catch (BufferUnderflowException e) {
+                connection.sendError(in.getLong(start + 4), PointBinaryProtocol.REJECTED, "요청 형식이 올바르지 않습니다.");
+            }
+            in.limit(limit).position(start + 4 + length);
+        }
+        in.compact();
+    }
+
+    /**
+     * 요청 본문을 읽어 처리한다. 호출 후 in 의 위치는 호출한 쪽에서 frame 끝으로 옮긴다.
+     */
+    private void dispatch(Connection connection, ByteBuffer in) {
+        long requestId = in.getLong();
+        byte opcode = in.get();
+        switch (opcode) {
+            case PointBinaryProtocol.GET_POINT -> {
+                long id = in.getLong();
+                UserPointSnapshots.Snapshot snapshot = id > 0 ? userPointSnapshots.get(id) : null;
+                if (snapshot != null) {
+                    connection.sendUserPoint(requestId, snapshot.userPoint());
+                    return;
+                }
+                submit(connection, requestId, () -> connection.sendUserPoint(requestId, pointService.getPoint(id)));
+            }
+            case PointBinaryProtocol.HISTORIES -> {
+                long id = in.getLong();
+                long afterId = in.getLong();
+                int limit = in.getInt();
+                long from = in.getLong();
+                long to = in.getLong();
+                // 건수를 제한해 응답 하나가 출력 버퍼 한도를 넘어 연결이 닫히지 않도록 한다. (범위 밖이면 REJECTED)
+                submit(connection, requestId, () -> connection.sendHistories(requestId,
+                        pointService.getPointHistories(id, new PointHistorySearch(afterId, limit, from, to))));
+            }
+            case PointBinaryProtocol.CHARGE -> {
+                long id = in.getLong();
+                long amount = in.getLong();
+                submit(connection, requestId, () -> reply(connection, requestId, pointService.chargePointAsync(id, amount)));
+            }
+            case PointBinaryProtocol.USE -> {
+                long id = in.getLong();
+                long amount = in.getLong();
+                submit(connection, requestId, () -> reply(connection, requestId, pointService.usePointAsync(id, amount)));
+            }
+            case PointBinaryProtocol.TRANSFER -> {
+                long fromId = in.getLong();
+                long toId = in.getLong();
+                long amount = in.getLong();
+                submit(connection, requestId,
+                        () -> reply(connection, requestId, pointService.transferPointAsync(fromId, toId, amount)));
+            }
+            default -> connection.sendError(requestId, PointBinaryProtocol.REJECTED, "지원하지 않는 요청입니다.");
+        }
+    }
+
+    private void submit(Connection connection, long requestId, Runnable task) {
+        try {
+            workers.execute(() -> {
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    connection.sendFailure(requestId, e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            connection.sendError(requestId, PointBinaryProtocol.TOO_MANY_REQUESTS, "처리 대기열이 가득 찼습니다.");
+        }
+    }
+
+    private void reply(Connection connection, long requestId, CompletableFuture<UserPoint> future) {
+        future.whenComplete((userPoint, e) -> {
+            if (e == null) {
+                connection.sendUserPoint(requestId, userPoint);
+            } else {
+                connection.sendFailure(requestId, e instanceof CompletionException && e.getCause() != null ? e.getCause() : e);
+            }
+        });
+    }
+
+    /**
+     * 연결별 입출력 버퍼
+     * - 읽기는 selector 스레드에서만 한다.
+     * - 쓰기는 응답을 만든 스레드가 잠금을 쥐고 출력 버퍼에 기록한 뒤 바로 전송한다.
+     *   다 보내지 못한 나머지는 OP_WRITE 로 selector 스레드가 이어서 보낸다.
+     */
+    private final class Connection {
+        private final SocketChannel channel;
+        private final SelectionKey key;
+        private final ByteBuffer in = ByteBuffer.allocate(READ_BUFFER_SIZE);
+        private final ReentrantLock writeLock = new ReentrantLock();
+        private ByteBuffer out = ByteBuffer.allocate(INITIAL_WRITE_BUFFER_SIZE);
+        private boolean writeInterest;
+        private volatile boolean closed;
+
+        private Connection(SocketChannel channel, SelectionKey key) {
+            this.channel = channel;
+            this.key = key;
+        }
+
+        private void sendUserPoint(long requestId, UserPoint userPoint) {
+            writeLock.lock();
+            try {
+                if (reserve(PointBinaryProtocol.USER_POINT_FRAME_LENGTH)) {
+                    PointBinaryProtocol.writeUserPoint(out, requestId, userPoint);
+                    flush();
+                }
+            } finally {
+                writeLock.unlock();
+            }
+        }
+
+        private void sendHistories(long requestId, List<PointHistory> histories) {
+            writeLock.lock();
+            try {
+                if (reserve(PointBinaryProtocol.historiesFrameLength(histories.size()))) {
+                    PointBinaryProtocol.writeHistories(out, requestId, histories);
+                    flush();
+                }
+            } finally {
+                writeLock.unlock();
+            }
+        }
+
+        /**
+         * HTTP API(ApiControllerAdvice)와 같이 재시도 가능한 실패는 구분하고, 예상하지 못한 오류는 메시지를 노출하지 않는다.
+         * 요청 검증 실패(IllegalArgumentException)와 잔액 초과(PointOverdraftException)만 REJECTED 로 메시지를 응답하며,
+         * 저장소 오류 등 그 밖의 IllegalStateException 은 ERROR 로 응답한다.
+         */
+        private void sendFailure(long requestId, Throwable e) {
+            if (e instanceof TooManyRequestsException || e instanceof LockTimeoutException) {
+                sendError(requestId, PointBinaryProtocol.TOO_MANY_REQUESTS, e.getMessage());
+            } else if (e instanceof IllegalArgumentException || e instanceof PointOverdraftException) {
+                sendError(requestId, PointBinaryProtocol.REJECTED, e.getMessage());
+            } else {
+                log.error("바이너리 프로토콜 요청 처리 실패 : requestId={}", requestId, e);
+                sendError(requestId, PointBinaryProtocol.ERROR, "에러가 발생했습니다.");
+            }
+        }
+
+        private void sendError(long requestId, byte status, String message) {
+            byte[] encoded = PointBinaryProtocol.encodeMessage(message);
+            writeLock.lock();
+            try {
+                if (reserve(PointBinaryProtocol.errorFrameLength(encoded))) {
+                    PointBinaryProtocol.writeError(out, requestId, status, encoded);
+                    flush();
+                }
+            } finally {
+                writeLock.unlock();
+            }
+        }
+
+        /**
+         * 출력 버퍼에 length 만큼 공간을 확보한다. 닫혔거나 보내지 못한 출력이 너무 많으면 false 를 반환한다.
+         */
+        private boolean reserve(int length) {
+            if (closed) {
+                return false;
+            }
+            if (out.remaining() >= length) {
+                return true;
+            }
+            int required = out.position() + length;
+            if (required > MAX_PENDING_WRITE) {
+                log.warn("응답을 읽지 않는 연결을 닫습니다 : pending={}", out.position());
+                close();
+                return false;
+            }
+            ByteBuffer grown = ByteBuffer.allocate(Math.min(MAX_PENDING_WRITE, Math.max(out.capacity() * 2, required)));
+            out.flip();
+            grown.put(out);
+            out = grown;
+            return true;
+        }
+
+        /**
+         * 잠금을 쥔 채로 호출한다.
+         */
+        private void flush() {
+            out.flip();
+            try {
+                channel.write(out);
+                out.compact();
+                boolean pending = out.position() > 0;
+                if (pending != writeInterest) {
+                    writeInterest = pending;
+                    key.interestOps(pending ? SelectionKey.OP_READ | SelectionKey.OP_WRITE : SelectionKey.OP_READ);
+                    selector.wakeup();
+                }
+            } catch (IOException | CancelledKeyException e) {
+                // 상대가 연결을 닫았으면 남은 응답은 버린다.
+                out.clear();
+                close();
+            }
+        }
+
+        private void flushPending() {
+            writeLock.lock();
+            try {
+                if (!closed) {
+                    flush();
+                }
+            } finally {
+                writeLock.unlock();
+            }
+        }
+
+        private void close() {
+            closed = true;
+            key.cancel();
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+                // 이미 닫힌 연결은 무시한다.
+            }
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package io.hhplus.tdd.point.presentation;
+
+import io.hhplus.tdd.point.application.PointCommand;
+import io.hhplus.tdd.point.domain.TransactionType;
+
+public record PointBulkRequest(
+        long userId,
+        TransactionType type,
+        long amount
+) {
+    public PointCommand toCommand() {
+        return new PointCommand(userId, type, amount);
+    }
+}
@@ -0,0 +1,31 @@
+package io.hhplus.tdd.point.presentation;
+
+import io.hhplus.tdd.point.application.PointCommand;
+import io.hhplus.tdd.point.application.PointCommandResult;
+import io.hhplus.tdd.point.domain.TransactionType;
+
+/**
+ * 일괄 처리 결과. index 는 요청 본문에서의 순서(0 부터)이다.
+ */
+public record PointBulkResponse(
+        int index,
+        long userId,
+        TransactionType type,
+        long amount,
+        boolean success,
+        Long point,
+        String message
+) {
+    public static PointBulkResponse of(int index, PointCommand command, PointCommandResult result) {
+        boolean success = result.failure() == null;
+        return new PointBulkResponse(
+                index,
+                command.userId(),
+                command.type(),
+                command.amount(),
+                success,
+                success ? result.userPoint().point() : null,
+                success ? null : result.failure().getMessage()
+        );
+    }
+}
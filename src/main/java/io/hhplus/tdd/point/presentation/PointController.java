@@ -1,23 +1,67 @@
 package io.hhplus.tdd.point.presentation;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.ErrorResponse;
+import io.hhplus.tdd.point.application.PointBulkService;
+import io.hhplus.tdd.point.application.PointCommand;
 import io.hhplus.tdd.point.domain.PointHistory;
 import io.hhplus.tdd.point.application.PointService;
+import io.hhplus.tdd.point.application.PointStatisticsService;
+import io.hhplus.tdd.point.domain.PointHistorySearch;
+import io.hhplus.tdd.point.domain.PointStatistics;
 import io.hhplus.tdd.point.domain.UserPoint;
-import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @RestController
 @RequestMapping("/point")
-@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class PointController {
 
     private static final Logger log = LoggerFactory.getLogger(PointController.class);
 
+    private static final String NDJSON = "application/x-ndjson";
+    private static final MediaType NDJSON_TYPE = MediaType.parseMediaType(NDJSON);
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
     private final PointService pointService;
+    private final PointBulkService pointBulkService;
+    private final PointStatisticsService pointStatisticsService;
+    private final ObjectMapper objectMapper;
+    private final long bulkTimeoutMillis;
+
+    public PointController(
+            PointService pointService,
+            PointBulkService pointBulkService,
+            PointStatisticsService pointStatisticsService,
+            ObjectMapper objectMapper,
+            @Value("${point.bulk.timeout-ms:3600000}") long bulkTimeoutMillis
+    ) {
+        this.pointService = pointService;
+        this.pointBulkService = pointBulkService;
+        this.pointStatisticsService = pointStatisticsService;
+        this.objectMapper = objectMapper;
+        this.bulkTimeoutMillis = bulkTimeoutMillis;
+    }
 
     /**
      * TODO - 특정 유저의 포인트를 조회하는 기능을 작성해주세요.
@@ -34,30 +78,175 @@ public class PointController {
      */
     @GetMapping("{id}/histories")
     public List<PointHistory> history(
+            @PathVariable long id,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) Long from,
+            @RequestParam(required = false) Long to
+    ) {
+        if (afterId == null && limit == null && from == null && to == null) {
+            return pointService.getPointHistories(id);
+        }
+        return pointService.getPointHistories(id, PointHistorySearch.of(afterId, limit, from, to));
+    }
+
+    /**
+     * 포인트 내역을 NDJSON 으로 스트리밍한다.
+     * limit 단위로 나누어 조회한 내역을 바로 응답에 기록하므로 응답 전체를 직렬화해 두지 않는다.
+     * 사용자별 인덱스가 있는 저장소(indexed, segmented, simulated, jdbc)는 페이지마다 cursor 이후만 읽고,
+     * 그 외(table, staged)는 처음에 사용자의 전체 내역을 한 번만 읽어 나눈다. (PointHistoryRepository.selectPagesByUserId)
+     */
+    @GetMapping(value = "{id}/histories", produces = NDJSON)
+    public StreamingResponseBody historyStream(
+            @PathVariable long id,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) Long from,
+            @RequestParam(required = false) Long to
+    ) {
+        Iterator<List<PointHistory>> pages = pointService.getPointHistoryPages(id, PointHistorySearch.of(afterId, limit, from, to));
+
+        return outputStream -> {
+            JsonGenerator generator = objectMapper.createGenerator(outputStream);
+            while (pages.hasNext()) {
+                for (PointHistory pointHistory : pages.next()) {
+                    objectMapper.writeValue(generator, pointHistory);
+                    generator.writeRaw('\n');
+                }
+                generator.flush();
+            }
+        };
+    }
+
+    /**
+     * 포인트 내역의 종류별 합계와 일별/월별 합계를 조회한다. 내역 전체를 조회하지 않고 미리 집계된 값을 반환한다.
+     */
+    @GetMapping("{id}/statistics")
+    public PointStatistics statistics(
             @PathVariable long id
     ) {
-        return pointService.getPointHistories(id);
+        return pointStatisticsService.getStatistics(id);
+    }
+
+    /**
+     * 주어진 사용자들의 기존 내역으로 집계를 미리 만든다. 새로 집계한 사용자 수를 반환한다.
+     */
+    @PostMapping("statistics/backfill")
+    public int backfillStatistics(
+            @RequestBody List<Long> userIds
+    ) {
+        return pointStatisticsService.backfill(userIds);
     }
 
     /**
      * TODO - 특정 유저의 포인트를 충전하는 기능을 작성해주세요.
      */
     @PatchMapping("{id}/charge")
-    public UserPoint charge(
+    public CompletableFuture<UserPoint> charge(
             @PathVariable long id,
-            @RequestBody long amount
+            @RequestBody long amount,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey
     ) {
-        return pointService.chargePoint(id, amount);
+        if (idempotencyKey == null) {
+            return pointService.chargePointAsync(id, amount);
+        }
+        return pointService.chargePointAsync(id, amount, idempotencyKey);
     }
 
     /**
      * TODO - 특정 유저의 포인트를 사용하는 기능을 작성해주세요.
      */
     @PatchMapping("{id}/use")
-    public UserPoint use(
+    public CompletableFuture<UserPoint> use(
+            @PathVariable long id,
+            @RequestBody long amount,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey
+    ) {
+        if (idempotencyKey == null) {
+            return pointService.usePointAsync(id, amount);
+        }
+        return pointService.usePointAsync(id, amount, idempotencyKey);
+    }
+
+    /**
+     * 다른 사용자에게 포인트를 이체하고, 이체 직후 잔액을 반환한다.
+     */
+    @PatchMapping("{id}/transfer")
+    public CompletableFuture<UserPoint> transfer(
             @PathVariable long id,
-            @RequestBody long amount
+            @RequestBody PointTransferRequest request
     ) {
-        return pointService.usePoint(id, amount);
+        return pointService.transferPointAsync(id, request.toUserId(), request.amount());
+    }
+
+    /**
+     * 일괄 정산용 충전/사용
+     * 요청/응답 모두 NDJSON 이며, 결과는 처리가 끝난 사용자 순서대로 index 와 함께 기록한다.
+     * 요청 본문은 한 줄씩 읽으면서 chunk 단위로 처리하므로 전체를 메모리에 올리지 않는다. (PointBulkService)
+     * 정산은 기본 비동기 요청 제한 시간보다 오래 걸릴 수 있으므로 point.bulk.timeout-ms 를 따로 적용한다.
+     * 본문 형식이 잘못된 줄을 만나면 그 전까지의 명령만 처리하고, 마지막 줄에 400 오류를 기록한다.
+     */
+    @PostMapping(value = "bulk", consumes = NDJSON, produces = NDJSON)
+    public ResponseEntity<ResponseBodyEmitter> bulk(
+            InputStream body
+    ) throws IOException {
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(bulkTimeoutMillis);
+        MappingIterator<PointBulkRequest> requests = objectMapper.readerFor(PointBulkRequest.class).readValues(body);
+        Iterator<PointCommand> commands = new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                try {
+                    return requests.hasNextValue();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+
+            @Override
+            public PointCommand next() {
+                try {
+                    return requests.nextValue().toCommand();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        };
+
+        pointBulkService.applyAsync(commands, (index, command, result) ->
+                                sendLine(emitter, PointBulkResponse.of(index, command, result)))
+                        .whenComplete((ignored, e) -> finishBulk(emitter, requests, e));
+        return ResponseEntity.ok().contentType(NDJSON_TYPE).body(emitter);
+    }
+
+    private void finishBulk(ResponseBodyEmitter emitter, MappingIterator<PointBulkRequest> requests, Throwable e) {
+        Throwable failure = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        try {
+            requests.close();
+            if (failure == null) {
+                emitter.complete();
+            } else if (failure instanceof UncheckedIOException invalid && invalid.getCause() instanceof JsonProcessingException) {
+                sendLine(emitter, new ErrorResponse("400", "요청 본문을 해석할 수 없습니다."));
+                emitter.complete();
+            } else {
+                log.error("일괄 처리에 실패했습니다.", failure);
+                emitter.completeWithError(failure);
+            }
+        } catch (IOException | RuntimeException closeFailure) {
+            emitter.completeWithError(closeFailure);
+        }
+    }
+
+    /**
+     * 여러 스레드에서 호출되며, 한 줄을 한 번의 send 로 기록해 줄이 섞이지 않게 한다. (send 는 emitter 안에서 직렬화)
+     */
+    private void sendLine(ResponseBodyEmitter emitter, Object line) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(line);
+            byte[] bytes = Arrays.copyOf(json, json.length + 1);
+            bytes[json.length] = '\n';
+            emitter.send(bytes, NDJSON_TYPE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 }
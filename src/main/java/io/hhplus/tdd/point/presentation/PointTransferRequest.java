@@ -0,0 +1,7 @@
+package io.hhplus.tdd.point.presentation;
+
+public record PointTransferRequest(
+        long toUserId,
+        long amount
+) {
+}
@@ -0,0 +1,98 @@
+package io.hhplus.tdd.point.presentation;
+
+import io.hhplus.tdd.point.application.ReactivePointService;
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.PointHistorySearch;
+import io.hhplus.tdd.point.domain.PointStatistics;
+import io.hhplus.tdd.point.domain.UserPoint;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * PointController 와 같은 API 의 WebFlux 버전 (reactive 프로필)
+ * 일괄 처리(/point/bulk)는 제공하지 않는다.
+ */
+@RestController
+@RequestMapping("/point")
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactivePointController {
+
+    private static final String NDJSON = "application/x-ndjson";
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
+    private final ReactivePointService reactivePointService;
+
+    @GetMapping("{id}")
+    public Mono<UserPoint> point(
+            @PathVariable long id
+    ) {
+        return reactivePointService.getPoint(id);
+    }
+
+    @GetMapping("{id}/histories")
+    public Mono<List<PointHistory>> history(
+            @PathVariable long id,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) Long from,
+            @RequestParam(required = false) Long to
+    ) {
+        if (afterId == null && limit == null && from == null && to == null) {
+            return reactivePointService.getPointHistories(id);
+        }
+        return reactivePointService.getPointHistories(id, PointHistorySearch.of(afterId, limit, from, to));
+    }
+
+    /**
+     * 포인트 내역을 NDJSON 으로 스트리밍한다. 클라이언트가 읽는 속도에 맞춰 다음 페이지를 조회한다.
+     */
+    @GetMapping(value = "{id}/histories", produces = NDJSON)
+    public Flux<PointHistory> historyStream(
+            @PathVariable long id,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) Long from,
+            @RequestParam(required = false) Long to
+    ) {
+        return reactivePointService.streamPointHistories(id, PointHistorySearch.of(afterId, limit, from, to));
+    }
+
+    @GetMapping("{id}/statistics")
+    public Mono<PointStatistics> statistics(
+            @PathVariable long id
+    ) {
+        return reactivePointService.getStatistics(id);
+    }
+
+    @PatchMapping("{id}/charge")
+    public Mono<UserPoint> charge(
+            @PathVariable long id,
+            @RequestBody long amount,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey
+    ) {
+        return reactivePointService.chargePoint(id, amount, idempotencyKey);
+    }
+
+    @PatchMapping("{id}/use")
+    public Mono<UserPoint> use(
+            @PathVariable long id,
+            @RequestBody long amount,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey
+    ) {
+        return reactivePointService.usePoint(id, amount, idempotencyKey);
+    }
+
+    @PatchMapping("{id}/transfer")
+    public Mono<UserPoint> transfer(
+            @PathVariable long id,
+            @RequestBody PointTransferRequest request
+    ) {
+        return reactivePointService.transferPoint(id, request.toUserId(), request.amount());
+    }
+}
@@ -0,0 +1,149 @@
+package io.hhplus.tdd.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 사용자 잠금을 기다리기 전에 요청을 받을지 결정하는 처리율 제한기
+ * - 사용자별 / 전체 token bucket 을 GCRA(다음 허용 시각 하나만 저장)로 구현하고, 갱신은 CAS 로만 한다. (잠금 없음)
+ * - 사용자별 동시 처리 수(잠금 대기 + 처리 중)를 제한해 한 사용자의 잠금 대기열이 무한히 길어지지 않게 한다.
+ * - 사용자별 상태는 고정 크기(2의 거듭제곱) 배열을 id 해시로 나누어 쓰므로 사용자 수와 무관하게 메모리가 일정하다.
+ *   같은 slot 을 공유하는 사용자는 한도도 함께 사용한다.
+ * - 처리율/동시 처리 한도가 0 이하이면 해당 제한을 적용하지 않는다.
+ * - 한도를 넘으면 TooManyRequestsException 을 던지며, 거절 사유별 횟수를 지표로 노출한다. (point.admission.rejections)
+ */
+@Component
+public class AdmissionControl {
+
+    private final int mask;
+    private final long origin = System.nanoTime();
+
+    // GCRA 상태 : 다음 요청이 한도 안에서 허용되는 이론상 도착 시각 (origin 기준 nanos)
+    private final AtomicLongArray userArrivals;
+    private final AtomicLongArray globalArrival = new AtomicLongArray(1);
+    private final AtomicIntegerArray inFlight;
+
+    private final long userInterval;
+    private final long userTolerance;
+    private final long globalInterval;
+    private final long globalTolerance;
+    private final int maxInFlight;
+
+    private final Counter userRateRejections;
+    private final Counter globalRateRejections;
+    private final Counter inFlightRejections;
+
+    public AdmissionControl(
+            @Value("${point.admission.slots:65536}") int slots,
+            @Value("${point.admission.user-rate:100}") double userRate,
+            @Value("${point.admission.user-burst:200}") int userBurst,
+            @Value("${point.admission.global-rate:20000}") double globalRate,
+            @Value("${point.admission.global-burst:40000}") int globalBurst,
+            @Value("${point.admission.max-in-flight:64}") int maxInFlight,
+            MeterRegistry meterRegistry
+    ) {
+        int size = slots <= 1 ? 1 : Integer.highestOneBit(slots - 1) << 1;
+        this.mask = size - 1;
+        this.userArrivals = new AtomicLongArray(size);
+        this.inFlight = new AtomicIntegerArray(size);
+
+        this.userInterval = interval(userRate);
+        this.userTolerance = userInterval * Math.max(userBurst - 1, 0);
+        this.globalInterval = interval(globalRate);
+        this.globalTolerance = globalInterval * Math.max(globalBurst - 1, 0);
+        this.maxInFlight = maxInFlight;
+
+        this.userRateRejections = rejections(meterRegistry, "user-rate");
+        this.globalRateRejections = rejections(meterRegistry, "global-rate");
+        this.inFlightRejections = rejections(meterRegistry, "in-flight");
+    }
+
+    /**
+     * 요청을 받을 수 있으면 동시 처리 수를 하나 늘린다. 받은 요청은 처리가 끝난 뒤 반드시 release 를 호출해야 한다.
+     */
+    public void acquire(long userId) {
+        int slot = slotOf(userId);
+        if (maxInFlight > 0 && inFlight.incrementAndGet(slot) > maxInFlight) {
+            inFlight.decrementAndGet(slot);
+            inFlightRejections.increment();
+            throw new TooManyRequestsException("처리 중인 요청이 많습니다. 잠시 후 다시 시도해주세요.");
+        }
+
+        long now = System.nanoTime() - origin;
+        if (!conform(userArrivals, slot, userInterval, userTolerance, now)) {
+            releaseSlot(slot);
+            userRateRejections.increment();
+            throw new TooManyRequestsException("요청이 너무 많습니다. 잠시 후 다시 시도해주세요.");
+        }
+        if (!conform(globalArrival, 0, globalInterval, globalTolerance, now)) {
+            releaseSlot(slot);
+            globalRateRejections.increment();
+            throw new TooManyRequestsException("서버에 요청이 많습니다. 잠시 후 다시 시도해주세요.");
+        }
+    }
+
+    /**
+     * 전체 처리율 한도만 확인한다. 사용자 잠금을 사용하지 않는 요청(핫 계정)용이며, 동시 처리 수를 늘리지 않으므로 release 하지 않는다.
+     */
+    public void acquireGlobal() {
+        if (!conform(globalArrival, 0, globalInterval, globalTolerance, System.nanoTime() - origin)) {
+            globalRateRejections.increment();
+            throw new TooManyRequestsException("서버에 요청이 많습니다. 잠시 후 다시 시도해주세요.");
+        }
+    }
+
+    public void release(long userId) {
+        releaseSlot(slotOf(userId));
+    }
+
+    public int inFlight(long userId) {
+        return inFlight.get(slotOf(userId));
+    }
+
+    /**
+     * 다음 허용 시각이 현재 시각 + 허용 버스트 이내면 한 요청만큼 뒤로 미루고 허용한다.
+     */
+    private static boolean conform(AtomicLongArray arrivals, int index, long interval, long tolerance, long now) {
+        if (interval == 0) {
+            return true;
+        }
+        while (true) {
+            long arrival = arrivals.get(index);
+            long base = Math.max(arrival, now);
+            if (base - now > tolerance) {
+                return false;
+            }
+            if (arrivals.compareAndSet(index, arrival, base + interval)) {
+                return true;
+            }
+        }
+    }
+
+    private void releaseSlot(int slot) {
+        if (maxInFlight > 0) {
+            inFlight.decrementAndGet(slot);
+        }
+    }
+
+    private int slotOf(long userId) {
+        int h = Long.hashCode(userId) * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    private static long interval(double rate) {
+        return rate <= 0 ? 0 : Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / rate));
+    }
+
+    private static Counter rejections(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("point.admission.rejections")
+                      .description("처리율 제한으로 거절된 요청 수")
+                      .tag("reason", reason)
+                      .register(meterRegistry);
+    }
+}
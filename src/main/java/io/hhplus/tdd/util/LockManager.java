@@ -1,24 +1,275 @@
 package io.hhplus.tdd.util;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.locks.Lock;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
 import java.util.concurrent.locks.ReentrantLock;
 
+/**
+ * 고정 크기(2의 거듭제곱)의 잠금 배열을 key 의 해시로 나누어 쓰는 잠금 관리자
+ * - 요청마다 잠금을 생성/삭제하지 않으므로 map 변경이나 객체 할당이 없다.
+ * - 서로 다른 key 가 같은 stripe 를 공유할 수 있으며, ReentrantLock 이므로 같은 스레드의 중복 획득은 허용된다.
+ * - 제한 시간 내에 획득하지 못하면 LockTimeoutException 을 던진다.
+ * - 여러 사용자를 함께 잠글 때는 stripe 번호 순서로 획득하므로 서로 다른 순서로 요청해도 교착 상태가 생기지 않는다.
+ * - 잠금 대기/보유 시간, 보유 중인 stripe 수, 대기 스레드 수를 지표로 노출한다. (point.lock.*)
+ * - stripe 개수 산정을 위해 전체 획득 횟수와, 대기 시간 합계가 가장 큰 stripe 의 대기 시간/획득 비중을 노출한다. (point.lock.stripe.*)
+ *   해시가 고르게 나뉘면 비중은 1/stripe 수에 가깝고, 한 stripe 의 비중이나 대기 시간만 크면 해당 stripe 에 사용자가 몰린 것이다.
+ */
 @Component
 public class LockManager {
-    private ConcurrentMap<Object, ReentrantLock> lockMap = new ConcurrentHashMap<>();
-    private Lock lock;
+
+    private final ReentrantLock[] locks;
+    private final int mask;
+    private final long timeoutNanos;
+
+    // stripe 별 경합 지표 (획득 횟수, 대기 시간 합계, 제한 시간 초과 횟수)
+    private final AtomicLongArray acquisitions;
+    private final AtomicLongArray waitNanos;
+    private final AtomicLongArray timeouts;
+
+    // 처음 획득한 시각. 잠금을 보유한 스레드만 읽고 쓰므로 잠금이 가시성을 보장한다.
+    private final long[] acquiredNanos;
+    private final AtomicInteger holders = new AtomicInteger();
+
+    private final Timer waitTimer;
+    private final Timer holdTimer;
+    private final Counter timeoutCounter;
+
+    public LockManager(
+            @Value("${point.lock.stripes:1024}") int stripes,
+            @Value("${point.lock.timeout-ms:3000}") long timeoutMillis,
+            MeterRegistry meterRegistry
+    ) {
+        int size = stripes <= 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+        this.locks = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        this.mask = size - 1;
+        this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        this.acquisitions = new AtomicLongArray(size);
+        this.waitNanos = new AtomicLongArray(size);
+        this.timeouts = new AtomicLongArray(size);
+        this.acquiredNanos = new long[size];
+
+        this.waitTimer = Timer.builder("point.lock.wait")
+                              .description("사용자 잠금 획득까지 대기한 시간")
+                              .publishPercentileHistogram()
+                              .register(meterRegistry);
+        this.holdTimer = Timer.builder("point.lock.hold")
+                              .description("사용자 잠금을 보유한 시간")
+                              .publishPercentileHistogram()
+                              .register(meterRegistry);
+        this.timeoutCounter = Counter.builder("point.lock.timeouts")
+                                     .description("제한 시간 내에 잠금을 획득하지 못한 횟수")
+                                     .register(meterRegistry);
+        Gauge.builder("point.lock.holders", holders, AtomicInteger::get)
+             .description("잠금을 보유 중인 stripe 수")
+             .register(meterRegistry);
+        Gauge.builder("point.lock.waiters", this, LockManager::waiters)
+             .description("잠금을 기다리는 스레드 수")
+             .register(meterRegistry);
+        FunctionCounter.builder("point.lock.stripe.acquisitions", acquisitions, LockManager::sum)
+                       .description("잠금 획득 횟수 (모든 stripe 합계, 중복 획득 포함)")
+                       .register(meterRegistry);
+        Gauge.builder("point.lock.stripe.hottest.wait", this, lockManager -> lockManager.hottest().waitNanos() / 1e9)
+             .description("대기 시간 합계가 가장 큰 stripe 의 누적 대기 시간")
+             .baseUnit("seconds")
+             .register(meterRegistry);
+        Gauge.builder("point.lock.stripe.hottest.share", this, LockManager::hottestShare)
+             .description("대기 시간 합계가 가장 큰 stripe 의 획득 횟수 / 전체 획득 횟수")
+             .register(meterRegistry);
+    }
 
     public void lock(Object obj) {
-        lock = lockMap.computeIfAbsent(obj, k -> new ReentrantLock());
-        lock.lock();
+        lockStripe(stripeOf(obj));
+    }
+
+    /**
+     * 사용자 id 용 잠금. 박싱 없이 Long.hashCode 로 Object 버전과 같은 stripe 를 사용한다.
+     */
+    public void lock(long id) {
+        lockStripe(stripeOf(id));
+    }
+
+    /**
+     * 여러 사용자의 stripe 를 번호 순서로 모두 획득한다. 하나라도 실패하면 이미 획득한 잠금을 풀고 예외를 던진다.
+     */
+    public void lockAll(long[] ids) {
+        int[] stripes = stripesOf(ids);
+        for (int i = 0; i < stripes.length; i++) {
+            try {
+                lockStripe(stripes[i]);
+            } catch (RuntimeException e) {
+                for (int locked = i - 1; locked >= 0; locked--) {
+                    unlockStripe(stripes[locked]);
+                }
+                throw e;
+            }
+        }
+    }
+
+    public void unlockAll(long[] ids) {
+        int[] stripes = stripesOf(ids);
+        for (int i = stripes.length - 1; i >= 0; i--) {
+            unlockStripe(stripes[i]);
+        }
+    }
+
+    public boolean tryLock(Object obj, long timeout, TimeUnit unit) {
+        return tryLockStripe(stripeOf(obj), timeout, unit);
     }
 
     public void unlock(Object obj) {
-        lockMap.computeIfPresent(obj, (k, lock) -> lock.hasQueuedThreads() ? lock : null);
+        unlockStripe(stripeOf(obj));
+    }
+
+    public void unlock(long id) {
+        unlockStripe(stripeOf(id));
+    }
+
+    public int stripeOf(Object obj) {
+        return spread(obj.hashCode());
+    }
+
+    public int stripeOf(long id) {
+        return spread(Long.hashCode(id));
+    }
+
+    public int stripes() {
+        return locks.length;
+    }
+
+    /**
+     * stripe 별 경합 지표를 조회한다.
+     */
+    StripeStats stats(int stripe) {
+        return new StripeStats(
+                stripe,
+                acquisitions.get(stripe),
+                waitNanos.get(stripe),
+                timeouts.get(stripe),
+                locks[stripe].getQueueLength()
+        );
+    }
+
+    private void lockStripe(int stripe) {
+        if (!tryLockStripe(stripe, timeoutNanos, TimeUnit.NANOSECONDS)) {
+            throw new LockTimeoutException("요청이 많아 처리하지 못했습니다. 잠시 후 다시 시도해주세요.");
+        }
+    }
+
+    private boolean tryLockStripe(int stripe, long timeout, TimeUnit unit) {
+        ReentrantLock lock = locks[stripe];
+
+        if (lock.tryLock()) {
+            acquired(stripe, lock, System.nanoTime(), 0);
+            return true;
+        }
+
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = lock.tryLock(timeout, unit);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new LockTimeoutException("잠금 대기 중 중단되었습니다.", e);
+        }
+        long now = System.nanoTime();
+        waitNanos.addAndGet(stripe, now - start);
+        if (acquired) {
+            acquired(stripe, lock, now, now - start);
+        } else {
+            timeouts.incrementAndGet(stripe);
+            timeoutCounter.increment();
+        }
+        return acquired;
+    }
+
+    private void acquired(int stripe, ReentrantLock lock, long now, long waited) {
+        acquisitions.incrementAndGet(stripe);
+        // 같은 스레드의 중복 획득은 처음 획득한 시점부터의 보유 시간에 포함한다.
+        if (lock.getHoldCount() == 1) {
+            acquiredNanos[stripe] = now;
+            holders.incrementAndGet();
+            waitTimer.record(waited, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void unlockStripe(int stripe) {
+        ReentrantLock lock = locks[stripe];
+        if (lock.getHoldCount() == 1) {
+            holdTimer.record(System.nanoTime() - acquiredNanos[stripe], TimeUnit.NANOSECONDS);
+            holders.decrementAndGet();
+        }
         lock.unlock();
     }
-}
\ No newline at end of file
+
+    private double waiters() {
+        int waiting = 0;
+        for (ReentrantLock lock : locks) {
+            waiting += lock.getQueueLength();
+        }
+        return waiting;
+    }
+
+    /**
+     * 대기 시간 합계가 가장 큰 stripe. 대기가 없었다면 획득 횟수가 가장 많은 stripe 이다.
+     * 지표를 수집할 때만 호출되며, 수집 중에도 갱신되므로 대략적인 값이다.
+     */
+    private StripeStats hottest() {
+        int hottest = 0;
+        for (int stripe = 1; stripe < locks.length; stripe++) {
+            long wait = waitNanos.get(stripe);
+            long hottestWait = waitNanos.get(hottest);
+            if (wait > hottestWait || (wait == hottestWait && acquisitions.get(stripe) > acquisitions.get(hottest))) {
+                hottest = stripe;
+            }
+        }
+        return stats(hottest);
+    }
+
+    private double hottestShare() {
+        double total = sum(acquisitions);
+        return total == 0 ? 0 : hottest().acquisitions() / total;
+    }
+
+    private static double sum(AtomicLongArray values) {
+        long sum = 0;
+        for (int i = 0; i < values.length(); i++) {
+            sum += values.get(i);
+        }
+        return sum;
+    }
+
+    private int[] stripesOf(long[] ids) {
+        int[] stripes = new int[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            stripes[i] = stripeOf(ids[i]);
+        }
+        return Arrays.stream(stripes).sorted().distinct().toArray();
+    }
+
+    private int spread(int hash) {
+        int h = hash * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    record StripeStats(
+            int stripe,
+            long acquisitions,
+            long waitNanos,
+            long timeouts,
+            int queueLength
+    ) {
+    }
+}
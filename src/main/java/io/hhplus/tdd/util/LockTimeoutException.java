@@ -0,0 +1,15 @@
+package io.hhplus.tdd.util;
+
+/**
+ * 제한 시간 내에 사용자 잠금을 획득하지 못한 경우
+ */
+public class LockTimeoutException extends RuntimeException {
+
+    public LockTimeoutException(String message) {
+        super(message);
+    }
+
+    public LockTimeoutException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,11 @@
+package io.hhplus.tdd.util;
+
+/**
+ * 처리율 제한 또는 동시 처리 한도를 넘어 요청을 받지 않은 경우
+ */
+public class TooManyRequestsException extends RuntimeException {
+
+    public TooManyRequestsException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,143 @@
+package io.hhplus.tdd.cluster;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import io.hhplus.tdd.point.application.PointService;
+import io.hhplus.tdd.point.application.UserPointHandoff;
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.TransactionType;
+import io.hhplus.tdd.point.domain.UserPoint;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 1) 노드를 추가하면 담당이 바뀌는 사용자의 잔액/내역만 새 노드로 보낸 뒤 모든 노드가 새 구성으로 바뀌는지 검증
+ * 2) 이전에 실패하면 모든 노드에 취소를 보내고 기존 구성을 유지하는지 검증
+ * 3) 재시작해 보관 목록이 빈 노드도 저장소에 잔액이 남은 사용자 중 담당이 바뀌는 사용자를 이전하는지 검증
+ */
+class ClusterRebalancerTest {
+
+    private static final String SELF = "http://localhost:1";
+    private static final String SECRET = "secret";
+
+    @Mock
+    private PointService pointService;
+
+    private HttpServer remote;
+    private String remoteAddress;
+    private final List<String> received = new CopyOnWriteArrayList<>();
+    private volatile int importStatus = 200;
+    private ClusterMembership clusterMembership;
+    private ClusterRebalancer clusterRebalancer;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this);
+        remote = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        remote.createContext("/cluster/rebalance", exchange -> {
+            String action = exchange.getRequestURI().getPath().substring("/cluster/rebalance/".length());
+            received.add(action + " " + new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8)
+                    + " " + exchange.getRequestHeaders().getFirst(PartitionRoutingFilter.SECRET_HEADER));
+            exchange.sendResponseHeaders("import".equals(action) ? importStatus : 200, -1);
+            exchange.close();
+        });
+        remote.start();
+        remoteAddress = "http://localhost:" + remote.getAddress().getPort();
+
+        clusterMembership = new ClusterMembership(SELF, List.of(SELF), 128, SECRET);
+        clusterRebalancer = new ClusterRebalancer(clusterMembership, pointService, new ObjectMapper(), 5000);
+        when(pointService.exportUser(anyLong())).thenAnswer(invocation -> {
+            long id = invocation.getArgument(0);
+            return new UserPointHandoff(new UserPoint(id, 100L, 1L),
+                    List.of(new PointHistory(1L, id, 100L, TransactionType.CHARGE, 1L)));
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        remote.stop(0);
+    }
+
+    @Test
+    void 노드_추가_시_담당이_바뀐_사용자_이전() {
+        // given
+        LongStream.rangeClosed(1, 100).forEach(clusterMembership::hold);
+        HashRing expanded = new HashRing(List.of(SELF, remoteAddress), 128);
+        List<Long> moved = LongStream.rangeClosed(1, 100)
+                                     .filter(id -> expanded.ownerOf(id).equals(remoteAddress))
+                                     .boxed()
+                                     .toList();
+
+        // when
+        List<String> nodes = clusterRebalancer.rebalance(List.of(SELF, remoteAddress));
+
+        // then
+        assertThat(moved).isNotEmpty();
+        assertThat(nodes).containsExactlyInAnyOrder(SELF, remoteAddress);
+        assertThat(received.get(0)).startsWith("prepare [");
+        assertThat(received.subList(1, received.size() - 1))
+                .hasSize(moved.size())
+                .allSatisfy(request -> assertThat(request).startsWith("import ").endsWith(" " + SECRET));
+        assertThat(received.get(received.size() - 1)).startsWith("commit ");
+        moved.forEach(id -> verify(pointService).exportUser(id));
+        assertThat(clusterMembership.heldUsers()).hasSize(100 - moved.size()).doesNotContainAnyElementsOf(moved);
+        assertThat(clusterMembership.ownerOf(moved.get(0))).isEqualTo(remoteAddress);
+    }
+
+    @Test
+    void 재시작_후_노드_추가_시_저장된_사용자_이전() {
+        // given
+        // 재시작한 노드는 보관 목록이 비어 있고, 저장소에만 잔액이 남아 있다.
+        ClusterMembership restarted = new ClusterMembership(SELF, List.of(SELF), 128, SECRET);
+        ClusterRebalancer restartedRebalancer = new ClusterRebalancer(restarted, pointService, new ObjectMapper(), 5000);
+        when(pointService.storedUserIds()).thenReturn(LongStream.rangeClosed(1, 100).boxed().toList());
+        HashRing expanded = new HashRing(List.of(SELF, remoteAddress), 128);
+        List<Long> moved = LongStream.rangeClosed(1, 100)
+                                     .filter(id -> expanded.ownerOf(id).equals(remoteAddress))
+                                     .boxed()
+                                     .toList();
+
+        // when
+        restartedRebalancer.rebalance(List.of(SELF, remoteAddress));
+
+        // then
+        assertThat(moved).isNotEmpty();
+        assertThat(received).filteredOn(request -> request.startsWith("import ")).hasSize(moved.size());
+        moved.forEach(id -> verify(pointService).exportUser(id));
+        assertThat(restarted.ownerOf(moved.get(0))).isEqualTo(remoteAddress);
+    }
+
+    @Test
+    void 이전_실패_시_취소() {
+        // given
+        LongStream.rangeClosed(1, 100).forEach(clusterMembership::hold);
+        importStatus = 500;
+
+        // when ~ then
+        assertThatThrownBy(() -> clusterRebalancer.rebalance(List.of(SELF, remoteAddress)))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(received.get(received.size() - 1)).startsWith("abort ");
+        assertThat(received).noneMatch(request -> request.startsWith("commit "));
+        assertThat(clusterMembership.nodes()).containsExactly(SELF);
+        assertThat(clusterMembership.heldUsers()).hasSize(100);
+        LongStream.rangeClosed(1, 100).forEach(id -> assertThat(clusterMembership.moving(id)).isFalse());
+        verify(pointService, never()).importUser(any());
+    }
+}
@@ -0,0 +1,61 @@
+package io.hhplus.tdd.cluster;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 1) 노드 목록의 순서와 무관하게 같은 사용자는 같은 노드에 배정되는지 검증 (모든 노드가 같은 결과를 얻어야 함)
+ * 2) 사용자가 노드에 고르게 분배되는지 검증
+ * 3) 노드를 추가하면 일부 사용자만, 새 노드로만 담당이 바뀌는지 검증
+ */
+class HashRingTest {
+
+    private static final List<String> NODES = List.of("http://localhost:8081", "http://localhost:8082", "http://localhost:8083");
+
+    @Test
+    void 노드_순서와_무관한_배정() {
+        HashRing ring = new HashRing(NODES, 128);
+        HashRing reversed = new HashRing(List.of(NODES.get(2), NODES.get(1), NODES.get(0)), 128);
+
+        LongStream.rangeClosed(1, 10_000)
+                  .forEach(id -> assertThat(reversed.ownerOf(id)).isEqualTo(ring.ownerOf(id)));
+    }
+
+    @Test
+    void 고른_분배() {
+        // given
+        HashRing ring = new HashRing(NODES, 128);
+        Map<String, Integer> counts = new HashMap<>();
+
+        // when
+        LongStream.rangeClosed(1, 30_000).forEach(id -> counts.merge(ring.ownerOf(id), 1, Integer::sum));
+
+        // then
+        assertThat(counts).hasSize(3);
+        assertThat(counts.values()).allSatisfy(count -> assertThat(count).isBetween(7_000, 13_000));
+    }
+
+    @Test
+    void 노드_추가_시_일부만_이동() {
+        // given
+        HashRing before = new HashRing(NODES, 128);
+        String added = "http://localhost:8084";
+        HashRing after = new HashRing(List.of(NODES.get(0), NODES.get(1), NODES.get(2), added), 128);
+
+        // when
+        long moved = LongStream.rangeClosed(1, 40_000)
+                               .filter(id -> !before.ownerOf(id).equals(after.ownerOf(id)))
+                               .peek(id -> assertThat(after.ownerOf(id)).isEqualTo(added))
+                               .count();
+
+        // then
+        // 4개 노드 중 하나가 새로 담당하는 몫(약 1/4)만 이동한다.
+        assertThat(moved).isBetween(6_000L, 14_000L);
+    }
+}
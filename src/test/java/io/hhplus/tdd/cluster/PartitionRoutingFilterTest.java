@@ -0,0 +1,270 @@
+package io.hhplus.tdd.cluster;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 1) 다른 노드가 담당하는 사용자의 요청은 담당 노드로 전달되고, 그 응답을 그대로 돌려주는지 검증
+ * 2) 현재 노드가 담당하는 사용자와 이미 전달된 요청은 현재 노드에서 처리하는지 검증
+ * 3) 보내는 사용자와 받는 사용자의 담당 노드가 다른 포인트 이전은 어느 노드에도 전달하지 않고 409 로 거절하는지 검증
+ * 4) 두 사용자의 담당 노드가 같은 포인트 이전은 본문을 그대로 담당 노드로 전달하거나 현재 노드에서 처리하는지 검증
+ * 5) 공유 비밀이 없거나 구성에 없는 노드가 보낸 전달 요청, 공유 비밀이 없는 구성 변경 요청은 403 으로 거절하는지 검증
+ * 6) 구성 변경 중 담당이 바뀌는 사용자의 요청만 503 으로 거절하고, 변경이 끝나면 새 담당 노드로 보내는지 검증
+ * 7) 집계 백필은 사용자를 담당 노드별로 나누어 처리하고, 새로 집계한 사용자 수를 합산하는지 검증
+ */
+class PartitionRoutingFilterTest {
+
+    private static final String SELF = "http://localhost:1";
+    private static final String SECRET = "secret";
+
+    private HttpServer owner;
+    private String ownerAddress;
+    private final AtomicReference<String> received = new AtomicReference<>();
+    private PartitionRoutingFilter filter;
+    private ClusterMembership clusterMembership;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        owner = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        owner.createContext("/point", exchange -> {
+            received.set(exchange.getRequestMethod() + " " + exchange.getRequestURI()
+                    + " " + new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8)
+                    + " " + exchange.getRequestHeaders().getFirst(PartitionRoutingFilter.FORWARDED_HEADER));
+            byte[] body = (exchange.getRequestURI().getPath().endsWith("/backfill")
+                    ? "1" : "{\"id\":1,\"point\":1000,\"updateMillis\":0}").getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        owner.start();
+        ownerAddress = "http://localhost:" + owner.getAddress().getPort();
+
+        clusterMembership = new ClusterMembership(SELF, List.of(SELF, ownerAddress), 128, SECRET);
+        filter = new PartitionRoutingFilter(clusterMembership, new ObjectMapper(), 5000, 5000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        owner.stop(0);
+    }
+
+    @Test
+    void 담당_노드로_전달() throws Exception {
+        // given
+        long id = userOwnedBy(ownerAddress);
+        MockHttpServletRequest request = new MockHttpServletRequest("PATCH", "/point/" + id + "/charge");
+        request.setContentType("application/json");
+        request.setContent("1000".getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        // when
+        filter.doFilter(request, response, chain);
+
+        // then
+        assertThat(chain.getRequest()).isNull();
+        assertThat(received.get()).isEqualTo("PATCH /point/" + id + "/charge 1000 " + SELF);
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentType()).isEqualTo("application/json");
+        assertThat(response.getContentAsString()).contains("\"point\":1000");
+    }
+
+    @Test
+    void 현재_노드에서_처리() throws Exception {
+        // given
+        MockHttpServletRequest local = new MockHttpServletRequest("GET", "/point/" + userOwnedBy(SELF));
+        MockHttpServletRequest forwarded = new MockHttpServletRequest("GET", "/point/" + userOwnedBy(ownerAddress));
+        forwarded.addHeader(PartitionRoutingFilter.FORWARDED_HEADER, ownerAddress);
+        forwarded.addHeader(PartitionRoutingFilter.SECRET_HEADER, SECRET);
+        MockFilterChain localChain = new MockFilterChain();
+        MockFilterChain forwardedChain = new MockFilterChain();
+
+        // when
+        filter.doFilter(local, new MockHttpServletResponse(), localChain);
+        filter.doFilter(forwarded, new MockHttpServletResponse(), forwardedChain);
+
+        // then
+        assertThat(localChain.getRequest()).isSameAs(local);
+        assertThat(forwardedChain.getRequest()).isSameAs(forwarded);
+        assertThat(received.get()).isNull();
+    }
+
+    @Test
+    void 담당_노드가_다른_사용자_간_이전_거절() throws Exception {
+        // given
+        long sender = userOwnedBy(SELF);
+        long receiver = userOwnedBy(ownerAddress);
+        MockHttpServletRequest local = transferRequest(sender, receiver);
+        MockHttpServletRequest remote = transferRequest(receiver, sender);
+        MockHttpServletResponse localResponse = new MockHttpServletResponse();
+        MockHttpServletResponse remoteResponse = new MockHttpServletResponse();
+        MockFilterChain localChain = new MockFilterChain();
+        MockFilterChain remoteChain = new MockFilterChain();
+
+        // when
+        filter.doFilter(local, localResponse, localChain);
+        filter.doFilter(remote, remoteResponse, remoteChain);
+
+        // then
+        assertThat(localChain.getRequest()).isNull();
+        assertThat(remoteChain.getRequest()).isNull();
+        assertThat(received.get()).isNull();
+        assertThat(localResponse.getStatus()).isEqualTo(409);
+        assertThat(remoteResponse.getStatus()).isEqualTo(409);
+        assertThat(localResponse.getContentAsString()).contains("\"code\":\"409\"");
+    }
+
+    @Test
+    void 담당_노드가_같은_사용자_간_이전() throws Exception {
+        // given
+        long[] remoteUsers = usersOwnedBy(ownerAddress);
+        long[] localUsers = usersOwnedBy(SELF);
+        MockHttpServletRequest remote = transferRequest(remoteUsers[0], remoteUsers[1]);
+        MockHttpServletRequest local = transferRequest(localUsers[0], localUsers[1]);
+        MockFilterChain remoteChain = new MockFilterChain();
+        MockFilterChain localChain = new MockFilterChain();
+
+        // when
+        filter.doFilter(remote, new MockHttpServletResponse(), remoteChain);
+        filter.doFilter(local, new MockHttpServletResponse(), localChain);
+
+        // then
+        assertThat(remoteChain.getRequest()).isNull();
+        assertThat(received.get()).isEqualTo("PATCH /point/" + remoteUsers[0] + "/transfer "
+                + transferBody(remoteUsers[1]) + " " + SELF);
+        assertThat(localChain.getRequest().getInputStream().readAllBytes())
+                .isEqualTo(transferBody(localUsers[1]).getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void 확인되지_않은_전달_요청_거절() throws Exception {
+        // given
+        long id = userOwnedBy(ownerAddress);
+        MockHttpServletRequest withoutSecret = new MockHttpServletRequest("PATCH", "/point/" + id + "/charge");
+        withoutSecret.addHeader(PartitionRoutingFilter.FORWARDED_HEADER, ownerAddress);
+        MockHttpServletRequest unknownNode = new MockHttpServletRequest("PATCH", "/point/" + id + "/charge");
+        unknownNode.addHeader(PartitionRoutingFilter.FORWARDED_HEADER, "http://localhost:2");
+        unknownNode.addHeader(PartitionRoutingFilter.SECRET_HEADER, SECRET);
+        MockHttpServletRequest membership = new MockHttpServletRequest("PUT", "/cluster/members");
+        MockHttpServletResponse withoutSecretResponse = new MockHttpServletResponse();
+        MockHttpServletResponse unknownNodeResponse = new MockHttpServletResponse();
+        MockHttpServletResponse membershipResponse = new MockHttpServletResponse();
+        MockFilterChain withoutSecretChain = new MockFilterChain();
+        MockFilterChain unknownNodeChain = new MockFilterChain();
+        MockFilterChain membershipChain = new MockFilterChain();
+
+        // when
+        filter.doFilter(withoutSecret, withoutSecretResponse, withoutSecretChain);
+        filter.doFilter(unknownNode, unknownNodeResponse, unknownNodeChain);
+        filter.doFilter(membership, membershipResponse, membershipChain);
+
+        // then
+        assertThat(withoutSecretChain.getRequest()).isNull();
+        assertThat(unknownNodeChain.getRequest()).isNull();
+        assertThat(membershipChain.getRequest()).isNull();
+        assertThat(received.get()).isNull();
+        assertThat(withoutSecretResponse.getStatus()).isEqualTo(403);
+        assertThat(unknownNodeResponse.getStatus()).isEqualTo(403);
+        assertThat(membershipResponse.getStatus()).isEqualTo(403);
+    }
+
+    @Test
+    void 구성_변경_중_담당이_바뀌는_사용자_거절() throws Exception {
+        // given
+        clusterMembership.prepare(List.of(SELF));
+        long moving = userOwnedBy(ownerAddress);
+        long staying = userOwnedBy(SELF);
+        MockHttpServletRequest movingRequest = new MockHttpServletRequest("PATCH", "/point/" + moving + "/charge");
+        movingRequest.addHeader(PartitionRoutingFilter.FORWARDED_HEADER, ownerAddress);
+        movingRequest.addHeader(PartitionRoutingFilter.SECRET_HEADER, SECRET);
+        MockHttpServletRequest stayingRequest = new MockHttpServletRequest("PATCH", "/point/" + staying + "/charge");
+        MockHttpServletResponse movingResponse = new MockHttpServletResponse();
+        MockFilterChain movingChain = new MockFilterChain();
+        MockFilterChain stayingChain = new MockFilterChain();
+
+        // when
+        filter.doFilter(movingRequest, movingResponse, movingChain);
+        filter.doFilter(stayingRequest, new MockHttpServletResponse(), stayingChain);
+        clusterMembership.commit();
+        MockFilterChain committedChain = new MockFilterChain();
+        filter.doFilter(new MockHttpServletRequest("PATCH", "/point/" + moving + "/charge"),
+                new MockHttpServletResponse(), committedChain);
+
+        // then
+        assertThat(movingChain.getRequest()).isNull();
+        assertThat(movingResponse.getStatus()).isEqualTo(503);
+        assertThat(stayingChain.getRequest()).isSameAs(stayingRequest);
+        assertThat(committedChain.getRequest()).isNotNull();
+        assertThat(clusterMembership.heldUsers()).containsExactlyInAnyOrder(staying, moving);
+    }
+
+    @Test
+    void 집계_백필_담당_노드별_처리() throws Exception {
+        // given
+        long[] localUsers = usersOwnedBy(SELF);
+        long remoteUser = userOwnedBy(ownerAddress);
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/point/statistics/backfill");
+        request.setContentType("application/json");
+        String body = "[" + localUsers[0] + "," + remoteUser + "," + localUsers[1] + "]";
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicReference<String> localBody = new AtomicReference<>();
+        MockFilterChain chain = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse res) throws IOException {
+                localBody.set(new String(req.getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+                res.getOutputStream().write("2".getBytes(StandardCharsets.UTF_8));
+            }
+        });
+
+        // when
+        filter.doFilter(request, response, chain);
+
+        // then
+        assertThat(localBody.get()).isEqualTo("[" + localUsers[0] + "," + localUsers[1] + "]");
+        assertThat(received.get()).isEqualTo("POST /point/statistics/backfill [" + remoteUser + "] " + SELF);
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsString()).isEqualTo("3");
+    }
+
+    private MockHttpServletRequest transferRequest(long from, long to) {
+        MockHttpServletRequest request = new MockHttpServletRequest("PATCH", "/point/" + from + "/transfer");
+        request.setContentType("application/json");
+        request.setContent(transferBody(to).getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    private String transferBody(long to) {
+        return "{\"toUserId\":" + to + ",\"amount\":100}";
+    }
+
+    private long userOwnedBy(String node) {
+        return usersOwnedBy(node)[0];
+    }
+
+    private long[] usersOwnedBy(String node) {
+        return LongStream.rangeClosed(1, 1000)
+                         .filter(id -> clusterMembership.ownerOf(id).equals(node))
+                         .limit(2)
+                         .toArray();
+    }
+}
@@ -0,0 +1,99 @@
+package io.hhplus.tdd.point;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * reactive 프로필에서 VirtualThreadLoadTest 와 같은 부하를 주고 동시에 처리 중인 요청 수를 측정
+ * - Netty event loop 스레드 수는 CPU 코어 수 정도이므로, 블로킹 구간을 boundedElastic scheduler 로 넘기지 않으면 동시 처리 수가 늘지 않는다.
+ * - 실행 : ./gradlew loadTest (기본 30,000건, -Dload.requests 로 요청 수 조정)
+ * - 두 테스트의 elapsed / maxInFlight 출력으로 virtual thread 방식과 비교한다.
+ */
+@Tag("load")
+@ActiveProfiles("reactive")
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.main.web-application-type=reactive"
+)
+class ReactiveLoadTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private InFlightFilter inFlightFilter;
+
+    @Test
+    void 동시_처리_요청_수() {
+        // given
+        int requests = Integer.getInteger("load.requests", 30_000);
+        HttpClient client = HttpClient.newBuilder()
+                                      .version(HttpClient.Version.HTTP_1_1)
+                                      .connectTimeout(Duration.ofSeconds(30))
+                                      .build();
+
+        // when
+        long start = System.nanoTime();
+        List<CompletableFuture<HttpResponse<Void>>> responses = IntStream.range(0, requests)
+                .mapToObj(i -> HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/point/" + (i + 1)))
+                                          .timeout(Duration.ofSeconds(60))
+                                          .build())
+                .map(request -> client.sendAsync(request, HttpResponse.BodyHandlers.discarding()))
+                .toList();
+        long succeeded = responses.stream()
+                                  .map(CompletableFuture::join)
+                                  .filter(response -> response.statusCode() == 200)
+                                  .count();
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        // then
+        System.out.printf("requests=%,d succeeded=%,d maxInFlight=%,d elapsed=%,dms%n",
+                requests, succeeded, inFlightFilter.maxInFlight.get(), elapsedMillis);
+        assertThat(succeeded).isEqualTo(requests);
+        assertThat(inFlightFilter.maxInFlight.get()).isGreaterThan(requests / 2);
+    }
+
+    @TestConfiguration
+    static class InFlightFilterConfig {
+        @Bean
+        InFlightFilter inFlightFilter() {
+            return new InFlightFilter();
+        }
+    }
+
+    static class InFlightFilter implements WebFilter {
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger maxInFlight = new AtomicInteger();
+
+        @Override
+        public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+            return Mono.defer(() -> {
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                return chain.filter(exchange)
+                            .doFinally(signal -> inFlight.decrementAndGet());
+            });
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package io.hhplus.tdd.point;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * virtual thread 프로필에서 동시에 처리 중인 요청 수가 Tomcat 스레드 수(기본 200)를 훨씬 넘어서는지 측정
+ * - 모든 요청은 UserPointTable 의 throttle(최대 200ms) 동안 대기하므로, 요청 스레드가 부족하면 동시 처리 수가 늘지 않는다.
+ * - 실행 : ./gradlew loadTest -PjavaVersion=21 (기본 30,000건, -Dload.requests 로 요청 수 조정)
+ * - 클라이언트와 서버가 같은 프로세스에서 요청마다 연결을 하나씩 사용하므로 파일 디스크립터 제한(ulimit -n)이 요청 수의 2배 이상이어야 한다.
+ */
+@Tag("load")
+@ActiveProfiles("virtual-threads")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class VirtualThreadLoadTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private InFlightFilter inFlightFilter;
+
+    @BeforeAll
+    static void requireVirtualThreads() {
+        assumeTrue(Runtime.version().feature() >= 21, "virtual thread 는 JDK 21 이상에서만 측정합니다.");
+    }
+
+    @Test
+    void 동시_처리_요청_수() {
+        // given
+        int requests = Integer.getInteger("load.requests", 30_000);
+        HttpClient client = HttpClient.newBuilder()
+                                      .version(HttpClient.Version.HTTP_1_1)
+                                      .connectTimeout(Duration.ofSeconds(30))
+                                      .build();
+
+        // when
+        long start = System.nanoTime();
+        List<CompletableFuture<HttpResponse<Void>>> responses = IntStream.range(0, requests)
+                .mapToObj(i -> HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/point/" + (i + 1)))
+                                          .timeout(Duration.ofSeconds(60))
+                                          .build())
+                .map(request -> client.sendAsync(request, HttpResponse.BodyHandlers.discarding()))
+                .toList();
+        long succeeded = responses.stream()
+                                  .map(CompletableFuture::join)
+                                  .filter(response -> response.statusCode() == 200)
+                                  .count();
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        // then
+        System.out.printf("requests=%,d succeeded=%,d maxInFlight=%,d elapsed=%,dms%n",
+                requests, succeeded, inFlightFilter.maxInFlight.get(), elapsedMillis);
+        assertThat(succeeded).isEqualTo(requests);
+        assertThat(inFlightFilter.maxInFlight.get()).isGreaterThan(requests / 2);
+    }
+
+    @TestConfiguration
+    static class InFlightFilterConfig {
+        @Bean
+        InFlightFilter inFlightFilter() {
+            return new InFlightFilter();
+        }
+    }
+
+    static class InFlightFilter extends OncePerRequestFilter {
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger maxInFlight = new AtomicInteger();
+
+        @Override
+        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+                throws ServletException, IOException {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                filterChain.doFilter(request, response);
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        }
+    }
+}
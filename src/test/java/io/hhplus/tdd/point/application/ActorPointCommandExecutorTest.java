@@ -0,0 +1,139 @@
+package io.hhplus.tdd.point.application;
+
+import io.hhplus.tdd.point.domain.TransactionType;
+import io.hhplus.tdd.point.domain.UserPoint;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 1) 같은 사용자의 명령은 잠금 없이도 제출 순서대로 실행되는지 검증
+ * 2) 여러 스레드가 동시에 제출해도 명령이 겹치지 않는지 (격리) 검증
+ * 3) mailbox 가 가득 차면 실패한 future 를 반환하는지 검증
+ * 4) 여러 partition 에 걸친 작업이 반대 순서로 제출되어도 교착 없이, 해당 partition 의 명령과 겹치지 않게 실행되는지 검증
+ */
+class ActorPointCommandExecutorTest {
+
+    private ActorPointCommandExecutor executor;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        executor.close();
+    }
+
+    @Test
+    void 같은_사용자_제출_순서대로_실행() {
+        // given
+        executor = new ActorPointCommandExecutor(4, 1000, false);
+        List<Long> executed = new ArrayList<>();
+        PointCommandHandler handler = (userId, commands) -> {
+            executed.add(commands.get(0).amount());
+            return List.of(PointCommandResult.success(new UserPoint(userId, commands.get(0).amount(), 0)));
+        };
+
+        // when
+        List<CompletableFuture<UserPoint>> futures = IntStream.range(0, 100)
+                .mapToObj(i -> executor.submit(new PointCommand(1L, TransactionType.CHARGE, i), handler))
+                .toList();
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+
+        // then
+        assertThat(executed).containsExactlyElementsOf(IntStream.range(0, 100).mapToObj(i -> (long) i).toList());
+    }
+
+    @Test
+    void 동시_제출_격리() {
+        // given
+        executor = new ActorPointCommandExecutor(4, 10000, false);
+        long[] balance = {0};
+        PointCommandHandler handler = (userId, commands) -> {
+            balance[0] += commands.get(0).amount();
+            return List.of(PointCommandResult.success(new UserPoint(userId, balance[0], 0)));
+        };
+
+        // when
+        CompletableFuture<?>[] futures = IntStream.range(0, 1000)
+                .mapToObj(i -> CompletableFuture.runAsync(() ->
+                        executor.submit(new PointCommand(1L, TransactionType.CHARGE, 1), handler).join()))
+                .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(futures).join();
+
+        // then
+        assertThat(balance[0]).isEqualTo(1000);
+    }
+
+    @Test
+    void mailbox_초과() {
+        // given
+        executor = new ActorPointCommandExecutor(1, 1, false);
+        CompletableFuture<Void> blocker = new CompletableFuture<>();
+        PointCommandHandler handler = (userId, commands) -> {
+            blocker.join();
+            return List.of(PointCommandResult.success(new UserPoint(userId, 0, 0)));
+        };
+        PointCommand command = new PointCommand(1L, TransactionType.CHARGE, 100);
+        executor.submit(command, handler);
+        executor.submit(command, handler);
+
+        // when
+        CompletableFuture<UserPoint> rejected = executor.submit(command, handler);
+        blocker.complete(null);
+
+        // then
+        assertThatThrownBy(rejected::join).hasCauseInstanceOf(RejectedExecutionException.class);
+    }
+
+    @Test
+    void 여러_partition_격리_실행() {
+        // given
+        executor = new ActorPointCommandExecutor(4, 10_000, false);
+        long first = 1L;
+        long second = LongStream.rangeClosed(2, 100)
+                                .filter(id -> partitionsDiffer(first, id))
+                                .findFirst()
+                                .orElseThrow();
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger overlaps = new AtomicInteger();
+        PointCommandHandler handler = (userId, commands) -> {
+            if (running.incrementAndGet() > 1) {
+                overlaps.incrementAndGet();
+            }
+            running.decrementAndGet();
+            return List.of(PointCommandResult.success(new UserPoint(userId, 0, 0)));
+        };
+
+        // when
+        CompletableFuture<?>[] futures = IntStream.range(0, 1000)
+                .mapToObj(i -> switch (i % 3) {
+                    case 0 -> executor.executeExclusively(new long[]{first, second}, () -> {
+                        if (running.incrementAndGet() > 1) {
+                            overlaps.incrementAndGet();
+                        }
+                        running.decrementAndGet();
+                        return i;
+                    });
+                    case 1 -> executor.executeExclusively(new long[]{second, first}, () -> i);
+                    default -> executor.submit(new PointCommand(i % 2 == 0 ? first : second, TransactionType.CHARGE, 1), handler);
+                })
+                .toArray(CompletableFuture[]::new);
+
+        // then
+        CompletableFuture.allOf(futures).orTimeout(10, TimeUnit.SECONDS).join();
+        assertThat(overlaps.get()).isZero();
+    }
+
+    private boolean partitionsDiffer(long first, long second) {
+        return Math.floorMod(Long.hashCode(first) * 0x9E3779B9, 4) != Math.floorMod(Long.hashCode(second) * 0x9E3779B9, 4);
+    }
+}
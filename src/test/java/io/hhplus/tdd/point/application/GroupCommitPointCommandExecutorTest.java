@@ -0,0 +1,67 @@
+package io.hhplus.tdd.point.application;
+
+import io.hhplus.tdd.point.domain.TransactionType;
+import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.util.LockManager;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 잠금을 기다리는 동안 쌓인 명령이 한 번의 handler 호출로 모여 처리되는지 검증
+ * - handler 가 느릴수록 (테이블 throttle) 대기열이 길어지고, 호출 횟수는 명령 수보다 적어야 한다.
+ * - 명령마다 자신의 결과를 받아야 한다.
+ */
+class GroupCommitPointCommandExecutorTest {
+
+    @Test
+    void 대기_명령_일괄_처리() {
+        // given
+        GroupCommitPointCommandExecutor executor =
+                new GroupCommitPointCommandExecutor(new LockManager(16, 10_000, new SimpleMeterRegistry()));
+        AtomicInteger handled = new AtomicInteger();
+        long[] balance = {0};
+        PointCommandHandler handler = (userId, commands) -> {
+            handled.incrementAndGet();
+            sleep(20);
+            List<PointCommandResult> results = new ArrayList<>();
+            for (PointCommand command : commands) {
+                balance[0] += command.amount();
+                results.add(PointCommandResult.success(new UserPoint(userId, balance[0], 0)));
+            }
+            return results;
+        };
+        int count = 50;
+        ExecutorService threads = Executors.newFixedThreadPool(count);
+
+        // when
+        List<CompletableFuture<UserPoint>> futures = IntStream.range(0, count)
+                .mapToObj(i -> CompletableFuture.supplyAsync(() ->
+                        executor.submit(new PointCommand(1L, TransactionType.CHARGE, 1), handler).join(), threads))
+                .toList();
+        List<Long> points = futures.stream().map(CompletableFuture::join).map(UserPoint::point).toList();
+        threads.shutdown();
+
+        // then
+        assertThat(balance[0]).isEqualTo(count);
+        assertThat(points).doesNotHaveDuplicates();
+        assertThat(handled.get()).isLessThan(count);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package io.hhplus.tdd.point.application;
+
+import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.point.domain.UserPointRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 핫 계정 잔액(shard 분할) 검증
+ * 1) 여러 shard 에 나뉜 잔액을 합쳐서 사용할 수 있고, 합계를 초과하는 사용은 아무것도 차감하지 않고 실패하는지
+ * 2) 여러 스레드가 동시에 충전/사용해도 잔액이 음수가 되지 않고, 합계가 성공한 충전/사용과 일치하는지
+ * 3) 종료 시 합계가 저장소에 반영되는지
+ */
+class HotAccountBalancesTest {
+
+    private static final long ID = 1L;
+
+    private UserPointRepository userPointRepository;
+    private HotAccountBalances hotAccountBalances;
+
+    @BeforeEach
+    void setUp() {
+        userPointRepository = mock(UserPointRepository.class);
+        when(userPointRepository.selectById(ID)).thenReturn(new UserPoint(ID, 10, 0));
+        hotAccountBalances = new HotAccountBalances(
+                userPointRepository, mock(PointStatisticsService.class), List.of(ID), 4, 60_000);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        hotAccountBalances.close();
+    }
+
+    @Test
+    void 여러_shard_잔액_합산_사용() {
+        // given
+        // 시작 잔액 10 은 4개의 shard 에 3, 3, 2, 2 로 나뉜다.
+
+        // when
+        boolean exceeded = hotAccountBalances.use(ID, 11);
+        boolean used = hotAccountBalances.use(ID, 10);
+
+        // then
+        assertThat(hotAccountBalances.contains(ID)).isTrue();
+        assertThat(hotAccountBalances.contains(2L)).isFalse();
+        assertThat(exceeded).isFalse();
+        assertThat(used).isTrue();
+        assertThat(hotAccountBalances.get(ID).point()).isZero();
+        assertThat(hotAccountBalances.use(ID, 1)).isFalse();
+    }
+
+    @Test
+    void 동시_충전_사용_합계_유지() {
+        // given
+        int threads = 8;
+        int operations = 20_000;
+        AtomicLong used = new AtomicLong();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        // when
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int thread = 0; thread < threads; thread++) {
+            boolean charger = thread % 2 == 0;
+            futures.add(CompletableFuture.runAsync(() -> {
+                for (int i = 0; i < operations; i++) {
+                    if (charger) {
+                        hotAccountBalances.charge(ID, 1);
+                    } else if (hotAccountBalances.use(ID, 3)) {
+                        used.addAndGet(3);
+                    }
+                    assertThat(hotAccountBalances.get(ID).point()).isNotNegative();
+                }
+            }, executor));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        executor.shutdown();
+
+        // then
+        long charged = (long) threads / 2 * operations;
+        assertThat(used.get()).isPositive();
+        assertThat(hotAccountBalances.get(ID).point()).isEqualTo(10 + charged - used.get());
+    }
+
+    @Test
+    void 종료_시_합계_반영() throws InterruptedException {
+        // given
+        hotAccountBalances.charge(ID, 90);
+
+        // when
+        hotAccountBalances.close();
+
+        // then
+        verify(userPointRepository).insertOrUpdate(ID, 100);
+    }
+}
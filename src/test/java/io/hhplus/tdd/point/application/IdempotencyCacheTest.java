@@ -0,0 +1,148 @@
+package io.hhplus.tdd.point.application;
+
+import io.hhplus.tdd.point.domain.TransactionType;
+import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.util.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 멱등 키 저장소 검증
+ * 1) 처리 중인 요청과 같은 키로 요청하면 같은 결과를 기다리는지
+ * 2) 실패한 요청은 저장되지 않아 같은 키로 다시 실행되는지
+ * 3) 같은 키로 금액이 다르면 실패하고 hit 로 집계되지 않는지
+ * 4) 유효 시간이 지나면 키가 제거되어 같은 키로 다시 실행되는지
+ * 5) 만료 순서 중간에서 실패한 항목이 큐에 계속 쌓이지 않는지
+ * 6) 최대 개수에 이르면 유효한 키를 제거하지 않고 새 키를 거절하며, 기존 키의 재요청은 처음 결과를 받는지
+ */
+class IdempotencyCacheTest {
+
+    @Test
+    void 처리_중_중복_요청() {
+        // given
+        IdempotencyCache cache = new IdempotencyCache(100, 60_000, new SimpleMeterRegistry());
+        CompletableFuture<UserPoint> pending = new CompletableFuture<>();
+        AtomicInteger executions = new AtomicInteger();
+
+        // when
+        CompletableFuture<UserPoint> first = cache.execute(1L, TransactionType.CHARGE, 100, "key", () -> {
+            executions.incrementAndGet();
+            return pending;
+        });
+        CompletableFuture<UserPoint> retried = cache.execute(1L, TransactionType.CHARGE, 100, "key", () -> {
+            executions.incrementAndGet();
+            return CompletableFuture.completedFuture(new UserPoint(1L, 999, 0));
+        });
+        pending.complete(new UserPoint(1L, 100, 0));
+
+        // then
+        assertThat(executions).hasValue(1);
+        assertThat(retried.join()).isEqualTo(first.join());
+        // 요청 유형이 다르면 다른 키로 본다.
+        assertThat(cache.execute(1L, TransactionType.USE, 100, "key",
+                () -> CompletableFuture.completedFuture(new UserPoint(1L, 0, 0))).join().point()).isZero();
+    }
+
+    @Test
+    void 실패한_요청_재실행() {
+        // given
+        IdempotencyCache cache = new IdempotencyCache(100, 60_000, new SimpleMeterRegistry());
+        cache.execute(1L, TransactionType.USE, 100, "key",
+                () -> CompletableFuture.failedFuture(new IllegalStateException("잔액을 초과하여 사용할 수 없습니다.")));
+
+        // when
+        CompletableFuture<UserPoint> retried = cache.execute(1L, TransactionType.USE, 100, "key",
+                () -> CompletableFuture.completedFuture(new UserPoint(1L, 0, 0)));
+
+        // then
+        assertThat(retried.join().point()).isZero();
+    }
+
+    @Test
+    void 같은_키_다른_금액() {
+        // given
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        IdempotencyCache cache = new IdempotencyCache(100, 60_000, meterRegistry);
+        cache.execute(1L, TransactionType.CHARGE, 100, "key",
+                () -> CompletableFuture.completedFuture(new UserPoint(1L, 100, 0)));
+
+        // when ~ then
+        assertThatThrownBy(() -> cache.execute(1L, TransactionType.CHARGE, 200, "key",
+                () -> CompletableFuture.completedFuture(new UserPoint(1L, 300, 0))).join())
+                .hasCauseInstanceOf(IllegalArgumentException.class);
+        assertThat(meterRegistry.counter("point.idempotency.requests", "result", "hit").count()).isZero();
+        assertThat(meterRegistry.counter("point.idempotency.requests", "result", "conflict").count()).isEqualTo(1);
+    }
+
+    @Test
+    void 유효_시간_초과_제거() throws Exception {
+        // given
+        IdempotencyCache expiring = new IdempotencyCache(100, 1, new SimpleMeterRegistry());
+
+        // when
+        expiring.execute(1L, TransactionType.CHARGE, 100, "key",
+                () -> CompletableFuture.completedFuture(new UserPoint(1L, 100, 0)));
+        Thread.sleep(5);
+        UserPoint reExecuted = expiring.execute(1L, TransactionType.CHARGE, 100, "key",
+                () -> CompletableFuture.completedFuture(new UserPoint(1L, 200, 0))).join();
+
+        // then
+        assertThat(reExecuted.point()).isEqualTo(200);
+        assertThat(expiring.size()).isEqualTo(1);
+    }
+
+    @Test
+    void 중간_항목_실패_시_큐_정리() {
+        // given
+        IdempotencyCache cache = new IdempotencyCache(100, 60_000, new SimpleMeterRegistry());
+        // 만료 순서의 맨 앞에 유효한 항목을 둔다.
+        cache.execute(1L, TransactionType.CHARGE, 100, "live",
+                () -> CompletableFuture.completedFuture(new UserPoint(1L, 100, 0)));
+
+        // when
+        for (int i = 0; i < 1_000; i++) {
+            cache.execute(1L, TransactionType.USE, 100, "failed-" + i,
+                    () -> CompletableFuture.failedFuture(new IllegalStateException("잔액을 초과하여 사용할 수 없습니다.")));
+        }
+
+        // then
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(cache.queuedSize()).isLessThanOrEqualTo(100);
+    }
+
+    @Test
+    void 최대_개수_초과_시_새_키_거절() {
+        // given
+        IdempotencyCache bounded = new IdempotencyCache(2, 60_000, new SimpleMeterRegistry());
+        AtomicInteger executions = new AtomicInteger();
+        for (int i = 0; i < 2; i++) {
+            long point = 100L * (i + 1);
+            bounded.execute(1L, TransactionType.CHARGE, 100, "key-" + i, () -> {
+                executions.incrementAndGet();
+                return CompletableFuture.completedFuture(new UserPoint(1L, point, 0));
+            });
+        }
+
+        // when
+        assertThatThrownBy(() -> bounded.execute(1L, TransactionType.CHARGE, 100, "key-2", () -> {
+            executions.incrementAndGet();
+            return CompletableFuture.completedFuture(new UserPoint(1L, 300, 0));
+        })).isInstanceOf(TooManyRequestsException.class);
+        UserPoint retried = bounded.execute(1L, TransactionType.CHARGE, 100, "key-0", () -> {
+            executions.incrementAndGet();
+            return CompletableFuture.completedFuture(new UserPoint(1L, 999, 0));
+        }).join();
+
+        // then
+        // 가득 찬 뒤의 새 키는 실행되지 않고, 가장 오래된 키의 재요청도 명령을 다시 실행하지 않는다.
+        assertThat(executions).hasValue(2);
+        assertThat(retried.point()).isEqualTo(100);
+        assertThat(bounded.size()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,144 @@
+package io.hhplus.tdd.point.application;
+
+import io.hhplus.tdd.point.domain.PointHistoryRepository;
+import io.hhplus.tdd.point.domain.TransactionType;
+import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.point.domain.UserPointRepository;
+import io.hhplus.tdd.util.AdmissionControl;
+import io.hhplus.tdd.util.LockManager;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 1) 사용자별로 한 번의 잔액 조회/저장으로 처리되는지 verify 로 검증
+ * 2) 유효하지 않은 명령과 잔액 초과 명령은 개별적으로 실패하고 나머지는 처리되는지 검증
+ * 3) 순서대로 읽는 명령을 chunk 단위로 처리해도 index 와 사용자별 순서가 유지되고, 읽기 실패 전까지의 명령은 처리되는지 검증
+ */
+class PointBulkServiceTest {
+
+    private PointBulkService pointBulkService;
+
+    @Mock
+    private UserPointRepository userPointRepository;
+
+    @Mock
+    private PointHistoryRepository pointHistoryRepository;
+
+    @Mock
+    private LockManager lockManager;
+
+    @Mock
+    private PointStatisticsService pointStatisticsService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        LockingPointCommandExecutor executor = new LockingPointCommandExecutor(lockManager);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        PointService pointService = new PointService(userPointRepository, pointHistoryRepository, executor,
+                new IdempotencyCache(100, 60_000, meterRegistry), new UserPointSnapshots(100),
+                new AdmissionControl(64, 0, 0, 0, 0, 0, meterRegistry), pointStatisticsService,
+                new PointTransferBatcher(executor, 16, 64, 1000),
+                new HotAccountBalances(userPointRepository, pointStatisticsService, List.of(), 0, 100), meterRegistry);
+        pointBulkService = new PointBulkService(pointService, executor, 4, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pointBulkService.close();
+    }
+
+    @Test
+    void 사용자별_일괄_처리() {
+        // given
+        List<PointCommand> commands = List.of(
+                new PointCommand(1L, TransactionType.CHARGE, 100),
+                new PointCommand(2L, TransactionType.CHARGE, 300),
+                new PointCommand(1L, TransactionType.USE, 1000),
+                new PointCommand(-1L, TransactionType.CHARGE, 100),
+                new PointCommand(1L, TransactionType.USE, 50)
+        );
+        when(userPointRepository.selectById(1L)).thenReturn(new UserPoint(1L, 0, 0));
+        when(userPointRepository.selectById(2L)).thenReturn(new UserPoint(2L, 0, 0));
+        when(userPointRepository.insertOrUpdate(1L, 50)).thenReturn(new UserPoint(1L, 50, 0));
+        when(userPointRepository.insertOrUpdate(2L, 300)).thenReturn(new UserPoint(2L, 300, 0));
+        Map<Integer, PointCommandResult> results = new ConcurrentHashMap<>();
+
+        // when
+        pointBulkService.apply(commands, (index, command, result) -> results.put(index, result));
+
+        // then
+        assertThat(results).hasSize(commands.size());
+        assertThat(results.get(0).userPoint().point()).isEqualTo(100);
+        assertThat(results.get(1).userPoint().point()).isEqualTo(300);
+        assertThat(results.get(2).failure()).isInstanceOf(IllegalStateException.class);
+        assertThat(results.get(3).failure()).isInstanceOf(IllegalArgumentException.class);
+        assertThat(results.get(4).userPoint().point()).isEqualTo(50);
+
+        verify(userPointRepository, times(1)).selectById(1L);
+        verify(userPointRepository, times(1)).selectById(2L);
+        verify(userPointRepository, times(2)).insertOrUpdate(anyLong(), anyLong());
+    }
+
+    @Test
+    void 명령을_chunk_단위로_읽어_처리() {
+        // given
+        List<PointCommand> commands = List.of(
+                new PointCommand(1L, TransactionType.CHARGE, 100),
+                new PointCommand(2L, TransactionType.CHARGE, 300),
+                new PointCommand(1L, TransactionType.USE, 30),
+                new PointCommand(1L, TransactionType.USE, 50),
+                new PointCommand(2L, TransactionType.USE, 1000)
+        );
+        Iterator<PointCommand> failing = new Iterator<>() {
+            private final Iterator<PointCommand> delegate = commands.iterator();
+
+            @Override
+            public boolean hasNext() {
+                if (!delegate.hasNext()) {
+                    throw new IllegalStateException("본문을 읽지 못했습니다.");
+                }
+                return true;
+            }
+
+            @Override
+            public PointCommand next() {
+                return delegate.next();
+            }
+        };
+        when(userPointRepository.selectById(1L)).thenReturn(new UserPoint(1L, 0, 0), new UserPoint(1L, 100, 0));
+        when(userPointRepository.selectById(2L)).thenReturn(new UserPoint(2L, 0, 0), new UserPoint(2L, 300, 0));
+        when(userPointRepository.insertOrUpdate(anyLong(), anyLong()))
+                .thenAnswer(invocation -> new UserPoint(invocation.getArgument(0), invocation.getArgument(1), 0));
+        Map<Integer, PointCommandResult> results = new ConcurrentHashMap<>();
+
+        // when
+        CompletableFuture<Void> future = pointBulkService.applyAsync(failing, (index, command, result) -> results.put(index, result));
+
+        // then
+        assertThatThrownBy(future::join).hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(results).hasSize(commands.size());
+        assertThat(results.get(0).userPoint().point()).isEqualTo(100);
+        assertThat(results.get(1).userPoint().point()).isEqualTo(300);
+        assertThat(results.get(2).userPoint().point()).isEqualTo(70);
+        assertThat(results.get(3).userPoint().point()).isEqualTo(20);
+        assertThat(results.get(4).failure()).isInstanceOf(IllegalStateException.class);
+    }
+}
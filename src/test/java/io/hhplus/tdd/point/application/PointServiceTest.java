@@ -1,17 +1,38 @@
 package io.hhplus.tdd.point.application;
 
 import io.hhplus.tdd.point.domain.*;
+import io.hhplus.tdd.point.infrastructure.SimulatedPointHistoryRepository;
+import io.hhplus.tdd.point.infrastructure.SimulatedUserPointRepository;
+import io.hhplus.tdd.point.infrastructure.StorageFaultException;
+import io.hhplus.tdd.point.infrastructure.StorageLatencyModel;
+import io.hhplus.tdd.util.AdmissionControl;
 import io.hhplus.tdd.util.LockManager;
+import io.hhplus.tdd.util.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -32,10 +53,29 @@ public class PointServiceTest {
     @Mock
     private LockManager lockManager;
 
+    @Mock
+    private PointStatisticsService pointStatisticsService;
+
+    private SimpleMeterRegistry meterRegistry;
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        pointService = new PointService(userPointRepository, pointHistoryRepository, lockManager);
+        meterRegistry = new SimpleMeterRegistry();
+        pointService = pointService(new HotAccountBalances(userPointRepository, pointStatisticsService, List.of(), 0, 100));
+    }
+
+    private PointService pointService(HotAccountBalances hotAccountBalances) {
+        return pointService(userPointRepository, pointHistoryRepository, hotAccountBalances);
+    }
+
+    private PointService pointService(UserPointRepository userPointRepository, PointHistoryRepository pointHistoryRepository,
+                                      HotAccountBalances hotAccountBalances) {
+        LockingPointCommandExecutor executor = new LockingPointCommandExecutor(lockManager);
+        return new PointService(userPointRepository, pointHistoryRepository,
+                executor, new IdempotencyCache(100, 60_000, meterRegistry),
+                new UserPointSnapshots(100), new AdmissionControl(64, 0, 0, 0, 0, 0, meterRegistry), pointStatisticsService,
+                new PointTransferBatcher(executor, 16, 64, 1000), hotAccountBalances, meterRegistry);
     }
 
     @Test
@@ -63,6 +103,25 @@ public class PointServiceTest {
         assertThat(pointService.getPoint(id)).isEqualTo(expected);
     }
 
+    @Test
+    void 충전_이후_포인트_조회() {
+        // given
+        long id = 1L;
+        long amount = 500L;
+        UserPoint charged = new UserPoint(id, amount, 0);
+
+        // when
+        when(userPointRepository.selectById(id)).thenReturn(UserPoint.empty(id));
+        when(userPointRepository.insertOrUpdate(id, amount)).thenReturn(charged);
+        pointService.chargePoint(id, amount);
+
+        // then
+        // 저장이 끝난 잔액을 공개하므로 조회 시 저장소를 다시 조회하지 않는다.
+        assertThat(pointService.getPoint(id)).isEqualTo(charged);
+        assertThat(pointService.getPoint(id)).isEqualTo(charged);
+        verify(userPointRepository, times(1)).selectById(id);
+    }
+
     @Test
     void 유효하지_않은_사용자_포인트_내역_조회() {
         // given
@@ -90,6 +149,29 @@ public class PointServiceTest {
         assertThat(pointService.getPointHistories(userId)).isEqualTo(expected);
     }
 
+    @Test
+    void 포인트_내역_조건_조회() {
+        // given
+        long userId = 1L;
+        PointHistorySearch search = PointHistorySearch.of(1L, 10, null, null);
+        List<PointHistory> expected = List.of(
+                new PointHistory(2, 1, 200, TransactionType.USE, 0)
+        );
+
+        // when
+        when(pointHistoryRepository.selectByUserId(userId, search)).thenReturn(expected);
+
+        // then
+        assertThat(pointService.getPointHistories(userId, search)).isEqualTo(expected);
+    }
+
+    @Test
+    void 포인트_내역_조회_건수_초과() {
+        // when ~ then
+        assertThatThrownBy(() -> PointHistorySearch.of(null, PointHistorySearch.MAX_LIMIT + 1, null, null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
     @Test
     void 유효하지_않은_사용자_포인트_충전() {
         // given
@@ -145,6 +227,27 @@ public class PointServiceTest {
         assertThat(updateMillisCaptor.getValue()).isNotNegative();
     }
 
+    @Test
+    void 멱등_키_중복_충전() {
+        // given
+        long id = 1L;
+        long amount = 1000L;
+        UserPoint expected = new UserPoint(id, amount, 0);
+
+        // when
+        when(userPointRepository.selectById(id)).thenReturn(UserPoint.empty(id));
+        when(userPointRepository.insertOrUpdate(id, amount)).thenReturn(expected);
+        UserPoint first = pointService.chargePointAsync(id, amount, "charge-1").join();
+        UserPoint retried = pointService.chargePointAsync(id, amount, "charge-1").join();
+
+        // then
+        // 같은 키의 재요청은 처음 결과를 반환하고 다시 충전하지 않는다.
+        assertThat(retried).isSameAs(first);
+        verify(userPointRepository, times(1)).insertOrUpdate(anyLong(), anyLong());
+        verify(pointHistoryRepository, times(1)).insert(anyLong(), anyLong(), any(), anyLong());
+        assertThat(meterRegistry.get("point.idempotency.requests").tag("result", "hit").counter().count()).isEqualTo(1);
+    }
+
     @Test
     void 유효하지_않은_사용자_포인트_사용() {
         // givn
@@ -181,8 +284,12 @@ public class PointServiceTest {
 
         // when ~ then
         assertThatThrownBy(() -> pointService.usePoint(id, amount))
-                .isInstanceOf(IllegalStateException.class)
+                .isInstanceOf(PointOverdraftException.class)
                 .hasMessage("잔액을 초과하여 사용할 수 없습니다.");
+
+        // 잔액 초과 거절 건수와 사용 처리 시간이 지표로 집계되는지 검증
+        assertThat(meterRegistry.get("point.overdraft.rejections").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("point.operation").tag("operation", "use").timer().count()).isEqualTo(1);
     }
 
     @Test
@@ -215,4 +322,343 @@ public class PointServiceTest {
         assertThat(typeCaptor.getValue()).isEqualTo(TransactionType.USE);
         assertThat(updateMillisCaptor.getValue()).isNotNegative();
     }
-}
\ No newline at end of file
+
+    @Test
+    void 인덱스_없는_저장소_내역_페이지_조회() {
+        // given
+        long id = 1L;
+        when(pointHistoryRepository.selectAllByUserId(id)).thenReturn(List.of(
+                new PointHistory(1, id, 100, TransactionType.CHARGE, 0),
+                new PointHistory(2, id, 200, TransactionType.CHARGE, 0),
+                new PointHistory(3, id, 300, TransactionType.USE, 0),
+                new PointHistory(4, id, 400, TransactionType.CHARGE, 0),
+                new PointHistory(5, id, 500, TransactionType.USE, 0)
+        ));
+        when(pointHistoryRepository.selectPagesByUserId(anyLong(), any())).thenCallRealMethod();
+
+        // when
+        List<List<PointHistory>> pages = new ArrayList<>();
+        pointService.getPointHistoryPages(id, PointHistorySearch.of(1L, 2, null, null)).forEachRemaining(pages::add);
+
+        // then
+        // cursor 이후의 내역이 limit 건씩 나뉘고, 전체 내역은 페이지 수와 무관하게 한 번만 조회되는지 검증
+        assertThat(pages).hasSize(2);
+        assertThat(pages.get(0)).extracting(PointHistory::id).containsExactly(2L, 3L);
+        assertThat(pages.get(1)).extracting(PointHistory::id).containsExactly(4L, 5L);
+        verify(pointHistoryRepository, times(1)).selectAllByUserId(id);
+        verify(pointHistoryRepository, never()).selectByUserId(anyLong(), any());
+    }
+
+    @Test
+    void 명령_일괄_처리() {
+        // given
+        long id = 1L;
+        long balance = 100L;
+        List<PointCommand> commands = List.of(
+                new PointCommand(id, TransactionType.CHARGE, 100),
+                new PointCommand(id, TransactionType.USE, 500),
+                new PointCommand(id, TransactionType.USE, 50)
+        );
+
+        // when
+        when(userPointRepository.selectById(id)).thenReturn(new UserPoint(id, balance, 0));
+        when(userPointRepository.insertOrUpdate(id, 150)).thenReturn(new UserPoint(id, 150, 10));
+        List<PointCommandResult> results = pointService.applyCommands(id, commands);
+
+        // then
+        // 잔액 초과 명령만 실패하고, 나머지는 명령 직후의 잔액을 받는지 검증
+        assertThat(results.get(0).userPoint()).isEqualTo(new UserPoint(id, 200, 10));
+        assertThat(results.get(1).failure()).isInstanceOf(IllegalStateException.class);
+        assertThat(results.get(2).userPoint()).isEqualTo(new UserPoint(id, 150, 10));
+
+        // 잔액 조회/저장은 한 번만, 내역은 성공한 명령마다 추가되는지 검증
+        verify(userPointRepository, times(1)).selectById(id);
+        verify(userPointRepository, times(1)).insertOrUpdate(anyLong(), anyLong());
+        verify(pointHistoryRepository).insert(eq(id), eq(100L), eq(TransactionType.CHARGE), anyLong());
+        verify(pointHistoryRepository).insert(eq(id), eq(50L), eq(TransactionType.USE), anyLong());
+        verify(pointHistoryRepository, never()).insert(eq(id), eq(500L), any(), anyLong());
+    }
+
+    @Test
+    void 내역_기록_실패_명령만_실패() {
+        // given
+        long id = 1L;
+        List<PointCommand> commands = List.of(
+                new PointCommand(id, TransactionType.CHARGE, 100),
+                new PointCommand(id, TransactionType.CHARGE, 200)
+        );
+
+        // when
+        when(userPointRepository.selectById(id)).thenReturn(new UserPoint(id, 0, 0));
+        when(pointHistoryRepository.insert(eq(id), eq(200L), any(), anyLong()))
+                .thenThrow(new TooManyRequestsException("포인트 내역 반영이 밀려 있습니다. 잠시 후 다시 시도해주세요."));
+        when(userPointRepository.insertOrUpdate(id, 100)).thenReturn(new UserPoint(id, 100, 10));
+        List<PointCommandResult> results = pointService.applyCommands(id, commands);
+
+        // then
+        // 내역을 기록한 명령만 잔액에 반영되는지 검증
+        assertThat(results.get(0).userPoint()).isEqualTo(new UserPoint(id, 100, 10));
+        assertThat(results.get(1).failure()).isInstanceOf(TooManyRequestsException.class);
+        verify(userPointRepository).insertOrUpdate(id, 100);
+    }
+
+    @Test
+    void 잔액_저장_실패_시_기록한_내역_상쇄() {
+        // given
+        long id = 1L;
+        // 조회는 성공시키고 잔액 저장만 모의 장애(failure-rate=1)로 실패시킨다.
+        UserPointRepository failingUserPoints = spy(new SimulatedUserPointRepository(
+                new StorageLatencyModel("none", 0, 0, 0, 0, 0, 1), meterRegistry));
+        doReturn(new UserPoint(id, 1000, 0)).when(failingUserPoints).selectById(id);
+        PointHistoryRepository histories = new SimulatedPointHistoryRepository(StorageLatencyModel.none(), meterRegistry);
+        PointService failingPointService = pointService(failingUserPoints, histories,
+                new HotAccountBalances(failingUserPoints, pointStatisticsService, List.of(), 0, 100));
+        List<PointCommand> commands = List.of(
+                new PointCommand(id, TransactionType.CHARGE, 100),
+                new PointCommand(id, TransactionType.USE, 300),
+                new PointCommand(id, TransactionType.USE, 5000)
+        );
+
+        // when
+        List<PointCommandResult> results = failingPointService.applyCommands(id, commands);
+
+        // then
+        // 적용한 명령은 저장 실패로, 잔액 초과 명령은 그대로 실패하고, 기록한 내역은 반대 방향 내역으로 상쇄되는지 검증
+        assertThat(results.get(0).failure()).isInstanceOf(StorageFaultException.class);
+        assertThat(results.get(1).failure()).isInstanceOf(StorageFaultException.class);
+        assertThat(results.get(2).failure()).isInstanceOf(IllegalStateException.class);
+        assertThat(histories.selectAllByUserId(id))
+                .extracting(PointHistory::amount, PointHistory::type)
+                .containsExactly(
+                        tuple(100L, TransactionType.CHARGE), tuple(300L, TransactionType.USE),
+                        tuple(100L, TransactionType.USE), tuple(300L, TransactionType.CHARGE));
+        // 통계에도 기록한 내역과 상쇄 내역이 모두 반영되어 백필 결과와 같아지는지 검증
+        verify(pointStatisticsService, times(4)).record(any());
+    }
+
+    @Test
+    void 포인트_이체() {
+        // given
+        long fromId = 1L;
+        long toId = 2L;
+        long amount = 300L;
+
+        // when
+        when(userPointRepository.selectById(fromId)).thenReturn(new UserPoint(fromId, 1000, 0));
+        when(userPointRepository.selectById(toId)).thenReturn(new UserPoint(toId, 100, 0));
+        when(pointHistoryRepository.insertAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(userPointRepository.insertOrUpdateAll(Map.of(fromId, 700L, toId, 400L)))
+                .thenReturn(Map.of(fromId, new UserPoint(fromId, 700, 10), toId, new UserPoint(toId, 400, 10)));
+        UserPoint result = pointService.transferPoint(fromId, toId, amount);
+
+        // then
+        assertThat(result).isEqualTo(new UserPoint(fromId, 700, 10));
+
+        // 두 사용자를 함께 잠그고, 사용자마다 한 번씩 조회하며 출금/입금 내역과 두 사용자의 잔액을 각각 한 번에 저장하는지 검증
+        verify(lockManager).lockAll(new long[]{fromId, toId});
+        verify(userPointRepository, times(1)).selectById(fromId);
+        verify(userPointRepository, times(1)).selectById(toId);
+        verify(userPointRepository).insertOrUpdateAll(Map.of(fromId, 700L, toId, 400L));
+        verify(userPointRepository, never()).insertOrUpdate(anyLong(), anyLong());
+        ArgumentCaptor<List<PointHistory>> historiesCaptor = ArgumentCaptor.forClass(List.class);
+        verify(pointHistoryRepository).insertAll(historiesCaptor.capture());
+        assertThat(historiesCaptor.getValue())
+                .extracting(PointHistory::userId, PointHistory::amount, PointHistory::type)
+                .containsExactly(tuple(fromId, amount, TransactionType.TRANSFER_OUT), tuple(toId, amount, TransactionType.TRANSFER_IN));
+    }
+
+    @Test
+    void 잔액_초과_이체() {
+        // given
+        long fromId = 1L;
+        long toId = 2L;
+
+        // when
+        when(userPointRepository.selectById(fromId)).thenReturn(new UserPoint(fromId, 100, 0));
+        when(userPointRepository.selectById(toId)).thenReturn(new UserPoint(toId, 0, 0));
+
+        // then
+        assertThatThrownBy(() -> pointService.transferPoint(fromId, toId, 500))
+                .isInstanceOf(PointOverdraftException.class)
+                .hasMessage("잔액을 초과하여 이체할 수 없습니다.");
+        assertThatThrownBy(() -> pointService.transferPoint(fromId, fromId, 500))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(userPointRepository, never()).insertOrUpdateAll(any());
+        verify(pointHistoryRepository, never()).insertAll(any());
+    }
+
+    @Test
+    void 같은_사용자에게_보내는_이체_일괄_처리() {
+        // given
+        long merchantId = 100L;
+        List<PointTransfer> transfers = List.of(
+                new PointTransfer(1L, merchantId, 100),
+                new PointTransfer(2L, merchantId, 500),
+                new PointTransfer(3L, merchantId, 50)
+        );
+
+        // when
+        when(userPointRepository.selectById(anyLong()))
+                .thenAnswer(invocation -> new UserPoint(invocation.getArgument(0), 200, 0));
+        when(pointHistoryRepository.insertAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(userPointRepository.insertOrUpdateAll(anyMap())).thenAnswer(invocation -> {
+            Map<Long, UserPoint> saved = new HashMap<>();
+            invocation.<Map<Long, Long>>getArgument(0).forEach((id, point) -> saved.put(id, new UserPoint(id, point, 10)));
+            return saved;
+        });
+        List<PointCommandResult> results = pointService.applyTransfers(transfers);
+
+        // then
+        // 잔액 초과 이체만 실패하고, 받는 사용자는 한 번만 조회/저장되는지 검증
+        assertThat(results.get(0).userPoint()).isEqualTo(new UserPoint(1L, 100, 10));
+        assertThat(results.get(1).failure()).isInstanceOf(IllegalStateException.class);
+        assertThat(results.get(2).userPoint()).isEqualTo(new UserPoint(3L, 150, 10));
+        verify(userPointRepository, times(1)).selectById(merchantId);
+        verify(userPointRepository).insertOrUpdateAll(Map.of(1L, 100L, merchantId, 200L + 100 + 50, 3L, 150L));
+        ArgumentCaptor<List<PointHistory>> historiesCaptor = ArgumentCaptor.forClass(List.class);
+        verify(pointHistoryRepository).insertAll(historiesCaptor.capture());
+        assertThat(historiesCaptor.getValue()).filteredOn(history -> history.type() == TransactionType.TRANSFER_IN)
+                                              .extracting(PointHistory::userId)
+                                              .containsExactly(merchantId, merchantId);
+    }
+
+    @Test
+    void 이체_잔액_저장_실패() throws Exception {
+        // given
+        long hotId = 1000L;
+        when(userPointRepository.selectById(anyLong()))
+                .thenAnswer(invocation -> new UserPoint(invocation.getArgument(0), 500, 0));
+        HotAccountBalances hotAccountBalances = new HotAccountBalances(userPointRepository, pointStatisticsService, List.of(hotId), 4, 60_000);
+        PointService hotPointService = pointService(hotAccountBalances);
+        List<PointTransfer> transfers = List.of(
+                new PointTransfer(hotId, 1L, 100),
+                new PointTransfer(1L, 2L, 300)
+        );
+
+        // when
+        when(pointHistoryRepository.insertAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(userPointRepository.insertOrUpdateAll(anyMap())).thenThrow(new IllegalStateException("데이터베이스 기록에 실패했습니다."));
+        List<PointCommandResult> results = hotPointService.applyTransfers(transfers);
+
+        // then
+        // 적용한 이체가 모두 실패로 응답되고, 핫 계정 출금과 기록한 내역이 되돌려지는지 검증
+        assertThat(results).allSatisfy(result -> assertThat(result.failure())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("데이터베이스 기록에 실패했습니다."));
+        assertThat(hotAccountBalances.get(hotId).point()).isEqualTo(500);
+        ArgumentCaptor<List<PointHistory>> historiesCaptor = ArgumentCaptor.forClass(List.class);
+        verify(pointHistoryRepository, times(2)).insertAll(historiesCaptor.capture());
+        Map<Long, Long> net = new HashMap<>();
+        for (List<PointHistory> histories : historiesCaptor.getAllValues()) {
+            for (PointHistory history : histories) {
+                long signed = history.type() == TransactionType.TRANSFER_IN ? history.amount() : -history.amount();
+                net.merge(history.userId(), signed, Long::sum);
+            }
+        }
+        assertThat(net).containsOnly(entry(hotId, 0L), entry(1L, 0L), entry(2L, 0L));
+        // 기록한 이체 내역과 상쇄 내역이 모두 집계에 반영되어, 저장소에서 다시 집계(백필)한 결과와 같아지는지 검증
+        ArgumentCaptor<PointHistory> statisticsCaptor = ArgumentCaptor.forClass(PointHistory.class);
+        verify(pointStatisticsService, times(8)).record(statisticsCaptor.capture());
+        assertThat(statisticsCaptor.getAllValues()).containsExactlyElementsOf(
+                historiesCaptor.getAllValues().stream().flatMap(List::stream).toList());
+        hotAccountBalances.close();
+    }
+
+    @Test
+    void 핫_계정_충전_사용() throws Exception {
+        // given
+        long id = 1000L;
+        when(userPointRepository.selectById(id)).thenReturn(new UserPoint(id, 100, 0));
+        HotAccountBalances hotAccountBalances = new HotAccountBalances(userPointRepository, pointStatisticsService, List.of(id), 4, 60_000);
+        PointService hotPointService = pointService(hotAccountBalances);
+
+        // when
+        hotPointService.chargePoint(id, 500);
+        UserPoint used = hotPointService.usePoint(id, 550);
+
+        // then
+        // 잔액은 shard 합계로 계산되고, 사용자 잠금 없이 처리되는지 검증
+        assertThat(used.point()).isEqualTo(50);
+        assertThat(hotPointService.getPoint(id).point()).isEqualTo(50);
+        assertThatThrownBy(() -> hotPointService.usePoint(id, 51))
+                .isInstanceOf(PointOverdraftException.class)
+                .hasMessage("잔액을 초과하여 사용할 수 없습니다.");
+        verify(lockManager, never()).lock(id);
+        verify(pointHistoryRepository).insert(eq(id), eq(500L), eq(TransactionType.CHARGE), anyLong());
+        verify(pointHistoryRepository).insert(eq(id), eq(550L), eq(TransactionType.USE), anyLong());
+
+        // 저장소에는 주기적으로(종료 시) 합계만 반영되는지 검증
+        verify(userPointRepository, never()).insertOrUpdate(anyLong(), anyLong());
+        hotAccountBalances.close();
+        verify(userPointRepository).insertOrUpdate(id, 50);
+    }
+
+    @Test
+    void 핫_계정_내역_기록_실패() throws Exception {
+        // given
+        long id = 1000L;
+        when(userPointRepository.selectById(id)).thenReturn(new UserPoint(id, 100, 0));
+        HotAccountBalances hotAccountBalances = new HotAccountBalances(userPointRepository, pointStatisticsService, List.of(id), 4, 60_000);
+        PointService hotPointService = pointService(hotAccountBalances);
+
+        // when
+        when(pointHistoryRepository.insert(eq(id), anyLong(), any(), anyLong()))
+                .thenThrow(new IllegalStateException("데이터베이스 기록에 실패했습니다."));
+
+        // then
+        // 내역을 기록하지 못한 충전/사용은 실패하고, shard 잔액은 바뀌지 않는지 검증
+        assertThatThrownBy(() -> hotPointService.chargePoint(id, 500))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("데이터베이스 기록에 실패했습니다.");
+        assertThatThrownBy(() -> hotPointService.usePoint(id, 60))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("데이터베이스 기록에 실패했습니다.");
+        assertThat(hotPointService.getPoint(id).point()).isEqualTo(100);
+        verify(pointStatisticsService, never()).record(any());
+        hotAccountBalances.close();
+    }
+
+    @Test
+    void 재배치_이전받은_내역_이어서_기록() {
+        // given
+        long id = 1L;
+        PointHistory charged = new PointHistory(1L, id, 500L, TransactionType.CHARGE, 10L);
+        PointHistory used = new PointHistory(7L, id, 200L, TransactionType.USE, 20L);
+        UserPointHandoff handoff = new UserPointHandoff(new UserPoint(id, 300L, 20L), List.of(charged, used));
+        // 예전에 이 노드가 담당할 때 기록한 내역 (id 는 노드마다 다르다)
+        when(pointHistoryRepository.selectAllByUserId(id))
+                .thenReturn(List.of(new PointHistory(3L, id, 500L, TransactionType.CHARGE, 10L)));
+        when(pointHistoryRepository.insertAll(List.of(used))).thenReturn(List.of(used));
+        when(userPointRepository.insertOrUpdate(id, 300L)).thenReturn(new UserPoint(id, 300L, 30L));
+
+        // when
+        UserPoint restored = pointService.importUser(handoff);
+
+        // then
+        // 남아 있던 내역 이후의 내역만 기록하고, 잔액은 이전받은 값으로 저장/공개하는지 검증
+        assertThat(restored.point()).isEqualTo(300L);
+        verify(pointHistoryRepository).insertAll(List.of(used));
+        verify(pointStatisticsService).record(used);
+        assertThat(pointService.getPoint(id).point()).isEqualTo(300L);
+        verify(userPointRepository, never()).selectById(id);
+    }
+
+    @Test
+    void 재배치_내역_불일치_거절() {
+        // given
+        long id = 1L;
+        UserPointHandoff handoff = new UserPointHandoff(new UserPoint(id, 500L, 10L),
+                List.of(new PointHistory(1L, id, 500L, TransactionType.CHARGE, 10L)));
+
+        // when
+        when(pointHistoryRepository.selectAllByUserId(id))
+                .thenReturn(List.of(new PointHistory(3L, id, 100L, TransactionType.CHARGE, 5L)));
+
+        // then
+        assertThatThrownBy(() -> pointService.importUser(handoff))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("이전받을 사용자의 내역이 현재 노드에 남아 있는 내역과 다릅니다.");
+        verify(pointHistoryRepository, never()).insertAll(anyList());
+        verify(userPointRepository, never()).insertOrUpdate(anyLong(), anyLong());
+    }
+}
@@ -0,0 +1,121 @@
+package io.hhplus.tdd.point.application;
+
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.PointHistoryRepository;
+import io.hhplus.tdd.point.domain.PointStatistics;
+import io.hhplus.tdd.point.domain.TransactionType;
+import io.hhplus.tdd.util.LockManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 1. 처음 조회할 때 기존 내역으로 종류별/일별/월별 집계를 만드는지 검증
+ * 2. 집계를 만든 뒤 기록된 내역은 내역을 다시 읽지 않고 집계에 더해지는지 검증
+ * 3. 백필이 여러 사용자의 집계를 만들고, 이미 집계가 있는 사용자는 건너뛰는지 검증
+ */
+class PointStatisticsServiceTest {
+
+    private static final ZoneId ZONE = ZoneId.of("Asia/Seoul");
+
+    private PointStatisticsService pointStatisticsService;
+
+    @Mock
+    private PointHistoryRepository pointHistoryRepository;
+
+    @Mock
+    private LockManager lockManager;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        pointStatisticsService = new PointStatisticsService(
+                pointHistoryRepository, new LockingPointCommandExecutor(lockManager), "Asia/Seoul", 90, 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pointStatisticsService.close();
+    }
+
+    @Test
+    void 기존_내역_집계() {
+        // given
+        long id = 1L;
+        when(pointHistoryRepository.selectAllByUserId(id)).thenReturn(List.of(
+                new PointHistory(1, id, 1000, TransactionType.CHARGE, millis(2024, 1, 31)),
+                new PointHistory(2, id, 300, TransactionType.USE, millis(2024, 1, 31)),
+                new PointHistory(3, id, 500, TransactionType.CHARGE, millis(2024, 2, 1))
+        ));
+
+        // when
+        PointStatistics statistics = pointStatisticsService.getStatistics(id);
+
+        // then
+        assertThat(statistics.totals().get(TransactionType.CHARGE)).isEqualTo(new PointStatistics.Total(2, 1500));
+        assertThat(statistics.totals().get(TransactionType.USE)).isEqualTo(new PointStatistics.Total(1, 300));
+        assertThat(statistics.daily()).extracting(PointStatistics.Bucket::period)
+                                      .containsExactly("2024-01-31", "2024-02-01");
+        assertThat(statistics.monthly()).extracting(PointStatistics.Bucket::period)
+                                        .containsExactly("2024-01", "2024-02");
+        assertThat(statistics.monthly().get(0).totals().get(TransactionType.USE).amount()).isEqualTo(300);
+    }
+
+    @Test
+    void 기록된_내역_증분_집계() {
+        // given
+        long id = 1L;
+        when(pointHistoryRepository.selectAllByUserId(id)).thenReturn(List.of(
+                new PointHistory(1, id, 1000, TransactionType.CHARGE, millis(2024, 1, 31))
+        ));
+        pointStatisticsService.getStatistics(id);
+
+        // when
+        pointStatisticsService.record(new PointHistory(2, id, 200, TransactionType.USE, millis(2024, 2, 1)));
+        // 집계가 없는 사용자의 내역은 기록하지 않는다.
+        pointStatisticsService.record(new PointHistory(3, 2L, 200, TransactionType.USE, millis(2024, 2, 1)));
+        PointStatistics statistics = pointStatisticsService.getStatistics(id);
+
+        // then
+        assertThat(statistics.totals().get(TransactionType.USE)).isEqualTo(new PointStatistics.Total(1, 200));
+        assertThat(statistics.daily()).hasSize(2);
+        verify(pointHistoryRepository, times(1)).selectAllByUserId(id);
+    }
+
+    @Test
+    void 병렬_백필() {
+        // given
+        when(pointHistoryRepository.selectAllByUserId(anyLong())).thenAnswer(invocation -> List.of(
+                new PointHistory(1, invocation.getArgument(0), 100, TransactionType.CHARGE, millis(2024, 1, 1))
+        ));
+        List<Long> userIds = LongStream.rangeClosed(1, 100).boxed().toList();
+
+        // when
+        int first = pointStatisticsService.backfill(userIds);
+        int second = pointStatisticsService.backfill(userIds);
+
+        // then
+        assertThat(first).isEqualTo(100);
+        assertThat(second).isZero();
+        assertThat(pointStatisticsService.getStatistics(100L).totals().get(TransactionType.CHARGE).amount())
+                .isEqualTo(100);
+        verify(pointHistoryRepository, times(100)).selectAllByUserId(anyLong());
+    }
+
+    private static long millis(int year, int month, int day) {
+        return LocalDateTime.of(year, month, day, 12, 0).atZone(ZONE).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,69 @@
+package io.hhplus.tdd.point.application;
+
+import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.util.LockManager;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 많은 사용자가 한 사용자에게 동시에 이체할 때
+ * 1) 모든 이체가 한 번씩만 처리되는지 검증
+ * 2) 받는 사용자 기준으로 묶여서, 이체 수보다 적은 횟수로 처리되는지 검증 (fan-in)
+ */
+class PointTransferBatcherTest {
+
+    @Test
+    void 같은_사용자에게_보내는_이체_묶음_처리() throws Exception {
+        // given
+        int count = 200;
+        long merchantId = 100_000L;
+        LockManager lockManager = new LockManager(1024, 10_000, new SimpleMeterRegistry());
+        PointTransferBatcher batcher = new PointTransferBatcher(new LockingPointCommandExecutor(lockManager), 16, 64, 10_000);
+        AtomicInteger batches = new AtomicInteger();
+        AtomicInteger applied = new AtomicInteger();
+        PointTransferHandler handler = transfers -> {
+            batches.incrementAndGet();
+            sleep();
+            List<PointCommandResult> results = new ArrayList<>();
+            for (PointTransfer transfer : transfers) {
+                applied.incrementAndGet();
+                results.add(PointCommandResult.success(new UserPoint(transfer.fromUserId(), 0, 0)));
+            }
+            return results;
+        };
+        ExecutorService threads = Executors.newFixedThreadPool(count);
+
+        // when
+        List<CompletableFuture<UserPoint>> futures = IntStream.range(0, count)
+                .mapToObj(i -> CompletableFuture.supplyAsync(
+                        () -> batcher.submit(new PointTransfer(i + 1, merchantId, 10), handler), threads)
+                        .thenCompose(future -> future))
+                .toList();
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(30, TimeUnit.SECONDS);
+        threads.shutdown();
+
+        // then
+        assertThat(futures).allSatisfy(future -> assertThat(future).isCompleted());
+        assertThat(applied.get()).isEqualTo(count);
+        assertThat(batches.get()).isLessThan(count);
+    }
+
+    private static void sleep() {
+        try {
+            TimeUnit.MILLISECONDS.sleep(5);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
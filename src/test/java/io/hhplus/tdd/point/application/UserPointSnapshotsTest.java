@@ -0,0 +1,92 @@
+package io.hhplus.tdd.point.application;
+
+import io.hhplus.tdd.point.domain.UserPoint;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 잔액 조회용 snapshot 검증
+ * 1) 저장소에서 읽은 값은 쓰기로 공개된 값을 덮어쓰지 않는지
+ * 2) 쓰기가 공개된 이후의 조회는 항상 그 이후의 값을 읽는지 (version 이 감소하지 않음)
+ * 3) 최대 개수를 넘으면 최근에 조회되지 않은 사용자부터 제거되는지
+ * 4) 저장소 조회 도중 제거가 있었다면 조회한 값을 남기지 않는지 (제거된 쓰기 값보다 오래되었을 수 있음)
+ */
+class UserPointSnapshotsTest {
+
+    @Test
+    void 조회_값이_쓰기_값을_덮어쓰지_않음() {
+        // given
+        UserPointSnapshots snapshots = new UserPointSnapshots(100);
+        snapshots.publish(new UserPoint(1L, 1000, 0));
+
+        // when
+        UserPointSnapshots.Snapshot filled = snapshots.fill(new UserPoint(1L, 0, 0), snapshots.stamp());
+
+        // then
+        assertThat(filled.userPoint().point()).isEqualTo(1000);
+        assertThat(snapshots.get(1L).version()).isEqualTo(1);
+        assertThat(snapshots.get(2L)).isNull();
+    }
+
+    @Test
+    void 공개된_쓰기_이후_조회() {
+        // given
+        UserPointSnapshots snapshots = new UserPointSnapshots(100);
+        snapshots.fill(new UserPoint(1L, 0, 0), snapshots.stamp());
+
+        // when
+        CompletableFuture<Void> writer = CompletableFuture.runAsync(() -> {
+            for (long point = 1; point <= 100_000; point++) {
+                snapshots.publish(new UserPoint(1L, point, 0));
+            }
+        });
+
+        // then
+        long lastVersion = 0;
+        while (!writer.isDone()) {
+            UserPointSnapshots.Snapshot snapshot = snapshots.get(1L);
+            assertThat(snapshot.version()).isGreaterThanOrEqualTo(lastVersion);
+            assertThat(snapshot.userPoint().point()).isEqualTo(snapshot.version());
+            lastVersion = snapshot.version();
+        }
+        writer.join();
+        assertThat(snapshots.get(1L).userPoint().point()).isEqualTo(100_000);
+    }
+
+    @Test
+    void 최대_개수_초과_시_제거() {
+        // given
+        UserPointSnapshots snapshots = new UserPointSnapshots(3);
+        for (long id = 1; id <= 4; id++) {
+            snapshots.publish(new UserPoint(id, id * 100, 0));
+        }
+        snapshots.get(2L);
+
+        // when
+        snapshots.publish(new UserPoint(5L, 500, 0));
+
+        // then
+        assertThat(snapshots.size()).isEqualTo(3);
+        assertThat(snapshots.get(2L).userPoint().point()).isEqualTo(200);
+        assertThat(snapshots.get(5L).userPoint().point()).isEqualTo(500);
+    }
+
+    @Test
+    void 조회_도중_제거되면_채우지_않음() {
+        // given
+        UserPointSnapshots snapshots = new UserPointSnapshots(1);
+        long stamp = snapshots.stamp();
+        snapshots.publish(new UserPoint(1L, 1000, 0));
+        snapshots.publish(new UserPoint(2L, 2000, 0));
+
+        // when
+        UserPointSnapshots.Snapshot filled = snapshots.fill(new UserPoint(1L, 0, 0), stamp);
+
+        // then
+        assertThat(filled.userPoint().point()).isZero();
+        assertThat(snapshots.get(1L)).isNull();
+    }
+}
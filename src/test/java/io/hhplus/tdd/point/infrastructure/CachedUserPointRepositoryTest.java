@@ -0,0 +1,176 @@
+package io.hhplus.tdd.point.infrastructure;
+
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.domain.UserPoint;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 1) 캐시 적중 시 테이블을 조회하지 않는지 검증
+ * 2) 같은 사용자의 여러 갱신이 한 번의 테이블 반영으로 병합되는지 verify 로 검증
+ * 3) 종료 시 반영되지 않은 값이 모두 flush 되는지 검증
+ * 4) 함께 저장한 잔액이 flush 도중 나뉘어 반영되지 않는지 (flush 중에 저장한 이체는 두 사용자 모두 다음 flush 에 반영)
+ * 5) 느린 조회 도중 갱신 → flush → 제거가 일어나도, 조회가 끝난 뒤 갱신 전 값이 캐시에 남지 않는지 검증
+ */
+class CachedUserPointRepositoryTest {
+
+    private CachedUserPointRepository repository;
+
+    @Mock
+    private UserPointTable userPointTable;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        // 자동 flush 가 검증에 끼어들지 않도록 주기를 길게 잡는다.
+        repository = new CachedUserPointRepository(userPointTable, 100, 60_000);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        repository.close();
+    }
+
+    @Test
+    void 캐시_적중_시_테이블_미조회() {
+        // given
+        long id = 1L;
+        when(userPointTable.selectById(id)).thenReturn(new UserPoint(id, 500, 0));
+
+        // when
+        repository.selectById(id);
+        UserPoint userPoint = repository.selectById(id);
+
+        // then
+        assertThat(userPoint.point()).isEqualTo(500);
+        verify(userPointTable, times(1)).selectById(id);
+    }
+
+    @Test
+    void 갱신_후_조회() {
+        // given
+        long id = 1L;
+
+        // when
+        repository.insertOrUpdate(id, 1000);
+
+        // then
+        assertThat(repository.selectById(id).point()).isEqualTo(1000);
+        verify(userPointTable, never()).selectById(anyLong());
+        verify(userPointTable, never()).insertOrUpdate(anyLong(), anyLong());
+    }
+
+    @Test
+    void 중복_갱신_병합() {
+        // given
+        long id = 1L;
+        repository.insertOrUpdate(id, 100);
+        repository.insertOrUpdate(id, 200);
+        repository.insertOrUpdate(id, 300);
+
+        // when
+        repository.flush();
+
+        // then
+        verify(userPointTable, times(1)).insertOrUpdate(anyLong(), anyLong());
+        verify(userPointTable).insertOrUpdate(id, 300);
+        assertThat(repository.pendingCount()).isZero();
+    }
+
+    @Test
+    void 종료_시_flush() throws InterruptedException {
+        // given
+        repository.insertOrUpdate(1L, 100);
+        repository.insertOrUpdate(2L, 200);
+
+        // when
+        repository.close();
+
+        // then
+        verify(userPointTable).insertOrUpdate(1L, 100);
+        verify(userPointTable).insertOrUpdate(2L, 200);
+    }
+
+    @Test
+    void 일괄_저장_같은_flush_반영() throws InterruptedException {
+        // given
+        repository.insertOrUpdateAll(orderedAmounts(1_000, 0));
+        Map<Long, Long> table = new ConcurrentHashMap<>();
+        CountDownLatch flushing = new CountDownLatch(1);
+        CountDownLatch resume = new CountDownLatch(1);
+        when(userPointTable.insertOrUpdate(anyLong(), anyLong())).thenAnswer(invocation -> {
+            // 첫 사용자를 반영하는 동안 다음 이체가 저장되도록 한다.
+            flushing.countDown();
+            resume.await();
+            long id = invocation.getArgument(0);
+            long amount = invocation.getArgument(1);
+            table.put(id, amount);
+            return new UserPoint(id, amount, 0);
+        });
+
+        // when
+        CompletableFuture<Void> flush = CompletableFuture.runAsync(repository::flush);
+        flushing.await();
+        repository.insertOrUpdateAll(orderedAmounts(0, 1_000));
+        resume.countDown();
+        flush.join();
+
+        // then
+        assertThat(table.get(1L) + table.get(2L)).isEqualTo(1_000);
+        repository.flush();
+        assertThat(table).containsEntry(1L, 0L).containsEntry(2L, 1_000L);
+    }
+
+    @Test
+    void 조회_중_갱신_flush_제거_후_이전값_미적재() throws InterruptedException {
+        // given
+        CachedUserPointRepository evicting = new CachedUserPointRepository(userPointTable, 0, 60_000);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch resume = new CountDownLatch(1);
+        when(userPointTable.selectById(1L)).thenAnswer(invocation -> {
+            // 갱신 전 값을 읽은 채로 멈춘다.
+            loading.countDown();
+            resume.await();
+            return new UserPoint(1L, 0, 0);
+        });
+
+        try {
+            // when
+            CompletableFuture<UserPoint> load = CompletableFuture.supplyAsync(() -> evicting.selectById(1L));
+            loading.await();
+            evicting.insertOrUpdate(1L, 500);
+            evicting.flush();
+            evicting.evict();
+            resume.countDown();
+            load.join();
+
+            // then
+            assertThat(evicting.selectById(1L).point()).isEqualTo(500);
+        } finally {
+            evicting.close();
+        }
+    }
+
+    private static Map<Long, Long> orderedAmounts(long first, long second) {
+        Map<Long, Long> amounts = new LinkedHashMap<>();
+        amounts.put(1L, first);
+        amounts.put(2L, second);
+        return amounts;
+    }
+}
@@ -0,0 +1,96 @@
+package io.hhplus.tdd.point.infrastructure;
+
+import io.hhplus.tdd.point.domain.TransactionType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 내역 로그를 누적해 잔액을 구하는 저장소 검증
+ * 1) 내역이 기록되는 즉시 잔액에 반영되는지
+ * 2) 잔액 저장 전에 중단되어도 재시작 시 내역으로 잔액이 복구되는지
+ * 3) snapshot 이후의 내역만 다시 누적해도 같은 잔액이 되는지
+ */
+class EventSourcedUserPointRepositoryTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void 내역_누적_잔액() throws Exception {
+        // given
+        SegmentedPointHistoryRepository historyRepository = historyRepository();
+        EventSourcedUserPointRepository repository = repository(historyRepository);
+
+        // when
+        historyRepository.insert(1L, 1000, TransactionType.CHARGE, 1);
+        historyRepository.insert(1L, 300, TransactionType.USE, 2);
+        historyRepository.insert(2L, 500, TransactionType.CHARGE, 3);
+
+        // then
+        assertThat(repository.selectById(1L).point()).isEqualTo(700);
+        assertThat(repository.selectById(1L).updateMillis()).isEqualTo(2);
+        assertThat(repository.insertOrUpdate(2L, 500).point()).isEqualTo(500);
+        assertThat(repository.selectById(3L).point()).isZero();
+        repository.close();
+        historyRepository.close();
+    }
+
+    @Test
+    void 잔액_저장_전_중단_후_복구() throws Exception {
+        // given
+        SegmentedPointHistoryRepository historyRepository = historyRepository();
+        repository(historyRepository);
+        historyRepository.insert(1L, 1000, TransactionType.CHARGE, 1);
+        historyRepository.insert(1L, 400, TransactionType.USE, 2);
+        // snapshot 없이 중단된 상황 (잔액 저장소를 닫지 않는다)
+        historyRepository.close();
+
+        // when
+        SegmentedPointHistoryRepository reopenedHistory = historyRepository();
+        EventSourcedUserPointRepository reopened = repository(reopenedHistory);
+
+        // then
+        assertThat(reopened.selectById(1L).point()).isEqualTo(600);
+        reopened.close();
+        reopenedHistory.close();
+    }
+
+    @Test
+    void snapshot_이후_내역_재누적() throws Exception {
+        // given
+        SegmentedPointHistoryRepository historyRepository = historyRepository();
+        EventSourcedUserPointRepository repository = repository(historyRepository);
+        for (long userId = 1; userId <= 20; userId++) {
+            historyRepository.insert(userId, 1000, TransactionType.CHARGE, userId);
+        }
+        repository.snapshot();
+        for (long userId = 1; userId <= 20; userId++) {
+            historyRepository.insert(userId, userId, TransactionType.USE, userId);
+        }
+        historyRepository.close();
+
+        // when
+        SegmentedPointHistoryRepository reopenedHistory = historyRepository();
+        EventSourcedUserPointRepository reopened = repository(reopenedHistory);
+
+        // then
+        for (long userId = 1; userId <= 20; userId++) {
+            assertThat(reopened.selectById(userId).point()).isEqualTo(1000 - userId);
+        }
+        reopened.close();
+        reopenedHistory.close();
+    }
+
+    private SegmentedPointHistoryRepository historyRepository() throws Exception {
+        return new SegmentedPointHistoryRepository(tempDir.resolve("history-log"), 8, 0, 0);
+    }
+
+    private EventSourcedUserPointRepository repository(SegmentedPointHistoryRepository historyRepository)
+            throws Exception {
+        return new EventSourcedUserPointRepository(historyRepository, tempDir.resolve("user-point.snapshot"), 60_000);
+    }
+}
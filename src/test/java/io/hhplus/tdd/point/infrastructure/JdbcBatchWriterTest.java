@@ -0,0 +1,84 @@
+package io.hhplus.tdd.point.infrastructure;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 1) commit 이 실패하면 연결을 버리고, 다음 batch 는 새 연결에서 상태를 다시 읽은 뒤 기록하는지 verify 로 검증
+ * 2) 기록이 실패해도 rollback 에 성공하면 같은 연결을 계속 사용하는지 verify 로 검증
+ */
+class JdbcBatchWriterTest {
+
+    @Mock
+    private JdbcConnections connections;
+
+    @Mock
+    private JdbcBatchWriter.BatchHandler<String, String> handler;
+
+    @Mock
+    private Connection broken;
+
+    @Mock
+    private Connection fresh;
+
+    private JdbcBatchWriter<String, String> batchWriter;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        MockitoAnnotations.openMocks(this);
+        when(handler.write(any(Connection.class), anyList())).thenAnswer(invocation -> invocation.getArgument(1));
+        batchWriter = new JdbcBatchWriter<>(connections, 16, handler);
+    }
+
+    @Test
+    void commit_실패_시_다시_연결() throws SQLException {
+        // given
+        when(connections.writer()).thenReturn(broken, fresh);
+        doThrow(new SQLException("connection reset")).when(broken).commit();
+
+        // when
+        assertThatThrownBy(() -> batchWriter.write("a")).isInstanceOf(IllegalStateException.class);
+        String written = batchWriter.write("b");
+
+        // then
+        assertThat(written).isEqualTo("b");
+        verify(connections).discardWriter();
+        verify(handler).rollback();
+        verify(handler).reload(fresh);
+        verify(fresh).commit();
+    }
+
+    @Test
+    void 기록_실패_후_rollback_성공_시_연결_유지() throws SQLException {
+        // given
+        when(connections.writer()).thenReturn(fresh);
+        when(handler.write(any(Connection.class), anyList()))
+                .thenThrow(new SQLException("duplicate key"))
+                .thenAnswer(invocation -> invocation.getArgument(1));
+
+        // when
+        assertThatThrownBy(() -> batchWriter.write("a")).isInstanceOf(IllegalStateException.class);
+        String written = batchWriter.write("b");
+
+        // then
+        assertThat(written).isEqualTo("b");
+        verify(fresh).rollback();
+        verify(connections, never()).discardWriter();
+        verify(handler, never()).reload(any(Connection.class));
+    }
+}
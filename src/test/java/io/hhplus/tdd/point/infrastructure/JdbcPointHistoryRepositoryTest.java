@@ -0,0 +1,100 @@
+package io.hhplus.tdd.point.infrastructure;
+
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.PointHistorySearch;
+import io.hhplus.tdd.point.domain.TransactionType;
+import io.hhplus.tdd.point.domain.UserPoint;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 내장 H2 메모리 DB 를 사용하는 JDBC 저장소
+ * 1) 동시에 기록한 내역이 batch 로 묶여도 모두 id 순서대로 조회되는지 검증
+ * 2) 조회 조건(cursor, 기간, 건수)이 SQL 로 적용되는지 검증
+ * 3) 잔액 저장(MERGE) 후 조회와 다시 연결했을 때 이어서 id 를 발급하는지 검증
+ */
+class JdbcPointHistoryRepositoryTest {
+
+    private final String url = "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+    private final JdbcPointHistoryRepository repository = repository();
+
+    @AfterEach
+    void tearDown() {
+        repository.close();
+    }
+
+    private JdbcPointHistoryRepository repository() {
+        return new JdbcPointHistoryRepository(url, "sa", "", 4, 16, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void 동시_기록() {
+        // given
+        int count = 200;
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+
+        // when
+        try {
+            CompletableFuture.allOf(IntStream.range(0, count)
+                    .mapToObj(i -> CompletableFuture.runAsync(
+                            () -> repository.insert(i % 2 + 1, 10, TransactionType.CHARGE, i), executor))
+                    .toArray(CompletableFuture[]::new)).join();
+        } finally {
+            executor.shutdown();
+        }
+
+        // then
+        for (long userId = 1; userId <= 2; userId++) {
+            List<PointHistory> histories = repository.selectAllByUserId(userId);
+            assertThat(histories).hasSize(count / 2);
+            assertThat(histories).extracting(PointHistory::id).isSorted().doesNotHaveDuplicates();
+        }
+    }
+
+    @Test
+    void 조건_조회() {
+        // given
+        long userId = 1L;
+        for (int i = 0; i < 5; i++) {
+            repository.insert(userId, 100 + i, TransactionType.CHARGE, i * 10L);
+        }
+
+        // when
+        List<PointHistory> histories = repository.selectByUserId(userId, PointHistorySearch.of(1L, 2, 20L, 40L));
+
+        // then
+        assertThat(histories).extracting(PointHistory::amount).containsExactly(102L, 103L);
+    }
+
+    @Test
+    void 잔액_저장_및_id_이어서_발급() {
+        // given
+        JdbcUserPointRepository userPointRepository =
+                new JdbcUserPointRepository(url, "sa", "", 2, 16, new SimpleMeterRegistry());
+        PointHistory first = repository.insert(1L, 100, TransactionType.CHARGE, 0);
+
+        // when
+        userPointRepository.insertOrUpdate(1L, 100);
+        userPointRepository.insertOrUpdate(1L, 300);
+        PointHistory second;
+        try (JdbcPointHistoryRepository reopened = repository()) {
+            second = reopened.insert(1L, 200, TransactionType.CHARGE, 1);
+        }
+
+        // then
+        UserPoint userPoint = userPointRepository.selectById(1L);
+        userPointRepository.close();
+        assertThat(userPoint.point()).isEqualTo(300);
+        assertThat(second.id()).isEqualTo(first.id() + 1);
+    }
+}
@@ -0,0 +1,126 @@
+package io.hhplus.tdd.point.infrastructure;
+
+import io.hhplus.tdd.point.domain.UserPoint;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 메모리 매핑 파일 기반 잔액 저장소 검증
+ * 1) 같은 시작 위치로 충돌하는 사용자도 각자의 slot 에 저장되는지 (open addressing)
+ * 2) 다시 열었을 때 재구성 없이 기존 잔액과 저장된 사용자 id 가 조회되는지
+ * 3) 갱신 중에 잠금 없이 조회해도 완료된 갱신의 값만 보이는지 (seqlock)
+ * 4) slot 이 모두 찼을 때 예외가 발생하는지
+ * 5) 함께 저장하는 사용자의 slot 이 부족하면 아무 잔액도 바뀌지 않는지 (확보만 한 slot 은 저장된 사용자 id 에서 제외)
+ */
+class MappedUserPointRepositoryTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void 충돌_사용자_저장_조회() throws Exception {
+        // given
+        MappedUserPointRepository repository = new MappedUserPointRepository(tempDir.resolve("user-point.dat"), 16);
+
+        // when
+        for (long id = 1; id <= 12; id++) {
+            repository.insertOrUpdate(id, id * 100);
+        }
+
+        // then
+        for (long id = 1; id <= 12; id++) {
+            assertThat(repository.selectById(id).point()).isEqualTo(id * 100);
+        }
+        assertThat(repository.selectById(13L).point()).isZero();
+        repository.close();
+    }
+
+    @Test
+    void 재시작_후_조회() throws Exception {
+        // given
+        Path path = tempDir.resolve("user-point.dat");
+        MappedUserPointRepository repository = new MappedUserPointRepository(path, 1024);
+        UserPoint saved = repository.insertOrUpdate(1L, 1000);
+        repository.close();
+
+        // when
+        MappedUserPointRepository reopened = new MappedUserPointRepository(path, 16);
+
+        // then
+        // 이미 만들어진 파일의 용량을 그대로 사용한다.
+        assertThat(reopened.capacity()).isEqualTo(1024);
+        assertThat(reopened.selectById(1L)).isEqualTo(saved);
+        assertThat(reopened.selectAllIds()).containsExactly(1L);
+        reopened.close();
+    }
+
+    @Test
+    void 갱신_중_조회() throws Exception {
+        // given
+        MappedUserPointRepository repository = new MappedUserPointRepository(tempDir.resolve("user-point.dat"), 16);
+        repository.insertOrUpdate(1L, 0);
+        AtomicBoolean running = new AtomicBoolean(true);
+
+        // when
+        CompletableFuture<Void> writer = CompletableFuture.runAsync(() -> {
+            for (long amount = 1; amount <= 200_000; amount++) {
+                repository.insertOrUpdate(1L, amount);
+            }
+            running.set(false);
+        });
+
+        // then
+        // 잔액은 감소하지 않고, 조회한 값은 항상 완료된 갱신의 값이다.
+        long last = 0;
+        while (running.get()) {
+            long point = repository.selectById(1L).point();
+            assertThat(point).isGreaterThanOrEqualTo(last);
+            last = point;
+        }
+        writer.join();
+        assertThat(repository.selectById(1L).point()).isEqualTo(200_000);
+        repository.close();
+    }
+
+    @Test
+    void 저장_공간_부족() throws Exception {
+        // given
+        MappedUserPointRepository repository = new MappedUserPointRepository(tempDir.resolve("user-point.dat"), 2);
+        repository.insertOrUpdate(1L, 100);
+        repository.insertOrUpdate(2L, 200);
+
+        // when ~ then
+        assertThatThrownBy(() -> repository.insertOrUpdate(3L, 300))
+                .isInstanceOf(IllegalStateException.class);
+        repository.close();
+    }
+
+    @Test
+    void 일괄_저장_공간_부족_시_전부_취소() throws Exception {
+        // given
+        MappedUserPointRepository repository = new MappedUserPointRepository(tempDir.resolve("user-point.dat"), 2);
+        repository.insertOrUpdate(1L, 100);
+        Map<Long, Long> amounts = new LinkedHashMap<>();
+        amounts.put(1L, 500L);
+        amounts.put(2L, 100L);
+        amounts.put(3L, 100L);
+
+        // when
+        assertThatThrownBy(() -> repository.insertOrUpdateAll(amounts)).isInstanceOf(IllegalStateException.class);
+
+        // then
+        assertThat(repository.selectById(1L).point()).isEqualTo(100);
+        assertThat(repository.selectById(2L).point()).isZero();
+        assertThat(repository.selectAllIds()).containsExactly(1L);
+        repository.close();
+    }
+}
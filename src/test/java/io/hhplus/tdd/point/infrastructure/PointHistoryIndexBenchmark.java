@@ -0,0 +1,82 @@
+package io.hhplus.tdd.point.infrastructure;
+
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.TransactionType;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 전체 내역 수가 늘어나도 특정 사용자의 내역 조회 시간이 일정한지 측정
+ * - 비교 대상 : PointHistoryTable 과 같은 방식의 전체 목록 stream filter
+ * - 실행 : ./gradlew benchmark (-Dbenchmark.history.max-rows=20000000 으로 최대 내역 수 조정)
+ */
+@Tag("benchmark")
+class PointHistoryIndexBenchmark {
+
+    private static final long TARGET_USER_ID = 1L;
+    private static final int TARGET_USER_ROWS = 100;
+    private static final int USER_COUNT = 100_000;
+    private static final int LOOKUPS = 1_000;
+
+    @Test
+    void 전체_내역_증가에_따른_조회_시간() {
+        long maxRows = Long.getLong("benchmark.history.max-rows", 20_000_000L);
+        PointHistoryIndex index = new PointHistoryIndex();
+        List<PointHistory> table = new ArrayList<>();
+
+        long rows = 0;
+        for (long checkpoint = 1_000_000L; checkpoint <= maxRows; checkpoint *= 2) {
+            rows = fill(index, table, rows, checkpoint);
+
+            long indexNanos = measure(() -> index.selectAllByUserId(TARGET_USER_ID));
+            // 전체 목록 비교는 메모리 사용량 때문에 5,000,000 건까지만 측정한다.
+            long scanNanos = table.size() == rows ? measureScan(table) : -1;
+
+            System.out.printf("rows=%,d index=%,dns/op scan=%s%n",
+                    rows, indexNanos, scanNanos < 0 ? "skipped" : String.format("%,dns/op", scanNanos));
+            assertThat(index.size(TARGET_USER_ID)).isEqualTo(TARGET_USER_ROWS);
+        }
+    }
+
+    private long fill(PointHistoryIndex index, List<PointHistory> table, long from, long to) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long targetEvery = to / TARGET_USER_ROWS;
+        for (long id = from + 1; id <= to; id++) {
+            // 측정 대상 사용자의 내역은 처음 채울 때만 TARGET_USER_ROWS 건으로 고르게 분포시킨다.
+            long userId = from == 0 && id % targetEvery == 0
+                    ? TARGET_USER_ID
+                    : 2 + random.nextInt(USER_COUNT);
+            PointHistory pointHistory = new PointHistory(id, userId, 100, TransactionType.CHARGE, id);
+            index.add(pointHistory);
+            if (to <= 5_000_000) {
+                table.add(pointHistory);
+            }
+        }
+        return to;
+    }
+
+    private long measure(Runnable lookup) {
+        for (int i = 0; i < LOOKUPS; i++) {
+            lookup.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < LOOKUPS; i++) {
+            lookup.run();
+        }
+        return (System.nanoTime() - start) / LOOKUPS;
+    }
+
+    private long measureScan(List<PointHistory> table) {
+        long start = System.nanoTime();
+        for (int i = 0; i < 10; i++) {
+            table.stream().filter(pointHistory -> pointHistory.userId() == TARGET_USER_ID).toList();
+        }
+        return (System.nanoTime() - start) / 10;
+    }
+}
@@ -0,0 +1,97 @@
+package io.hhplus.tdd.point.infrastructure;
+
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.PointHistorySearch;
+import io.hhplus.tdd.point.domain.TransactionType;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 1) id 발급 순서와 다르게 추가된 내역(같은 사용자의 동시 기록)도 id 순서대로 조회되는지 검증
+ * 2) 늦게 추가된 내역도 cursor 조회에 포함되는지 검증
+ * 3) 순서가 바뀐 추가(복사본 교체)와 동시에 조회해도, 한 번 조회된 내역이 이후 조회에서 사라지지 않는지 검증
+ */
+class PointHistoryIndexTest {
+
+    @Test
+    void 순서가_바뀐_추가() {
+        // given
+        PointHistoryIndex index = new PointHistoryIndex();
+        List<PointHistory> histories = List.of(
+                history(1L), history(3L), history(2L), history(5L), history(4L),
+                history(6L), history(7L), history(9L), history(8L), history(10L));
+        List<PointHistory> before = List.of();
+
+        // when
+        for (PointHistory pointHistory : histories) {
+            if (pointHistory.id() == 9L) {
+                before = index.selectAllByUserId(1L);
+            }
+            index.add(pointHistory);
+        }
+
+        // then
+        assertThat(before).extracting(PointHistory::id).containsExactly(1L, 2L, 3L, 4L, 5L, 6L, 7L);
+        assertThat(index.selectAllByUserId(1L)).extracting(PointHistory::id)
+                                               .containsExactly(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L);
+        assertThat(index.selectByUserId(1L, PointHistorySearch.of(7L, 2, null, null)))
+                .extracting(PointHistory::id).containsExactly(8L, 9L);
+    }
+
+    @Test
+    void 순서가_바뀐_추가_중_동시_조회() {
+        // given
+        PointHistoryIndex index = new PointHistoryIndex();
+        int count = 20_000;
+        int readers = 4;
+        AtomicBoolean writing = new AtomicBoolean(true);
+        ExecutorService executor = Executors.newFixedThreadPool(readers + 1);
+
+        try {
+            // when
+            CompletableFuture<Void> writer = CompletableFuture.runAsync(() -> {
+                try {
+                    // 짝수 id 를 먼저 추가해 매번 자리를 비운 복사본으로 교체되도록 한다. (2, 1, 4, 3, ...)
+                    for (long id = 1; id < count; id += 2) {
+                        index.add(history(id + 1));
+                        index.add(history(id));
+                    }
+                } finally {
+                    writing.set(false);
+                }
+            }, executor);
+
+            // then
+            // 마지막으로 조회된 id 부터 끝까지 반복 조회하며, 이전에 조회된 마지막 id 가 계속 조회되는지 확인한다.
+            CompletableFuture.allOf(IntStream.range(0, readers).mapToObj(i -> CompletableFuture.runAsync(() -> {
+                long lastSeen = 0;
+                while (writing.get()) {
+                    List<PointHistory> tail = index.selectByUserId(1L,
+                            PointHistorySearch.of(Math.max(lastSeen - 1, 0), PointHistorySearch.MAX_LIMIT, null, null));
+                    if (lastSeen > 0) {
+                        assertThat(tail).extracting(PointHistory::id).isSorted().first().isEqualTo(lastSeen);
+                    }
+                    if (!tail.isEmpty()) {
+                        lastSeen = tail.get(tail.size() - 1).id();
+                    }
+                }
+            }, executor)).toArray(CompletableFuture[]::new)).join();
+            writer.join();
+            assertThat(index.selectAllByUserId(1L)).hasSize(count);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private PointHistory history(long id) {
+        return new PointHistory(id, 1L, id * 100, TransactionType.CHARGE, id);
+    }
+}
@@ -0,0 +1,170 @@
+package io.hhplus.tdd.point.infrastructure;
+
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.PointHistorySearch;
+import io.hhplus.tdd.point.domain.TransactionType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * segment 파일 로그 기반 내역 저장소 검증
+ * 1) segment 를 넘나들어도 사용자별 내역이 순서대로 조회되는지 (조회 조건 포함)
+ * 2) 재시작 후 로그에서 인덱스를 다시 만드는지
+ * 3) 기록 도중 중단된 마지막 레코드는 복구 시 버려지는지
+ * 4) 보관 segment 수를 넘으면 오래된 segment 와 해당 내역이 제거되는지
+ * 5) 같은 사용자의 내역이 동시에 기록되어도 모두 id 순서대로 조회되는지
+ * 6) 함께 기록하는 내역의 segment 를 만들지 못하면 일부만 기록하지 않고 모두 실패하는지
+ */
+class SegmentedPointHistoryRepositoryTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void segment_를_넘는_내역_조회() throws Exception {
+        // given
+        SegmentedPointHistoryRepository repository = new SegmentedPointHistoryRepository(tempDir, 4, 10, 0);
+
+        // when
+        for (int i = 1; i <= 10; i++) {
+            repository.insert(i % 2 == 0 ? 2L : 1L, i * 100, TransactionType.CHARGE, i);
+        }
+
+        // then
+        assertThat(repository.selectAllByUserId(1L)).extracting(PointHistory::id).containsExactly(1L, 3L, 5L, 7L, 9L);
+        assertThat(repository.selectByUserId(1L, PointHistorySearch.of(3L, 2, null, null)))
+                .extracting(PointHistory::id).containsExactly(5L, 7L);
+        assertThat(repository.selectByUserId(2L, PointHistorySearch.of(null, null, 4L, 8L)))
+                .extracting(PointHistory::amount).containsExactly(400L, 600L, 800L);
+        repository.close();
+    }
+
+    @Test
+    void 재시작_후_인덱스_복구() throws Exception {
+        // given
+        SegmentedPointHistoryRepository repository = new SegmentedPointHistoryRepository(tempDir, 4, 0, 0);
+        for (int i = 1; i <= 6; i++) {
+            repository.insert(1L, i, TransactionType.CHARGE, i);
+        }
+        repository.close();
+
+        // when
+        SegmentedPointHistoryRepository reopened = new SegmentedPointHistoryRepository(tempDir, 4, 0, 0);
+        PointHistory inserted = reopened.insert(1L, 7, TransactionType.USE, 7);
+
+        // then
+        assertThat(inserted.id()).isEqualTo(7L);
+        assertThat(reopened.selectAllByUserId(1L)).extracting(PointHistory::amount)
+                                                  .containsExactly(1L, 2L, 3L, 4L, 5L, 6L, 7L);
+        reopened.close();
+    }
+
+    @Test
+    void 중단된_레코드_복구() throws Exception {
+        // given
+        SegmentedPointHistoryRepository repository = new SegmentedPointHistoryRepository(tempDir, 4, 0, 0);
+        for (int i = 1; i <= 3; i++) {
+            repository.insert(1L, i, TransactionType.CHARGE, i);
+        }
+        repository.close();
+        // 마지막 레코드(id = 3)의 amount 일부만 기록된 상태를 만든다.
+        try (RandomAccessFile file = new RandomAccessFile(tempDir.resolve(String.format("%020d.seg", 0)).toFile(), "rw")) {
+            file.seek(2L * PointHistoryLog.RECORD_SIZE + 16);
+            file.writeByte(0x7F);
+        }
+
+        // when
+        SegmentedPointHistoryRepository reopened = new SegmentedPointHistoryRepository(tempDir, 4, 0, 0);
+
+        // then
+        assertThat(reopened.selectAllByUserId(1L)).extracting(PointHistory::id).containsExactly(1L, 2L);
+        assertThat(reopened.insert(1L, 30, TransactionType.CHARGE, 3).id()).isEqualTo(3L);
+        reopened.close();
+    }
+
+    @Test
+    void 보관_segment_초과_삭제() throws Exception {
+        // given
+        SegmentedPointHistoryRepository repository = new SegmentedPointHistoryRepository(tempDir, 2, 10, 2);
+
+        // when
+        for (int i = 1; i <= 8; i++) {
+            repository.insert(i <= 4 ? 1L : 2L, i, TransactionType.CHARGE, i);
+        }
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (segmentCount() > 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        // then
+        assertThat(segmentCount()).isEqualTo(2);
+        assertThat(repository.selectAllByUserId(1L)).isEmpty();
+        assertThat(repository.selectAllByUserId(2L)).extracting(PointHistory::id).containsExactly(5L, 6L, 7L, 8L);
+        repository.close();
+    }
+
+    @Test
+    void 같은_사용자_동시_기록() throws Exception {
+        // given
+        SegmentedPointHistoryRepository repository = new SegmentedPointHistoryRepository(tempDir, 64, 10, 0);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // when
+        try {
+            CompletableFuture.allOf(IntStream.range(0, 1000)
+                    .mapToObj(i -> CompletableFuture.runAsync(
+                            () -> repository.insert(1L, 10, TransactionType.CHARGE, i), executor))
+                    .toArray(CompletableFuture[]::new)).join();
+        } finally {
+            executor.shutdown();
+        }
+
+        // then
+        assertThat(repository.selectAllByUserId(1L)).extracting(PointHistory::id)
+                                                    .containsExactlyElementsOf(LongStream.rangeClosed(1, 1000).boxed().toList());
+        repository.close();
+    }
+
+    private long segmentCount() throws Exception {
+        try (Stream<Path> files = Files.list(tempDir)) {
+            return files.filter(path -> path.toString().endsWith(".seg")).count();
+        }
+    }
+
+    @Test
+    void 일괄_기록_실패_시_전부_취소() throws Exception {
+        // given
+        SegmentedPointHistoryRepository repository = new SegmentedPointHistoryRepository(tempDir, 2, 0, 0);
+        repository.insert(1L, 1000, TransactionType.CHARGE, 0);
+        // 다음 segment 파일 자리에 디렉터리를 만들어 segment 생성을 실패시킨다.
+        Files.createDirectory(tempDir.resolve(String.format("%020d.seg", 1)));
+        List<PointHistory> transfer = List.of(
+                new PointHistory(0, 1L, 100, TransactionType.TRANSFER_OUT, 1),
+                new PointHistory(0, 2L, 100, TransactionType.TRANSFER_IN, 1),
+                new PointHistory(0, 1L, 200, TransactionType.TRANSFER_OUT, 1));
+
+        // when
+        assertThatThrownBy(() -> repository.insertAll(transfer)).isInstanceOf(RuntimeException.class);
+        PointHistory next = repository.insert(1L, 300, TransactionType.CHARGE, 2);
+
+        // then
+        assertThat(repository.selectAllByUserId(1L)).extracting(PointHistory::amount).containsExactly(1000L, 300L);
+        assertThat(repository.selectAllByUserId(2L)).isEmpty();
+        assertThat(next.id()).isEqualTo(2L);
+        repository.close();
+    }
+}
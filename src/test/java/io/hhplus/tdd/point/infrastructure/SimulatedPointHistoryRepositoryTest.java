@@ -0,0 +1,85 @@
+package io.hhplus.tdd.point.infrastructure;
+
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.PointHistorySearch;
+import io.hhplus.tdd.point.domain.TransactionType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 1) 지연 중인 기록이 동시에 들어와도 사용자별 내역이 id 순서대로 모두 조회되는지 검증
+ * 2) 조회 조건(cursor, 건수)이 인덱스에 적용되는지 검증
+ * 3) 페이지 조회가 앞 페이지의 마지막 id 이후부터 이어서 조회하는지 검증
+ */
+class SimulatedPointHistoryRepositoryTest {
+
+    private final SimulatedPointHistoryRepository repository = new SimulatedPointHistoryRepository(
+            new StorageLatencyModel("uniform", 1, 5, 0, 0, 0, 0), new SimpleMeterRegistry());
+
+    @Test
+    void 동시_기록() {
+        // given
+        long userId = 1L;
+        int count = 100;
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+
+        // when
+        try {
+            CompletableFuture.allOf(IntStream.range(0, count)
+                    .mapToObj(i -> CompletableFuture.runAsync(
+                            () -> repository.insert(userId, 10, TransactionType.CHARGE, System.currentTimeMillis()),
+                            executor))
+                    .toArray(CompletableFuture[]::new)).join();
+        } finally {
+            executor.shutdown();
+        }
+
+        // then
+        List<PointHistory> histories = repository.selectAllByUserId(userId);
+        assertThat(histories).hasSize(count);
+        assertThat(histories).extracting(PointHistory::id).isSorted().doesNotHaveDuplicates();
+    }
+
+    @Test
+    void 조건_조회() {
+        // given
+        long userId = 1L;
+        for (int i = 0; i < 5; i++) {
+            repository.insert(userId, 100 + i, TransactionType.CHARGE, i);
+        }
+        repository.insert(2L, 999, TransactionType.CHARGE, 0);
+
+        // when
+        List<PointHistory> histories = repository.selectByUserId(userId, PointHistorySearch.of(2L, 2, null, null));
+
+        // then
+        assertThat(histories).extracting(PointHistory::amount).containsExactly(102L, 103L);
+    }
+
+    @Test
+    void 페이지_조회() {
+        // given
+        long userId = 1L;
+        for (int i = 0; i < 5; i++) {
+            repository.insert(userId, 100 + i, TransactionType.CHARGE, i);
+        }
+
+        // when
+        List<List<PointHistory>> pages = new ArrayList<>();
+        repository.selectPagesByUserId(userId, PointHistorySearch.of(null, 2, null, null)).forEachRemaining(pages::add);
+
+        // then
+        assertThat(pages).extracting(List::size).containsExactly(2, 2, 1);
+        assertThat(pages.stream().flatMap(List::stream)).extracting(PointHistory::amount)
+                                                        .containsExactly(100L, 101L, 102L, 103L, 104L);
+    }
+}
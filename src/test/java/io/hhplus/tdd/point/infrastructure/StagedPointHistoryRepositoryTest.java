@@ -0,0 +1,142 @@
+package io.hhplus.tdd.point.infrastructure;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.TransactionType;
+import io.hhplus.tdd.util.TooManyRequestsException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 실제 PointHistoryTable 을 사용해 스테이징 로그 기반 저장소를 검증
+ * 1) 반영 전에도 조회 시 방금 기록한 내역이 순서대로 보이는지 (read-your-writes)
+ * 2) drainer 가 모든 내역을 테이블에 반영하는지
+ * 3) 반영 대기 내역이 한도에 도달하면 새 기록을 거절하고, 이미 받은 내역은 모두 반영하는지 (checkpoint 임시 파일이 남지 않는지 포함)
+ * 4) 함께 기록한 내역이 한도를 넘으면 일부만 기록하지 않고 모두 거절하는지
+ */
+class StagedPointHistoryRepositoryTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void 반영_전_내역_조회() throws Exception {
+        // given
+        PointHistoryTable pointHistoryTable = new PointHistoryTable();
+        StagedPointHistoryRepository repository =
+                new StagedPointHistoryRepository(pointHistoryTable, tempDir.resolve("staging.log"), false, 100);
+
+        // when
+        repository.insert(1L, 1000, TransactionType.CHARGE, 0);
+        repository.insert(2L, 500, TransactionType.CHARGE, 0);
+        repository.insert(1L, 300, TransactionType.USE, 0);
+        List<PointHistory> histories = repository.selectAllByUserId(1L);
+
+        // then
+        assertThat(histories).extracting(PointHistory::id).containsExactly(1L, 3L);
+        assertThat(histories).extracting(PointHistory::type).containsExactly(TransactionType.CHARGE, TransactionType.USE);
+
+        repository.close();
+    }
+
+    @Test
+    void 종료_시_테이블_반영() throws Exception {
+        // given
+        PointHistoryTable pointHistoryTable = new PointHistoryTable();
+        StagedPointHistoryRepository repository =
+                new StagedPointHistoryRepository(pointHistoryTable, tempDir.resolve("staging.log"), false, 100);
+        repository.insert(1L, 1000, TransactionType.CHARGE, 0);
+        repository.insert(1L, 300, TransactionType.USE, 0);
+
+        // when
+        repository.close();
+
+        // then
+        assertThat(repository.pendingCount()).isZero();
+        assertThat(pointHistoryTable.selectAllByUserId(1L))
+                .extracting(PointHistory::amount)
+                .containsExactly(1000L, 300L);
+    }
+
+    @Test
+    void 반영_대기_한도_초과_거절() throws Exception {
+        // given
+        CountDownLatch release = new CountDownLatch(1);
+        PointHistoryTable pointHistoryTable = new PointHistoryTable() {
+            @Override
+            public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.insert(userId, amount, type, updateMillis);
+            }
+        };
+        StagedPointHistoryRepository repository =
+                new StagedPointHistoryRepository(pointHistoryTable, tempDir.resolve("staging.log"), false, 1);
+        repository.insert(1L, 1000, TransactionType.CHARGE, 0);
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (repository.pendingCount() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        // when
+        repository.insert(1L, 300, TransactionType.USE, 0);
+
+        // then
+        assertThatThrownBy(() -> repository.insert(1L, 100, TransactionType.USE, 0))
+                .isInstanceOf(TooManyRequestsException.class);
+        release.countDown();
+        repository.close();
+        assertThat(pointHistoryTable.selectAllByUserId(1L))
+                .extracting(PointHistory::amount)
+                .containsExactly(1000L, 300L);
+        assertThat(tempDir.resolve("staging.log.checkpoint.tmp")).doesNotExist();
+    }
+
+    @Test
+    void 일괄_기록_한도_초과_시_전부_거절() throws Exception {
+        // given
+        CountDownLatch release = new CountDownLatch(1);
+        PointHistoryTable pointHistoryTable = new PointHistoryTable() {
+            @Override
+            public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.insert(userId, amount, type, updateMillis);
+            }
+        };
+        StagedPointHistoryRepository repository =
+                new StagedPointHistoryRepository(pointHistoryTable, tempDir.resolve("staging.log"), false, 3);
+        repository.insert(1L, 1000, TransactionType.CHARGE, 0);
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (repository.pendingCount() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        PointHistory transfer = new PointHistory(0, 1L, 100, TransactionType.TRANSFER_OUT, 0);
+
+        // when
+        assertThatThrownBy(() -> repository.insertAll(Collections.nCopies(4, transfer)))
+                .isInstanceOf(TooManyRequestsException.class);
+        List<PointHistory> inserted = repository.insertAll(Collections.nCopies(3, transfer));
+
+        // then
+        assertThat(inserted).extracting(PointHistory::id).containsExactly(2L, 3L, 4L);
+        assertThat(repository.pendingCount()).isEqualTo(3);
+        release.countDown();
+        repository.close();
+        assertThat(pointHistoryTable.selectAllByUserId(1L)).hasSize(4);
+    }
+}
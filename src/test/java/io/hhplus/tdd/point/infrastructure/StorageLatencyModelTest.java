@@ -0,0 +1,60 @@
+package io.hhplus.tdd.point.infrastructure;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 1) fixed 분포는 설정한 시간만큼 지연되는지 검증
+ * 2) 실패 비율이 1 이면 모든 호출이 StorageFaultException 으로 실패하는지 검증
+ * 3) 멈춤 구간에 들어온 호출은 멈춤 구간이 끝날 때까지 기다리는지 검증
+ */
+class StorageLatencyModelTest {
+
+    @Test
+    void 고정_지연() {
+        // given
+        StorageLatencyModel latencyModel = new StorageLatencyModel("fixed", 20, 40, 0, 0, 0, 0);
+
+        // when
+        long readNanos = elapsed(latencyModel::read);
+        long writeNanos = elapsed(latencyModel::write);
+
+        // then
+        assertThat(readNanos).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(20));
+        assertThat(writeNanos).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(40));
+    }
+
+    @Test
+    void 모의_장애() {
+        // given
+        StorageLatencyModel latencyModel = new StorageLatencyModel("none", 0, 0, 0, 0, 0, 1);
+
+        // when & then
+        assertThatThrownBy(latencyModel::read).isInstanceOf(StorageFaultException.class);
+        assertThatThrownBy(latencyModel::write).isInstanceOf(StorageFaultException.class);
+    }
+
+    @Test
+    void 주기적_멈춤() {
+        // given
+        // 생성 직후는 멈춤 구간(0 ~ 200ms)이다.
+        StorageLatencyModel latencyModel = new StorageLatencyModel("none", 0, 0, 0, 10_000, 200, 0);
+
+        // when
+        long nanos = elapsed(latencyModel::read);
+
+        // then
+        assertThat(nanos).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(150));
+        assertThat(elapsed(latencyModel::read)).isLessThan(TimeUnit.MILLISECONDS.toNanos(100));
+    }
+
+    private long elapsed(Runnable call) {
+        long start = System.nanoTime();
+        call.run();
+        return System.nanoTime() - start;
+    }
+}
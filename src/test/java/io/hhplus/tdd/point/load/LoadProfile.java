@@ -0,0 +1,61 @@
+package io.hhplus.tdd.point.load;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 부하 설정. 같은 설정(seed 포함)이면 항상 같은 요청 순서(예정 시각, 종류, 사용자, 금액)를 만든다.
+ * - load.* 시스템 속성으로 지정한다. (./gradlew loadTest --tests '*PointLoadTest' -Dload.rate=500 -Dload.seed=7)
+ *
+ * @param readRatio    전체 요청 중 조회 비율
+ * @param historyRatio 조회 중 내역 조회 비율 (나머지는 잔액 조회)
+ * @param chargeRatio  쓰기 중 충전 비율 (나머지는 사용)
+ * @param rate         초당 요청 수. 응답과 무관하게 이 간격으로 요청을 보낸다. (open-loop)
+ * @param maxInFlight  동시에 응답을 기다리는 최대 요청 수
+ */
+record LoadProfile(
+        long seed,
+        int users,
+        UserDistribution distribution,
+        double readRatio,
+        double historyRatio,
+        double chargeRatio,
+        long maxAmount,
+        int rate,
+        Duration duration,
+        int maxInFlight
+) {
+
+    LoadProfile {
+        if (users <= 0 || rate <= 0 || maxAmount <= 0 || maxInFlight <= 0 || duration.isNegative()) {
+            throw new IllegalArgumentException("사용자 수, 요청 속도, 최대 금액, 동시 요청 수는 0보다 커야 합니다.");
+        }
+        for (double ratio : new double[]{readRatio, historyRatio, chargeRatio}) {
+            if (ratio < 0 || ratio > 1) {
+                throw new IllegalArgumentException("비율은 0 ~ 1 사이여야 합니다.");
+            }
+        }
+    }
+
+    static LoadProfile fromSystemProperties() {
+        return new LoadProfile(
+                Long.getLong("load.seed", 42),
+                Integer.getInteger("load.users", 1_000),
+                UserDistribution.valueOf(System.getProperty("load.distribution", "ZIPF")),
+                Double.parseDouble(System.getProperty("load.read-ratio", "0.5")),
+                Double.parseDouble(System.getProperty("load.history-ratio", "0.2")),
+                Double.parseDouble(System.getProperty("load.charge-ratio", "0.6")),
+                Long.getLong("load.max-amount", 1_000),
+                Integer.getInteger("load.rate", 200),
+                Duration.ofSeconds(Long.getLong("load.duration-seconds", 10)),
+                Integer.getInteger("load.max-in-flight", 5_000));
+    }
+
+    long requests() {
+        return rate * duration.toMillis() / 1000;
+    }
+
+    long intervalNanos() {
+        return TimeUnit.SECONDS.toNanos(1) / rate;
+    }
+}
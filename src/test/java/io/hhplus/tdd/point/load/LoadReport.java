@@ -0,0 +1,135 @@
+package io.hhplus.tdd.point.load;
+
+import io.hhplus.tdd.point.load.LoadSchedule.Endpoint;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * endpoint 별 응답 결과 수와 지연 시간 분포(HdrHistogram, nanos)
+ * - latency : 예정 시각부터 응답까지 (coordinated omission 보정)
+ * - service time : 실제 전송 시각부터 응답까지 (보정 전 값, 비교용)
+ * - 결과는 성공(2xx) / 처리율 제한(429) / 실패(그 밖의 상태) / 오류(연결 실패, 시간 초과)로 나눈다.
+ */
+final class LoadReport {
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private final Map<Endpoint, Stats> stats = new EnumMap<>(Endpoint.class);
+    private volatile long elapsedNanos;
+
+    LoadReport() {
+        for (Endpoint endpoint : Endpoint.values()) {
+            stats.put(endpoint, new Stats());
+        }
+    }
+
+    /**
+     * status 가 0 이면 응답을 받지 못한 요청(오류)이다.
+     */
+    void record(Endpoint endpoint, int status, long latencyNanos, long serviceNanos) {
+        Stats endpointStats = stats.get(endpoint);
+        endpointStats.latency.recordValue(Math.max(latencyNanos, 0));
+        endpointStats.serviceTime.recordValue(Math.max(serviceNanos, 0));
+        if (status == 0) {
+            endpointStats.errors.increment();
+        } else if (status / 100 == 2) {
+            endpointStats.succeeded.increment();
+        } else if (status == 429) {
+            endpointStats.throttled.increment();
+        } else {
+            endpointStats.failed.increment();
+        }
+    }
+
+    void elapsed(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    Histogram latency(Endpoint endpoint) {
+        return stats.get(endpoint).latency;
+    }
+
+    Histogram serviceTime(Endpoint endpoint) {
+        return stats.get(endpoint).serviceTime;
+    }
+
+    long requests() {
+        return stats.values().stream().mapToLong(endpointStats -> endpointStats.latency.getTotalCount()).sum();
+    }
+
+    long succeeded(Endpoint endpoint) {
+        return stats.get(endpoint).succeeded.sum();
+    }
+
+    long failed(Endpoint endpoint) {
+        return stats.get(endpoint).failed.sum();
+    }
+
+    long errors() {
+        return stats.values().stream().mapToLong(endpointStats -> endpointStats.errors.sum()).sum();
+    }
+
+    void print(PrintStream out) {
+        out.printf("requests=%,d elapsed=%,dms throughput=%,.1f/s%n",
+                requests(), elapsedNanos / 1_000_000, requests() * 1e9 / Math.max(elapsedNanos, 1));
+        out.printf("%-10s %8s %8s %8s %8s %8s | %10s %10s %10s %10s %10s | %14s%n",
+                "endpoint", "count", "ok", "429", "failed", "error",
+                "p50(ms)", "p90", "p99", "p99.9", "max", "service p99");
+        for (Map.Entry<Endpoint, Stats> entry : stats.entrySet()) {
+            Stats endpointStats = entry.getValue();
+            Histogram latency = endpointStats.latency;
+            if (latency.getTotalCount() == 0) {
+                continue;
+            }
+            out.printf("%-10s %,8d %,8d %,8d %,8d %,8d |", entry.getKey(), latency.getTotalCount(),
+                    endpointStats.succeeded.sum(), endpointStats.throttled.sum(),
+                    endpointStats.failed.sum(), endpointStats.errors.sum());
+            for (double percentile : PERCENTILES) {
+                out.printf(" %10.3f", millis(latency.getValueAtPercentile(percentile)));
+            }
+            out.printf(" %10.3f | %14.3f%n", millis(latency.getMaxValue()),
+                    millis(endpointStats.serviceTime.getValueAtPercentile(99)));
+        }
+    }
+
+    /**
+     * endpoint 별 지연 시간 분포를 HdrHistogram 형식(.hgrm, ms 단위)으로 저장한다. (HistogramLogAnalyzer 등으로 그래프를 그릴 수 있다)
+     */
+    void write(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        for (Map.Entry<Endpoint, Stats> entry : stats.entrySet()) {
+            if (entry.getValue().latency.getTotalCount() == 0) {
+                continue;
+            }
+            String name = entry.getKey().name().toLowerCase();
+            try (PrintStream out = new PrintStream(Files.newOutputStream(directory.resolve(name + ".hgrm")))) {
+                entry.getValue().latency.outputPercentileDistribution(out, 1_000_000.0);
+            }
+            try (PrintStream out = new PrintStream(Files.newOutputStream(directory.resolve(name + "-service.hgrm")))) {
+                entry.getValue().serviceTime.outputPercentileDistribution(out, 1_000_000.0);
+            }
+        }
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static final class Stats {
+        // 유효 자릿수 3, 기록되는 값에 맞춰 범위를 늘린다.
+        private final Histogram latency = new ConcurrentHistogram(3);
+        private final Histogram serviceTime = new ConcurrentHistogram(3);
+        private final LongAdder succeeded = new LongAdder();
+        private final LongAdder throttled = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+    }
+}
@@ -0,0 +1,90 @@
+package io.hhplus.tdd.point.load;
+
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.TreeSet;
+import java.util.function.LongSupplier;
+
+/**
+ * 부하 설정으로 만든 요청 순서. 요청을 미리 모두 만들지 않고 순서대로 하나씩 만든다.
+ * - 종류/사용자/금액은 seed 로 만든 난수로 정하고, 예정 시각은 index × 요청 간격이다.
+ */
+final class LoadSchedule {
+
+    private final LoadProfile profile;
+    private final SplittableRandom random;
+    private final LongSupplier users;
+    private final long requests;
+    private long index;
+
+    LoadSchedule(LoadProfile profile) {
+        this.profile = profile;
+        this.random = new SplittableRandom(profile.seed());
+        this.users = profile.distribution().sampler(profile.users(), random.split());
+        this.requests = profile.requests();
+    }
+
+    /**
+     * 충전/사용 요청을 받는 사용자. (부하 후 잔액을 검증할 대상)
+     */
+    static Set<Long> writtenUsers(LoadProfile profile) {
+        Set<Long> users = new TreeSet<>();
+        for (LoadSchedule schedule = new LoadSchedule(profile); schedule.hasNext(); ) {
+            Operation operation = schedule.next();
+            if (operation.endpoint().isWrite()) {
+                users.add(operation.userId());
+            }
+        }
+        return users;
+    }
+
+    boolean hasNext() {
+        return index < requests;
+    }
+
+    Operation next() {
+        Endpoint endpoint;
+        if (random.nextDouble() < profile.readRatio()) {
+            endpoint = random.nextDouble() < profile.historyRatio() ? Endpoint.HISTORIES : Endpoint.POINT;
+        } else {
+            endpoint = random.nextDouble() < profile.chargeRatio() ? Endpoint.CHARGE : Endpoint.USE;
+        }
+        long amount = endpoint.isWrite() ? 1 + random.nextLong(profile.maxAmount()) : 0;
+        Operation operation = new Operation(index, index * profile.intervalNanos(), endpoint, users.getAsLong(), amount);
+        index++;
+        return operation;
+    }
+
+    /**
+     * @param offsetNanos 부하 시작 시각부터 요청을 보내기로 예정된 시각까지의 간격
+     */
+    record Operation(long index, long offsetNanos, Endpoint endpoint, long userId, long amount) {
+    }
+
+    enum Endpoint {
+        POINT("GET", "/point/%d"),
+        HISTORIES("GET", "/point/%d/histories"),
+        CHARGE("PATCH", "/point/%d/charge"),
+        USE("PATCH", "/point/%d/use");
+
+        private final String method;
+        private final String path;
+
+        Endpoint(String method, String path) {
+            this.method = method;
+            this.path = path;
+        }
+
+        String method() {
+            return method;
+        }
+
+        String path(long userId) {
+            return path.formatted(userId);
+        }
+
+        boolean isWrite() {
+            return this == CHARGE || this == USE;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package io.hhplus.tdd.point.load;
+
+import io.hhplus.tdd.point.load.LoadSchedule.Endpoint;
+import io.hhplus.tdd.point.load.LoadSchedule.Operation;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 부하 요청 순서 검증
+ * 1) 같은 설정이면 항상 같은 요청 순서를 만들고, seed 가 다르면 다른 순서를 만드는지
+ * 2) 요청 수, 예정 시각, 조회/쓰기 및 충전/사용 비율이 설정을 따르는지
+ */
+class LoadScheduleTest {
+
+    @Test
+    void 같은_seed_같은_요청_순서() {
+        // given
+        LoadProfile profile = profile(42);
+
+        // when
+        List<Operation> first = operations(profile);
+        List<Operation> second = operations(profile);
+        List<Operation> other = operations(profile(43));
+
+        // then
+        assertThat(first).isEqualTo(second);
+        assertThat(first).isNotEqualTo(other);
+        assertThat(LoadSchedule.writtenUsers(profile)).isEqualTo(LoadSchedule.writtenUsers(profile));
+    }
+
+    @Test
+    void 설정_비율대로_요청_생성() {
+        // given
+        LoadProfile profile = profile(7);
+
+        // when
+        List<Operation> operations = operations(profile);
+        Map<Endpoint, Integer> counts = new EnumMap<>(Endpoint.class);
+        for (Operation operation : operations) {
+            counts.merge(operation.endpoint(), 1, Integer::sum);
+        }
+
+        // then
+        // 100/s × 100초 = 10,000 건, 조회 50% 중 내역 20%, 쓰기 50% 중 충전 60%
+        assertThat(operations).hasSize(10_000);
+        assertThat(operations.get(100).offsetNanos()).isEqualTo(Duration.ofSeconds(1).toNanos());
+        assertThat(counts.get(Endpoint.POINT)).isBetween(3_800, 4_200);
+        assertThat(counts.get(Endpoint.HISTORIES)).isBetween(800, 1_200);
+        assertThat(counts.get(Endpoint.CHARGE)).isBetween(2_800, 3_200);
+        assertThat(counts.get(Endpoint.USE)).isBetween(1_800, 2_200);
+        assertThat(operations).allSatisfy(operation -> {
+            assertThat(operation.userId()).isBetween(1L, 100L);
+            assertThat(operation.amount()).isBetween(operation.endpoint().isWrite() ? 1L : 0L,
+                    operation.endpoint().isWrite() ? 1_000L : 0L);
+        });
+    }
+
+    private static LoadProfile profile(long seed) {
+        return new LoadProfile(seed, 100, UserDistribution.ZIPF, 0.5, 0.2, 0.6, 1_000, 100, Duration.ofSeconds(100), 1);
+    }
+
+    private static List<Operation> operations(LoadProfile profile) {
+        List<Operation> operations = new ArrayList<>();
+        for (LoadSchedule schedule = new LoadSchedule(profile); schedule.hasNext(); ) {
+            operations.add(schedule.next());
+        }
+        return operations;
+    }
+}
@@ -0,0 +1,78 @@
+package io.hhplus.tdd.point.load;
+
+import io.hhplus.tdd.point.load.LoadSchedule.Operation;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 열린(open-loop) 부하 발생기
+ * - 요청은 앞 요청의 응답을 기다리지 않고 예정 시각(시작 시각 + index × 요청 간격)에 보낸다. 서버가 느려져도 요청 속도는 줄지 않는다.
+ * - 지연 시간은 실제 전송 시각이 아니라 예정 시각부터 측정한다. (coordinated omission 보정)
+ *   동시 요청 수 제한이나 발생기 지연으로 늦게 보낸 요청도 늦어진 만큼 지연 시간에 포함되므로,
+ *   서버가 멈춘 동안 보내지 못한 요청이 통계에서 빠지지 않는다.
+ */
+final class OpenLoopLoadGenerator {
+
+    private final URI baseUri;
+    private final HttpClient client;
+
+    OpenLoopLoadGenerator(URI baseUri) {
+        this.baseUri = baseUri;
+        this.client = HttpClient.newBuilder()
+                                .version(HttpClient.Version.HTTP_1_1)
+                                .connectTimeout(Duration.ofSeconds(30))
+                                .build();
+    }
+
+    /**
+     * 모든 요청의 응답을 받을 때까지 기다린다.
+     */
+    LoadReport run(LoadProfile profile) throws InterruptedException {
+        LoadReport report = new LoadReport();
+        LoadSchedule schedule = new LoadSchedule(profile);
+        Semaphore inFlight = new Semaphore(profile.maxInFlight());
+
+        long start = System.nanoTime();
+        while (schedule.hasNext()) {
+            Operation operation = schedule.next();
+            long intended = start + operation.offsetNanos();
+            for (long delay = intended - System.nanoTime(); delay > 0; delay = intended - System.nanoTime()) {
+                LockSupport.parkNanos(delay);
+            }
+
+            inFlight.acquire();
+            long sent = System.nanoTime();
+            client.sendAsync(request(operation), HttpResponse.BodyHandlers.discarding())
+                  .whenComplete((response, e) -> {
+                      long done = System.nanoTime();
+                      report.record(operation.endpoint(), e == null ? response.statusCode() : 0,
+                              done - intended, done - sent);
+                      inFlight.release();
+                  });
+        }
+        if (!inFlight.tryAcquire(profile.maxInFlight(), 5, TimeUnit.MINUTES)) {
+            throw new IllegalStateException("응답을 받지 못한 요청이 남아 있습니다.");
+        }
+        report.elapsed(System.nanoTime() - start);
+        return report;
+    }
+
+    private HttpRequest request(Operation operation) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(baseUri.resolve(operation.endpoint().path(operation.userId())))
+                                                 .timeout(Duration.ofSeconds(60));
+        if (operation.endpoint().isWrite()) {
+            return builder.header("Content-Type", "application/json")
+                          .method(operation.endpoint().method(),
+                                  HttpRequest.BodyPublishers.ofString(Long.toString(operation.amount())))
+                          .build();
+        }
+        return builder.GET().build();
+    }
+}
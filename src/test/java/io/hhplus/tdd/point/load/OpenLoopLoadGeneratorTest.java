@@ -0,0 +1,74 @@
+package io.hhplus.tdd.point.load;
+
+import com.sun.net.httpserver.HttpServer;
+import io.hhplus.tdd.point.load.LoadSchedule.Endpoint;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 부하 발생기의 coordinated omission 보정 검증
+ * - 서버가 첫 요청에서 1초 멈추는 동안 발생기가 다음 요청을 보내지 못해도(동시 요청 1개),
+ *   늦게 보낸 요청의 지연 시간은 예정 시각부터 측정되어 멈춘 시간이 분포에 반영되는지 검증한다.
+ *   실제 전송 시각부터 측정한 service time 에는 멈춘 시간이 첫 요청에만 남는다.
+ */
+class OpenLoopLoadGeneratorTest {
+
+    private HttpServer server;
+    private final AtomicInteger received = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/point", exchange -> {
+            if (received.getAndIncrement() == 0) {
+                try {
+                    TimeUnit.SECONDS.sleep(1);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            byte[] body = "{\"id\":1,\"point\":0,\"updateMillis\":0}".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void 멈춘_시간을_지연_시간에_반영() throws Exception {
+        // given
+        // 초당 10건(100ms 간격)으로 3초 동안 잔액 조회만, 동시 요청은 1개
+        LoadProfile profile = new LoadProfile(1, 1, UserDistribution.SINGLE, 1, 0, 0, 1, 10, Duration.ofSeconds(3), 1);
+        OpenLoopLoadGenerator generator = new OpenLoopLoadGenerator(
+                URI.create("http://localhost:" + server.getAddress().getPort()));
+
+        // when
+        LoadReport report = generator.run(profile);
+
+        // then
+        // 멈춘 동안 예정된 약 10건은 예정 시각부터 최대 1초까지 기다렸으므로 상위 10%(3건)는 300ms 를 넘는다.
+        long p90 = report.latency(Endpoint.POINT).getValueAtPercentile(90);
+        long serviceP90 = report.serviceTime(Endpoint.POINT).getValueAtPercentile(90);
+        assertThat(report.requests()).isEqualTo(30);
+        assertThat(report.succeeded(Endpoint.POINT)).isEqualTo(30);
+        assertThat(report.latency(Endpoint.POINT).getMaxValue()).isGreaterThanOrEqualTo(Duration.ofSeconds(1).toNanos());
+        assertThat(p90).isGreaterThan(Duration.ofMillis(300).toNanos());
+        assertThat(serviceP90).isLessThan(Duration.ofMillis(300).toNanos());
+    }
+}
@@ -0,0 +1,80 @@
+package io.hhplus.tdd.point.load;
+
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.UserPoint;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 내장 서버(TddApplication)에 설정한 부하(LoadProfile)를 일정 시간 주고 endpoint 별 지연 시간 분포를 출력
+ * - 실행 : ./gradlew loadTest --tests '*PointLoadTest' -Dload.rate=500 -Dload.duration-seconds=30 -Dload.distribution=UNIFORM
+ *   (설정 항목은 LoadProfile 참고, 분포 파일은 load.report-dir(기본 build/load)에 .hgrm 으로 저장)
+ * - 부하가 끝난 뒤 충전/사용한 모든 사용자의 잔액이 포인트 내역의 합계와 같은지 검증한다.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class PointLoadTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    void 부하_지연_시간_및_잔액_검증() throws Exception {
+        // given
+        LoadProfile profile = LoadProfile.fromSystemProperties();
+        OpenLoopLoadGenerator generator = new OpenLoopLoadGenerator(URI.create("http://localhost:" + port));
+
+        // when
+        LoadReport report = generator.run(profile);
+
+        // then
+        System.out.println(profile);
+        report.print(System.out);
+        report.write(Path.of(System.getProperty("load.report-dir", "build/load")));
+        assertThat(report.requests()).isEqualTo(profile.requests());
+        assertThat(report.errors()).isZero();
+
+        // 잔액 초과 사용은 실패할 수 있으므로 성공 여부와 무관하게 잔액과 내역 합계가 같은지 검증한다.
+        Set<Long> users = LoadSchedule.writtenUsers(profile);
+        ExecutorService executor = Executors.newFixedThreadPool(64);
+        try {
+            List<CompletableFuture<Void>> verifications = users.stream()
+                    .map(id -> CompletableFuture.runAsync(() -> verifyBalance(id), executor))
+                    .toList();
+            CompletableFuture.allOf(verifications.toArray(CompletableFuture[]::new)).join();
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private void verifyBalance(long id) {
+        UserPoint userPoint = restTemplate.getForObject("/point/{id}", UserPoint.class, id);
+        PointHistory[] histories = restTemplate.getForObject("/point/{id}/histories", PointHistory[].class, id);
+
+        long expected = 0;
+        for (PointHistory history : histories) {
+            expected += switch (history.type()) {
+                case CHARGE, TRANSFER_IN -> history.amount();
+                case USE, TRANSFER_OUT -> -history.amount();
+            };
+        }
+        assertThat(userPoint.point()).as("user %d", id).isEqualTo(expected);
+    }
+}
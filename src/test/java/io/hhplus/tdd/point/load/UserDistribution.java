@@ -0,0 +1,44 @@
+package io.hhplus.tdd.point.load;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.function.LongSupplier;
+
+/**
+ * 요청 대상 사용자(1 ~ users) 분포
+ * - UNIFORM : 모든 사용자에게 고르게
+ * - ZIPF : 앞 번호 사용자에게 몰리는 경우 (지수 1.1)
+ * - SINGLE : 모든 요청이 한 사용자(1)에게 몰리는 경우
+ */
+enum UserDistribution {
+    UNIFORM, ZIPF, SINGLE;
+
+    private static final double ZIPF_EXPONENT = 1.1;
+
+    LongSupplier sampler(int users, SplittableRandom random) {
+        return switch (this) {
+            case UNIFORM -> () -> 1 + random.nextInt(users);
+            case SINGLE -> () -> 1;
+            case ZIPF -> {
+                double[] cdf = zipfCdf(users);
+                yield () -> {
+                    int index = Arrays.binarySearch(cdf, random.nextDouble());
+                    return 1 + (index >= 0 ? index : Math.min(-(index + 1), users - 1));
+                };
+            }
+        };
+    }
+
+    private static double[] zipfCdf(int users) {
+        double[] cdf = new double[users];
+        double sum = 0;
+        for (int rank = 1; rank <= users; rank++) {
+            sum += 1 / Math.pow(rank, ZIPF_EXPONENT);
+            cdf[rank - 1] = sum;
+        }
+        for (int i = 0; i < users; i++) {
+            cdf[i] /= sum;
+        }
+        return cdf;
+    }
+}
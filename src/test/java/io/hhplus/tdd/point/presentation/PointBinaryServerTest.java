@@ -0,0 +1,260 @@
+package io.hhplus.tdd.point.presentation;
+
+import io.hhplus.tdd.point.application.PointService;
+import io.hhplus.tdd.point.application.UserPointSnapshots;
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.PointHistorySearch;
+import io.hhplus.tdd.point.domain.PointOverdraftException;
+import io.hhplus.tdd.point.domain.TransactionType;
+import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.util.TooManyRequestsException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 실제 TCP 연결로 바이너리 프로토콜 요청/응답 검증
+ * 1) 응답을 기다리지 않고 보낸 여러 요청이 각각 requestId 로 응답되는지 검증 (pipelining)
+ * 2) 늦게 끝난 요청보다 먼저 끝난 요청의 응답이 먼저 오는지 검증 (multiplexing)
+ * 3) 공개된 잔액은 PointService 를 거치지 않고 응답하는지 verify 로 검증
+ * 4) 내역 조회 결과가 고정 길이 레코드로 응답되는지 검증
+ * 5) 실패 종류별 status 와 메시지 검증 (잔액 초과는 REJECTED, 저장소 오류 등 예상하지 못한 실패는 메시지 없이 ERROR)
+ * 6) 범위를 벗어난 내역 조회 건수는 연결을 닫지 않고 REJECTED 로 응답하는지 검증
+ * 7) 분산 모드에서는 서버가 시작되지 않는지 검증
+ */
+class PointBinaryServerTest {
+
+    @Mock
+    private PointService pointService;
+
+    private UserPointSnapshots userPointSnapshots;
+    private PointBinaryServer server;
+    private SocketChannel client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        MockitoAnnotations.openMocks(this);
+        userPointSnapshots = new UserPointSnapshots(100);
+        server = new PointBinaryServer(pointService, userPointSnapshots, 0, 4, 100, false);
+        client = SocketChannel.open(new InetSocketAddress("localhost", server.port()));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        client.close();
+        server.close();
+    }
+
+    @Test
+    void 요청_pipelining() throws IOException {
+        // given
+        when(pointService.chargePointAsync(1L, 100L))
+                .thenReturn(CompletableFuture.completedFuture(new UserPoint(1L, 100L, 0)));
+        when(pointService.usePointAsync(2L, 50L))
+                .thenReturn(CompletableFuture.completedFuture(new UserPoint(2L, 150L, 0)));
+        when(pointService.transferPointAsync(3L, 4L, 10L))
+                .thenReturn(CompletableFuture.completedFuture(new UserPoint(3L, 90L, 0)));
+
+        // when
+        ByteBuffer requests = ByteBuffer.allocate(256);
+        command(requests, 11L, PointBinaryProtocol.CHARGE, 1L, 100L);
+        command(requests, 12L, PointBinaryProtocol.USE, 2L, 50L);
+        command(requests, 13L, PointBinaryProtocol.TRANSFER, 3L, 4L, 10L);
+        send(requests);
+
+        // then
+        UserPoint[] responses = new UserPoint[3];
+        for (int i = 0; i < 3; i++) {
+            ByteBuffer response = receive();
+            long requestId = response.getLong();
+            assertThat(response.get()).isEqualTo(PointBinaryProtocol.OK);
+            responses[(int) (requestId - 11)] = PointBinaryProtocol.readUserPoint(response);
+        }
+        assertThat(responses).containsExactly(
+                new UserPoint(1L, 100L, 0), new UserPoint(2L, 150L, 0), new UserPoint(3L, 90L, 0));
+    }
+
+    @Test
+    void 먼저_끝난_요청_먼저_응답() throws IOException {
+        // given
+        CompletableFuture<UserPoint> slow = new CompletableFuture<>();
+        when(pointService.chargePointAsync(1L, 100L)).thenReturn(slow);
+        when(pointService.chargePointAsync(2L, 100L))
+                .thenReturn(CompletableFuture.completedFuture(new UserPoint(2L, 100L, 0)));
+
+        // when
+        ByteBuffer requests = ByteBuffer.allocate(128);
+        command(requests, 1L, PointBinaryProtocol.CHARGE, 1L, 100L);
+        command(requests, 2L, PointBinaryProtocol.CHARGE, 2L, 100L);
+        send(requests);
+        ByteBuffer first = receive();
+        slow.complete(new UserPoint(1L, 100L, 0));
+        ByteBuffer second = receive();
+
+        // then
+        assertThat(first.getLong()).isEqualTo(2L);
+        assertThat(second.getLong()).isEqualTo(1L);
+    }
+
+    @Test
+    void 공개된_잔액_조회() throws IOException {
+        // given
+        userPointSnapshots.publish(new UserPoint(1L, 500L, 10L));
+
+        // when
+        ByteBuffer request = ByteBuffer.allocate(64);
+        command(request, 7L, PointBinaryProtocol.GET_POINT, 1L);
+        send(request);
+        ByteBuffer response = receive();
+
+        // then
+        assertThat(response.getLong()).isEqualTo(7L);
+        assertThat(response.get()).isEqualTo(PointBinaryProtocol.OK);
+        assertThat(PointBinaryProtocol.readUserPoint(response)).isEqualTo(new UserPoint(1L, 500L, 10L));
+        verify(pointService, never()).getPoint(anyLong());
+    }
+
+    @Test
+    void 내역_조회() throws IOException {
+        // given
+        List<PointHistory> histories = List.of(
+                new PointHistory(3L, 1L, 100L, TransactionType.CHARGE, 1L),
+                new PointHistory(4L, 1L, 30L, TransactionType.USE, 2L));
+        when(pointService.getPointHistories(eq(1L), any(PointHistorySearch.class))).thenReturn(histories);
+
+        // when
+        ByteBuffer request = ByteBuffer.allocate(64);
+        request.putInt(PointBinaryProtocol.MAX_REQUEST_LENGTH)
+               .putLong(1L).put(PointBinaryProtocol.HISTORIES)
+               .putLong(1L).putLong(2L).putInt(10).putLong(0L).putLong(Long.MAX_VALUE);
+        send(request);
+        ByteBuffer response = receive();
+
+        // then
+        assertThat(response.getLong()).isEqualTo(1L);
+        assertThat(response.get()).isEqualTo(PointBinaryProtocol.OK);
+        assertThat(response.getInt()).isEqualTo(2);
+        assertThat(List.of(PointBinaryProtocol.readHistory(response), PointBinaryProtocol.readHistory(response)))
+                .isEqualTo(histories);
+        verify(pointService).getPointHistories(1L, new PointHistorySearch(2L, 10, 0L, Long.MAX_VALUE));
+    }
+
+    @Test
+    void 실패_응답() throws IOException {
+        // given
+        when(pointService.usePointAsync(1L, 100L))
+                .thenReturn(CompletableFuture.failedFuture(new PointOverdraftException("잔액을 초과하여 사용할 수 없습니다.")));
+        when(pointService.chargePointAsync(2L, 100L)).thenThrow(new TooManyRequestsException("요청이 너무 많습니다."));
+        when(pointService.chargePointAsync(3L, 100L))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("user point 저장 공간이 부족합니다.")));
+
+        // when
+        ByteBuffer requests = ByteBuffer.allocate(128);
+        command(requests, 1L, PointBinaryProtocol.USE, 1L, 100L);
+        send(requests);
+        ByteBuffer rejected = receive();
+        requests.clear();
+        command(requests, 2L, PointBinaryProtocol.CHARGE, 2L, 100L);
+        send(requests);
+        ByteBuffer tooMany = receive();
+        requests.clear();
+        command(requests, 3L, PointBinaryProtocol.CHARGE, 3L, 100L);
+        send(requests);
+        ByteBuffer error = receive();
+
+        // then
+        assertThat(rejected.getLong()).isEqualTo(1L);
+        assertThat(rejected.get()).isEqualTo(PointBinaryProtocol.REJECTED);
+        assertThat(PointBinaryProtocol.readMessage(rejected)).isEqualTo("잔액을 초과하여 사용할 수 없습니다.");
+        assertThat(tooMany.getLong()).isEqualTo(2L);
+        assertThat(tooMany.get()).isEqualTo(PointBinaryProtocol.TOO_MANY_REQUESTS);
+        assertThat(error.getLong()).isEqualTo(3L);
+        assertThat(error.get()).isEqualTo(PointBinaryProtocol.ERROR);
+        assertThat(PointBinaryProtocol.readMessage(error)).isEqualTo("에러가 발생했습니다.");
+    }
+
+    @Test
+    void 내역_조회_건수_제한() throws IOException {
+        // given
+        when(pointService.chargePointAsync(1L, 100L))
+                .thenReturn(CompletableFuture.completedFuture(new UserPoint(1L, 100L, 0)));
+
+        // when
+        ByteBuffer requests = ByteBuffer.allocate(128);
+        requests.putInt(PointBinaryProtocol.MAX_REQUEST_LENGTH)
+                .putLong(1L).put(PointBinaryProtocol.HISTORIES)
+                .putLong(1L).putLong(0L).putInt(0).putLong(0L).putLong(Long.MAX_VALUE);
+        send(requests);
+        ByteBuffer rejected = receive();
+        requests.clear();
+        command(requests, 2L, PointBinaryProtocol.CHARGE, 1L, 100L);
+        send(requests);
+        ByteBuffer charged = receive();
+
+        // then
+        assertThat(rejected.getLong()).isEqualTo(1L);
+        assertThat(rejected.get()).isEqualTo(PointBinaryProtocol.REJECTED);
+        assertThat(PointBinaryProtocol.readMessage(rejected)).isEqualTo("조회 건수는 1 ~ 1000 사이여야 합니다.");
+        assertThat(charged.getLong()).isEqualTo(2L);
+        assertThat(charged.get()).isEqualTo(PointBinaryProtocol.OK);
+        verify(pointService, never()).getPointHistories(anyLong());
+        verify(pointService, never()).getPointHistories(anyLong(), any(PointHistorySearch.class));
+    }
+
+    @Test
+    void 분산_모드_시작_거절() {
+        // when ~ then
+        assertThatThrownBy(() -> new PointBinaryServer(pointService, userPointSnapshots, 0, 4, 100, true))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private void command(ByteBuffer out, long requestId, byte opcode, long... arguments) {
+        out.putInt(8 + 1 + 8 * arguments.length).putLong(requestId).put(opcode);
+        for (long argument : arguments) {
+            out.putLong(argument);
+        }
+    }
+
+    private void send(ByteBuffer requests) throws IOException {
+        requests.flip();
+        while (requests.hasRemaining()) {
+            client.write(requests);
+        }
+    }
+
+    /**
+     * 응답 frame 하나를 읽어 본문(requestId 부터)을 반환한다.
+     */
+    private ByteBuffer receive() throws IOException {
+        ByteBuffer length = readFully(4);
+        return readFully(length.getInt());
+    }
+
+    private ByteBuffer readFully(int size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        while (buffer.hasRemaining()) {
+            if (client.read(buffer) < 0) {
+                throw new IOException("연결이 닫혔습니다.");
+            }
+        }
+        return buffer.flip();
+    }
+}
@@ -1,24 +1,46 @@
 package io.hhplus.tdd.point.presentation;
 
+import io.hhplus.tdd.point.application.PointBulkService;
+import io.hhplus.tdd.point.application.PointCommand;
+import io.hhplus.tdd.point.application.PointCommandResult;
 import io.hhplus.tdd.point.application.PointService;
+import io.hhplus.tdd.point.application.PointStatisticsService;
 import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.PointHistoryPages;
+import io.hhplus.tdd.point.domain.PointHistorySearch;
+import io.hhplus.tdd.point.domain.PointStatistics;
 import io.hhplus.tdd.point.domain.TransactionType;
 import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.util.TooManyRequestsException;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 /**
@@ -33,6 +55,12 @@ class PointControllerTest {
     @MockBean
     PointService pointService;
 
+    @MockBean
+    PointBulkService pointBulkService;
+
+    @MockBean
+    PointStatisticsService pointStatisticsService;
+
     @Test
     void 포인트_조회() throws Exception {
         // given
@@ -78,6 +106,82 @@ class PointControllerTest {
         verify(pointService).getPointHistories(id);
     }
 
+    @Test
+    void 포인트_내역_페이지_조회() throws Exception {
+        // given
+        long id = 1L;
+        List<PointHistory> expected = List.of(
+                new PointHistory(3, 1, 700, TransactionType.CHARGE, 0)
+        );
+
+        // when
+        when(pointService.getPointHistories(anyLong(), any(PointHistorySearch.class))).thenReturn(expected);
+
+        // then
+        mockMvc.perform(get("/point/{id}/histories", id)
+                       .param("afterId", "2")
+                       .param("limit", "1"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$[0].id").value(3))
+               .andExpect(jsonPath("$[0].amount").value(700));
+
+        verify(pointService).getPointHistories(id, PointHistorySearch.of(2L, 1, null, null));
+    }
+
+    @Test
+    void 포인트_내역_스트리밍_조회() throws Exception {
+        // given
+        long id = 1L;
+        PointHistorySearch first = PointHistorySearch.of(null, 2, null, null);
+        Map<PointHistorySearch, List<PointHistory>> pages = Map.of(
+                first, List.of(
+                        new PointHistory(1, 1, 500, TransactionType.CHARGE, 0),
+                        new PointHistory(2, 1, 200, TransactionType.USE, 0)),
+                first.next(2), List.of(
+                        new PointHistory(3, 1, 100, TransactionType.CHARGE, 0)));
+        when(pointService.getPointHistoryPages(id, first)).thenAnswer(invocation -> PointHistoryPages.seek(first, pages::get));
+
+        // when
+        MvcResult result = mockMvc.perform(get("/point/{id}/histories", id)
+                                          .param("limit", "2")
+                                          .accept("application/x-ndjson"))
+                                  .andExpect(request().asyncStarted())
+                                  .andReturn();
+
+        // then
+        // limit 단위로 나누어 조회한 내역이 한 줄에 하나씩 기록되는지 검증
+        String body = mockMvc.perform(asyncDispatch(result))
+                             .andExpect(status().isOk())
+                             .andReturn()
+                             .getResponse()
+                             .getContentAsString();
+        assertThat(body.lines()).hasSize(3);
+        assertThat(body.lines().toList().get(2)).contains("\"id\":3");
+    }
+
+    @Test
+    void 포인트_통계_조회() throws Exception {
+        // given
+        long id = 1L;
+        PointStatistics statistics = new PointStatistics(
+                id,
+                Map.of(TransactionType.CHARGE, new PointStatistics.Total(2, 1500)),
+                List.of(new PointStatistics.Bucket("2024-01-31", Map.of(TransactionType.CHARGE, new PointStatistics.Total(2, 1500)))),
+                List.of(new PointStatistics.Bucket("2024-01", Map.of(TransactionType.CHARGE, new PointStatistics.Total(2, 1500))))
+        );
+
+        // when
+        when(pointStatisticsService.getStatistics(id)).thenReturn(statistics);
+
+        // then
+        mockMvc.perform(get("/point/{id}/statistics", id))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.totals.CHARGE.count").value(2))
+               .andExpect(jsonPath("$.totals.CHARGE.amount").value(1500))
+               .andExpect(jsonPath("$.daily[0].period").value("2024-01-31"))
+               .andExpect(jsonPath("$.monthly[0].period").value("2024-01"));
+    }
+
     @Test
     void 포인트_충전() throws Exception {
         // given
@@ -86,17 +190,90 @@ class PointControllerTest {
         long balance = 2000L;
 
         // when
-        when(pointService.chargePoint(anyLong(), anyLong())).thenReturn(new UserPoint(id, balance + amount, 0));
+        when(pointService.chargePointAsync(anyLong(), anyLong()))
+                .thenReturn(CompletableFuture.completedFuture(new UserPoint(id, balance + amount, 0)));
+
+        // then
+        MvcResult result = mockMvc.perform(patch("/point/{id}/charge", id)
+                                          .contentType(MediaType.APPLICATION_JSON)
+                                          .content(String.valueOf(amount)))
+                                  .andExpect(request().asyncStarted())
+                                  .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.id").value(id))
+               .andExpect(jsonPath("$.point").value(balance + amount));
+
+        verify(pointService).chargePointAsync(id, amount);
+    }
+
+    @Test
+    void 처리율_한도_초과_포인트_충전() throws Exception {
+        // given
+        long id = 1L;
+        long amount = 1000L;
+
+        // when
+        when(pointService.chargePointAsync(anyLong(), anyLong()))
+                .thenThrow(new TooManyRequestsException("요청이 너무 많습니다. 잠시 후 다시 시도해주세요."));
 
         // then
         mockMvc.perform(patch("/point/{id}/charge", id)
                        .contentType(MediaType.APPLICATION_JSON)
                        .content(String.valueOf(amount)))
+               .andExpect(status().isTooManyRequests())
+               .andExpect(jsonPath("$.code").value("429"));
+    }
+
+    @Test
+    void 포인트_이체() throws Exception {
+        // given
+        long id = 1L;
+        long toId = 2L;
+        long amount = 300L;
+
+        // when
+        when(pointService.transferPointAsync(anyLong(), anyLong(), anyLong()))
+                .thenReturn(CompletableFuture.completedFuture(new UserPoint(id, 700, 0)));
+
+        // then
+        MvcResult result = mockMvc.perform(patch("/point/{id}/transfer", id)
+                                          .contentType(MediaType.APPLICATION_JSON)
+                                          .content("{\"toUserId\":" + toId + ",\"amount\":" + amount + "}"))
+                                  .andExpect(request().asyncStarted())
+                                  .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
                .andExpect(status().isOk())
-               .andExpect(jsonPath("$.id").value(id))
-               .andExpect(jsonPath("$.point").value(balance + amount));
+               .andExpect(jsonPath("$.point").value(700));
+
+        verify(pointService).transferPointAsync(id, toId, amount);
+    }
+
+    @Test
+    void 멱등_키_포인트_충전() throws Exception {
+        // given
+        long id = 1L;
+        long amount = 1000L;
+
+        // when
+        when(pointService.chargePointAsync(anyLong(), anyLong(), any()))
+                .thenReturn(CompletableFuture.completedFuture(new UserPoint(id, amount, 0)));
+
+        // then
+        MvcResult result = mockMvc.perform(patch("/point/{id}/charge", id)
+                                          .header("Idempotency-Key", "charge-1")
+                                          .contentType(MediaType.APPLICATION_JSON)
+                                          .content(String.valueOf(amount)))
+                                  .andExpect(request().asyncStarted())
+                                  .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.point").value(amount));
 
-        verify(pointService).chargePoint(id, amount);
+        verify(pointService).chargePointAsync(id, amount, "charge-1");
     }
 
     @Test
@@ -107,16 +284,111 @@ class PointControllerTest {
         long balance = 2000L;
 
         // when
-        when(pointService.usePoint(anyLong(), anyLong())).thenReturn(new UserPoint(id, balance - amount, 0));
+        when(pointService.usePointAsync(anyLong(), anyLong()))
+                .thenReturn(CompletableFuture.completedFuture(new UserPoint(id, balance - amount, 0)));
 
         // then
-        mockMvc.perform(patch("/point/{id}/use", id)
-                       .contentType(MediaType.APPLICATION_JSON)
-                       .content(String.valueOf(amount)))
+        MvcResult result = mockMvc.perform(patch("/point/{id}/use", id)
+                                          .contentType(MediaType.APPLICATION_JSON)
+                                          .content(String.valueOf(amount)))
+                                  .andExpect(request().asyncStarted())
+                                  .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
                .andExpect(status().isOk())
                .andExpect(jsonPath("$.id").value(id))
                .andExpect(jsonPath("$.point").value(balance - amount));
 
-        verify(pointService).usePoint(id, amount);
+        verify(pointService).usePointAsync(id, amount);
+    }
+
+    @Test
+    void 포인트_일괄_처리() throws Exception {
+        // given
+        String body = """
+                {"userId":1,"type":"CHARGE","amount":1000}
+                {"userId":2,"type":"USE","amount":500}
+                """;
+        List<PointCommand> read = new ArrayList<>();
+
+        // when
+        doAnswer(invocation -> {
+            Iterator<PointCommand> commands = invocation.getArgument(0);
+            PointBulkService.PointBulkListener listener = invocation.getArgument(1);
+            commands.forEachRemaining(read::add);
+            listener.onResult(0, read.get(0), PointCommandResult.success(new UserPoint(1, 1000, 0)));
+            listener.onResult(1, read.get(1), PointCommandResult.failure(new IllegalStateException("잔액을 초과하여 사용할 수 없습니다.")));
+            return CompletableFuture.completedFuture(null);
+        }).when(pointBulkService).applyAsync(any(), any());
+
+        MvcResult result = mockMvc.perform(post("/point/bulk")
+                                          .contentType("application/x-ndjson")
+                                          .accept("application/x-ndjson")
+                                          .content(body))
+                                  .andExpect(request().asyncStarted())
+                                  .andReturn();
+
+        // then
+        // 명령마다 index 와 성공 여부가 한 줄씩 기록되는지 검증
+        List<String> lines = mockMvc.perform(asyncDispatch(result))
+                                    .andExpect(status().isOk())
+                                    .andExpect(content().contentType("application/x-ndjson"))
+                                    .andReturn()
+                                    .getResponse()
+                                    .getContentAsString(StandardCharsets.UTF_8)
+                                    .lines()
+                                    .toList();
+        assertThat(lines).hasSize(2);
+        assertThat(lines.get(0)).contains("\"index\":0", "\"success\":true", "\"point\":1000");
+        assertThat(lines.get(1)).contains("\"index\":1", "\"success\":false", "잔액을 초과하여 사용할 수 없습니다.");
+
+        assertThat(read).containsExactly(
+                new PointCommand(1, TransactionType.CHARGE, 1000),
+                new PointCommand(2, TransactionType.USE, 500)
+        );
+    }
+
+    @Test
+    void 포인트_일괄_처리_본문_형식_오류() throws Exception {
+        // given
+        String body = """
+                {"userId":1,"type":"CHARGE","amount":1000}
+                {"userId":2,"type":
+                """;
+        List<PointCommand> read = new ArrayList<>();
+
+        // when
+        doAnswer(invocation -> {
+            Iterator<PointCommand> commands = invocation.getArgument(0);
+            PointBulkService.PointBulkListener listener = invocation.getArgument(1);
+            try {
+                commands.forEachRemaining(read::add);
+            } catch (RuntimeException e) {
+                listener.onResult(0, read.get(0), PointCommandResult.success(new UserPoint(1, 1000, 0)));
+                return CompletableFuture.failedFuture(e);
+            }
+            return CompletableFuture.completedFuture(null);
+        }).when(pointBulkService).applyAsync(any(), any());
+
+        MvcResult result = mockMvc.perform(post("/point/bulk")
+                                          .contentType("application/x-ndjson")
+                                          .accept("application/x-ndjson")
+                                          .content(body))
+                                  .andExpect(request().asyncStarted())
+                                  .andReturn();
+
+        // then
+        // 형식 오류 이전의 명령 결과를 기록한 뒤, 마지막 줄에 400 오류를 기록하는지 검증
+        List<String> lines = mockMvc.perform(asyncDispatch(result))
+                                    .andExpect(status().isOk())
+                                    .andReturn()
+                                    .getResponse()
+                                    .getContentAsString(StandardCharsets.UTF_8)
+                                    .lines()
+                                    .toList();
+        assertThat(read).containsExactly(new PointCommand(1, TransactionType.CHARGE, 1000));
+        assertThat(lines).hasSize(2);
+        assertThat(lines.get(0)).contains("\"index\":0", "\"success\":true");
+        assertThat(lines.get(1)).contains("\"code\":\"400\"");
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,125 @@
+package io.hhplus.tdd.point.presentation;
+
+import io.hhplus.tdd.point.application.PointService;
+import io.hhplus.tdd.point.application.PointStatisticsService;
+import io.hhplus.tdd.point.application.ReactivePointService;
+import io.hhplus.tdd.point.application.UserPointSnapshots;
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.PointHistoryPages;
+import io.hhplus.tdd.point.domain.PointHistorySearch;
+import io.hhplus.tdd.point.domain.TransactionType;
+import io.hhplus.tdd.point.domain.UserPoint;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * WebTestClient 사용하여 reactive 엔드포인트 요청 테스트
+ * 1. 공개된 잔액이 있으면 PointService 를 거치지 않고 응답하는지 검증
+ * 2. 내역 스트리밍이 limit 단위로 다음 페이지를 조회하는지 검증
+ * 3. 멱등 키가 PointService 로 전달되는지 검증
+ */
+@WebFluxTest(ReactivePointController.class)
+@Import(ReactivePointService.class)
+class ReactivePointControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockBean
+    PointService pointService;
+
+    @MockBean
+    UserPointSnapshots userPointSnapshots;
+
+    @MockBean
+    PointStatisticsService pointStatisticsService;
+
+    @Test
+    void 공개된_잔액_조회() {
+        // given
+        long id = 1L;
+        long amount = 1000L;
+        when(userPointSnapshots.get(id)).thenReturn(new UserPointSnapshots.Snapshot(new UserPoint(id, amount, 0), 1));
+
+        // when
+        webTestClient.get()
+                     .uri("/point/{id}", id)
+                     .exchange()
+
+        // then
+                     .expectStatus().isOk()
+                     .expectBody()
+                     .jsonPath("$.id").isEqualTo(id)
+                     .jsonPath("$.point").isEqualTo(amount);
+
+        verify(pointService, never()).getPoint(anyLong());
+    }
+
+    @Test
+    void 포인트_내역_스트리밍_조회() {
+        // given
+        long id = 1L;
+        PointHistorySearch first = PointHistorySearch.of(null, 2, null, null);
+        Map<PointHistorySearch, List<PointHistory>> pages = Map.of(
+                first, List.of(
+                        new PointHistory(1, 1, 500, TransactionType.CHARGE, 0),
+                        new PointHistory(2, 1, 200, TransactionType.USE, 0)),
+                first.next(2), List.of(
+                        new PointHistory(3, 1, 100, TransactionType.CHARGE, 0)));
+        when(pointService.getPointHistoryPages(id, first)).thenAnswer(invocation -> PointHistoryPages.seek(first, pages::get));
+
+        // when
+        List<PointHistory> body = webTestClient.get()
+                                               .uri("/point/{id}/histories?limit=2", id)
+                                               .accept(MediaType.APPLICATION_NDJSON)
+                                               .exchange()
+                                               .expectStatus().isOk()
+                                               .returnResult(PointHistory.class)
+                                               .getResponseBody()
+                                               .collectList()
+                                               .block();
+
+        // then
+        assertThat(body).extracting(PointHistory::id).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    void 멱등_키_포인트_충전() {
+        // given
+        long id = 1L;
+        long amount = 1000L;
+        when(pointService.chargePointAsync(anyLong(), anyLong(), any()))
+                .thenReturn(CompletableFuture.completedFuture(new UserPoint(id, amount, 0)));
+
+        // when
+        webTestClient.patch()
+                     .uri("/point/{id}/charge", id)
+                     .header("Idempotency-Key", "charge-1")
+                     .contentType(MediaType.APPLICATION_JSON)
+                     .bodyValue(String.valueOf(amount))
+                     .exchange()
+
+        // then
+                     .expectStatus().isOk()
+                     .expectBody()
+                     .jsonPath("$.point").isEqualTo(amount);
+
+        verify(pointService).chargePointAsync(id, amount, "charge-1");
+    }
+}
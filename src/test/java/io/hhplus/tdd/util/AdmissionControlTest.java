@@ -0,0 +1,72 @@
+package io.hhplus.tdd.util;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 1) 사용자별 순간 허용량(burst)을 넘으면 거절되고, 다른 사용자는 영향을 받지 않는지 검증
+ * 2) 사용자별 동시 처리 한도를 넘으면 거절되고, release 후에는 다시 받는지 검증
+ * 3) 전체 한도는 사용자와 무관하게 적용되며 거절 사유별로 집계되는지 검증
+ */
+class AdmissionControlTest {
+
+    @Test
+    void 사용자별_처리율_한도() {
+        // given
+        AdmissionControl admissionControl = new AdmissionControl(1024, 1, 3, 0, 0, 0, new SimpleMeterRegistry());
+        long id = 1L;
+
+        // when
+        for (int i = 0; i < 3; i++) {
+            admissionControl.acquire(id);
+            admissionControl.release(id);
+        }
+
+        // then
+        assertThatThrownBy(() -> admissionControl.acquire(id))
+                .isInstanceOf(TooManyRequestsException.class);
+        admissionControl.acquire(2L);
+    }
+
+    @Test
+    void 동시_처리_한도() {
+        // given
+        AdmissionControl admissionControl = new AdmissionControl(1024, 0, 0, 0, 0, 2, new SimpleMeterRegistry());
+        long id = 1L;
+
+        // when
+        admissionControl.acquire(id);
+        admissionControl.acquire(id);
+
+        // then
+        assertThatThrownBy(() -> admissionControl.acquire(id))
+                .isInstanceOf(TooManyRequestsException.class);
+        assertThat(admissionControl.inFlight(id)).isEqualTo(2);
+
+        admissionControl.release(id);
+        admissionControl.acquire(id);
+        assertThat(admissionControl.inFlight(id)).isEqualTo(2);
+    }
+
+    @Test
+    void 전체_처리율_한도() {
+        // given
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        AdmissionControl admissionControl = new AdmissionControl(1024, 0, 0, 1, 2, 4, meterRegistry);
+
+        // when
+        admissionControl.acquire(1L);
+        admissionControl.acquire(2L);
+
+        // then
+        assertThatThrownBy(() -> admissionControl.acquire(3L))
+                .isInstanceOf(TooManyRequestsException.class);
+        // 거절된 요청은 동시 처리 수에 포함되지 않는다.
+        assertThat(admissionControl.inFlight(3L)).isZero();
+        assertThat(meterRegistry.get("point.admission.rejections").tag("reason", "global-rate").counter().count())
+                .isEqualTo(1);
+    }
+}
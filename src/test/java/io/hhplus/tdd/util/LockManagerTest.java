@@ -0,0 +1,161 @@
+package io.hhplus.tdd.util;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 1) stripe 개수가 2의 거듭제곱으로 맞춰지고 같은 key 는 항상 같은 stripe 를 사용하는지 검증
+ * 2) 다른 스레드가 잠금을 보유 중이면 제한 시간 후 LockTimeoutException 이 발생하는지 검증
+ * 3) 대기/초과 지표가 stripe 별로 집계되는지 검증
+ * 4) 잠금 보유 시간과 보유 중인 stripe 수가 지표로 노출되는지 검증
+ * 5) 여러 사용자를 서로 반대 순서로 함께 잠가도 교착 상태 없이 처리되는지 검증
+ * 6) 전체 획득 횟수와 가장 경합이 큰 stripe 의 대기 시간/획득 비중이 지표로 노출되는지 검증
+ */
+class LockManagerTest {
+
+    @Test
+    void stripe_개수_보정() {
+        assertThat(new LockManager(1000, 100, new SimpleMeterRegistry()).stripes()).isEqualTo(1024);
+        assertThat(new LockManager(1024, 100, new SimpleMeterRegistry()).stripes()).isEqualTo(1024);
+        assertThat(new LockManager(1, 100, new SimpleMeterRegistry()).stripes()).isEqualTo(1);
+    }
+
+    @Test
+    void 같은_사용자_같은_stripe() {
+        LockManager lockManager = new LockManager(64, 100, new SimpleMeterRegistry());
+
+        assertThat(lockManager.stripeOf(1L)).isEqualTo(lockManager.stripeOf(Long.valueOf(1L)));
+        assertThat(lockManager.stripeOf(1L)).isBetween(0, 63);
+    }
+
+    @Test
+    void 잠금_획득_제한_시간_초과() throws Exception {
+        // given
+        LockManager lockManager = new LockManager(16, 50, new SimpleMeterRegistry());
+        long id = 1L;
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> holder = CompletableFuture.runAsync(() -> {
+            lockManager.lock(id);
+            try {
+                locked.countDown();
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                lockManager.unlock(id);
+            }
+        });
+        locked.await();
+
+        // when ~ then
+        assertThatThrownBy(() -> lockManager.lock(id))
+                .isInstanceOf(LockTimeoutException.class);
+
+        LockManager.StripeStats stats = lockManager.stats(lockManager.stripeOf(id));
+        assertThat(stats.timeouts()).isEqualTo(1);
+        assertThat(stats.waitNanos()).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(50));
+
+        release.countDown();
+        holder.join();
+        assertThat(lockManager.tryLock(id, 1, TimeUnit.SECONDS)).isTrue();
+        lockManager.unlock(id);
+    }
+
+    @Test
+    void 잠금_보유_지표() {
+        // given
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        LockManager lockManager = new LockManager(16, 100, meterRegistry);
+        long id = 1L;
+
+        // when
+        lockManager.lock(id);
+        lockManager.lock(id);
+        double holdersWhileLocked = meterRegistry.get("point.lock.holders").gauge().value();
+        lockManager.unlock(id);
+        lockManager.unlock(id);
+
+        // then
+        // 같은 스레드의 중복 획득은 한 번의 보유로 집계한다.
+        assertThat(holdersWhileLocked).isEqualTo(1);
+        assertThat(meterRegistry.get("point.lock.holders").gauge().value()).isZero();
+        assertThat(meterRegistry.get("point.lock.wait").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("point.lock.hold").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void 여러_사용자_잠금_교착_없음() {
+        // given
+        LockManager lockManager = new LockManager(64, 3000, new SimpleMeterRegistry());
+        long[] forward = {1L, 2L};
+        long[] backward = {2L, 1L};
+        int[] counter = new int[1];
+
+        // when
+        CompletableFuture<?>[] futures = IntStream.range(0, 1000)
+                .mapToObj(i -> CompletableFuture.runAsync(() -> {
+                    long[] ids = i % 2 == 0 ? forward : backward;
+                    lockManager.lockAll(ids);
+                    try {
+                        counter[0]++;
+                    } finally {
+                        lockManager.unlockAll(ids);
+                    }
+                }))
+                .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(futures).join();
+
+        // then
+        assertThat(counter[0]).isEqualTo(1000);
+        assertThat(lockManager.stats(lockManager.stripeOf(1L)).timeouts()).isZero();
+        assertThat(lockManager.stats(lockManager.stripeOf(2L)).timeouts()).isZero();
+    }
+
+    @Test
+    void 가장_경합이_큰_stripe_지표() throws Exception {
+        // given
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        LockManager lockManager = new LockManager(1024, 50, meterRegistry);
+        long hot = 1L;
+        long cold = 2L;
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> holder = CompletableFuture.runAsync(() -> {
+            lockManager.lock(hot);
+            try {
+                locked.countDown();
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                lockManager.unlock(hot);
+            }
+        });
+        locked.await();
+
+        // when
+        assertThatThrownBy(() -> lockManager.lock(hot)).isInstanceOf(LockTimeoutException.class);
+        release.countDown();
+        holder.join();
+        for (int i = 0; i < 3; i++) {
+            lockManager.lock(cold);
+            lockManager.unlock(cold);
+        }
+
+        // then
+        // 획득은 hot 1번, cold 3번이며, 대기는 hot 의 stripe 에서만 있었다.
+        assertThat(meterRegistry.get("point.lock.stripe.acquisitions").functionCounter().count()).isEqualTo(4);
+        assertThat(meterRegistry.get("point.lock.stripe.hottest.wait").gauge().value())
+                .isGreaterThanOrEqualTo(0.05);
+        assertThat(meterRegistry.get("point.lock.stripe.hottest.share").gauge().value()).isEqualTo(0.25);
+    }
+}